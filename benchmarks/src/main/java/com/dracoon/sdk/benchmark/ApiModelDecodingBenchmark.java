@@ -0,0 +1,89 @@
+package com.dracoon.sdk.benchmark;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.internal.api.adapter.ApiTypeAdapterFactory;
+import com.dracoon.sdk.internal.api.model.ApiMissingFileKeys;
+import com.dracoon.sdk.internal.api.model.ApiNode;
+import com.dracoon.sdk.internal.util.GsonCharArrayTypeAdapter;
+import com.dracoon.sdk.internal.util.GsonDateTypeAdapter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the decoding of API models with Gson's reflection based type adapters and with the
+ * hand-written type adapters of {@link ApiTypeAdapterFactory}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiModelDecodingBenchmark {
+
+    private static final Type NODE_LIST_TYPE = new TypeToken<List<ApiNode>>(){}.getType();
+
+    @Param({"500"})
+    public int itemsCount;
+
+    private Gson mReflectiveGson;
+    private Gson mAdapterGson;
+
+    private String mNodesJson;
+    private String mMissingFileKeysJson;
+
+    @Setup
+    public void setup() {
+        mReflectiveGson = createGsonBuilder()
+                .create();
+        mAdapterGson = createGsonBuilder()
+                .registerTypeAdapterFactory(new ApiTypeAdapterFactory())
+                .create();
+
+        mNodesJson = BenchmarkData.createNodesJson(itemsCount);
+        mMissingFileKeysJson = BenchmarkData.createMissingFileKeysJson(itemsCount);
+    }
+
+    private static GsonBuilder createGsonBuilder() {
+        return new GsonBuilder()
+                .disableHtmlEscaping()
+                .registerTypeAdapter(GsonDateTypeAdapter.TYPE, new GsonDateTypeAdapter())
+                .registerTypeAdapter(GsonCharArrayTypeAdapter.TYPE, new GsonCharArrayTypeAdapter());
+    }
+
+    @Benchmark
+    public List<ApiNode> decodeNodesReflective() {
+        return mReflectiveGson.fromJson(mNodesJson, NODE_LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<ApiNode> decodeNodesAdapter() {
+        return mAdapterGson.fromJson(mNodesJson, NODE_LIST_TYPE);
+    }
+
+    @Benchmark
+    public ApiMissingFileKeys decodeMissingFileKeysReflective() {
+        return mReflectiveGson.fromJson(mMissingFileKeysJson, ApiMissingFileKeys.class);
+    }
+
+    @Benchmark
+    public ApiMissingFileKeys decodeMissingFileKeysAdapter() {
+        return mAdapterGson.fromJson(mMissingFileKeysJson, ApiMissingFileKeys.class);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.dracoon.sdk.benchmark;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+
+    }
+
+    static String createNodesJson(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(createNodeJson(i + 1L));
+        }
+        return sb.append(']').toString();
+    }
+
+    static String createNodePageJson(int count) {
+        return "{\"range\":{\"offset\":0,\"limit\":" + count + ",\"total\":" + count + "}," +
+                "\"items\":" + createNodesJson(count) + "}";
+    }
+
+    static String createNodeJson(long id) {
+        return "{\"id\":" + id + ",\"type\":\"file\",\"parentId\":1," +
+                "\"parentPath\":\"/benchmark/\",\"name\":\"file-" + id + ".txt\"," +
+                "\"fileType\":\"txt\",\"mediaType\":\"text/plain\",\"size\":23632436," +
+                "\"classification\":2,\"hash\":\"d41d8cd98f00b204e9800998ecf8427e\"," +
+                "\"createdAt\":\"2022-01-01T01:00:00Z\"," +
+                "\"createdBy\":" + createUserInfoJson(1L) + "," +
+                "\"updatedAt\":\"2022-01-01T02:00:00Z\"," +
+                "\"updatedBy\":" + createUserInfoJson(2L) + "," +
+                "\"timestampCreation\":\"2022-01-01T00:30:00Z\"," +
+                "\"timestampModification\":\"2022-01-01T01:30:00Z\"," +
+                "\"permissions\":{\"manage\":false,\"read\":true,\"create\":true," +
+                "\"change\":true,\"delete\":true,\"manageDownloadShare\":false," +
+                "\"manageUploadShare\":false,\"readRecycleBin\":true," +
+                "\"restoreRecycleBin\":true,\"deleteRecycleBin\":false}," +
+                "\"inheritPermissions\":true,\"isFavorite\":false,\"isEncrypted\":true," +
+                "\"cntComments\":0,\"cntDownloadShares\":1,\"cntUploadShares\":0," +
+                "\"branchVersion\":1636579091947}";
+    }
+
+    private static String createUserInfoJson(long id) {
+        return "{\"id\":" + id + ",\"userType\":\"internal\",\"firstName\":\"John\"," +
+                "\"lastName\":\"Doe\",\"userName\":\"j.doe\",\"email\":\"j.doe@dracoon.com\"," +
+                "\"avatarUuid\":\"c33e748c-d05b-4af2-90e3-1a24d79b1d41\"}";
+    }
+
+    static String createMissingFileKeysJson(int count) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"range\":{\"offset\":0,\"limit\":").append(count)
+                .append(",\"total\":").append(count).append("},\"items\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"userId\":").append(i % 10 + 1).append(",\"fileId\":").append(i + 1)
+                    .append('}');
+        }
+        sb.append("],\"users\":[");
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i + 1).append(",\"publicKeyContainer\":")
+                    .append("{\"version\":\"RSA-4096\",\"publicKey\":\"-----BEGIN PUBLIC KEY-----")
+                    .append("MIICIjANBgkqhkiG9w0BAQEFAAOCAg8AMIICCgKCAgEA\"}}");
+        }
+        sb.append("],\"files\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i + 1).append(",\"fileKeyContainer\":")
+                    .append("{\"version\":\"RSA-4096/AES-256-GCM\",\"key\":\"a2V5a2V5a2V5\",")
+                    .append("\"iv\":\"aXZpdml2aXY=\",\"tag\":\"dGFndGFndGFn\"}}");
+        }
+        return sb.append("]}").toString();
+    }
+
+}
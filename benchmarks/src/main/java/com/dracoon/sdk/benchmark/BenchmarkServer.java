@@ -0,0 +1,121 @@
+package com.dracoon.sdk.benchmark;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Local stand-in for a Dracoon server. It answers the requests of file uploads and downloads, so
+ * that the transfer code paths can be measured without a real network.
+ */
+final class BenchmarkServer implements AutoCloseable {
+
+    static final long NODE_ID = 1L;
+    static final String UPLOAD_ID = "benchmark";
+
+    private static final String API_PATH = "/api/v4";
+    private static final String DOWNLOAD_PATH = API_PATH + "/downloads/benchmark";
+
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private final MockWebServer mServer = new MockWebServer();
+
+    private byte[] mDownloadContent = new byte[0];
+
+    void start() throws IOException {
+        // Request bodies are not needed and would only fill the memory
+        mServer.setBodyLimit(0L);
+        mServer.setDispatcher(new BenchmarkDispatcher());
+        mServer.start();
+    }
+
+    URL getUrl() {
+        return mServer.url("/").url();
+    }
+
+    void setDownloadContent(byte[] content) {
+        mDownloadContent = content;
+    }
+
+    void dropRequests() throws InterruptedException {
+        while (mServer.takeRequest(0L, TimeUnit.MILLISECONDS) != null) {
+            // Drop request
+        }
+    }
+
+    @Override
+    public void close() {
+        mServer.close();
+    }
+
+    private class BenchmarkDispatcher extends Dispatcher {
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String method = request.getMethod();
+            String path = request.getUrl().encodedPath();
+
+            if (method.equals("GET") && path.equals(API_PATH + "/config/info/general")) {
+                return createJsonResponse(200, "{\"useS3Storage\":false}");
+            } else if (method.equals("POST") && path.equals(API_PATH + "/nodes/files/uploads")) {
+                return createJsonResponse(200, "{\"uploadId\":\"" + UPLOAD_ID + "\"}");
+            } else if (method.equals("POST") && path.equals(API_PATH + "/nodes/files/uploads/" +
+                    UPLOAD_ID)) {
+                return new MockResponse.Builder().code(201).build();
+            } else if (method.equals("PUT") && path.equals(API_PATH + "/nodes/files/uploads/" +
+                    UPLOAD_ID)) {
+                return createJsonResponse(201, BenchmarkData.createNodeJson(NODE_ID));
+            } else if (method.equals("GET") && path.equals(API_PATH + "/nodes/" + NODE_ID)) {
+                return createJsonResponse(200, "{\"id\":" + NODE_ID + ",\"type\":\"file\"," +
+                        "\"name\":\"file.bin\",\"parentId\":2,\"size\":" +
+                        mDownloadContent.length + "}");
+            } else if (method.equals("POST") && path.equals(API_PATH + "/nodes/files/" + NODE_ID +
+                    "/downloads")) {
+                return createJsonResponse(200, "{\"downloadUrl\":\"" +
+                        mServer.url(DOWNLOAD_PATH) + "\"}");
+            } else if (method.equals("GET") && path.equals(DOWNLOAD_PATH)) {
+                return createDownloadResponse(request.getHeaders().get("Range"));
+            } else {
+                return new MockResponse.Builder().code(404).build();
+            }
+        }
+
+        private MockResponse createJsonResponse(int code, String json) {
+            return new MockResponse.Builder()
+                    .code(code)
+                    .setHeader("Content-Type", "application/json;charset=UTF-8")
+                    .body(json)
+                    .build();
+        }
+
+        private MockResponse createDownloadResponse(String range) {
+            int offset = 0;
+            int length = mDownloadContent.length;
+            if (range != null) {
+                Matcher matcher = RANGE_PATTERN.matcher(range);
+                if (matcher.matches()) {
+                    offset = Integer.parseInt(matcher.group(1));
+                    int end = Math.min(Integer.parseInt(matcher.group(2)), length - 1);
+                    length = end - offset + 1;
+                }
+            }
+
+            Buffer buffer = new Buffer().write(mDownloadContent, offset, length);
+            return new MockResponse.Builder()
+                    .code(range != null ? 206 : 200)
+                    .setHeader("Content-Type", "application/octet-stream")
+                    .body(buffer)
+                    .build();
+        }
+
+    }
+
+}
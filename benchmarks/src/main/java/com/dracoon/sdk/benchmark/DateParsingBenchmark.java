@@ -0,0 +1,68 @@
+package com.dracoon.sdk.benchmark;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.internal.DracoonConstants;
+import com.dracoon.sdk.internal.util.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of parsing the dates of one node page. (Every node has up to six dates.) The
+ * former implementation, which created a new SimpleDateFormat for every value, is used as baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateParsingBenchmark {
+
+    private static final int DATES_PER_NODE = 6;
+
+    @Param({"500"})
+    public int nodesCount;
+
+    private String[] mValues;
+
+    @Setup
+    public void setup() {
+        mValues = new String[nodesCount * DATES_PER_NODE];
+        for (int i = 0; i < mValues.length; i++) {
+            mValues[i] = String.format("2022-01-%02dT%02d:%02d:00.000Z", i % 28 + 1, i % 24,
+                    i % 60);
+        }
+    }
+
+    @Benchmark
+    public void parsePageSimpleDateFormat(Blackhole blackhole) throws ParseException {
+        for (String value : mValues) {
+            DateFormat df = new SimpleDateFormat(DracoonConstants.API_TIME_FORMAT);
+            df.setTimeZone(TimeZone.getTimeZone(DracoonConstants.API_TIME_ZONE));
+            blackhole.consume(df.parse(value));
+        }
+    }
+
+    @Benchmark
+    public void parsePageDateUtils(Blackhole blackhole) {
+        for (String value : mValues) {
+            blackhole.consume(DateUtils.parseTime(value));
+        }
+    }
+
+}
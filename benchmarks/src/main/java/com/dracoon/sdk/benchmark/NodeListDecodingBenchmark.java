@@ -0,0 +1,97 @@
+package com.dracoon.sdk.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.internal.api.adapter.ApiNodeListTypeAdapter;
+import com.dracoon.sdk.internal.api.adapter.ApiNodeTypeAdapter;
+import com.dracoon.sdk.internal.api.adapter.ApiTypeAdapterFactory;
+import com.dracoon.sdk.internal.api.mapper.NodeMapper;
+import com.dracoon.sdk.internal.api.model.ApiNodeList;
+import com.dracoon.sdk.internal.api.model.ApiRange;
+import com.dracoon.sdk.internal.util.GsonCharArrayTypeAdapter;
+import com.dracoon.sdk.internal.util.GsonDateTypeAdapter;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeList;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the decoding of a node page response into a {@link NodeList}. The type adapters of
+ * {@link ApiTypeAdapterFactory} are compared with Gson's reflection based type adapters and with
+ * the streaming read which maps each node as soon as it was read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NodeListDecodingBenchmark {
+
+    @Param({"500"})
+    public int itemsCount;
+
+    private Gson mGson;
+    private Gson mReflectiveGson;
+    private ApiNodeListTypeAdapter mNodeListAdapter;
+
+    private String mNodePageJson;
+
+    @Setup
+    public void setup() {
+        mGson = createGsonBuilder()
+                .registerTypeAdapterFactory(new ApiTypeAdapterFactory())
+                .create();
+        mReflectiveGson = createGsonBuilder()
+                .create();
+        mNodeListAdapter = new ApiNodeListTypeAdapter(new ApiNodeTypeAdapter(
+                new GsonDateTypeAdapter()));
+
+        mNodePageJson = BenchmarkData.createNodePageJson(itemsCount);
+    }
+
+    private static GsonBuilder createGsonBuilder() {
+        return new GsonBuilder()
+                .disableHtmlEscaping()
+                .registerTypeAdapter(GsonDateTypeAdapter.TYPE, new GsonDateTypeAdapter())
+                .registerTypeAdapter(GsonCharArrayTypeAdapter.TYPE, new GsonCharArrayTypeAdapter());
+    }
+
+    @Benchmark
+    public NodeList decodeReflective() {
+        return NodeMapper.fromApiNodeList(mReflectiveGson.fromJson(mNodePageJson,
+                ApiNodeList.class));
+    }
+
+    @Benchmark
+    public NodeList decodeTypeAdapter() {
+        return NodeMapper.fromApiNodeList(mGson.fromJson(mNodePageJson, ApiNodeList.class));
+    }
+
+    @Benchmark
+    public NodeList decodeStreaming() throws IOException {
+        List<Node> items = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new StringReader(mNodePageJson))) {
+            ApiRange range = mNodeListAdapter.read(reader,
+                    apiNode -> items.add(NodeMapper.fromApiNode(apiNode)));
+            return NodeMapper.fromApiNodeListRange(range, items);
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.dracoon.sdk.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.DracoonHttpConfig;
+import com.dracoon.sdk.crypto.Crypto;
+import com.dracoon.sdk.crypto.FileEncryptionCipher;
+import com.dracoon.sdk.crypto.model.EncryptedDataContainer;
+import com.dracoon.sdk.crypto.model.PlainDataContainer;
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+import com.dracoon.sdk.crypto.model.UserKeyPair;
+import com.dracoon.sdk.crypto.model.UserPublicKey;
+import com.dracoon.sdk.internal.DracoonConstants;
+import com.dracoon.sdk.internal.NullLog;
+import com.dracoon.sdk.internal.api.DracoonApi;
+import com.dracoon.sdk.internal.api.DracoonApiBuilder;
+import com.dracoon.sdk.internal.api.DracoonErrorParser;
+import com.dracoon.sdk.internal.crypto.CryptoWrapper;
+import com.dracoon.sdk.internal.http.HttpHelper;
+import com.dracoon.sdk.internal.service.DownloadStream;
+import com.dracoon.sdk.internal.service.TransferStreams;
+import com.dracoon.sdk.internal.service.UploadStream;
+import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.Node;
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures file uploads and downloads through {@link UploadStream} and {@link DownloadStream}
+ * against a local {@link BenchmarkServer}. For encrypted transfers, the time is dominated by the
+ * en/decryption of the chunks. For standard transfers, it is dominated by the copying of the chunk
+ * buffers. If "pipelined" is set, uploads are pipelined and downloads are read ahead, so that
+ * en/decryption overlaps with the network transfer.<br>
+ * <br>
+ * The throughput is reported in files per second. (Multiply with the file size to get bytes per
+ * second.) Run with "-prof gc" to see the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferBenchmark {
+
+    private static final char[] ENCRYPTION_PASSWORD = "benchmark".toCharArray();
+    private static final int WRITE_BLOCK_SIZE = 64 * DracoonConstants.KIB;
+    private static final int READ_BLOCK_SIZE = 64 * DracoonConstants.KIB;
+    private static final long READ_AHEAD_SIZE = 2L * DracoonConstants.MIB;
+
+    @Param({"16777216"})
+    public int fileSize;
+
+    @Param({"false", "true"})
+    public boolean encrypted;
+
+    @Param({"false", "true"})
+    public boolean pipelined;
+
+    private BenchmarkServer mServer;
+
+    private CryptoWrapper mCryptoWrapper;
+    private UploadStream.Factory mUploadStreamFactory;
+    private DownloadStream.Factory mDownloadStreamFactory;
+
+    private byte[] mData;
+    private UserPublicKey mUserPublicKey;
+    private PlainFileKey mDownloadFileKey;
+
+    @Setup
+    public void setup() throws Exception {
+        mServer = new BenchmarkServer();
+        mServer.start();
+
+        NullLog log = new NullLog();
+
+        OkHttpClient httpClient = new OkHttpClient();
+
+        HttpHelper httpHelper = new HttpHelper();
+        httpHelper.setLog(log);
+        httpHelper.init();
+
+        DracoonApi dracoonApi = new DracoonApiBuilder().build(mServer.getUrl(), httpClient,
+                chain -> chain.proceed(chain.request()));
+
+        DracoonErrorParser errorParser = new DracoonErrorParser();
+        errorParser.setLog(log);
+
+        mCryptoWrapper = new CryptoWrapper(log);
+
+        DracoonHttpConfig httpConfig = new DracoonHttpConfig();
+        long chunkSize = ((long) httpConfig.getChunkSize()) * DracoonConstants.KIB;
+        long s3CompletionTimeout = ((long) httpConfig.getS3UploadCompletionTimeout()) *
+                DracoonConstants.SECOND;
+        long smallFileUploadThreshold = ((long) httpConfig.getSmallFileUploadThreshold()) *
+                DracoonConstants.KIB;
+
+        mUploadStreamFactory = new UploadStream.Factory(log, dracoonApi, httpClient, httpHelper,
+                errorParser, mCryptoWrapper, null, chunkSize, s3CompletionTimeout,
+                smallFileUploadThreshold, pipelined, null);
+        mDownloadStreamFactory = new DownloadStream.Factory(log, dracoonApi, httpClient,
+                httpHelper, errorParser, mCryptoWrapper, null, chunkSize,
+                pipelined ? READ_AHEAD_SIZE : 0L, null);
+
+        mData = new byte[fileSize];
+        new Random(1L).nextBytes(mData);
+
+        if (encrypted) {
+            UserKeyPair userKeyPair = mCryptoWrapper.generateUserKeyPair(UserKeyPair.Version.RSA4096,
+                    ENCRYPTION_PASSWORD);
+            mUserPublicKey = userKeyPair.getUserPublicKey();
+            mDownloadFileKey = mCryptoWrapper.generateFileKey(PlainFileKey.Version.AES256GCM);
+            mServer.setDownloadContent(encrypt(mData, mDownloadFileKey));
+        } else {
+            mServer.setDownloadContent(mData);
+        }
+    }
+
+    private static byte[] encrypt(byte[] data, PlainFileKey fileKey) throws Exception {
+        FileEncryptionCipher cipher = Crypto.createFileEncryptionCipher(fileKey);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        os.write(cipher.processBytes(new PlainDataContainer(data)).getContent());
+        EncryptedDataContainer encData = cipher.doFinal();
+        os.write(encData.getContent());
+        fileKey.setTag(encData.getTag());
+        return os.toByteArray();
+    }
+
+    @TearDown(Level.Iteration)
+    public void dropRequests() throws InterruptedException {
+        mServer.dropRequests();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mServer.close();
+    }
+
+    @Benchmark
+    public Node upload() throws Exception {
+        FileUploadRequest request = new FileUploadRequest.Builder(2L, "file.bin").build();
+        PlainFileKey fileKey = encrypted ?
+                mCryptoWrapper.generateFileKey(PlainFileKey.Version.AES256GCM) : null;
+
+        UploadStream stream = mUploadStreamFactory.create("benchmark", request, fileSize,
+                mUserPublicKey, fileKey);
+        try {
+            TransferStreams.start(stream);
+            for (int offset = 0; offset < mData.length; offset += WRITE_BLOCK_SIZE) {
+                stream.write(mData, offset, Math.min(WRITE_BLOCK_SIZE, mData.length - offset));
+            }
+            return stream.complete();
+        } finally {
+            stream.close();
+        }
+    }
+
+    @Benchmark
+    public long download() throws Exception {
+        DownloadStream stream = mDownloadStreamFactory.create("benchmark",
+                BenchmarkServer.NODE_ID, mDownloadFileKey);
+        try {
+            TransferStreams.start(stream);
+            byte[] buffer = new byte[READ_BLOCK_SIZE];
+            long count = 0L;
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                count = count + read;
+            }
+            return count;
+        } finally {
+            stream.close();
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.dracoon.sdk.internal.service;
+
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+
+/**
+ * Gives the benchmarks access to the package-private start methods of the transfer streams.
+ */
+public final class TransferStreams {
+
+    private TransferStreams() {
+
+    }
+
+    public static void start(UploadStream stream) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException {
+        stream.start();
+    }
+
+    public static void start(DownloadStream stream) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException {
+        stream.start();
+    }
+
+}
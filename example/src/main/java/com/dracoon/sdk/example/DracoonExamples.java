@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -38,17 +39,23 @@ import com.dracoon.sdk.model.DeleteNodesRequest;
 import com.dracoon.sdk.model.DownloadShare;
 import com.dracoon.sdk.model.DownloadShareList;
 import com.dracoon.sdk.model.FileDownloadCallback;
+import com.dracoon.sdk.model.FileDownloadChannel;
 import com.dracoon.sdk.model.FileDownloadStream;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
 import com.dracoon.sdk.model.FileUploadStream;
+import com.dracoon.sdk.model.FolderSyncRequest;
+import com.dracoon.sdk.model.FolderSyncResult;
 import com.dracoon.sdk.model.MoveNodesRequest;
 import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeChangeCursor;
+import com.dracoon.sdk.model.NodeChangeFeed;
 import com.dracoon.sdk.model.NodeComment;
 import com.dracoon.sdk.model.NodeCommentList;
 import com.dracoon.sdk.model.NodeList;
 import com.dracoon.sdk.model.NodeType;
 import com.dracoon.sdk.model.PasswordPolicies;
+import com.dracoon.sdk.model.ResolutionStrategy;
 import com.dracoon.sdk.model.ServerDefaults;
 import com.dracoon.sdk.model.ServerGeneralSettings;
 import com.dracoon.sdk.model.UpdateFileRequest;
@@ -137,6 +144,10 @@ public class DracoonExamples {
         //downloadFile(client);
         //uploadFileWithStream(client);
         //downloadFileWithStream(client);
+        //downloadFileRangeWithChannel(client);
+        //downloadFolderAsZip(client);
+        //syncFolder(client);
+        //getNodeChanges(client);
 
         //searchNodes(client);
         //searchNodesPaged(client);
@@ -596,6 +607,62 @@ public class DracoonExamples {
         ds.close();
     }
 
+    private static void downloadFileRangeWithChannel(DracoonClient client)
+            throws DracoonException, IOException {
+        long nodeId = 1L;
+
+        try (FileDownloadChannel dc = client.nodes().createFileDownloadChannel("1", nodeId)) {
+            // Read the last 1 KiB of the file
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            dc.position(Math.max(dc.size() - buffer.capacity(), 0L));
+            while (buffer.hasRemaining() && dc.read(buffer) != -1) {
+                // Read till buffer is full
+            }
+
+            System.out.println(String.format("Read %d bytes.", buffer.position()));
+        }
+    }
+
+    private static void downloadFolderAsZip(DracoonClient client) throws DracoonException {
+        long nodeId = 1L;
+
+        File file = new File("C:\\temp\\test.zip");
+
+        client.nodes().downloadNodeAsZip("1", nodeId, file);
+    }
+
+    private static void syncFolder(DracoonClient client) throws DracoonException {
+        long nodeId = 1L;
+
+        File directory = new File("C:\\temp\\sync");
+        File indexFile = new File("C:\\temp\\sync.json");
+
+        FolderSyncRequest request = new FolderSyncRequest.Builder(nodeId, directory, indexFile)
+                .resolutionStrategy(ResolutionStrategy.AUTO_RENAME)
+                .build();
+        FolderSyncResult result = client.nodes().syncFolder("1", request);
+
+        System.out.println(String.format("Uploaded: %d, downloaded: %d, conflicts: %s",
+                result.getUploadCount(), result.getDownloadCount(), result.getConflictPaths()));
+    }
+
+    private static void getNodeChanges(DracoonClient client) throws DracoonException {
+        long nodeId = 1L;
+
+        // The cursor of the previous query (null for the first query)
+        NodeChangeCursor cursor = null;
+
+        NodeChangeFeed feed = client.nodes().getNodeChanges(nodeId, cursor);
+        while (feed.hasNext()) {
+            Node node = feed.next();
+            System.out.println(node.getId() + ": " + node.getParentPath() + node.getName());
+        }
+
+        // Store the new cursor for the next query
+        cursor = feed.getCursor();
+        System.out.println("Branch version: " + cursor.getBranchVersion());
+    }
+
     private static void searchNodes(DracoonClient client) throws DracoonException {
         long parentNodeId = 0L;
         String searchString = "test*";
@@ -0,0 +1,212 @@
+package com.dracoon.sdk.micrometer;
+
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.DracoonMetrics;
+import com.dracoon.sdk.model.FileTransferMetrics;
+import com.dracoon.sdk.model.HttpRequestMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * MicrometerMetrics is a {@link DracoonMetrics} implementation which records the measurements of
+ * the Dracoon SDK in a Micrometer {@link MeterRegistry}.<br>
+ * <br>
+ * Following meters are recorded:<br>
+ * - {@value #REQUESTS}:            Timer of the request durations<br>
+ * - {@value #RETRIES}:             Counter of the request retries<br>
+ * - {@value #RATE_LIMIT_WAITS}:    Timer of the waits because of rate limit responses<br>
+ * - {@value #REQUEST_SIZE}:        Distribution summary of the request body sizes<br>
+ * - {@value #RESPONSE_SIZE}:       Distribution summary of the response body sizes<br>
+ * - {@value #TRANSFERS}:           Timer of the file transfer durations<br>
+ * - {@value #TRANSFER_STAGES}:     Timer of the file transfer stages<br>
+ * - {@value #TRANSFER_SIZE}:       Distribution summary of the file transfer sizes<br>
+ * <br>
+ * All request meters are tagged with the HTTP method ("method") and the endpoint template
+ * ("endpoint"). The request timer is additionally tagged with the status code ("status"), the
+ * outcome ("outcome") and the error class ("exception").<br>
+ * <br>
+ * All transfer meters are tagged with the transfer type ("type") and the encryption state
+ * ("encrypted"). The transfer timer is additionally tagged with the outcome ("outcome"). The stage
+ * timer is additionally tagged with the stage ("stage").<br>
+ * <br>
+ * Example:<br>
+ * <pre>
+ * DracoonClient client = new DracoonClient.Builder(serverUrl)
+ *         .metrics(new MicrometerMetrics(meterRegistry))
+ *         .build();
+ * </pre>
+ */
+@SuppressWarnings("unused")
+public class MicrometerMetrics implements DracoonMetrics {
+
+    public static final String REQUESTS = "dracoon.http.client.requests";
+    public static final String RETRIES = "dracoon.http.client.retries";
+    public static final String RATE_LIMIT_WAITS = "dracoon.http.client.rate.limit.waits";
+    public static final String REQUEST_SIZE = "dracoon.http.client.request.size";
+    public static final String RESPONSE_SIZE = "dracoon.http.client.response.size";
+    public static final String TRANSFERS = "dracoon.file.transfers";
+    public static final String TRANSFER_STAGES = "dracoon.file.transfer.stages";
+    public static final String TRANSFER_SIZE = "dracoon.file.transfer.size";
+
+    private static final String TAG_METHOD = "method";
+    private static final String TAG_ENDPOINT = "endpoint";
+    private static final String TAG_STATUS = "status";
+    private static final String TAG_OUTCOME = "outcome";
+    private static final String TAG_EXCEPTION = "exception";
+    private static final String TAG_TYPE = "type";
+    private static final String TAG_ENCRYPTED = "encrypted";
+    private static final String TAG_STAGE = "stage";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry mRegistry;
+    private final Tags mTags;
+
+    /**
+     * Constructs a new Micrometer metrics collector.
+     *
+     * @param registry The registry in which the meters are recorded.
+     */
+    public MicrometerMetrics(MeterRegistry registry) {
+        this(registry, Tags.empty());
+    }
+
+    /**
+     * Constructs a new Micrometer metrics collector.
+     *
+     * @param registry The registry in which the meters are recorded.
+     * @param tags     Additional tags which are added to all meters. (E.g. to distinguish
+     *                 multiple clients.)
+     */
+    public MicrometerMetrics(MeterRegistry registry, Iterable<Tag> tags) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Meter registry cannot be null.");
+        }
+        mRegistry = registry;
+        mTags = Tags.of(tags);
+    }
+
+    @Override
+    public void onHttpRequestFinished(HttpRequestMetrics metrics) {
+        Tags tags = mTags.and(
+                TAG_METHOD, valueOrNone(metrics.getMethod()),
+                TAG_ENDPOINT, valueOrNone(metrics.getEndpoint()));
+
+        Timer.builder(REQUESTS)
+                .description("Duration of HTTP requests made by the Dracoon SDK")
+                .tags(tags)
+                .tags(TAG_STATUS, getStatus(metrics),
+                        TAG_OUTCOME, getOutcome(metrics),
+                        TAG_EXCEPTION, getException(metrics))
+                .register(mRegistry)
+                .record(metrics.getDuration(), TimeUnit.MILLISECONDS);
+
+        if (metrics.getRetryCount() > 0) {
+            Counter.builder(RETRIES)
+                    .description("Retries of HTTP requests made by the Dracoon SDK")
+                    .tags(tags)
+                    .register(mRegistry)
+                    .increment(metrics.getRetryCount());
+        }
+
+        if (metrics.getRateLimitWaitTime() > 0L) {
+            Timer.builder(RATE_LIMIT_WAITS)
+                    .description("Waits of HTTP requests because of rate limit responses")
+                    .tags(tags)
+                    .register(mRegistry)
+                    .record(metrics.getRateLimitWaitTime(), TimeUnit.MILLISECONDS);
+        }
+
+        if (metrics.getRequestSize() >= 0L) {
+            DistributionSummary.builder(REQUEST_SIZE)
+                    .description("Body size of HTTP requests made by the Dracoon SDK")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(mRegistry)
+                    .record(metrics.getRequestSize());
+        }
+
+        if (metrics.getResponseSize() >= 0L) {
+            DistributionSummary.builder(RESPONSE_SIZE)
+                    .description("Body size of HTTP responses received by the Dracoon SDK")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(mRegistry)
+                    .record(metrics.getResponseSize());
+        }
+    }
+
+    @Override
+    public void onFileTransferFinished(FileTransferMetrics metrics) {
+        Tags tags = mTags.and(
+                TAG_TYPE, metrics.getType() != null ? metrics.getType().name() : NONE,
+                TAG_ENCRYPTED, String.valueOf(metrics.isEncrypted()));
+
+        Timer.builder(TRANSFERS)
+                .description("Duration of file transfers made by the Dracoon SDK")
+                .tags(tags)
+                .tags(TAG_OUTCOME, metrics.getStatus() != null ? metrics.getStatus().name() : NONE)
+                .register(mRegistry)
+                .record(metrics.getDuration(), TimeUnit.MILLISECONDS);
+
+        recordStage(tags, "crypto", metrics.getCryptoTime());
+        recordStage(tags, "network", metrics.getNetworkTime());
+        recordStage(tags, "url_wait", metrics.getUrlWaitTime());
+        recordStage(tags, "completion", metrics.getCompletionTime());
+
+        DistributionSummary.builder(TRANSFER_SIZE)
+                .description("Size of file transfers made by the Dracoon SDK")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(mRegistry)
+                .record(metrics.getBytes());
+    }
+
+    private void recordStage(Tags tags, String stage, long time) {
+        Timer.builder(TRANSFER_STAGES)
+                .description("Time of file transfer stages")
+                .tags(tags)
+                .tags(TAG_STAGE, stage)
+                .register(mRegistry)
+                .record(time, TimeUnit.MILLISECONDS);
+    }
+
+    // --- Helper methods ---
+
+    private static String valueOrNone(String value) {
+        return value != null ? value : NONE;
+    }
+
+    private static String getStatus(HttpRequestMetrics metrics) {
+        Integer statusCode = metrics.getStatusCode();
+        return statusCode != null ? String.valueOf(statusCode) : NONE;
+    }
+
+    private static String getOutcome(HttpRequestMetrics metrics) {
+        Integer statusCode = metrics.getStatusCode();
+        if (statusCode == null) {
+            return "UNKNOWN";
+        } else if (statusCode < 200) {
+            return "INFORMATIONAL";
+        } else if (statusCode < 300) {
+            return "SUCCESS";
+        } else if (statusCode < 400) {
+            return "REDIRECTION";
+        } else if (statusCode < 500) {
+            return "CLIENT_ERROR";
+        } else {
+            return "SERVER_ERROR";
+        }
+    }
+
+    private static String getException(HttpRequestMetrics metrics) {
+        Throwable error = metrics.getError();
+        return error != null ? error.getClass().getSimpleName() : NONE;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.dracoon.sdk.micrometer;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.model.FileTransferMetrics;
+import com.dracoon.sdk.model.HttpRequestMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MicrometerMetricsTest {
+
+    private MeterRegistry mRegistry;
+    private MicrometerMetrics mMetrics;
+
+    @BeforeEach
+    void setup() {
+        mRegistry = new SimpleMeterRegistry();
+        mMetrics = new MicrometerMetrics(mRegistry, Tags.of("client", "test"));
+    }
+
+    @Test
+    void testSuccessfulRequestRecorded() {
+        HttpRequestMetrics metrics = createMetrics();
+        metrics.setStatusCode(200);
+        metrics.setRequestSize(0L);
+        metrics.setResponseSize(1024L);
+
+        mMetrics.onHttpRequestFinished(metrics);
+
+        Timer timer = mRegistry.get(MicrometerMetrics.REQUESTS)
+                .tags("client", "test", "method", "GET", "endpoint", "/api/v4/nodes",
+                        "status", "200", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertEquals(1L, timer.count());
+        assertEquals(150.0, timer.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1024.0, mRegistry.get(MicrometerMetrics.RESPONSE_SIZE).summary()
+                .totalAmount());
+        assertEquals(0.0, mRegistry.get(MicrometerMetrics.REQUEST_SIZE).summary()
+                .totalAmount());
+        assertNull(mRegistry.find(MicrometerMetrics.RETRIES).counter());
+        assertNull(mRegistry.find(MicrometerMetrics.RATE_LIMIT_WAITS).timer());
+    }
+
+    @Test
+    void testFailedRequestRecorded() {
+        HttpRequestMetrics metrics = createMetrics();
+        metrics.setError(new IOException());
+        metrics.setRetryCount(3);
+        metrics.setRateLimitWaitTime(2000L);
+
+        mMetrics.onHttpRequestFinished(metrics);
+
+        assertNotNull(mRegistry.get(MicrometerMetrics.REQUESTS)
+                .tags("status", "none", "outcome", "UNKNOWN", "exception", "IOException")
+                .timer());
+        assertEquals(3.0, mRegistry.get(MicrometerMetrics.RETRIES).counter().count());
+        assertEquals(2000.0, mRegistry.get(MicrometerMetrics.RATE_LIMIT_WAITS).timer()
+                .totalTime(TimeUnit.MILLISECONDS));
+        assertNull(mRegistry.find(MicrometerMetrics.RESPONSE_SIZE).summary());
+    }
+
+    @Test
+    void testFileTransferRecorded() {
+        FileTransferMetrics metrics = new FileTransferMetrics();
+        metrics.setType(FileTransferMetrics.Type.UPLOAD);
+        metrics.setStatus(FileTransferMetrics.Status.FINISHED);
+        metrics.setEncrypted(true);
+        metrics.setBytes(4096L);
+        metrics.setDuration(500L);
+        metrics.setCryptoTime(300L);
+        metrics.setNetworkTime(150L);
+
+        mMetrics.onFileTransferFinished(metrics);
+
+        Timer timer = mRegistry.get(MicrometerMetrics.TRANSFERS)
+                .tags("client", "test", "type", "UPLOAD", "encrypted", "true",
+                        "outcome", "FINISHED")
+                .timer();
+        assertEquals(1L, timer.count());
+        assertEquals(500.0, timer.totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(300.0, mRegistry.get(MicrometerMetrics.TRANSFER_STAGES)
+                .tags("stage", "crypto").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(4096.0, mRegistry.get(MicrometerMetrics.TRANSFER_SIZE).summary()
+                .totalAmount());
+    }
+
+    private static HttpRequestMetrics createMetrics() {
+        HttpRequestMetrics metrics = new HttpRequestMetrics();
+        metrics.setMethod("GET");
+        metrics.setEndpoint("/api/v4/nodes");
+        metrics.setDuration(150L);
+        return metrics;
+    }
+
+}
@@ -30,15 +30,22 @@ import com.dracoon.sdk.model.DeleteNodesRequest;
 import com.dracoon.sdk.model.DownloadShare;
 import com.dracoon.sdk.model.DownloadShareList;
 import com.dracoon.sdk.model.FileDownloadCallback;
+import com.dracoon.sdk.model.FileDownloadChannel;
 import com.dracoon.sdk.model.FileDownloadStream;
+import com.dracoon.sdk.model.FileKeyGenerationCallback;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
 import com.dracoon.sdk.model.FileUploadStream;
 import com.dracoon.sdk.model.FileVirusScanInfo;
 import com.dracoon.sdk.model.FileVirusScanInfoList;
+import com.dracoon.sdk.model.FolderSyncRequest;
+import com.dracoon.sdk.model.FolderSyncResult;
+import com.dracoon.sdk.model.GenerateMissingFileKeysRequest;
 import com.dracoon.sdk.model.GetFilesVirusScanInfoRequest;
 import com.dracoon.sdk.model.MoveNodesRequest;
 import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeChangeCursor;
+import com.dracoon.sdk.model.NodeChangeFeed;
 import com.dracoon.sdk.model.NodeComment;
 import com.dracoon.sdk.model.NodeCommentList;
 import com.dracoon.sdk.model.NodeList;
@@ -801,6 +808,114 @@ public abstract class DracoonClient {
                 FileDownloadCallback callback) throws DracoonNetIOException, DracoonApiException,
                 DracoonCryptoException;
 
+        /**
+         * Creates a file download channel. The channel can read the file at arbitrary positions.
+         * (E.g. to serve partial reads of videos or archive members.)<br>
+         * <br>
+         * Encrypted files are decrypted in order. Forward seeks decrypt the skipped data. See
+         * {@link FileDownloadChannel} for the cost of backward seeks.
+         *
+         * @param id     The ID for the download. (This ID is used in log messages.)
+         * @param nodeId The ID of the node.
+         *
+         * @return seekable channel for download
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If the decryption failed.
+         */
+        FileDownloadChannel createFileDownloadChannel(String id, long nodeId)
+                throws DracoonNetIOException, DracoonApiException, DracoonCryptoException;
+
+        /**
+         * Downloads a node and all its child nodes as ZIP archive.<br>
+         * <br>
+         * Folders and rooms are added as directories. Several files are downloaded in parallel,
+         * but the archive is written sequentially and no file is stored temporarily. (See
+         * {@link DracoonHttpConfig#setZipExportParallelDownloads(int)}.)
+         *
+         * @param id     The ID for the download. (This ID is used in log messages.)
+         * @param nodeId The ID of the node.
+         * @param file   The target file.
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If the decryption failed.
+         * @throws DracoonFileIOException If a file error occurred.
+         */
+        void downloadNodeAsZip(String id, long nodeId, File file) throws DracoonNetIOException,
+                DracoonApiException, DracoonCryptoException, DracoonFileIOException;
+
+        /**
+         * Downloads a node and all its child nodes as ZIP archive.<br>
+         * <br>
+         * Folders and rooms are added as directories. Several files are downloaded in parallel,
+         * but the archive is written sequentially and no file is stored temporarily. (See
+         * {@link DracoonHttpConfig#setZipExportParallelDownloads(int)}.)<br>
+         * <br>
+         * The target stream is not closed.
+         *
+         * @param id     The ID for the download. (This ID is used in log messages.)
+         * @param nodeId The ID of the node.
+         * @param os     The target stream.
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If the decryption failed.
+         * @throws DracoonFileIOException If a file error occurred.
+         */
+        void downloadNodeAsZip(String id, long nodeId, OutputStream os)
+                throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+                DracoonFileIOException;
+
+        /**
+         * Returns the nodes below a room or folder which were changed since a previous query.<br>
+         * <br>
+         * The changes are queried page by page while the returned feed is iterated. After all
+         * changes have been processed, the cursor of the feed can be stored for the next query.
+         * If no cursor is provided, all nodes below the room or folder are returned.<br>
+         * <br>
+         * Changes are found by the branch version of the cursor. If the branch version of the
+         * room or folder is unchanged, no request is made. If the cursor has no branch version,
+         * nodes which were updated since the update date of the cursor are returned.
+         *
+         * @param nodeId The ID of the room or folder.
+         * @param cursor The cursor of a previous query. (Can be <code>null</code>.)
+         *
+         * @return the feed of changed nodes
+         *
+         * @throws DracoonNetIOException If a network error occurred.
+         * @throws DracoonApiException   If the API responded with an error.
+         */
+        NodeChangeFeed getNodeChanges(long nodeId, NodeChangeCursor cursor)
+                throws DracoonNetIOException, DracoonApiException;
+
+        /**
+         * Synchronizes a local directory with a room or folder in both directions.<br>
+         * <br>
+         * New and changed files are uploaded and downloaded, and deletions are applied on the
+         * other side. The state after a synchronization is stored in an index file. Later
+         * synchronizations only query nodes which were changed since then and only hash local
+         * files whose size or modification date has changed. Files are transferred in parallel.
+         * (See {@link DracoonHttpConfig#setSyncParallelTransfers(int)}.)<br>
+         * <br>
+         * Files which were changed locally and remotely are handled according to the conflict
+         * resolution strategy of the request. Rooms are never created or deleted.
+         *
+         * @param id      The ID for the synchronization. (This ID is used in log messages.)
+         * @param request The request with the synchronization settings.
+         *
+         * @return the changes which were made
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If the encryption or decryption failed.
+         * @throws DracoonFileIOException If a file error occurred.
+         */
+        FolderSyncResult syncFolder(String id, FolderSyncRequest request)
+                throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+                DracoonFileIOException;
+
         /**
          * Searches child nodes of a node by their name.<br>
          * <br>
@@ -906,6 +1021,58 @@ public abstract class DracoonClient {
         boolean generateMissingFileKeys(long nodeId, int limit) throws DracoonNetIOException,
                 DracoonApiException, DracoonCryptoException;
 
+        /**
+         * Generates file keys for files with missing file keys. In contrast to
+         * {@link #generateMissingFileKeys(long, int)}, the request allows to set the batch size
+         * and to enable parallel en/decryption.<br>
+         * <br>
+         * With parallel en/decryption, the file keys of a batch are en/decrypted in parallel.
+         * Batches are still processed one after another, because the list of missing file keys
+         * changes when the file keys of a batch are set.
+         *
+         * @param request The request with information about the file key generation.
+         *
+         * @return <code>true</code> if all file keys have been generated and no file keys are
+         *         missing anymore; <code>false</code> otherwise
+         *
+         * @throws DracoonNetIOException  If a network error occurred.
+         * @throws DracoonApiException    If the API responded with an error.
+         * @throws DracoonCryptoException If a encryption/decryption failed.
+         */
+        boolean generateMissingFileKeys(GenerateMissingFileKeysRequest request)
+                throws DracoonNetIOException, DracoonApiException, DracoonCryptoException;
+
+        /**
+         * Starts a continuous asynchronous generation of missing file keys.<br>
+         * <br>
+         * The generation processes missing file keys in runs of the size of the number limit of
+         * the request. If the limit of a run was reached, the next run is started immediately at
+         * the reached offset. If all missing file keys have been processed, the generation waits
+         * for the provided interval and then starts again at the beginning.<br>
+         * <br>
+         * After every processed batch, the callback receives a status with the reached offset
+         * (which can be used as checkpoint to resume the generation via
+         * {@link GenerateMissingFileKeysRequest.Builder#offset(Long)}), the throughput and an
+         * estimate of the remaining backlog. Network errors are logged and the run is retried
+         * after the interval. Other errors stop the generation.
+         *
+         * @param id       The ID for the generation. (This ID can be used to keep a reference.)
+         * @param request  The request with information about the file key generation.
+         * @param interval The interval between runs in seconds. (Must be positive.)
+         * @param callback A callback which get called when the generation was started, stopped
+         *                 and so on. (<code>null</code>, if not needed.)
+         */
+        void startGenerateMissingFileKeysAsync(String id, GenerateMissingFileKeysRequest request,
+                int interval, FileKeyGenerationCallback callback);
+
+        /**
+         * Stops a continuous asynchronous generation of missing file keys. The generation is
+         * stopped after the currently processed batch has been finished.
+         *
+         * @param id The ID of the generation.
+         */
+        void stopGenerateMissingFileKeysAsync(String id);
+
         /**
          * Marks a node as a favorite.
          *
@@ -1256,6 +1423,20 @@ public abstract class DracoonClient {
 
     }
 
+    /**
+     * Enumeration of modes for the check if the server API version is supported.<br>
+     * <br>
+     * - ON_BUILD:         The check is made at {@link Builder#build()}. (Default)<br>
+     * - ON_FIRST_REQUEST: The check is made before the first API request is sent. If the check
+     *                     fails, the request fails with the check's error.<br>
+     * - DISABLED:         No check is made.
+     */
+    public enum ApiVersionCheck {
+        ON_BUILD,
+        ON_FIRST_REQUEST,
+        DISABLED
+    }
+
     protected URL mServerUrl;
 
     /**
@@ -1368,7 +1549,9 @@ public abstract class DracoonClient {
      * - Logger:                 {@link #log(Log)}<br>
      * - Authorization data:     {@link #auth(DracoonAuth)}<br>
      * - Encryption password:    {@link #encryptionPassword(char[])}<br>
-     * - HTTP configuration:     {@link #httpConfig(DracoonHttpConfig)}
+     * - HTTP configuration:     {@link #httpConfig(DracoonHttpConfig)}<br>
+     * - Metrics collector:      {@link #metrics(DracoonMetrics)}<br>
+     * - API version check:      {@link #apiVersionCheck(ApiVersionCheck)}
      */
     public static class Builder {
 
@@ -1432,11 +1615,39 @@ public abstract class DracoonClient {
             return this;
         }
 
+        /**
+         * Sets the metrics collector which should be used. (See {@link DracoonMetrics}.)
+         *
+         * @param metrics The metrics collector.
+         *
+         * @return a reference to this object
+         */
+        public Builder metrics(DracoonMetrics metrics) {
+            mClient.setMetrics(metrics);
+            return this;
+        }
+
+        /**
+         * Sets when the check if the server API version is supported is made. (Default:
+         * {@link ApiVersionCheck#ON_BUILD ON_BUILD})<br>
+         * <br>
+         * Deferring or disabling the check saves a request at {@link #build()}.
+         *
+         * @param apiVersionCheck The API version check mode.
+         *
+         * @return a reference to this object
+         */
+        public Builder apiVersionCheck(ApiVersionCheck apiVersionCheck) {
+            mClient.setApiVersionCheck(apiVersionCheck);
+            return this;
+        }
+
         /**
          * Creates a new {@link DracoonClient} instance with the supplied configuration.<br>
          * <br>
          * Beside creating a new instance, this method does some pre-flight checks. It checks if
-         * the server API version is supported by the SDK. Furthermore, if authorization data was
+         * the server API version is supported by the SDK. (See
+         * {@link #apiVersionCheck(ApiVersionCheck)}.) Furthermore, if authorization data was
          * provided, new OAuth tokens are retrieved and an authorization check is made. (Afterwards,
          * the current authorization data can be retrieved via {@link DracoonClient#getAuth()}.)
          *
@@ -1447,7 +1658,9 @@ public abstract class DracoonClient {
          */
         public DracoonClient build() throws DracoonNetIOException, DracoonApiException {
             mClient.init();
-            mClient.checkApiVersionSupported();
+            if (mClient.getApiVersionCheck() == ApiVersionCheck.ON_BUILD) {
+                mClient.checkApiVersionSupported();
+            }
             mClient.retrieveAuthTokens();
             return mClient;
         }
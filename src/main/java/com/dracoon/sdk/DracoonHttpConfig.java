@@ -1,5 +1,6 @@
 package com.dracoon.sdk;
 
+import java.io.File;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,6 +8,7 @@ import java.util.List;
 import com.dracoon.sdk.internal.BuildDetails;
 import com.dracoon.sdk.internal.DracoonConstants;
 import com.dracoon.sdk.internal.validator.ValidatorUtils;
+import com.dracoon.sdk.model.HashAlgorithm;
 import okhttp3.Interceptor;
 
 /**
@@ -19,12 +21,38 @@ import okhttp3.Interceptor;
  * - HTTP connection timeout         (Default: 15 seconds)<br>
  * - HTTP read timeout               (Default: 15 seconds)<br>
  * - HTTP write timeout              (Default: 15 seconds)<br>
+ * - Max. idle connections           (Default: 5)<br>
+ * - Connection keep-alive duration  (Default: 300 seconds)<br>
+ * - Max. concurrent requests        (Default: 64)<br>
+ * - Max. concurrent requests/host   (Default: 5)<br>
+ * - HTTP/2 enabled                  (Default: true)<br>
+ * - HTTP/2 ping interval            (Default: 0 seconds / disabled)<br>
+ * - Transfer read timeout           (Default: 60 seconds)<br>
+ * - Transfer write timeout          (Default: 60 seconds)<br>
+ * - Transfer max. idle connections  (Default: 5)<br>
+ * - Transfer max. requests          (Default: 64)<br>
+ * - Transfer max. requests/host     (Default: 5)<br>
  * - Upload/download chunk size      (Default: 5 MiB, Minimum: 5MiB)<br>
+ * - S3 upload completion timeout    (Default: 300 seconds)<br>
+ * - Small file upload threshold     (Default: 0 KiB / disabled)<br>
+ * - Upload pipelining enabled       (Default: false)<br>
+ * - Transfer hash algorithm         (Default: null / disabled)<br>
+ * - Download read-ahead size        (Default: 0 KiB / disabled)<br>
+ * - Download channel block size     (Default: 256 KiB)<br>
+ * - Download channel cache size     (Default: 4 MiB)<br>
+ * - ZIP export parallel downloads   (Default: 4)<br>
+ * - ZIP export buffer size          (Default: 1 MiB)<br>
+ * - Sync parallel transfers         (Default: 4)<br>
  * - Proxy server enabled            (Default: false)<br>
  * - Proxy server address            (Default: null)<br>
  * - Proxy server port               (Default: null)<br>
  * - OkHttp application interceptors (Default: none)<br>
- * - OkHttp network interceptors     (Default: none)
+ * - OkHttp network interceptors     (Default: none)<br>
+ * - Resource cache size             (Default: 0 = disabled)<br>
+ * - Resource cache directory        (Default: null)<br>
+ * - Resource cache directory size   (Default: 50 MiB)<br>
+ * - HTTP cache directory            (Default: null)<br>
+ * - HTTP cache size                 (Default: 10 MiB)
  */
 public class DracoonHttpConfig {
 
@@ -36,7 +64,28 @@ public class DracoonHttpConfig {
     private int mConnectTimeout;
     private int mReadTimeout;
     private int mWriteTimeout;
+    private int mMaxIdleConnections;
+    private int mKeepAliveDuration;
+    private int mMaxRequests;
+    private int mMaxRequestsPerHost;
+    private boolean mHttp2Enabled;
+    private int mPingInterval;
+    private int mTransferReadTimeout;
+    private int mTransferWriteTimeout;
+    private int mTransferMaxIdleConnections;
+    private int mTransferMaxRequests;
+    private int mTransferMaxRequestsPerHost;
     private int mChunkSize = MIN_CHUNK_SIZE;
+    private int mS3UploadCompletionTimeout;
+    private int mSmallFileUploadThreshold = 0;
+    private boolean mUploadPipeliningEnabled;
+    private HashAlgorithm mTransferHashAlgorithm;
+    private int mDownloadReadAheadSize;
+    private int mDownloadChannelBlockSize = 256;
+    private int mDownloadChannelCacheSize = (4 * DracoonConstants.MIB) / DracoonConstants.KIB;
+    private int mZipExportParallelDownloads = 4;
+    private int mZipExportBufferSize = DracoonConstants.MIB / DracoonConstants.KIB;
+    private int mSyncParallelTransfers = 4;
     private boolean mProxyEnabled = false;
     private InetAddress mProxyAddress;
     private Integer mProxyPort;
@@ -44,6 +93,13 @@ public class DracoonHttpConfig {
     private final List<Interceptor> mOkHttpApplicationInterceptors = new ArrayList<>();
     private final List<Interceptor> mOkHttpNetworkInterceptors = new ArrayList<>();
 
+    private int mResourceCacheSize = 0;
+    private File mResourceCacheDirectory;
+    private int mResourceCacheDirectorySize = (50 * DracoonConstants.MIB) / DracoonConstants.KIB;
+
+    private File mHttpCacheDirectory;
+    private int mHttpCacheSize = (10 * DracoonConstants.MIB) / DracoonConstants.KIB;
+
     /**
      * Constructs a default HTTP configuration.
      */
@@ -54,6 +110,20 @@ public class DracoonHttpConfig {
         mConnectTimeout = 15;
         mReadTimeout = 15;
         mWriteTimeout = 15;
+        mMaxIdleConnections = 5;
+        mKeepAliveDuration = 300;
+        mMaxRequests = 64;
+        mMaxRequestsPerHost = 5;
+        mHttp2Enabled = true;
+        mPingInterval = 0;
+        mTransferReadTimeout = 60;
+        mTransferWriteTimeout = 60;
+        mTransferMaxIdleConnections = 5;
+        mTransferMaxRequests = 64;
+        mTransferMaxRequestsPerHost = 5;
+        mS3UploadCompletionTimeout = 300;
+        mUploadPipeliningEnabled = false;
+        mDownloadReadAheadSize = 0;
     }
 
     /**
@@ -165,6 +235,235 @@ public class DracoonHttpConfig {
         mWriteTimeout = writeTimeout;
     }
 
+    /**
+     * Returns the maximum number of idle connections which are kept in the connection pool.
+     *
+     * @return the maximum number of idle connections
+     */
+    public int getMaxIdleConnections() {
+        return mMaxIdleConnections;
+    }
+
+    /**
+     * Sets the maximum number of idle connections which are kept in the connection pool.<br>
+     * <br>
+     * API and OAuth requests share one connection pool. (Uploads and downloads use a separate
+     * connection pool, see {@link #setTransferMaxIdleConnections(int)}.) Applications with many
+     * parallel workers should increase this number to avoid that connections are closed and
+     * reopened permanently.
+     *
+     * @param maxIdleConnections The maximum number of idle connections.
+     */
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        ValidatorUtils.validateNotNegative("Max. idle connections", (long) maxIdleConnections,
+                false);
+        mMaxIdleConnections = maxIdleConnections;
+    }
+
+    /**
+     * Returns the duration in seconds an idle connection is kept in the connection pool.
+     *
+     * @return the connection keep-alive duration
+     */
+    public int getKeepAliveDuration() {
+        return mKeepAliveDuration;
+    }
+
+    /**
+     * Sets the duration in seconds an idle connection is kept in the connection pool.
+     *
+     * @param keepAliveDuration The connection keep-alive duration.
+     */
+    public void setKeepAliveDuration(int keepAliveDuration) {
+        ValidatorUtils.validatePositiveNumber("Keep-alive duration", keepAliveDuration, false);
+        mKeepAliveDuration = keepAliveDuration;
+    }
+
+    /**
+     * Returns the maximum number of concurrently executed requests.
+     *
+     * @return the maximum number of concurrent requests
+     */
+    public int getMaxRequests() {
+        return mMaxRequests;
+    }
+
+    /**
+     * Sets the maximum number of concurrently executed requests.
+     *
+     * @param maxRequests The maximum number of concurrent requests.
+     */
+    public void setMaxRequests(int maxRequests) {
+        ValidatorUtils.validatePositiveNumber("Max. requests", maxRequests, false);
+        mMaxRequests = maxRequests;
+    }
+
+    /**
+     * Returns the maximum number of concurrently executed requests per host.
+     *
+     * @return the maximum number of concurrent requests per host
+     */
+    public int getMaxRequestsPerHost() {
+        return mMaxRequestsPerHost;
+    }
+
+    /**
+     * Sets the maximum number of concurrently executed requests per host.
+     *
+     * @param maxRequestsPerHost The maximum number of concurrent requests per host.
+     */
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        ValidatorUtils.validatePositiveNumber("Max. requests per host", maxRequestsPerHost, false);
+        mMaxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    /**
+     * Returns <code>true</code> if HTTP/2 is enabled.
+     *
+     * @return <code>true</code> if HTTP/2 is enabled; <code>false</code> otherwise
+     */
+    public boolean isHttp2Enabled() {
+        return mHttp2Enabled;
+    }
+
+    /**
+     * Enables/disables HTTP/2.<br>
+     * <br>
+     * If enabled, HTTP/2 is preferred if the server supports it. Otherwise, HTTP/1.1 is used.
+     *
+     * @param http2Enabled <code>true</code> to enable HTTP/2; otherwise <code>false</code>.
+     */
+    public void setHttp2Enabled(boolean http2Enabled) {
+        mHttp2Enabled = http2Enabled;
+    }
+
+    /**
+     * Returns the HTTP/2 ping interval in seconds.
+     *
+     * @return the HTTP/2 ping interval
+     */
+    public int getPingInterval() {
+        return mPingInterval;
+    }
+
+    /**
+     * Sets the HTTP/2 ping interval in seconds.<br>
+     * <br>
+     * Pings keep HTTP/2 connections alive and detect broken connections early.
+     *
+     * @param pingInterval The HTTP/2 ping interval. (<code>0</code> disables pings.)
+     */
+    public void setPingInterval(int pingInterval) {
+        ValidatorUtils.validateNotNegative("Ping interval", (long) pingInterval, false);
+        mPingInterval = pingInterval;
+    }
+
+    /**
+     * Returns the read timeout in seconds for upload and download requests.
+     *
+     * @return the transfer read timeout
+     */
+    public int getTransferReadTimeout() {
+        return mTransferReadTimeout;
+    }
+
+    /**
+     * Sets the read timeout in seconds for upload and download requests.<br>
+     * <br>
+     * Uploads and downloads of file chunks are executed with a separate HTTP client, so that
+     * long-running transfers don't delay API requests. This timeout only applies to the
+     * transfer HTTP client.
+     *
+     * @param transferReadTimeout The transfer read timeout.
+     */
+    public void setTransferReadTimeout(int transferReadTimeout) {
+        ValidatorUtils.validatePositiveNumber("Transfer read timeout", transferReadTimeout, false);
+        mTransferReadTimeout = transferReadTimeout;
+    }
+
+    /**
+     * Returns the write timeout in seconds for upload and download requests.
+     *
+     * @return the transfer write timeout
+     */
+    public int getTransferWriteTimeout() {
+        return mTransferWriteTimeout;
+    }
+
+    /**
+     * Sets the write timeout in seconds for upload and download requests.
+     *
+     * @param transferWriteTimeout The transfer write timeout.
+     */
+    public void setTransferWriteTimeout(int transferWriteTimeout) {
+        ValidatorUtils.validatePositiveNumber("Transfer write timeout", transferWriteTimeout,
+                false);
+        mTransferWriteTimeout = transferWriteTimeout;
+    }
+
+    /**
+     * Returns the maximum number of idle connections which are kept in the connection pool for
+     * upload and download requests.
+     *
+     * @return the maximum number of idle transfer connections
+     */
+    public int getTransferMaxIdleConnections() {
+        return mTransferMaxIdleConnections;
+    }
+
+    /**
+     * Sets the maximum number of idle connections which are kept in the connection pool for
+     * upload and download requests.
+     *
+     * @param transferMaxIdleConnections The maximum number of idle transfer connections.
+     */
+    public void setTransferMaxIdleConnections(int transferMaxIdleConnections) {
+        ValidatorUtils.validateNotNegative("Transfer max. idle connections",
+                (long) transferMaxIdleConnections, false);
+        mTransferMaxIdleConnections = transferMaxIdleConnections;
+    }
+
+    /**
+     * Returns the maximum number of concurrently executed upload and download requests.
+     *
+     * @return the maximum number of concurrent transfer requests
+     */
+    public int getTransferMaxRequests() {
+        return mTransferMaxRequests;
+    }
+
+    /**
+     * Sets the maximum number of concurrently executed upload and download requests.
+     *
+     * @param transferMaxRequests The maximum number of concurrent transfer requests.
+     */
+    public void setTransferMaxRequests(int transferMaxRequests) {
+        ValidatorUtils.validatePositiveNumber("Transfer max. requests", transferMaxRequests,
+                false);
+        mTransferMaxRequests = transferMaxRequests;
+    }
+
+    /**
+     * Returns the maximum number of concurrently executed upload and download requests per host.
+     *
+     * @return the maximum number of concurrent transfer requests per host
+     */
+    public int getTransferMaxRequestsPerHost() {
+        return mTransferMaxRequestsPerHost;
+    }
+
+    /**
+     * Sets the maximum number of concurrently executed upload and download requests per host.
+     *
+     * @param transferMaxRequestsPerHost The maximum number of concurrent transfer requests per
+     *                                   host.
+     */
+    public void setTransferMaxRequestsPerHost(int transferMaxRequestsPerHost) {
+        ValidatorUtils.validatePositiveNumber("Transfer max. requests per host",
+                transferMaxRequestsPerHost, false);
+        mTransferMaxRequestsPerHost = transferMaxRequestsPerHost;
+    }
+
     /**
      * Returns the upload/download chunk size in KiB.
      *
@@ -187,6 +486,255 @@ public class DracoonHttpConfig {
         }
     }
 
+    /**
+     * Returns the timeout in seconds for the completion of S3 uploads.
+     *
+     * @return the S3 upload completion timeout
+     */
+    public int getS3UploadCompletionTimeout() {
+        return mS3UploadCompletionTimeout;
+    }
+
+    /**
+     * Sets the timeout in seconds for the completion of S3 uploads.<br>
+     * <br>
+     * After all parts of an S3 upload were sent, the server assembles the file. The SDK polls the
+     * upload status till the file is available or till this timeout has expired. (The poll
+     * interval depends on the file size.)
+     *
+     * @param s3UploadCompletionTimeout The S3 upload completion timeout.
+     */
+    public void setS3UploadCompletionTimeout(int s3UploadCompletionTimeout) {
+        ValidatorUtils.validatePositiveNumber("S3 upload completion timeout",
+                s3UploadCompletionTimeout, false);
+        mS3UploadCompletionTimeout = s3UploadCompletionTimeout;
+    }
+
+    /**
+     * Returns the size in KiB up to which files are uploaded as small files.
+     *
+     * @return the small file upload threshold
+     */
+    public int getSmallFileUploadThreshold() {
+        return mSmallFileUploadThreshold;
+    }
+
+    /**
+     * Sets the size in KiB up to which files are uploaded as small files.<br>
+     * <br>
+     * Small files are always sent to the standard upload endpoint, even if the server uses an S3
+     * storage. This saves the requests for the S3 upload URL and the polls of the S3 upload
+     * status. The threshold only applies to uploads with a known length.
+     *
+     * @param smallFileUploadThreshold The small file upload threshold. (<code>0</code> disables
+     *                                 the small file upload.)
+     */
+    public void setSmallFileUploadThreshold(int smallFileUploadThreshold) {
+        ValidatorUtils.validateNotNegative("Small file upload threshold",
+                (long) smallFileUploadThreshold, false);
+        mSmallFileUploadThreshold = smallFileUploadThreshold;
+    }
+
+    /**
+     * Returns <code>true</code> if upload pipelining is enabled.
+     *
+     * @return <code>true</code> if upload pipelining is enabled; <code>false</code> otherwise
+     */
+    public boolean isUploadPipeliningEnabled() {
+        return mUploadPipeliningEnabled;
+    }
+
+    /**
+     * Enables/disables upload pipelining.<br>
+     * <br>
+     * If enabled, upload chunks are encrypted and sent by background threads. While a chunk is
+     * sent, the next chunk can already be written and encrypted. At most two chunks are held in
+     * memory at once.<br>
+     * <br>
+     * Because chunks are sent in the background, an error of a chunk is reported by a following
+     * write or by the completion of the upload.
+     *
+     * @param uploadPipeliningEnabled <code>true</code> to enable upload pipelining; otherwise
+     *                                <code>false</code>.
+     */
+    public void setUploadPipeliningEnabled(boolean uploadPipeliningEnabled) {
+        mUploadPipeliningEnabled = uploadPipeliningEnabled;
+    }
+
+    /**
+     * Returns the algorithm which is used to hash transferred data.
+     *
+     * @return the transfer hash algorithm; or <code>null</code> if transferred data is not hashed
+     */
+    public HashAlgorithm getTransferHashAlgorithm() {
+        return mTransferHashAlgorithm;
+    }
+
+    /**
+     * Sets the algorithm which is used to hash transferred data.<br>
+     * <br>
+     * If set, upload and download streams hash the plain data while it is written or read. The
+     * hash is available after the transfer has finished. (See
+     * {@link com.dracoon.sdk.model.FileUploadStream#getHash() FileUploadStream.getHash()} and
+     * {@link com.dracoon.sdk.model.FileDownloadStream#getHash() FileDownloadStream.getHash()}.)
+     * This avoids a second pass over the data to validate a transfer.<br>
+     * <br>
+     * Additionally, parts of S3 uploads are sent with a <code>Content-MD5</code> header, so that
+     * the storage rejects corrupted parts. If MD5 is used, the hash of unencrypted downloads is
+     * verified against the hash of the node. (Encrypted downloads are already verified by the
+     * decryption.)
+     *
+     * @param transferHashAlgorithm The transfer hash algorithm. (<code>null</code> disables
+     *                              hashing.)
+     */
+    public void setTransferHashAlgorithm(HashAlgorithm transferHashAlgorithm) {
+        mTransferHashAlgorithm = transferHashAlgorithm;
+    }
+
+    /**
+     * Returns the download read-ahead size in KiB.
+     *
+     * @return the download read-ahead size
+     */
+    public int getDownloadReadAheadSize() {
+        return mDownloadReadAheadSize;
+    }
+
+    /**
+     * Sets the download read-ahead size in KiB.<br>
+     * <br>
+     * If set, download data is fetched and decrypted by a background thread, which keeps up to
+     * this number of bytes ready for reading. Reads from download streams then mostly copy
+     * already available bytes. This helps consumers which process the read data slowly.
+     *
+     * @param downloadReadAheadSize The download read-ahead size. (<code>0</code> disables
+     *                              read-ahead.)
+     */
+    public void setDownloadReadAheadSize(int downloadReadAheadSize) {
+        ValidatorUtils.validateNotNegative("Download read-ahead size", (long) downloadReadAheadSize,
+                false);
+        mDownloadReadAheadSize = downloadReadAheadSize;
+    }
+
+    /**
+     * Returns the block size of download channels in KiB.
+     *
+     * @return the download channel block size
+     */
+    public int getDownloadChannelBlockSize() {
+        return mDownloadChannelBlockSize;
+    }
+
+    /**
+     * Sets the block size of download channels in KiB.<br>
+     * <br>
+     * Download channels request files in blocks of this size. Smaller blocks make reads at random
+     * positions cheaper. Larger blocks need fewer requests for sequential reads.
+     *
+     * @param downloadChannelBlockSize The download channel block size.
+     */
+    public void setDownloadChannelBlockSize(int downloadChannelBlockSize) {
+        ValidatorUtils.validatePositiveNumber("Download channel block size",
+                downloadChannelBlockSize, false);
+        mDownloadChannelBlockSize = downloadChannelBlockSize;
+    }
+
+    /**
+     * Returns the block cache size of download channels in KiB.
+     *
+     * @return the download channel cache size
+     */
+    public int getDownloadChannelCacheSize() {
+        return mDownloadChannelCacheSize;
+    }
+
+    /**
+     * Sets the block cache size of download channels in KiB.<br>
+     * <br>
+     * Each download channel caches the most recently read blocks up to this size. (At least one
+     * block is always cached.)
+     *
+     * @param downloadChannelCacheSize The download channel cache size.
+     */
+    public void setDownloadChannelCacheSize(int downloadChannelCacheSize) {
+        ValidatorUtils.validateNotNegative("Download channel cache size",
+                (long) downloadChannelCacheSize, false);
+        mDownloadChannelCacheSize = downloadChannelCacheSize;
+    }
+
+    /**
+     * Returns the number of files which are downloaded in parallel at a ZIP export.
+     *
+     * @return the number of parallel ZIP export downloads
+     */
+    public int getZipExportParallelDownloads() {
+        return mZipExportParallelDownloads;
+    }
+
+    /**
+     * Sets the number of files which are downloaded in parallel at a ZIP export.<br>
+     * <br>
+     * Files are written to the archive in order. While a file is written, the following files
+     * are already downloaded and decrypted in the background.
+     *
+     * @param zipExportParallelDownloads The number of parallel ZIP export downloads.
+     */
+    public void setZipExportParallelDownloads(int zipExportParallelDownloads) {
+        ValidatorUtils.validatePositiveNumber("ZIP export parallel downloads",
+                zipExportParallelDownloads, false);
+        mZipExportParallelDownloads = zipExportParallelDownloads;
+    }
+
+    /**
+     * Returns the buffer size per file of ZIP exports in KiB.
+     *
+     * @return the ZIP export buffer size
+     */
+    public int getZipExportBufferSize() {
+        return mZipExportBufferSize;
+    }
+
+    /**
+     * Sets the buffer size per file of ZIP exports in KiB.<br>
+     * <br>
+     * Each file which is downloaded in the background buffers up to this size. The memory used by
+     * a ZIP export is therefore limited to about the number of parallel downloads multiplied with
+     * this size, regardless of the number of files.
+     *
+     * @param zipExportBufferSize The ZIP export buffer size.
+     */
+    public void setZipExportBufferSize(int zipExportBufferSize) {
+        ValidatorUtils.validatePositiveNumber("ZIP export buffer size", zipExportBufferSize,
+                false);
+        mZipExportBufferSize = zipExportBufferSize;
+    }
+
+    /**
+     * Returns the number of files which are transferred in parallel at a folder synchronization.
+     *
+     * @return the number of parallel synchronization transfers
+     */
+    public int getSyncParallelTransfers() {
+        return mSyncParallelTransfers;
+    }
+
+    /**
+     * Sets the number of files which are transferred in parallel at a folder synchronization.
+     * (See {@link DracoonClient.Nodes#syncFolder(String, com.dracoon.sdk.model.FolderSyncRequest)
+     * DracoonClient.Nodes.syncFolder(...)}.)<br>
+     * <br>
+     * Uploads and downloads are executed by a pool of this size. Every transfer uses its own
+     * connections. Therefore, the number should be kept in line with the transfer max.
+     * requests/host.
+     *
+     * @param syncParallelTransfers The number of parallel synchronization transfers.
+     */
+    public void setSyncParallelTransfers(int syncParallelTransfers) {
+        ValidatorUtils.validatePositiveNumber("Sync parallel transfers", syncParallelTransfers,
+                false);
+        mSyncParallelTransfers = syncParallelTransfers;
+    }
+
     /**
      * Enables the use of a proxy server and sets the address and port to use.
      *
@@ -275,6 +823,118 @@ public class DracoonHttpConfig {
         mOkHttpNetworkInterceptors.add(interceptor);
     }
 
+    /**
+     * Returns the size of the in-memory resource cache in KiB.
+     *
+     * @return the size of the in-memory resource cache
+     */
+    public int getResourceCacheSize() {
+        return mResourceCacheSize;
+    }
+
+    /**
+     * Sets the size of the in-memory resource cache in KiB.<br>
+     * <br>
+     * The resource cache stores downloaded avatars, so that they don't need to be fetched again.
+     * If the size is exceeded, the least recently used resources are evicted.
+     *
+     * @param resourceCacheSize The size of the in-memory resource cache. (<code>0</code> disables
+     *                          the in-memory resource cache.)
+     */
+    public void setResourceCacheSize(int resourceCacheSize) {
+        ValidatorUtils.validateNotNegative("Resource cache size", (long) resourceCacheSize, false);
+        mResourceCacheSize = resourceCacheSize;
+    }
+
+    /**
+     * Returns the directory of the on-disk resource cache.
+     *
+     * @return the directory of the on-disk resource cache; or <code>null</code> if no on-disk
+     *         resource cache is used
+     */
+    public File getResourceCacheDirectory() {
+        return mResourceCacheDirectory;
+    }
+
+    /**
+     * Sets the directory of the on-disk resource cache.<br>
+     * <br>
+     * If a directory is set, resources are additionally stored on disk. This allows to reuse them
+     * after a restart of the application.
+     *
+     * @param resourceCacheDirectory The directory of the on-disk resource cache.
+     *                               (<code>null</code> disables the on-disk resource cache.)
+     */
+    public void setResourceCacheDirectory(File resourceCacheDirectory) {
+        mResourceCacheDirectory = resourceCacheDirectory;
+    }
+
+    /**
+     * Returns the size of the on-disk resource cache in KiB.
+     *
+     * @return the size of the on-disk resource cache
+     */
+    public int getResourceCacheDirectorySize() {
+        return mResourceCacheDirectorySize;
+    }
+
+    /**
+     * Sets the size of the on-disk resource cache in KiB.
+     *
+     * @param resourceCacheDirectorySize The size of the on-disk resource cache.
+     */
+    public void setResourceCacheDirectorySize(int resourceCacheDirectorySize) {
+        ValidatorUtils.validateNotNegative("Resource cache directory size",
+                (long) resourceCacheDirectorySize, false);
+        mResourceCacheDirectorySize = resourceCacheDirectorySize;
+    }
+
+    /**
+     * Returns the directory of the HTTP cache.
+     *
+     * @return the directory of the HTTP cache; or <code>null</code> if no HTTP cache is used
+     */
+    public File getHttpCacheDirectory() {
+        return mHttpCacheDirectory;
+    }
+
+    /**
+     * Sets the directory of the HTTP cache.<br>
+     * <br>
+     * If a directory is set, responses of GET requests are cached according to the caching
+     * headers sent by the server. Responses with an ETag are always revalidated (via
+     * <code>If-None-Match</code>) before they are reused. If the resource has not changed, the
+     * server doesn't need to resend it.<br>
+     * <br>
+     * Cached responses are stored by URL. Therefore, a directory must not be shared by clients of
+     * different users.
+     *
+     * @param httpCacheDirectory The directory of the HTTP cache. (<code>null</code> disables the
+     *                           HTTP cache.)
+     */
+    public void setHttpCacheDirectory(File httpCacheDirectory) {
+        mHttpCacheDirectory = httpCacheDirectory;
+    }
+
+    /**
+     * Returns the size of the HTTP cache in KiB.
+     *
+     * @return the size of the HTTP cache
+     */
+    public int getHttpCacheSize() {
+        return mHttpCacheSize;
+    }
+
+    /**
+     * Sets the size of the HTTP cache in KiB.
+     *
+     * @param httpCacheSize The size of the HTTP cache.
+     */
+    public void setHttpCacheSize(int httpCacheSize) {
+        ValidatorUtils.validatePositiveNumber("HTTP cache size", httpCacheSize, false);
+        mHttpCacheSize = httpCacheSize;
+    }
+
     private static String buildDefaultUserAgentString() {
         return "Java-SDK" + "|" +
                 BuildDetails.getVersion() + "|" +
@@ -0,0 +1,37 @@
+package com.dracoon.sdk;
+
+import com.dracoon.sdk.model.FileTransferMetrics;
+import com.dracoon.sdk.model.HttpRequestMetrics;
+
+/**
+ * DracoonMetrics is the interface for custom metrics collectors of the Dracoon SDK.<br>
+ * <br>
+ * A custom metrics collector can be set via the DracoonClient builder method
+ * {@link DracoonClient.Builder#metrics(DracoonMetrics)}.<br>
+ * <br>
+ * The methods are called on the thread which made the request. Therefore, implementations must be
+ * thread-safe and should return quickly.
+ */
+@SuppressWarnings("unused")
+public interface DracoonMetrics {
+
+    /**
+     * Called when a HTTP request was finished. (A request is finished when a response was received
+     * or when it failed after all retries.)
+     *
+     * @param metrics The measurements of the request.
+     */
+    void onHttpRequestFinished(HttpRequestMetrics metrics);
+
+    /**
+     * Called when a file upload or download was finished, failed or was canceled.<br>
+     * <br>
+     * The default implementation does nothing.
+     *
+     * @param metrics The measurements of the transfer.
+     */
+    default void onFileTransferFinished(FileTransferMetrics metrics) {
+
+    }
+
+}
@@ -14,7 +14,7 @@ public class ExpireAtFilter extends DateFilter {
     /**
      * Builder for creating new instances of {@link ExpireAtFilter}.
      */
-    public static class Builder extends DateFilter.Builder {
+    public static class Builder extends DateFilter.Builder<ExpireAtFilter> {
 
         public Builder() {
             super(new ExpireAtFilter());
@@ -14,7 +14,7 @@ public class UpdatedAtFilter extends DateFilter {
     /**
      * Builder for creating new instances of {@link UpdatedAtFilter}.
      */
-    public static class Builder extends DateFilter.Builder {
+    public static class Builder extends DateFilter.Builder<UpdatedAtFilter> {
 
         public Builder() {
             super(new UpdatedAtFilter());
@@ -5,6 +5,7 @@ import java.net.URL;
 import com.dracoon.sdk.DracoonAuth;
 import com.dracoon.sdk.DracoonClient;
 import com.dracoon.sdk.DracoonHttpConfig;
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonNetIOException;
@@ -29,6 +30,7 @@ import com.dracoon.sdk.internal.service.ServiceDependencies;
 import com.dracoon.sdk.internal.service.ServiceDependenciesImpl;
 import com.dracoon.sdk.internal.service.ServiceLocator;
 import com.dracoon.sdk.internal.service.ServiceLocatorImpl;
+import com.dracoon.sdk.internal.util.Lazy;
 import okhttp3.OkHttpClient;
 
 /**
@@ -73,10 +75,16 @@ public class DracoonClientImpl extends DracoonClient {
 
     private Log mLog = new NullLog();
     private DracoonHttpConfig mHttpConfig = new DracoonHttpConfig();
+    private ApiVersionCheck mApiVersionCheck = ApiVersionCheck.ON_BUILD;
+    private DracoonMetrics mMetrics;
+
+    // HTTP clients, API and OAuth client are built when they are needed for the first time
+    private Lazy<OkHttpClient> mHttpClient;
+    private Lazy<OkHttpClient> mTransferHttpClient;
 
     private AuthChecker mAuthChecker;
-    private AuthTokenRetriever mAuthTokenRetriever;
-    private AuthTokenRefresher mAuthTokenRefresher;
+    private Lazy<AuthTokenRetriever> mAuthTokenRetriever;
+    private Lazy<AuthTokenRefresher> mAuthTokenRefresher;
 
     private ServiceLocator mServiceLocator;
     private DynamicServiceProxy mServiceProxy;
@@ -117,39 +125,76 @@ public class DracoonClientImpl extends DracoonClient {
         mHttpConfig = httpConfig != null ? httpConfig : new DracoonHttpConfig();
     }
 
+    public ApiVersionCheck getApiVersionCheck() {
+        return mApiVersionCheck;
+    }
+
+    public void setApiVersionCheck(ApiVersionCheck apiVersionCheck) {
+        mApiVersionCheck = apiVersionCheck != null ? apiVersionCheck : ApiVersionCheck.ON_BUILD;
+    }
+
+    public DracoonMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    public void setMetrics(DracoonMetrics metrics) {
+        mMetrics = metrics;
+    }
+
     // --- Initialization methods ---
 
     public void init() {
+        initHttpClient();
         initAuthHelpers();
 
         initServiceLocator();
         initServiceProxy();
     }
 
+    private void initHttpClient() {
+        HttpClientBuilder httpClientBuilder = new HttpClientBuilder();
+        mHttpClient = new Lazy<>(() -> httpClientBuilder.build(mHttpConfig));
+        mTransferHttpClient = new Lazy<>(() -> httpClientBuilder.buildTransferClient(mHttpConfig,
+                mHttpClient.get()));
+    }
+
     private void initAuthHelpers() {
+        Lazy<OAuthClient> oAuthClient = new Lazy<>(this::createOAuthClient);
+
+        mAuthChecker = new AuthChecker(() -> mServiceLocator.getAccountService().pingUser());
+
+        mAuthTokenRetriever = new Lazy<>(() -> new AuthTokenRetrieverImpl(oAuthClient.get(),
+                mAuthHolder));
+        mAuthTokenRefresher = new Lazy<>(() -> new AuthTokenRefresherImpl(oAuthClient.get(),
+                mAuthHolder));
+    }
+
+    private OAuthClient createOAuthClient() {
         OAuthClient oAuthClient = new OAuthClient(mServerUrl);
         oAuthClient.setLog(mLog);
         oAuthClient.setHttpConfig(mHttpConfig);
+        oAuthClient.setHttpClient(mHttpClient.get());
+        oAuthClient.setMetrics(mMetrics);
         oAuthClient.init();
-
-        mAuthChecker = new AuthChecker(() -> mServiceLocator.getAccountService().pingUser());
-
-        mAuthTokenRetriever = new AuthTokenRetrieverImpl(oAuthClient, mAuthHolder);
-        mAuthTokenRefresher = new AuthTokenRefresherImpl(oAuthClient, mAuthHolder);
+        return oAuthClient;
     }
 
     private void initServiceLocator() {
-        OkHttpClient httpClient = new HttpClientBuilder().build(mHttpConfig);
-
         HttpHelper httpHelper = new HttpHelper();
         httpHelper.setLog(mLog);
         httpHelper.setRetryEnabled(mHttpConfig.isRetryEnabled());
         httpHelper.setRateLimitingEnabled(mHttpConfig.isRateLimitingEnabled());
+        httpHelper.setMetrics(mMetrics);
+        if (mApiVersionCheck == ApiVersionCheck.ON_FIRST_REQUEST) {
+            httpHelper.setPrecondition(this::checkApiVersionSupported);
+        }
         httpHelper.init();
 
-        AuthInterceptor authInterceptor = new AuthInterceptorImpl(mAuthHolder, mAuthTokenRefresher);
+        AuthInterceptor authInterceptor = new AuthInterceptorImpl(mAuthHolder,
+                () -> mAuthTokenRefresher.get().refresh());
 
-        DracoonApi dracoonApi = new DracoonApiBuilder().build(mServerUrl, httpClient, authInterceptor);
+        Lazy<DracoonApi> dracoonApi = new Lazy<>(() -> new DracoonApiBuilder().build(mServerUrl,
+                mHttpClient.get(), authInterceptor));
 
         DracoonErrorParser dracoonErrorParser = new DracoonErrorParser();
         dracoonErrorParser.setLog(mLog);
@@ -159,13 +204,15 @@ public class DracoonClientImpl extends DracoonClient {
         ServiceDependencies serviceDependencies = new ServiceDependenciesImpl.Builder()
                 .setLog(mLog)
                 .setHttpConfig(mHttpConfig)
-                .setHttpClient(httpClient)
+                .setHttpClient(mHttpClient)
+                .setTransferHttpClient(mTransferHttpClient)
                 .setHttpHelper(httpHelper)
                 .setServerUrl(mServerUrl)
                 .setDracoonApi(dracoonApi)
                 .setDracoonErrorParser(dracoonErrorParser)
                 .setEncryptionPasswordHolder(mEncPasswordHolder)
                 .setCryptoWrapper(cryptoWrapper)
+                .setMetrics(mMetrics)
                 .build();
 
         mServiceLocator = new ServiceLocatorImpl(serviceDependencies);
@@ -173,7 +220,6 @@ public class DracoonClientImpl extends DracoonClient {
 
     private void initServiceProxy() {
         mServiceProxy = new DynamicServiceProxy(mServiceLocator);
-        mServiceProxy.prepare();
     }
 
     public void checkApiVersionSupported() throws DracoonNetIOException, DracoonApiException {
@@ -181,7 +227,7 @@ public class DracoonClientImpl extends DracoonClient {
     }
 
     public void retrieveAuthTokens() throws DracoonApiException, DracoonNetIOException {
-        mAuthTokenRetriever.retrieve();
+        mAuthTokenRetriever.get().retrieve();
     }
 
     @Override
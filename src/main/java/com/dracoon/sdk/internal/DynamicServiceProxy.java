@@ -1,5 +1,8 @@
 package com.dracoon.sdk.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -10,6 +13,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.dracoon.sdk.DracoonClient;
 import com.dracoon.sdk.internal.service.Service;
@@ -17,28 +21,24 @@ import com.dracoon.sdk.internal.service.ServiceLocator;
 
 class DynamicServiceProxy {
 
-    private final List<Service> mServices = new ArrayList<>();
-    private final Map<Class<?>, Object> mServiceProxies = new HashMap<>();
+    private final ServiceLocator mServiceLocator;
 
-    DynamicServiceProxy(ServiceLocator servicelocator) {
-        init(servicelocator);
-    }
+    private final ServerGroupsService mServerGroupsService = new ServerGroupsService();
+    // Proxies are created on first use. (Creating a proxy requires scanning all methods of the
+    // client interface and its services.) Only the services of the requested proxy are created.
+    private final Map<Class<?>, Object> mServiceProxies = new ConcurrentHashMap<>();
 
-    private void init(ServiceLocator serviceLocator) {
-        mServices.add(new ServerGroupsService());
-        mServices.addAll(serviceLocator.getServices());
+    DynamicServiceProxy(ServiceLocator servicelocator) {
+        mServiceLocator = servicelocator;
     }
 
-    public void prepare() {
-        createProxy(DracoonClient.Server.class);
-        createProxy(DracoonClient.ServerSettings.class);
-        createProxy(DracoonClient.ServerPolicies.class);
-        createProxy(DracoonClient.ServerPolicies.class);
-        createProxy(DracoonClient.Account.class);
-        createProxy(DracoonClient.Users.class);
-        createProxy(DracoonClient.Groups.class);
-        createProxy(DracoonClient.Nodes.class);
-        createProxy(DracoonClient.Shares.class);
+    private List<Service> getServices(Class<?> clientClass) {
+        List<Service> services = new ArrayList<>();
+        if (clientClass == DracoonClient.Server.class) {
+            services.add(mServerGroupsService);
+        }
+        services.addAll(mServiceLocator.getServices(clientClass));
+        return services;
     }
 
     // --- DracoonClient main group function ---
@@ -84,18 +84,9 @@ class DynamicServiceProxy {
 
     // --- Proxy functions ---
 
-    private <T> void createProxy(Class<T> i) {
-        T proxy = createProxy(i, mServices);
-        mServiceProxies.put(i, proxy);
-    }
-
     @SuppressWarnings("unchecked")
     private <T> T findProxy(Class<T> i) {
-        T proxy = (T) mServiceProxies.get(i);
-        if (proxy == null) {
-            throw new RuntimeException(String.format("Could not find proxy for: %s", i.getName()));
-        }
-        return proxy;
+        return (T) mServiceProxies.computeIfAbsent(i, k -> createProxy(k, getServices(k)));
     }
 
     @SuppressWarnings("unchecked")
@@ -109,20 +100,24 @@ class DynamicServiceProxy {
 
     private static class ProxyTarget {
 
-        private final Service mService;
-        private final Method mMethod;
+        private final MethodHandle mMethodHandle;
 
         ProxyTarget(Service service, Method method) {
-            mService = service;
-            mMethod = method;
-        }
-
-        public Service getService() {
-            return mService;
+            // Bind method to service and adapt it to the proxy argument array once, so that no
+            // reflective call is necessary at invocation time
+            try {
+                mMethodHandle = MethodHandles.lookup().unreflect(method)
+                        .bindTo(service)
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(String.format("Could not access method: %s/%s",
+                        service.getClass(), method.getName()), e);
+            }
         }
 
-        public Method getMethod() {
-            return mMethod;
+        public Object invoke(Object[] args) throws Throwable {
+            return mMethodHandle.invokeExact(args);
         }
 
     }
@@ -222,11 +217,7 @@ class DynamicServiceProxy {
                 throw new RuntimeException(String.format("Could not proxy method call for: %s/%s",
                         method.getDeclaringClass(), method.getName()));
             }
-            try {
-                return target.getMethod().invoke(target.getService(), args);
-            } catch (Exception e) {
-                throw e.getCause();
-            }
+            return target.invoke(args);
         }
 
     }
@@ -27,7 +27,6 @@ import com.dracoon.sdk.internal.api.model.ApiFileUpload;
 import com.dracoon.sdk.internal.api.model.ApiMissingFileKeys;
 import com.dracoon.sdk.internal.api.model.ApiMoveNodesRequest;
 import com.dracoon.sdk.internal.api.model.ApiNode;
-import com.dracoon.sdk.internal.api.model.ApiNodeList;
 import com.dracoon.sdk.internal.api.model.ApiS3FileUploadStatus;
 import com.dracoon.sdk.internal.api.model.ApiS3FileUploadUrlList;
 import com.dracoon.sdk.internal.api.model.ApiGetS3FileUploadUrlsRequest;
@@ -50,6 +49,7 @@ import com.dracoon.sdk.internal.api.model.ApiUserKeyPair;
 import com.dracoon.sdk.internal.api.model.ApiUserProfileAttributes;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
@@ -62,6 +62,7 @@ import retrofit2.http.PUT;
 import retrofit2.http.Part;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 import static com.dracoon.sdk.internal.DracoonConstants.API_PATH;
 
@@ -128,7 +129,8 @@ public interface DracoonApi {
     Call<Void> deleteUserAvatar();
 
     @GET(API_PATH + "/nodes")
-    Call<ApiNodeList> getNodes(@Query("parent_id") Long parentNodeId,
+    @Streaming
+    Call<ResponseBody> getNodes(@Query("parent_id") Long parentNodeId,
             @Query("depth_level") Integer depthLevel,
             @Query("filter") String filter,
             @Query("sort") String sort,
@@ -139,7 +141,8 @@ public interface DracoonApi {
     Call<ApiNode> getNode(@Path("node_id") Long nodeId);
 
     @GET(API_PATH + "/nodes/search")
-    Call<ApiNodeList> searchNodes(@Query("search_string") String searchString,
+    @Streaming
+    Call<ResponseBody> searchNodes(@Query("search_string") String searchString,
             @Query("parent_id") Long parentNodeId,
             @Query("depth_level") Integer depthLevel,
             @Query("filter") String filter,
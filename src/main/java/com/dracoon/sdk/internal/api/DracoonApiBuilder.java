@@ -2,6 +2,7 @@ package com.dracoon.sdk.internal.api;
 
 import java.net.URL;
 
+import com.dracoon.sdk.internal.api.adapter.ApiTypeAdapterFactory;
 import com.dracoon.sdk.internal.auth.AuthInterceptor;
 import com.dracoon.sdk.internal.util.GsonCharArrayTypeAdapter;
 import com.dracoon.sdk.internal.util.GsonDateTypeAdapter;
@@ -25,6 +26,7 @@ public class DracoonApiBuilder {
                 .registerTypeAdapter(GsonVoidTypeAdapter.TYPE, new GsonVoidTypeAdapter())
                 .registerTypeAdapter(GsonDateTypeAdapter.TYPE, new GsonDateTypeAdapter())
                 .registerTypeAdapter(GsonCharArrayTypeAdapter.TYPE, new GsonCharArrayTypeAdapter())
+                .registerTypeAdapterFactory(new ApiTypeAdapterFactory())
                 .create();
 
         Retrofit retrofit = new Retrofit.Builder()
@@ -0,0 +1,47 @@
+package com.dracoon.sdk.internal.api.adapter;
+
+import java.io.IOException;
+
+import com.dracoon.sdk.internal.api.model.ApiFileKey;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+public class ApiFileKeyTypeAdapter extends BaseApiTypeAdapter<ApiFileKey> {
+
+    @Override
+    public void write(JsonWriter out, ApiFileKey value) throws IOException {
+        out.beginObject();
+        writeString(out, "version", value.version);
+        writeString(out, "key", value.key);
+        writeString(out, "iv", value.iv);
+        writeString(out, "tag", value.tag);
+        out.endObject();
+    }
+
+    @Override
+    public ApiFileKey read(JsonReader in) throws IOException {
+        ApiFileKey value = new ApiFileKey();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "version":
+                    value.version = readString(in);
+                    break;
+                case "key":
+                    value.key = readString(in);
+                    break;
+                case "iv":
+                    value.iv = readString(in);
+                    break;
+                case "tag":
+                    value.tag = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.dracoon.sdk.internal.api.adapter;
+
+import java.io.IOException;
+
+import com.dracoon.sdk.internal.api.model.ApiFileIdFileKey;
+import com.dracoon.sdk.internal.api.model.ApiFileKey;
+import com.dracoon.sdk.internal.api.model.ApiMissingFileKeys;
+import com.dracoon.sdk.internal.api.model.ApiUserIdFileId;
+import com.dracoon.sdk.internal.api.model.ApiUserIdUserPublicKey;
+import com.dracoon.sdk.internal.api.model.ApiUserPublicKey;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+public class ApiMissingFileKeysTypeAdapter extends BaseApiTypeAdapter<ApiMissingFileKeys> {
+
+    private final TypeAdapter<ApiFileKey> mFileKeyAdapter;
+
+    public ApiMissingFileKeysTypeAdapter(TypeAdapter<ApiFileKey> fileKeyAdapter) {
+        mFileKeyAdapter = fileKeyAdapter;
+    }
+
+    // --- Write methods ---
+
+    @Override
+    public void write(JsonWriter out, ApiMissingFileKeys value) throws IOException {
+        out.beginObject();
+        writeObject(out, "range", value.range, BaseApiTypeAdapter::writeRange);
+        writeList(out, "items", value.items, ApiMissingFileKeysTypeAdapter::writeUserIdFileId);
+        writeList(out, "users", value.users, ApiMissingFileKeysTypeAdapter::writeUser);
+        writeList(out, "files", value.files, this::writeFile);
+        out.endObject();
+    }
+
+    private static void writeUserIdFileId(JsonWriter out, ApiUserIdFileId value)
+            throws IOException {
+        out.beginObject();
+        writeNumber(out, "userId", value.userId);
+        writeNumber(out, "fileId", value.fileId);
+        out.endObject();
+    }
+
+    private static void writeUser(JsonWriter out, ApiUserIdUserPublicKey value)
+            throws IOException {
+        out.beginObject();
+        writeNumber(out, "id", value.id);
+        writeObject(out, "publicKeyContainer", value.publicKeyContainer,
+                ApiMissingFileKeysTypeAdapter::writeUserPublicKey);
+        out.endObject();
+    }
+
+    private static void writeUserPublicKey(JsonWriter out, ApiUserPublicKey value)
+            throws IOException {
+        out.beginObject();
+        writeString(out, "version", value.version);
+        writeString(out, "publicKey", value.publicKey != null ?
+                String.valueOf(value.publicKey) : null);
+        out.endObject();
+    }
+
+    private void writeFile(JsonWriter out, ApiFileIdFileKey value) throws IOException {
+        out.beginObject();
+        writeNumber(out, "id", value.id);
+        writeObject(out, "fileKeyContainer", value.fileKeyContainer, mFileKeyAdapter);
+        out.endObject();
+    }
+
+    // --- Read methods ---
+
+    @Override
+    public ApiMissingFileKeys read(JsonReader in) throws IOException {
+        ApiMissingFileKeys value = new ApiMissingFileKeys();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "range":
+                    value.range = readObject(in, BaseApiTypeAdapter::readRange);
+                    break;
+                case "items":
+                    value.items = readList(in, ApiMissingFileKeysTypeAdapter::readUserIdFileId);
+                    break;
+                case "users":
+                    value.users = readList(in, ApiMissingFileKeysTypeAdapter::readUser);
+                    break;
+                case "files":
+                    value.files = readList(in, this::readFile);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private static ApiUserIdFileId readUserIdFileId(JsonReader in) throws IOException {
+        ApiUserIdFileId value = new ApiUserIdFileId();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "userId":
+                    value.userId = readLong(in);
+                    break;
+                case "fileId":
+                    value.fileId = readLong(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private static ApiUserIdUserPublicKey readUser(JsonReader in) throws IOException {
+        ApiUserIdUserPublicKey value = new ApiUserIdUserPublicKey();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    value.id = readLong(in);
+                    break;
+                case "publicKeyContainer":
+                    value.publicKeyContainer = readObject(in,
+                            ApiMissingFileKeysTypeAdapter::readUserPublicKey);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private static ApiUserPublicKey readUserPublicKey(JsonReader in) throws IOException {
+        ApiUserPublicKey value = new ApiUserPublicKey();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "version":
+                    value.version = readString(in);
+                    break;
+                case "publicKey":
+                    String publicKey = readString(in);
+                    value.publicKey = publicKey != null ? publicKey.toCharArray() : null;
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private ApiFileIdFileKey readFile(JsonReader in) throws IOException {
+        ApiFileIdFileKey value = new ApiFileIdFileKey();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    value.id = readLong(in);
+                    break;
+                case "fileKeyContainer":
+                    value.fileKeyContainer = readObject(in, mFileKeyAdapter);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
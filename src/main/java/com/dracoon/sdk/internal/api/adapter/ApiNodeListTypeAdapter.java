@@ -0,0 +1,90 @@
+package com.dracoon.sdk.internal.api.adapter;
+
+import java.io.IOException;
+
+import com.dracoon.sdk.internal.api.model.ApiNode;
+import com.dracoon.sdk.internal.api.model.ApiNodeList;
+import com.dracoon.sdk.internal.api.model.ApiRange;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+public class ApiNodeListTypeAdapter extends BaseApiTypeAdapter<ApiNodeList> {
+
+    public interface ItemHandler {
+        void onItem(ApiNode item) throws IOException;
+    }
+
+    private final TypeAdapter<ApiNode> mNodeAdapter;
+
+    public ApiNodeListTypeAdapter(TypeAdapter<ApiNode> nodeAdapter) {
+        mNodeAdapter = nodeAdapter;
+    }
+
+    // --- Write methods ---
+
+    @Override
+    public void write(JsonWriter out, ApiNodeList value) throws IOException {
+        out.beginObject();
+        writeObject(out, "range", value.range, BaseApiTypeAdapter::writeRange);
+        writeList(out, "items", value.items, mNodeAdapter::write);
+        out.endObject();
+    }
+
+    // --- Read methods ---
+
+    @Override
+    public ApiNodeList read(JsonReader in) throws IOException {
+        ApiNodeList value = new ApiNodeList();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "range":
+                    value.range = readObject(in, BaseApiTypeAdapter::readRange);
+                    break;
+                case "items":
+                    value.items = readList(in, mNodeAdapter::read);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    // Reads a node list and passes each item to the handler as soon as it was read. (In contrast
+    // to read(JsonReader), the items are not collected.)
+    public ApiRange read(JsonReader in, ItemHandler handler) throws IOException {
+        ApiRange range = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "range":
+                    range = readObject(in, BaseApiTypeAdapter::readRange);
+                    break;
+                case "items":
+                    readItems(in, handler);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return range;
+    }
+
+    private void readItems(JsonReader in, ItemHandler handler) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            handler.onItem(readObject(in, mNodeAdapter));
+        }
+        in.endArray();
+    }
+
+}
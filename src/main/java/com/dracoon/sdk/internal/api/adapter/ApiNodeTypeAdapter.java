@@ -0,0 +1,360 @@
+package com.dracoon.sdk.internal.api.adapter;
+
+import java.io.IOException;
+import java.util.Date;
+
+import com.dracoon.sdk.internal.api.model.ApiEncryptionInfo;
+import com.dracoon.sdk.internal.api.model.ApiNode;
+import com.dracoon.sdk.internal.api.model.ApiNodePermissions;
+import com.dracoon.sdk.internal.api.model.ApiUserInfo;
+import com.dracoon.sdk.internal.api.model.ApiVirusProtectionInfo;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+public class ApiNodeTypeAdapter extends BaseApiTypeAdapter<ApiNode> {
+
+    private final TypeAdapter<Date> mDateAdapter;
+
+    public ApiNodeTypeAdapter(TypeAdapter<Date> dateAdapter) {
+        mDateAdapter = dateAdapter;
+    }
+
+    // --- Write methods ---
+
+    @Override
+    public void write(JsonWriter out, ApiNode value) throws IOException {
+        out.beginObject();
+        writeNumber(out, "id", value.id);
+        writeString(out, "type", value.type);
+        writeNumber(out, "parentId", value.parentId);
+        writeString(out, "parentPath", value.parentPath);
+        writeString(out, "name", value.name);
+
+        writeString(out, "fileType", value.fileType);
+        writeString(out, "mediaType", value.mediaType);
+        writeNumber(out, "size", value.size);
+        writeNumber(out, "quota", value.quota);
+        writeNumber(out, "classification", value.classification);
+        writeString(out, "notes", value.notes);
+        writeString(out, "hash", value.hash);
+        writeObject(out, "expireAt", value.expireAt, mDateAdapter);
+
+        writeObject(out, "createdAt", value.createdAt, mDateAdapter);
+        writeObject(out, "createdBy", value.createdBy, ApiNodeTypeAdapter::writeUserInfo);
+        writeObject(out, "updatedAt", value.updatedAt, mDateAdapter);
+        writeObject(out, "updatedBy", value.updatedBy, ApiNodeTypeAdapter::writeUserInfo);
+
+        writeObject(out, "timestampCreation", value.timestampCreation, mDateAdapter);
+        writeObject(out, "timestampModification", value.timestampModification,
+                mDateAdapter);
+
+        writeObject(out, "permissions", value.permissions, ApiNodeTypeAdapter::writePermissions);
+        writeBoolean(out, "inheritPermissions", value.inheritPermissions);
+
+        writeBoolean(out, "isFavorite", value.isFavorite);
+        writeBoolean(out, "isEncrypted", value.isEncrypted);
+        writeObject(out, "encryptionInfo", value.encryptionInfo,
+                ApiNodeTypeAdapter::writeEncryptionInfo);
+        writeNumber(out, "cntRooms", value.cntRooms);
+        writeNumber(out, "cntFolders", value.cntFolders);
+        writeNumber(out, "cntFiles", value.cntFiles);
+        writeNumber(out, "cntDeletedVersions", value.cntDeletedVersions);
+        writeNumber(out, "recycleBinRetentionPeriod", value.recycleBinRetentionPeriod);
+        writeNumber(out, "cntComments", value.cntComments);
+        writeNumber(out, "cntDownloadShares", value.cntDownloadShares);
+        writeNumber(out, "cntUploadShares", value.cntUploadShares);
+        writeNumber(out, "branchVersion", value.branchVersion);
+
+        writeString(out, "mediaToken", value.mediaToken);
+        writeObject(out, "virusProtectionInfo", value.virusProtectionInfo,
+                this::writeVirusProtectionInfo);
+        out.endObject();
+    }
+
+    private static void writeUserInfo(JsonWriter out, ApiUserInfo value) throws IOException {
+        out.beginObject();
+        writeNumber(out, "id", value.id);
+        writeString(out, "userType", value.userType);
+        writeString(out, "firstName", value.firstName);
+        writeString(out, "lastName", value.lastName);
+        writeString(out, "userName", value.userName);
+        writeString(out, "email", value.email);
+        writeString(out, "avatarUuid", value.avatarUuid);
+        out.endObject();
+    }
+
+    private static void writePermissions(JsonWriter out, ApiNodePermissions value)
+            throws IOException {
+        out.beginObject();
+        writeBoolean(out, "manage", value.manage);
+        writeBoolean(out, "read", value.read);
+        writeBoolean(out, "create", value.create);
+        writeBoolean(out, "change", value.change);
+        writeBoolean(out, "delete", value.delete);
+        writeBoolean(out, "manageDownloadShare", value.manageDownloadShare);
+        writeBoolean(out, "manageUploadShare", value.manageUploadShare);
+        writeBoolean(out, "readRecycleBin", value.readRecycleBin);
+        writeBoolean(out, "restoreRecycleBin", value.restoreRecycleBin);
+        writeBoolean(out, "deleteRecycleBin", value.deleteRecycleBin);
+        out.endObject();
+    }
+
+    private static void writeEncryptionInfo(JsonWriter out, ApiEncryptionInfo value)
+            throws IOException {
+        out.beginObject();
+        writeString(out, "userKeyState", value.userKeyState);
+        writeString(out, "roomKeyState", value.roomKeyState);
+        writeString(out, "dataSpaceKeyState", value.dataSpaceKeyState);
+        out.endObject();
+    }
+
+    private void writeVirusProtectionInfo(JsonWriter out, ApiVirusProtectionInfo value)
+            throws IOException {
+        out.beginObject();
+        writeString(out, "verdict", value.verdict);
+        writeObject(out, "lastCheckedAt", value.lastCheckedAt, mDateAdapter);
+        out.endObject();
+    }
+
+    // --- Read methods ---
+
+    @Override
+    @SuppressWarnings("squid:S138") // SONAR: Splitting up the method makes it less readable
+    public ApiNode read(JsonReader in) throws IOException {
+        ApiNode value = new ApiNode();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    value.id = readLong(in);
+                    break;
+                case "type":
+                    value.type = readString(in);
+                    break;
+                case "parentId":
+                    value.parentId = readLong(in);
+                    break;
+                case "parentPath":
+                    value.parentPath = readString(in);
+                    break;
+                case "name":
+                    value.name = readString(in);
+                    break;
+                case "fileType":
+                    value.fileType = readString(in);
+                    break;
+                case "mediaType":
+                    value.mediaType = readString(in);
+                    break;
+                case "size":
+                    value.size = readLong(in);
+                    break;
+                case "quota":
+                    value.quota = readLong(in);
+                    break;
+                case "classification":
+                    value.classification = readInteger(in);
+                    break;
+                case "notes":
+                    value.notes = readString(in);
+                    break;
+                case "hash":
+                    value.hash = readString(in);
+                    break;
+                case "expireAt":
+                    value.expireAt = readObject(in, mDateAdapter);
+                    break;
+                case "createdAt":
+                    value.createdAt = readObject(in, mDateAdapter);
+                    break;
+                case "createdBy":
+                    value.createdBy = readObject(in, ApiNodeTypeAdapter::readUserInfo);
+                    break;
+                case "updatedAt":
+                    value.updatedAt = readObject(in, mDateAdapter);
+                    break;
+                case "updatedBy":
+                    value.updatedBy = readObject(in, ApiNodeTypeAdapter::readUserInfo);
+                    break;
+                case "timestampCreation":
+                    value.timestampCreation = readObject(in, mDateAdapter);
+                    break;
+                case "timestampModification":
+                    value.timestampModification = readObject(in, mDateAdapter);
+                    break;
+                case "permissions":
+                    value.permissions = readObject(in, ApiNodeTypeAdapter::readPermissions);
+                    break;
+                case "inheritPermissions":
+                    value.inheritPermissions = readBoolean(in);
+                    break;
+                case "isFavorite":
+                    value.isFavorite = readBoolean(in);
+                    break;
+                case "isEncrypted":
+                    value.isEncrypted = readBoolean(in);
+                    break;
+                case "encryptionInfo":
+                    value.encryptionInfo = readObject(in, ApiNodeTypeAdapter::readEncryptionInfo);
+                    break;
+                case "cntRooms":
+                    value.cntRooms = readInteger(in);
+                    break;
+                case "cntFolders":
+                    value.cntFolders = readInteger(in);
+                    break;
+                case "cntFiles":
+                    value.cntFiles = readInteger(in);
+                    break;
+                case "cntDeletedVersions":
+                    value.cntDeletedVersions = readInteger(in);
+                    break;
+                case "recycleBinRetentionPeriod":
+                    value.recycleBinRetentionPeriod = readInteger(in);
+                    break;
+                case "cntComments":
+                    value.cntComments = readInteger(in);
+                    break;
+                case "cntDownloadShares":
+                    value.cntDownloadShares = readInteger(in);
+                    break;
+                case "cntUploadShares":
+                    value.cntUploadShares = readInteger(in);
+                    break;
+                case "branchVersion":
+                    value.branchVersion = readLong(in);
+                    break;
+                case "mediaToken":
+                    value.mediaToken = readString(in);
+                    break;
+                case "virusProtectionInfo":
+                    value.virusProtectionInfo = readObject(in, this::readVirusProtectionInfo);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private static ApiUserInfo readUserInfo(JsonReader in) throws IOException {
+        ApiUserInfo value = new ApiUserInfo();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    value.id = readLong(in);
+                    break;
+                case "userType":
+                    value.userType = readString(in);
+                    break;
+                case "firstName":
+                    value.firstName = readString(in);
+                    break;
+                case "lastName":
+                    value.lastName = readString(in);
+                    break;
+                case "userName":
+                    value.userName = readString(in);
+                    break;
+                case "email":
+                    value.email = readString(in);
+                    break;
+                case "avatarUuid":
+                    value.avatarUuid = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private static ApiNodePermissions readPermissions(JsonReader in) throws IOException {
+        ApiNodePermissions value = new ApiNodePermissions();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "manage":
+                    value.manage = readBoolean(in);
+                    break;
+                case "read":
+                    value.read = readBoolean(in);
+                    break;
+                case "create":
+                    value.create = readBoolean(in);
+                    break;
+                case "change":
+                    value.change = readBoolean(in);
+                    break;
+                case "delete":
+                    value.delete = readBoolean(in);
+                    break;
+                case "manageDownloadShare":
+                    value.manageDownloadShare = readBoolean(in);
+                    break;
+                case "manageUploadShare":
+                    value.manageUploadShare = readBoolean(in);
+                    break;
+                case "readRecycleBin":
+                    value.readRecycleBin = readBoolean(in);
+                    break;
+                case "restoreRecycleBin":
+                    value.restoreRecycleBin = readBoolean(in);
+                    break;
+                case "deleteRecycleBin":
+                    value.deleteRecycleBin = readBoolean(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private static ApiEncryptionInfo readEncryptionInfo(JsonReader in) throws IOException {
+        ApiEncryptionInfo value = new ApiEncryptionInfo();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "userKeyState":
+                    value.userKeyState = readString(in);
+                    break;
+                case "roomKeyState":
+                    value.roomKeyState = readString(in);
+                    break;
+                case "dataSpaceKeyState":
+                    value.dataSpaceKeyState = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private ApiVirusProtectionInfo readVirusProtectionInfo(JsonReader in) throws IOException {
+        ApiVirusProtectionInfo value = new ApiVirusProtectionInfo();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "verdict":
+                    value.verdict = readString(in);
+                    break;
+                case "lastCheckedAt":
+                    value.lastCheckedAt = readObject(in, mDateAdapter);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.dracoon.sdk.internal.api.adapter;
+
+import java.io.IOException;
+
+import com.dracoon.sdk.internal.api.model.ApiS3FileUploadUrl;
+import com.dracoon.sdk.internal.api.model.ApiS3FileUploadUrlList;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+public class ApiS3FileUploadUrlListTypeAdapter extends
+        BaseApiTypeAdapter<ApiS3FileUploadUrlList> {
+
+    @Override
+    public void write(JsonWriter out, ApiS3FileUploadUrlList value) throws IOException {
+        out.beginObject();
+        writeList(out, "urls", value.urls, ApiS3FileUploadUrlListTypeAdapter::writeUrl);
+        out.endObject();
+    }
+
+    private static void writeUrl(JsonWriter out, ApiS3FileUploadUrl value) throws IOException {
+        out.beginObject();
+        writeString(out, "url", value.url);
+        writeNumber(out, "partNumber", value.partNumber);
+        out.endObject();
+    }
+
+    @Override
+    public ApiS3FileUploadUrlList read(JsonReader in) throws IOException {
+        ApiS3FileUploadUrlList value = new ApiS3FileUploadUrlList();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (in.nextName().equals("urls")) {
+                value.urls = readList(in, ApiS3FileUploadUrlListTypeAdapter::readUrl);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    private static ApiS3FileUploadUrl readUrl(JsonReader in) throws IOException {
+        ApiS3FileUploadUrl value = new ApiS3FileUploadUrl();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "url":
+                    value.url = readString(in);
+                    break;
+                case "partNumber":
+                    value.partNumber = readInteger(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.dracoon.sdk.internal.api.adapter;
+
+import java.util.Date;
+
+import com.dracoon.sdk.internal.api.model.ApiFileKey;
+import com.dracoon.sdk.internal.api.model.ApiMissingFileKeys;
+import com.dracoon.sdk.internal.api.model.ApiNode;
+import com.dracoon.sdk.internal.api.model.ApiNodeList;
+import com.dracoon.sdk.internal.api.model.ApiS3FileUploadUrlList;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+public class ApiTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+
+        TypeAdapter<?> adapter;
+        if (rawType == ApiNode.class) {
+            adapter = new ApiNodeTypeAdapter(gson.getAdapter(Date.class));
+        } else if (rawType == ApiNodeList.class) {
+            adapter = new ApiNodeListTypeAdapter(gson.getAdapter(ApiNode.class));
+        } else if (rawType == ApiFileKey.class) {
+            adapter = new ApiFileKeyTypeAdapter();
+        } else if (rawType == ApiMissingFileKeys.class) {
+            adapter = new ApiMissingFileKeysTypeAdapter(gson.getAdapter(ApiFileKey.class));
+        } else if (rawType == ApiS3FileUploadUrlList.class) {
+            adapter = new ApiS3FileUploadUrlListTypeAdapter();
+        } else {
+            return null;
+        }
+
+        return (TypeAdapter<T>) adapter.nullSafe();
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.dracoon.sdk.internal.api.adapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dracoon.sdk.internal.api.model.ApiRange;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+public abstract class BaseApiTypeAdapter<T> extends TypeAdapter<T> {
+
+    protected interface ValueReader<V> {
+        V read(JsonReader in) throws IOException;
+    }
+
+    protected interface ValueWriter<V> {
+        void write(JsonWriter out, V value) throws IOException;
+    }
+
+    protected static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    protected static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextInt();
+    }
+
+    protected static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextLong();
+    }
+
+    protected static Boolean readBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    protected static <V> V readObject(JsonReader in, ValueReader<V> reader) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return reader.read(in);
+    }
+
+    protected static <V> V readObject(JsonReader in, TypeAdapter<V> adapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return adapter.read(in);
+    }
+
+    protected static <V> List<V> readList(JsonReader in, ValueReader<V> reader)
+            throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<V> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            values.add(readObject(in, reader));
+        }
+        in.endArray();
+        return values;
+    }
+
+    protected static ApiRange readRange(JsonReader in) throws IOException {
+        ApiRange value = new ApiRange();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "offset":
+                    value.offset = readInteger(in);
+                    break;
+                case "limit":
+                    value.limit = readInteger(in);
+                    break;
+                case "total":
+                    value.total = readLong(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    // Null values are skipped by the JSON writer if serialization of nulls is disabled. This is the
+    // same behavior as the one of Gson's reflection based type adapter.
+
+    protected static void writeString(JsonWriter out, String name, String value)
+            throws IOException {
+        out.name(name).value(value);
+    }
+
+    protected static void writeNumber(JsonWriter out, String name, Number value)
+            throws IOException {
+        out.name(name).value(value);
+    }
+
+    protected static void writeBoolean(JsonWriter out, String name, Boolean value)
+            throws IOException {
+        out.name(name).value(value);
+    }
+
+    protected static void writeRange(JsonWriter out, ApiRange value) throws IOException {
+        out.beginObject();
+        writeNumber(out, "offset", value.offset);
+        writeNumber(out, "limit", value.limit);
+        writeNumber(out, "total", value.total);
+        out.endObject();
+    }
+
+    protected static <V> void writeObject(JsonWriter out, String name, V value,
+            ValueWriter<V> writer) throws IOException {
+        out.name(name);
+        writeObject(out, value, writer);
+    }
+
+    protected static <V> void writeObject(JsonWriter out, String name, V value,
+            TypeAdapter<V> adapter) throws IOException {
+        out.name(name);
+        if (value == null) {
+            out.nullValue();
+        } else {
+            adapter.write(out, value);
+        }
+    }
+
+    protected static <V> void writeList(JsonWriter out, String name, List<V> values,
+            ValueWriter<V> writer) throws IOException {
+        out.name(name);
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (V value : values) {
+            writeObject(out, value, writer);
+        }
+        out.endArray();
+    }
+
+    private static <V> void writeObject(JsonWriter out, V value, ValueWriter<V> writer)
+            throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            writer.write(out, value);
+        }
+    }
+
+}
@@ -11,6 +11,7 @@ import com.dracoon.sdk.internal.api.model.ApiNode;
 import com.dracoon.sdk.internal.api.model.ApiNodeComment;
 import com.dracoon.sdk.internal.api.model.ApiNodeList;
 import com.dracoon.sdk.internal.api.model.ApiNodeVirusProtectionInfo;
+import com.dracoon.sdk.internal.api.model.ApiRange;
 import com.dracoon.sdk.internal.api.model.ApiUpdateNodeCommentRequest;
 import com.dracoon.sdk.internal.api.model.ApiVirusProtectionInfo;
 import com.dracoon.sdk.internal.api.model.ApiCreateNodeCommentRequest;
@@ -42,13 +43,21 @@ public class NodeMapper extends BaseMapper {
             return null;
         }
 
-        NodeList nodeList = new NodeList();
-        nodeList.setOffset(apiNodeList.range.offset);
-        nodeList.setLimit(apiNodeList.range.limit);
-        nodeList.setTotal(apiNodeList.range.total);
         ArrayList<Node> items = new ArrayList<>();
-        for (ApiNode apiNode : apiNodeList.items) {
-            items.add(NodeMapper.fromApiNode(apiNode));
+        if (apiNodeList.items != null) {
+            for (ApiNode apiNode : apiNodeList.items) {
+                items.add(NodeMapper.fromApiNode(apiNode));
+            }
+        }
+        return fromApiNodeListRange(apiNodeList.range, items);
+    }
+
+    public static NodeList fromApiNodeListRange(ApiRange apiRange, List<Node> items) {
+        NodeList nodeList = new NodeList();
+        if (apiRange != null) {
+            nodeList.setOffset(apiRange.offset);
+            nodeList.setLimit(apiRange.limit);
+            nodeList.setTotal(apiRange.total);
         }
         nodeList.setItems(items);
         return nodeList;
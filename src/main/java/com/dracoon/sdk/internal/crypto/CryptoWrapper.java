@@ -1,10 +1,18 @@
 package com.dracoon.sdk.internal.crypto;
 
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.crypto.Crypto;
 import com.dracoon.sdk.crypto.FileDecryptionCipher;
 import com.dracoon.sdk.crypto.FileEncryptionCipher;
 import com.dracoon.sdk.crypto.error.CryptoException;
+import com.dracoon.sdk.crypto.error.CryptoSystemException;
 import com.dracoon.sdk.crypto.model.EncryptedFileKey;
 import com.dracoon.sdk.crypto.model.PlainFileKey;
 import com.dracoon.sdk.crypto.model.UserKeyPair;
@@ -17,6 +25,9 @@ public class CryptoWrapper {
 
     private static final String LOG_TAG = CryptoWrapper.class.getSimpleName();
 
+    private static final int AES_BLOCK_SIZE = 16;
+    private static final int GCM_IV_SIZE = 12;
+
     private final Log mLog;
 
     public CryptoWrapper(Log log) {
@@ -100,4 +111,32 @@ public class CryptoWrapper {
         return Crypto.createFileDecryptionCipher(plainFileKey);
     }
 
+    public boolean canDecryptFileBytes(PlainFileKey plainFileKey, long offset) {
+        return plainFileKey.getIv().length == GCM_IV_SIZE && offset % AES_BLOCK_SIZE == 0L;
+    }
+
+    // Decrypts file bytes at an arbitrary block offset. AES-GCM encrypts the data with AES-CTR,
+    // whose counter starts at 2 for a 96 bit IV. The bytes are not authenticated! (The caller
+    // must ensure that the bytes are the same as the ones authenticated with the file tag.)
+    public byte[] decryptFileBytes(PlainFileKey plainFileKey, long offset, byte[] bytes)
+            throws CryptoException {
+        if (!canDecryptFileBytes(plainFileKey, offset)) {
+            throw new IllegalArgumentException("File bytes cannot be decrypted at this offset.");
+        }
+
+        byte[] counter = ByteBuffer.allocate(AES_BLOCK_SIZE)
+                .put(plainFileKey.getIv())
+                .putInt((int) (offset / AES_BLOCK_SIZE + 2L))
+                .array();
+
+        try {
+            Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(plainFileKey.getKey(), "AES"),
+                    new IvParameterSpec(counter));
+            return cipher.doFinal(bytes);
+        } catch (GeneralSecurityException e) {
+            throw new CryptoSystemException("Could not decrypt file bytes.", e);
+        }
+    }
+
 }
@@ -2,12 +2,17 @@ package com.dracoon.sdk.internal.http;
 
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 import com.dracoon.sdk.DracoonHttpConfig;
 import com.dracoon.sdk.internal.DracoonConstants;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 
 public class HttpClientBuilder {
 
@@ -19,20 +24,62 @@ public class HttpClientBuilder {
         builder.readTimeout(httpConfig.getReadTimeout(), TimeUnit.SECONDS);
         builder.writeTimeout(httpConfig.getWriteTimeout(), TimeUnit.SECONDS);
         builder.retryOnConnectionFailure(true);
+        builder.connectionPool(buildConnectionPool(httpConfig));
+        builder.dispatcher(buildDispatcher(httpConfig));
+        if (!httpConfig.isHttp2Enabled()) {
+            builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+        }
+        builder.pingInterval(httpConfig.getPingInterval(), TimeUnit.SECONDS);
         builder.socketFactory(new BufferedSocketFactory(HTTP_SOCKET_BUFFER_SIZE));
         if (httpConfig.isProxyEnabled()) {
             Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(
                     httpConfig.getProxyAddress(), httpConfig.getProxyPort()));
             builder.proxy(proxy);
         }
+        if (httpConfig.getHttpCacheDirectory() != null) {
+            builder.cache(new Cache(httpConfig.getHttpCacheDirectory(),
+                    ((long) httpConfig.getHttpCacheSize()) * DracoonConstants.KIB));
+        }
         for (Interceptor interceptor : httpConfig.getOkHttpApplicationInterceptors()) {
             builder.addInterceptor(interceptor);
         }
         builder.addNetworkInterceptor(new UserAgentInterceptor(httpConfig.getUserAgent()));
+        if (httpConfig.getHttpCacheDirectory() != null) {
+            builder.addNetworkInterceptor(new RevalidationInterceptor());
+        }
         for (Interceptor interceptor : httpConfig.getOkHttpNetworkInterceptors()) {
             builder.addNetworkInterceptor(interceptor);
         }
         return builder.build();
     }
 
+    public OkHttpClient buildTransferClient(DracoonHttpConfig httpConfig,
+            OkHttpClient baseHttpClient) {
+        // Use own connection pool and dispatcher, so that long-running transfers don't block API
+        // requests
+        OkHttpClient.Builder builder = baseHttpClient.newBuilder();
+        builder.readTimeout(httpConfig.getTransferReadTimeout(), TimeUnit.SECONDS);
+        builder.writeTimeout(httpConfig.getTransferWriteTimeout(), TimeUnit.SECONDS);
+        builder.connectionPool(new ConnectionPool(httpConfig.getTransferMaxIdleConnections(),
+                httpConfig.getKeepAliveDuration(), TimeUnit.SECONDS));
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(httpConfig.getTransferMaxRequests());
+        dispatcher.setMaxRequestsPerHost(httpConfig.getTransferMaxRequestsPerHost());
+        builder.dispatcher(dispatcher);
+        builder.cache(null);
+        return builder.build();
+    }
+
+    private static ConnectionPool buildConnectionPool(DracoonHttpConfig httpConfig) {
+        return new ConnectionPool(httpConfig.getMaxIdleConnections(),
+                httpConfig.getKeepAliveDuration(), TimeUnit.SECONDS);
+    }
+
+    private static Dispatcher buildDispatcher(DracoonHttpConfig httpConfig) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(httpConfig.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(httpConfig.getMaxRequestsPerHost());
+        return dispatcher;
+    }
+
 }
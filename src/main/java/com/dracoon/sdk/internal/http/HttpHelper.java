@@ -3,8 +3,10 @@ package com.dracoon.sdk.internal.http;
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLHandshakeException;
 
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonNetIOException;
@@ -12,6 +14,8 @@ import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
 import com.dracoon.sdk.error.DracoonNetInsecureException;
 import com.dracoon.sdk.internal.DracoonConstants;
 import com.dracoon.sdk.internal.NullLog;
+import com.dracoon.sdk.model.HttpRequestMetrics;
+import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Response;
 
@@ -26,8 +30,15 @@ public class HttpHelper {
     private boolean mIsRetryEnabled;
     private boolean mIsRateLimitingEnabled;
 
+    private Precondition mPrecondition;
+    private DracoonMetrics mMetrics;
+
     private Executor mExecutor;
 
+    public interface Precondition {
+        void check() throws DracoonNetIOException, DracoonApiException;
+    }
+
     public void setLog(Log log) {
         mLog = log != null ? log : new NullLog();
     }
@@ -40,6 +51,14 @@ public class HttpHelper {
         mIsRateLimitingEnabled = isRateLimitingEnabled;
     }
 
+    public void setPrecondition(Precondition precondition) {
+        mPrecondition = precondition;
+    }
+
+    public void setMetrics(DracoonMetrics metrics) {
+        mMetrics = metrics;
+    }
+
     public void init() {
         mExecutor = new NetworkExecutor();
         if (mIsRetryEnabled) {
@@ -49,6 +68,12 @@ public class HttpHelper {
             mExecutor = new RateLimitingExecutor(mExecutor);
         }
         mExecutor = new InterceptionErrorHandlingExecutor(mExecutor);
+        if (mMetrics != null) {
+            mExecutor = new MetricsExecutor(mExecutor);
+        }
+        if (mPrecondition != null) {
+            mExecutor = new PreconditionExecutor(mExecutor, mPrecondition);
+        }
     }
 
     // --- Methods for REST calls ---
@@ -57,7 +82,7 @@ public class HttpHelper {
     public <T> Response<T> executeRequest(Call<T> call) throws DracoonNetIOException,
             DracoonApiException {
         try {
-            return (Response<T>) executeRequestInternally(call);
+            return (Response<T>) executeRequestInternally(call, null);
         // SONAR: Rethrowing exception might cause unknown problems
         } catch (InterruptedException e) { // NOSONAR
             String errorText = "Server communication was interrupted.";
@@ -66,11 +91,16 @@ public class HttpHelper {
         }
     }
 
-    @SuppressWarnings("unchecked") // Cast to Response<T> is safe
     public <T> Response<T> executeRequest(Call<T> call, Thread thread)
             throws DracoonNetIOException, DracoonApiException, InterruptedException {
+        return executeRequest(call, thread, null);
+    }
+
+    @SuppressWarnings("unchecked") // Cast to Response<T> is safe
+    public <T> Response<T> executeRequest(Call<T> call, Thread thread, RequestStats stats)
+            throws DracoonNetIOException, DracoonApiException, InterruptedException {
         try {
-            return (Response<T>) executeRequestInternally(call);
+            return (Response<T>) executeRequestInternally(call, stats);
         } catch (DracoonNetIOException e) {
             if (thread.isInterrupted()) {
                 throw new InterruptedException();
@@ -84,7 +114,7 @@ public class HttpHelper {
     public okhttp3.Response executeRequest(okhttp3.Call call) throws DracoonNetIOException,
             DracoonApiException {
         try {
-            return (okhttp3.Response) executeRequestInternally(call);
+            return (okhttp3.Response) executeRequestInternally(call, null);
         // SONAR: Rethrowing exception might cause unknown problems
         } catch (InterruptedException e) { // NOSONAR
             String errorText = "Server communication was interrupted.";
@@ -95,8 +125,13 @@ public class HttpHelper {
 
     public okhttp3.Response executeRequest(okhttp3.Call call, Thread thread)
             throws DracoonNetIOException, DracoonApiException, InterruptedException {
+        return executeRequest(call, thread, null);
+    }
+
+    public okhttp3.Response executeRequest(okhttp3.Call call, Thread thread, RequestStats stats)
+            throws DracoonNetIOException, DracoonApiException, InterruptedException {
         try {
-            return (okhttp3.Response) executeRequestInternally(call);
+            return (okhttp3.Response) executeRequestInternally(call, stats);
         } catch (DracoonNetIOException e) {
             if (thread.isInterrupted()) {
                 throw new InterruptedException();
@@ -107,14 +142,19 @@ public class HttpHelper {
 
     // --- Executor methods ---
 
-    protected Object executeRequestInternally(Object call) throws DracoonNetIOException,
-            DracoonApiException, InterruptedException {
+    protected Object executeRequestInternally(Object call, RequestStats stats)
+            throws DracoonNetIOException, DracoonApiException, InterruptedException {
+        RequestStats requestStats = new RequestStats();
         try {
-            return mExecutor.execute(call);
+            return mExecutor.execute(call, requestStats);
         } catch (InterceptedIOException e) {
             String errorText = "Server communication failed due to an unknown error!";
             mLog.d(LOG_TAG, errorText);
             throw new DracoonNetIOException(errorText, e);
+        } finally {
+            if (stats != null) {
+                stats.add(requestStats);
+            }
         }
     }
 
@@ -122,8 +162,101 @@ public class HttpHelper {
 
         protected Executor mNextExecutor;
 
-        public abstract Object execute(Object call) throws DracoonNetIOException, DracoonApiException,
-                InterceptedIOException, InterruptedException;
+        public abstract Object execute(Object call, RequestStats stats)
+                throws DracoonNetIOException, DracoonApiException, InterceptedIOException,
+                InterruptedException;
+
+    }
+
+    private static class PreconditionExecutor extends Executor {
+
+        private final Precondition mPrecondition;
+
+        private volatile boolean mIsChecked;
+        private boolean mIsChecking;
+
+        public PreconditionExecutor(Executor nextExecutor, Precondition precondition) {
+            mNextExecutor = nextExecutor;
+            mPrecondition = precondition;
+        }
+
+        @Override
+        public Object execute(Object call, RequestStats stats) throws DracoonNetIOException,
+                DracoonApiException, InterceptedIOException, InterruptedException {
+            if (!mIsChecked) {
+                check();
+            }
+            return mNextExecutor.execute(call, stats);
+        }
+
+        private synchronized void check() throws DracoonNetIOException, DracoonApiException {
+            // Requests which are made by the check itself (on the same thread) must not run the
+            // check again. Requests of other threads wait till the check has finished.
+            if (mIsChecked || mIsChecking) {
+                return;
+            }
+
+            mIsChecking = true;
+            try {
+                // If check fails, it is repeated at the next request
+                mPrecondition.check();
+                mIsChecked = true;
+            } finally {
+                mIsChecking = false;
+            }
+        }
+
+    }
+
+    private class MetricsExecutor extends Executor {
+
+        public MetricsExecutor(Executor nextExecutor) {
+            mNextExecutor = nextExecutor;
+        }
+
+        @Override
+        public Object execute(Object call, RequestStats stats) throws DracoonNetIOException,
+                DracoonApiException, InterceptedIOException, InterruptedException {
+            long startTime = System.nanoTime();
+            Object response = null;
+            Exception error = null;
+            try {
+                response = mNextExecutor.execute(call, stats);
+                return response;
+            } catch (Exception e) {
+                error = e;
+                throw e;
+            } finally {
+                long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                reportMetrics(call, response, error, stats, duration);
+            }
+        }
+
+        private void reportMetrics(Object call, Object response, Exception error,
+                RequestStats stats, long duration) {
+            okhttp3.Request request = getRequest(call);
+
+            HttpRequestMetrics metrics = new HttpRequestMetrics();
+            metrics.setMethod(request.method());
+            metrics.setEndpoint(RequestEndpoint.getTemplate(request));
+            metrics.setError(error);
+            metrics.setDuration(duration);
+            metrics.setRetryCount(stats.mRetryCount);
+            metrics.setRateLimitWaitTime(stats.mRateLimitWaitTime);
+            metrics.setRequestSize(getContentLength(request.body()));
+            if (response != null) {
+                okhttp3.Response r = getRawResponse(response);
+                metrics.setStatusCode(r.code());
+                metrics.setResponseSize(r.body().contentLength());
+            }
+
+            // Errors of the metrics collector must not affect the request
+            try {
+                mMetrics.onHttpRequestFinished(metrics);
+            } catch (RuntimeException e) {
+                mLog.w(LOG_TAG, "Metrics collector failed!", e);
+            }
+        }
 
     }
 
@@ -134,11 +267,11 @@ public class HttpHelper {
         }
 
         @Override
-        public Object execute(Object call) throws DracoonNetIOException, DracoonApiException,
-                InterceptedIOException, InterruptedException {
+        public Object execute(Object call, RequestStats stats) throws DracoonNetIOException,
+                DracoonApiException, InterceptedIOException, InterruptedException {
             // Try to execute call
             try {
-                return mNextExecutor.execute(call);
+                return mNextExecutor.execute(call, stats);
             // Handle intercepted IO errors
             } catch (InterceptedIOException e) {
                 mLog.d(LOG_TAG, "Server communication was intercepted.");
@@ -162,13 +295,13 @@ public class HttpHelper {
         }
 
         @Override
-        public Object execute(Object call) throws DracoonNetIOException, DracoonApiException,
-                InterceptedIOException, InterruptedException {
+        public Object execute(Object call, RequestStats stats) throws DracoonNetIOException,
+                DracoonApiException, InterceptedIOException, InterruptedException {
             int retryCnt = 0;
 
             while (true) {
                 // Try to execute call
-                Object response = mNextExecutor.execute(call);
+                Object response = mNextExecutor.execute(call, stats);
                 if (!isRateLimitResponse(response)) {
                     return response;
                 }
@@ -191,6 +324,8 @@ public class HttpHelper {
                 Thread.sleep(sleepSeconds * DracoonConstants.SECOND);
                 call = cloneCall(call);
                 retryCnt++;
+                stats.mRetryCount++;
+                stats.mRateLimitWaitTime += sleepSeconds * DracoonConstants.SECOND;
             }
         }
 
@@ -203,14 +338,14 @@ public class HttpHelper {
         }
 
         @Override
-        public Object execute(Object call) throws DracoonNetIOException, DracoonApiException,
-                InterceptedIOException, InterruptedException {
+        public Object execute(Object call, RequestStats stats) throws DracoonNetIOException,
+                DracoonApiException, InterceptedIOException, InterruptedException {
             int retryCnt = 0;
 
             while (true) {
                 // Try to execute call
                 try {
-                    return mNextExecutor.execute(call);
+                    return mNextExecutor.execute(call, stats);
                 // Handle network IO errors
                 } catch (DracoonNetIOException e) {
                     // If retries are exceeded: Abort
@@ -226,6 +361,7 @@ public class HttpHelper {
                     Thread.sleep(sleepSeconds * DracoonConstants.SECOND);
                     call = cloneCall(call);
                     retryCnt++;
+                    stats.mRetryCount++;
                 }
             }
         }
@@ -234,8 +370,8 @@ public class HttpHelper {
     private class NetworkExecutor extends Executor {
 
         @Override
-        public Object execute(Object call) throws DracoonNetIOException, InterceptedIOException,
-                InterruptedException {
+        public Object execute(Object call, RequestStats stats) throws DracoonNetIOException,
+                InterceptedIOException, InterruptedException {
             try {
                 // Try to execute call
                 return executeCall(call);
@@ -261,6 +397,26 @@ public class HttpHelper {
         }
     }
 
+    public static class RequestStats {
+
+        private int mRetryCount;
+        private long mRateLimitWaitTime;
+
+        public int getRetryCount() {
+            return mRetryCount;
+        }
+
+        public long getRateLimitWaitTime() {
+            return mRateLimitWaitTime;
+        }
+
+        private void add(RequestStats stats) {
+            mRetryCount = mRetryCount + stats.mRetryCount;
+            mRateLimitWaitTime = mRateLimitWaitTime + stats.mRateLimitWaitTime;
+        }
+
+    }
+
     // --- Helper methods ---
 
     protected static Object executeCall(Object call) throws IOException {
@@ -283,6 +439,37 @@ public class HttpHelper {
         }
     }
 
+    private static okhttp3.Request getRequest(Object call) {
+        if (call instanceof Call) {
+            return ((Call<?>) call).request();
+        } else if (call instanceof okhttp3.Call) {
+            return ((okhttp3.Call) call).request();
+        } else {
+            throw new RuntimeException("Can't get request. Invalid call object.");
+        }
+    }
+
+    private static okhttp3.Response getRawResponse(Object response) {
+        if (response instanceof Response) {
+            return ((Response<?>) response).raw();
+        } else if (response instanceof okhttp3.Response) {
+            return (okhttp3.Response) response;
+        } else {
+            throw new RuntimeException("Can't get raw response. Invalid response object.");
+        }
+    }
+
+    private static long getContentLength(RequestBody body) {
+        if (body == null) {
+            return 0L;
+        }
+        try {
+            return body.contentLength();
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
     private static boolean isRateLimitResponse(Object response) {
         int statusCode;
 
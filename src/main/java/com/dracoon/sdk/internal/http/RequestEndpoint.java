@@ -0,0 +1,77 @@
+package com.dracoon.sdk.internal.http;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Request;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.HTTP;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+public class RequestEndpoint {
+
+    public static final RequestEndpoint AVATAR_URL = new RequestEndpoint("{avatar_url}");
+    public static final RequestEndpoint DOWNLOAD_URL = new RequestEndpoint("{download_url}");
+    public static final RequestEndpoint S3_UPLOAD_URL = new RequestEndpoint("{s3_upload_url}");
+
+    private static final Map<Method, String> sApiTemplates = new ConcurrentHashMap<>();
+
+    private final String mTemplate;
+
+    private RequestEndpoint(String template) {
+        mTemplate = template;
+    }
+
+    public String getTemplate() {
+        return mTemplate;
+    }
+
+    public static String getTemplate(Request request) {
+        // Requests to URLs which were handed out by the server are tagged with a placeholder
+        RequestEndpoint endpoint = request.tag(RequestEndpoint.class);
+        if (endpoint != null) {
+            return endpoint.getTemplate();
+        }
+
+        // API requests are identified by the path of their Retrofit method
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            String template = sApiTemplates.computeIfAbsent(invocation.method(),
+                    RequestEndpoint::getApiTemplate);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        return request.url().encodedPath();
+    }
+
+    private static String getApiTemplate(Method method) {
+        for (Annotation annotation : method.getAnnotations()) {
+            if (annotation instanceof GET) {
+                return ((GET) annotation).value();
+            } else if (annotation instanceof POST) {
+                return ((POST) annotation).value();
+            } else if (annotation instanceof PUT) {
+                return ((PUT) annotation).value();
+            } else if (annotation instanceof PATCH) {
+                return ((PATCH) annotation).value();
+            } else if (annotation instanceof DELETE) {
+                return ((DELETE) annotation).value();
+            } else if (annotation instanceof HEAD) {
+                return ((HEAD) annotation).value();
+            } else if (annotation instanceof HTTP) {
+                return ((HTTP) annotation).path();
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.dracoon.sdk.internal.http;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+public class RevalidationInterceptor implements Interceptor {
+
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+
+    @Override
+    public Response intercept(Interceptor.Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+
+        // Responses with an ETag but without caching instructions are stored, but revalidated
+        // before every reuse. (Otherwise, the cache could apply a heuristic freshness and return
+        // outdated data.)
+        if (response.header(HEADER_ETAG) == null || response.header(HEADER_CACHE_CONTROL) != null) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .header(HEADER_CACHE_CONTROL, "no-cache")
+                .build();
+    }
+
+}
@@ -1,24 +1,21 @@
 package com.dracoon.sdk.internal.oauth;
 
-import java.net.InetSocketAddress;
-import java.net.Proxy;
 import java.net.URI;
 import java.net.URL;
-import java.util.concurrent.TimeUnit;
 
 import com.dracoon.sdk.DracoonHttpConfig;
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonNetIOException;
 import com.dracoon.sdk.internal.NullLog;
+import com.dracoon.sdk.internal.http.HttpClientBuilder;
 import com.dracoon.sdk.internal.http.HttpHelper;
-import com.dracoon.sdk.internal.http.UserAgentInterceptor;
 import com.dracoon.sdk.internal.oauth.OAuthConstants.OAuthGrantTypes;
 import com.dracoon.sdk.internal.oauth.OAuthConstants.OAuthTokenTypes;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import okhttp3.Credentials;
-import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import retrofit2.Call;
 import retrofit2.Response;
@@ -34,6 +31,7 @@ public class OAuthClient {
     private Log mLog = new NullLog();
     private DracoonHttpConfig mHttpConfig = new DracoonHttpConfig();
     private OkHttpClient mHttpClient;
+    private DracoonMetrics mMetrics;
 
     private OAuthService mOAuthService;
     private OAuthErrorParser mOAuthErrorParser;
@@ -51,6 +49,14 @@ public class OAuthClient {
         mHttpConfig = httpConfig != null ? httpConfig : new DracoonHttpConfig();
     }
 
+    public void setHttpClient(OkHttpClient httpClient) {
+        mHttpClient = httpClient;
+    }
+
+    public void setMetrics(DracoonMetrics metrics) {
+        mMetrics = metrics;
+    }
+
     // --- Initialization methods ---
 
     public void init() {
@@ -61,25 +67,13 @@ public class OAuthClient {
     }
 
     private void initHttpClient() {
-        OkHttpClient.Builder builder = new OkHttpClient.Builder();
-        builder.connectTimeout(mHttpConfig.getConnectTimeout(), TimeUnit.SECONDS);
-        builder.readTimeout(mHttpConfig.getReadTimeout(), TimeUnit.SECONDS);
-        builder.writeTimeout(mHttpConfig.getWriteTimeout(), TimeUnit.SECONDS);
-        builder.retryOnConnectionFailure(true);
-        builder.followRedirects(false);
-        if (mHttpConfig.isProxyEnabled()) {
-            Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(
-                    mHttpConfig.getProxyAddress(), mHttpConfig.getProxyPort()));
-            builder.proxy(proxy);
-        }
-        for (Interceptor interceptor : mHttpConfig.getOkHttpApplicationInterceptors()) {
-            builder.addInterceptor(interceptor);
-        }
-        builder.addNetworkInterceptor(new UserAgentInterceptor(mHttpConfig.getUserAgent()));
-        for (Interceptor interceptor : mHttpConfig.getOkHttpNetworkInterceptors()) {
-            builder.addNetworkInterceptor(interceptor);
-        }
-        mHttpClient = builder.build();
+        // Derive client from shared base client, so that connection pool and dispatcher are reused
+        OkHttpClient baseHttpClient = mHttpClient != null ? mHttpClient :
+                new HttpClientBuilder().build(mHttpConfig);
+        mHttpClient = baseHttpClient.newBuilder()
+                .followRedirects(false)
+                .cache(null)
+                .build();
     }
 
     private void initOAuthService() {
@@ -106,6 +100,7 @@ public class OAuthClient {
         mHttpHelper.setLog(mLog);
         mHttpHelper.setRetryEnabled(mHttpConfig.isRetryEnabled());
         mHttpHelper.setRateLimitingEnabled(mHttpConfig.isRateLimitingEnabled());
+        mHttpHelper.setMetrics(mMetrics);
         mHttpHelper.init();
     }
 
@@ -8,6 +8,7 @@ import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonNetIOException;
 import com.dracoon.sdk.internal.api.DracoonErrorParser;
 import com.dracoon.sdk.internal.http.HttpHelper;
+import com.dracoon.sdk.internal.http.RequestEndpoint;
 import okhttp3.OkHttpClient;
 
 public class AvatarDownloader {
@@ -18,20 +19,36 @@ public class AvatarDownloader {
     private final OkHttpClient mHttpClient;
     private final HttpHelper mHttpHelper;
     private final DracoonErrorParser mErrorParser;
+    private final ResourceCache mResourceCache;
 
     public AvatarDownloader(Log log, OkHttpClient httpClient, HttpHelper httpHelper,
-            DracoonErrorParser errorParser) {
+            DracoonErrorParser errorParser, ResourceCache resourceCache) {
         mLog = log;
         mHttpClient = httpClient;
         mHttpHelper = httpHelper;
         mErrorParser = errorParser;
+        mResourceCache = resourceCache;
     }
 
     public byte[] downloadAvatar(String downloadUrl) throws DracoonNetIOException,
             DracoonApiException {
+        // Avatar URLs contain the avatar UUID. Therefore, the avatar of an URL never changes.
+        byte[] avatar = mResourceCache.get(downloadUrl);
+        if (avatar != null) {
+            return avatar;
+        }
+
+        avatar = fetchAvatar(downloadUrl);
+        mResourceCache.put(downloadUrl, avatar);
+        return avatar;
+    }
+
+    private byte[] fetchAvatar(String downloadUrl) throws DracoonNetIOException,
+            DracoonApiException {
 
         okhttp3.Request request = new okhttp3.Request.Builder()
                 .url(downloadUrl)
+                .tag(RequestEndpoint.class, RequestEndpoint.AVATAR_URL)
                 .build();
 
         okhttp3.Call call = mHttpClient.newCall(request);
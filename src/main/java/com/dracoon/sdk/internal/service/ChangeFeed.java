@@ -0,0 +1,105 @@
+package com.dracoon.sdk.internal.service;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.filter.BranchVersionFilter;
+import com.dracoon.sdk.filter.SearchNodesFilters;
+import com.dracoon.sdk.filter.UpdatedAtFilter;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeChangeCursor;
+import com.dracoon.sdk.model.NodeChangeFeed;
+import com.dracoon.sdk.model.NodeList;
+
+public class ChangeFeed extends NodeChangeFeed {
+
+    // Changed nodes are queried page by page. Only the current page is kept in memory.
+    private static final long PAGE_SIZE = 500L;
+    // The pages are sorted by creation date. Nodes which are updated during the iteration
+    // therefore keep their position, and created nodes are appended at the end. (Parent path and
+    // name only order nodes with the same creation date. The API can't sort by ID or branch
+    // version.)
+    private static final String PAGE_SORT = "createdAt:asc|parentPath:asc|name:asc";
+
+    private final NodesService mNodesService;
+    private final long mNodeId;
+    private final SearchNodesFilters mFilters;
+    private final NodeChangeCursor mCursor = new NodeChangeCursor();
+
+    private final Deque<Node> mNodes = new ArrayDeque<>();
+    private long mOffset = 0L;
+    private boolean mIsExhausted = false;
+
+    public ChangeFeed(NodesService nodesService, Node node, NodeChangeCursor cursor) {
+        mNodesService = nodesService;
+        mNodeId = node.getId();
+
+        Long branchVersion = cursor != null ? cursor.getBranchVersion() : null;
+        Date updatedAt = cursor != null ? cursor.getUpdatedAt() : null;
+
+        // The branch version of the node is read before the changes are queried. Changes which
+        // are made during the iteration are therefore returned by the next query.
+        mCursor.setBranchVersion(node.getBranchVersion() != null ? node.getBranchVersion() :
+                branchVersion);
+        mCursor.setUpdatedAt(updatedAt);
+
+        if (branchVersion != null) {
+            // Every change increases the branch versions of the changed node and all its parent
+            // nodes. If the branch version of the node is unchanged, nothing below has changed.
+            mIsExhausted = node.getBranchVersion() != null &&
+                    node.getBranchVersion() <= branchVersion;
+            mFilters = new SearchNodesFilters();
+            mFilters.addBranchVersionFilter(new BranchVersionFilter.Builder()
+                    .ge(branchVersion + 1L).build());
+        } else if (updatedAt != null) {
+            // Without branch version, only nodes which were updated themselves are found
+            mFilters = new SearchNodesFilters();
+            mFilters.addUpdatedAtFilter(new UpdatedAtFilter.Builder().ge(updatedAt).build());
+        } else {
+            mFilters = null;
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws DracoonNetIOException, DracoonApiException {
+        if (mNodes.isEmpty() && !mIsExhausted) {
+            NodeList nodeList = mNodesService.searchNodes(mNodeId, "*", mFilters, PAGE_SORT,
+                    mOffset, PAGE_SIZE);
+            List<Node> items = nodeList.getItems();
+            mNodes.addAll(items);
+            mOffset = mOffset + items.size();
+            mIsExhausted = items.size() < PAGE_SIZE || (nodeList.getTotal() != null &&
+                    mOffset >= nodeList.getTotal());
+        }
+        return !mNodes.isEmpty();
+    }
+
+    @Override
+    public Node next() throws DracoonNetIOException, DracoonApiException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Node node = mNodes.poll();
+        Date updatedAt = node.getUpdatedAt();
+        if (updatedAt != null && (mCursor.getUpdatedAt() == null ||
+                updatedAt.after(mCursor.getUpdatedAt()))) {
+            mCursor.setUpdatedAt(updatedAt);
+        }
+        return node;
+    }
+
+    @Override
+    public NodeChangeCursor getCursor() {
+        NodeChangeCursor cursor = new NodeChangeCursor();
+        cursor.setBranchVersion(mCursor.getBranchVersion());
+        cursor.setUpdatedAt(mCursor.getUpdatedAt());
+        return cursor;
+    }
+
+}
@@ -0,0 +1,528 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.crypto.error.BadFileException;
+import com.dracoon.sdk.crypto.error.CryptoException;
+import com.dracoon.sdk.crypto.error.CryptoSystemException;
+import com.dracoon.sdk.crypto.FileDecryptionCipher;
+import com.dracoon.sdk.crypto.model.EncryptedDataContainer;
+import com.dracoon.sdk.crypto.model.PlainDataContainer;
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonCryptoCode;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.DracoonConstants;
+import com.dracoon.sdk.internal.api.DracoonApi;
+import com.dracoon.sdk.internal.api.DracoonErrorParser;
+import com.dracoon.sdk.internal.api.model.ApiDownloadToken;
+import com.dracoon.sdk.internal.api.model.ApiNode;
+import com.dracoon.sdk.internal.crypto.CryptoErrorParser;
+import com.dracoon.sdk.internal.crypto.CryptoWrapper;
+import com.dracoon.sdk.internal.http.HttpHelper;
+import com.dracoon.sdk.internal.http.RequestEndpoint;
+import com.dracoon.sdk.internal.util.HashUtils;
+import com.dracoon.sdk.internal.util.StreamUtils;
+import com.dracoon.sdk.model.FileDownloadChannel;
+import com.dracoon.sdk.model.HashAlgorithm;
+import okhttp3.OkHttpClient;
+import okio.Buffer;
+import retrofit2.Call;
+import retrofit2.Response;
+
+public class DownloadChannel extends FileDownloadChannel {
+
+    private static final String LOG_TAG = DownloadChannel.class.getSimpleName();
+
+    private static final int DECRYPTION_BUFFER_SIZE = 16 * DracoonConstants.KIB;
+
+    private final Log mLog;
+    private final DracoonApi mApi;
+    private final OkHttpClient mHttpClient;
+    private final HttpHelper mHttpHelper;
+    private final DracoonErrorParser mErrorParser;
+    private final CryptoWrapper mCrypto;
+
+    private final String mId;
+    private final long mNodeId;
+    private final PlainFileKey mFileKey;
+
+    private final int mBlockSize;
+    private final Map<Long, byte[]> mBlocks;
+
+    private String mDownloadUrl;
+    private long mSize;
+    private long mPosition = 0L;
+
+    private boolean mIsClosed = false;
+
+    // Encrypted files can only be decrypted in order. Therefore, the decryption state is kept
+    // till a block before the decrypted data is requested.
+    private FileDecryptionCipher mDecryptionCipher;
+    private InputStream mDecryptionInputStream;
+    private long mDecryptionOffset;
+    private final Buffer mDecryptionBuffer = new Buffer();
+    private long mDecryptionBlockNum;
+
+    // Digests of the encrypted blocks which were decrypted in order. They are the checkpoints
+    // for backward seeks: A block before the decryption position is downloaded and decrypted on
+    // its own, if its encrypted data matches the digest.
+    private MessageDigest mBlockDigest;
+    private final List<byte[]> mBlockDigests = new ArrayList<>();
+
+    @SuppressWarnings("squid:S107")
+    private DownloadChannel(Log log, DracoonApi dracoonApi, OkHttpClient httpClient,
+            HttpHelper httpHelper, DracoonErrorParser errorParser, CryptoWrapper cryptoWrapper,
+            String id, long nodeId, PlainFileKey fileKey, int blockSize, int maxCachedBlocks) {
+        mLog = log;
+        mApi = dracoonApi;
+        mHttpClient = httpClient;
+        mHttpHelper = httpHelper;
+        mErrorParser = errorParser;
+        mCrypto = cryptoWrapper;
+
+        mId = id;
+        mNodeId = nodeId;
+        mFileKey = fileKey;
+
+        mBlockSize = blockSize;
+        mBlocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > maxCachedBlocks;
+            }
+        };
+    }
+
+    void start() throws DracoonNetIOException, DracoonApiException {
+        try {
+            mSize = getFileSize();
+            mDownloadUrl = createDownload();
+        // SONAR: Rethrowing exception might cause unknown problems
+        } catch (InterruptedException e) { // NOSONAR
+            String errorText = String.format("Creation of download channel for '%s' was " +
+                    "interrupted.", mId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        }
+    }
+
+    private boolean isEncryptedDownload() {
+        return mFileKey != null;
+    }
+
+    // --- Channel methods ---
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        assertStarted();
+        assertNotClosed();
+
+        // If end of file was reached: Abort
+        if (mPosition >= mSize) {
+            return -1;
+        }
+
+        int read = 0;
+
+        // Read blocks till buffer is full or end of file was reached
+        while (dst.hasRemaining() && mPosition < mSize) {
+            long blockNum = mPosition / mBlockSize;
+            byte[] block = getBlock(blockNum);
+
+            int blockOffset = (int) (mPosition - blockNum * mBlockSize);
+            int count = Math.min(dst.remaining(), block.length - blockOffset);
+            // If block is shorter than expected: Abort
+            if (count <= 0) {
+                break;
+            }
+
+            dst.put(block, blockOffset, count);
+            mPosition = mPosition + count;
+            read = read + count;
+        }
+
+        return read;
+    }
+
+    @Override
+    public long position() throws IOException {
+        assertStarted();
+        assertNotClosed();
+        return mPosition;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        assertStarted();
+        assertNotClosed();
+
+        if (newPosition < 0L) {
+            throw new IllegalArgumentException("Position cannot be negative.");
+        }
+
+        mPosition = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        assertStarted();
+        assertNotClosed();
+        return mSize;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !mIsClosed;
+    }
+
+    @Override
+    public void close() {
+        mIsClosed = true;
+        mBlocks.clear();
+        closeDecryption();
+    }
+
+    // --- Helper methods ---
+
+    private long getFileSize() throws DracoonNetIOException, DracoonApiException,
+            InterruptedException {
+        Call<ApiNode> call = mApi.getNode(mNodeId);
+        Response<ApiNode> response = mHttpHelper.executeRequest(call, Thread.currentThread());
+
+        if (!response.isSuccessful()) {
+            DracoonApiCode errorCode = mErrorParser.parseNodesQueryError(response);
+            String errorText = createStartDownloadErrorMessage(mId, errorCode);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(errorCode);
+        }
+
+        ApiNode node = response.body();
+
+        return node.size;
+    }
+
+    private String createDownload() throws DracoonNetIOException, DracoonApiException,
+            InterruptedException {
+        Call<ApiDownloadToken> call = mApi.getDownloadToken(mNodeId);
+        Response<ApiDownloadToken> response = mHttpHelper.executeRequest(call,
+                Thread.currentThread());
+
+        if (!response.isSuccessful()) {
+            DracoonApiCode errorCode = mErrorParser.parseDownloadTokenGetError(response);
+            String errorText = createStartDownloadErrorMessage(mId, errorCode);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(errorCode);
+        }
+
+        ApiDownloadToken downloadToken = response.body();
+
+        return downloadToken.downloadUrl;
+    }
+
+    private byte[] getBlock(long blockNum) throws IOException {
+        byte[] block = mBlocks.get(blockNum);
+        if (block != null) {
+            return block;
+        }
+
+        try {
+            if (isEncryptedDownload()) {
+                block = decryptBlock(blockNum);
+            } else {
+                block = downloadBlock(blockNum);
+            }
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new ClosedByInterruptException();
+        } catch (DracoonException e) {
+            throw new IOException("Could not read from download channel.", e);
+        }
+
+        mBlocks.put(blockNum, block);
+        return block;
+    }
+
+    private byte[] downloadBlock(long blockNum) throws DracoonNetIOException,
+            DracoonApiException, InterruptedException {
+        long offset = blockNum * mBlockSize;
+        long length = Math.min(mBlockSize, mSize - offset);
+
+        okhttp3.Response response = requestRange(offset, length);
+        try {
+            return response.body().bytes();
+        } catch (IOException e) {
+            throw createNetIOException(e);
+        } finally {
+            response.close();
+        }
+    }
+
+    private byte[] decryptBlock(long blockNum) throws DracoonNetIOException, DracoonApiException,
+            DracoonCryptoException, InterruptedException {
+        // If block was already decrypted and a checkpoint exists: Decrypt only this block
+        if (mDecryptionCipher != null && blockNum < mDecryptionBlockNum &&
+                blockNum < mBlockDigests.size() &&
+                mCrypto.canDecryptFileBytes(mFileKey, blockNum * mBlockSize)) {
+            return decryptCheckpointBlock(blockNum);
+        }
+
+        // If block was already decrypted: Restart decryption at start of file
+        if (mDecryptionCipher == null || blockNum < mDecryptionBlockNum) {
+            restartDecryption();
+        }
+
+        // Decrypt blocks till requested block was reached (Skipped blocks are cached as well)
+        while (mDecryptionBlockNum < blockNum) {
+            mBlocks.put(mDecryptionBlockNum, decryptNextBlock());
+        }
+        return decryptNextBlock();
+    }
+
+    private void restartDecryption() throws DracoonNetIOException, DracoonApiException,
+            DracoonCryptoException, InterruptedException {
+        closeDecryption();
+
+        mDecryptionCipher = createDecryptionCipher();
+        mDecryptionInputStream = requestRange(0L, mSize).body().byteStream();
+        mDecryptionOffset = 0L;
+        mDecryptionBlockNum = 0L;
+
+        mBlockDigest = HashUtils.createMessageDigest(HashAlgorithm.SHA_256);
+        mBlockDigests.clear();
+    }
+
+    private byte[] decryptCheckpointBlock(long blockNum) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException, InterruptedException {
+        byte[] bytes = downloadBlock(blockNum);
+
+        // The block is only authenticated by the file tag, if it matches the decrypted block
+        byte[] digest = HashUtils.createMessageDigest(HashAlgorithm.SHA_256).digest(bytes);
+        if (!MessageDigest.isEqual(mBlockDigests.get((int) blockNum), digest)) {
+            String errorText = String.format("Decryption failed at download of '%s'! Block %d " +
+                    "does not match.", mId, blockNum);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonCryptoException(DracoonCryptoCode.BAD_FILE_ERROR);
+        }
+
+        try {
+            return mCrypto.decryptFileBytes(mFileKey, blockNum * mBlockSize, bytes);
+        } catch (IllegalArgumentException | CryptoException e) {
+            String errorText = createDecryptionErrorMessage(mId, e);
+            mLog.d(LOG_TAG, errorText);
+            DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
+            throw new DracoonCryptoException(errorCode, e);
+        }
+    }
+
+    private void closeDecryption() {
+        StreamUtils.closeStream(mDecryptionInputStream);
+        mDecryptionInputStream = null;
+        mDecryptionCipher = null;
+        mDecryptionBuffer.clear();
+        mBlockDigests.clear();
+    }
+
+    private byte[] decryptNextBlock() throws DracoonNetIOException, DracoonCryptoException,
+            InterruptedException {
+        long offset = mDecryptionBlockNum * mBlockSize;
+        int length = (int) Math.min(mBlockSize, mSize - offset);
+
+        // Decrypt till the block is complete
+        while (mDecryptionBuffer.size() < length) {
+            decryptNextBytes();
+        }
+
+        byte[] block = new byte[length];
+        int read = 0;
+        while (read < length) {
+            read = read + mDecryptionBuffer.read(block, read, length - read);
+        }
+
+        mDecryptionBlockNum++;
+        return block;
+    }
+
+    private void decryptNextBytes() throws DracoonNetIOException, DracoonCryptoException,
+            InterruptedException {
+        int length = (int) Math.min(DECRYPTION_BUFFER_SIZE, mSize - mDecryptionOffset);
+
+        byte[] bytes = new byte[length];
+        int read = 0;
+        try {
+            while (read < length) {
+                int count = mDecryptionInputStream.read(bytes, read, length - read);
+                if (count < 0) {
+                    break;
+                }
+                read = read + count;
+            }
+        } catch (IOException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            throw createNetIOException(e);
+        }
+
+        // If stream ended before end of file: Abort
+        if (length == 0 || read < length) {
+            throw createNetIOException(null);
+        }
+
+        updateBlockDigests(bytes);
+        mDecryptionOffset = mDecryptionOffset + read;
+        boolean isLast = mDecryptionOffset == mSize;
+
+        try {
+            EncryptedDataContainer encData = new EncryptedDataContainer(bytes, null);
+            PlainDataContainer plainData = mDecryptionCipher.processBytes(encData);
+            mDecryptionBuffer.write(plainData.getContent());
+
+            if (isLast) {
+                encData = new EncryptedDataContainer(null, mFileKey.getTag());
+                plainData = mDecryptionCipher.doFinal(encData);
+                mDecryptionBuffer.write(plainData.getContent());
+            }
+        } catch (BadFileException | IllegalArgumentException | IllegalStateException |
+                CryptoSystemException e) {
+            String errorText = createDecryptionErrorMessage(mId, e);
+            mLog.d(LOG_TAG, errorText);
+            DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
+            throw new DracoonCryptoException(errorCode, e);
+        }
+    }
+
+    private void updateBlockDigests(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            long blockEnd = Math.min((mBlockDigests.size() + 1L) * mBlockSize, mSize);
+            int count = (int) Math.min(bytes.length - offset,
+                    blockEnd - (mDecryptionOffset + offset));
+            mBlockDigest.update(bytes, offset, count);
+            offset = offset + count;
+            // If block is complete: Keep its digest
+            if (mDecryptionOffset + offset == blockEnd) {
+                mBlockDigests.add(mBlockDigest.digest());
+            }
+        }
+    }
+
+    private FileDecryptionCipher createDecryptionCipher() throws DracoonCryptoException {
+        try {
+            return mCrypto.createFileDecryptionCipher(mFileKey);
+        } catch (IllegalArgumentException | CryptoException e) {
+            String errorText = createDecryptionErrorMessage(mId, e);
+            mLog.d(LOG_TAG, errorText);
+            DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
+            throw new DracoonCryptoException(errorCode, e);
+        }
+    }
+
+    private okhttp3.Response requestRange(long offset, long length) throws DracoonNetIOException,
+            DracoonApiException, InterruptedException {
+        String range = "bytes=" + offset + "-" + (offset + length - 1);
+
+        okhttp3.Request request = new okhttp3.Request.Builder()
+                .url(mDownloadUrl)
+                .addHeader("Range", range)
+                .tag(RequestEndpoint.class, RequestEndpoint.DOWNLOAD_URL)
+                .build();
+
+        okhttp3.Call call = mHttpClient.newCall(request);
+        okhttp3.Response response = mHttpHelper.executeRequest(call, Thread.currentThread());
+
+        if (!response.isSuccessful()) {
+            DracoonApiCode errorCode = mErrorParser.parseDownloadError(response);
+            String errorText = createDownloadErrorMessage(mId, errorCode);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonApiException(errorCode);
+        }
+
+        return response;
+    }
+
+    private DracoonNetIOException createNetIOException(IOException e) {
+        String errorText = "Server communication failed!";
+        mLog.d(LOG_TAG, errorText);
+        return new DracoonNetIOException(errorText, e);
+    }
+
+    private void assertStarted() throws IOException {
+        if (mDownloadUrl == null) {
+            throw new IOException("Download channel was not started.");
+        }
+    }
+
+    private void assertNotClosed() throws IOException {
+        if (mIsClosed) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    // --- Helper methods ---
+
+    private static String createDecryptionErrorMessage(String id, Exception e) {
+        return String.format("Decryption failed at download of '%s'! %s", id, e.getMessage());
+    }
+
+    private static String createStartDownloadErrorMessage(String id, DracoonApiCode errorCode) {
+        return String.format("Creation of download channel for '%s' failed with '%s'!", id,
+                errorCode.name());
+    }
+
+    private static String createDownloadErrorMessage(String id, DracoonApiCode errorCode) {
+        return String.format("Download of '%s' failed with '%s'!", id, errorCode.name());
+    }
+
+    // --- Factory methods ---
+
+    public static class Factory {
+
+        private final Log mLog;
+        private final DracoonApi mApi;
+        private final OkHttpClient mHttpClient;
+        private final HttpHelper mHttpHelper;
+        private final DracoonErrorParser mErrorParser;
+        private final CryptoWrapper mCrypto;
+        private final int mBlockSize;
+        private final int mMaxCachedBlocks;
+
+        @SuppressWarnings("squid:S107")
+        public Factory(Log log, DracoonApi dracoonApi, OkHttpClient httpClient,
+                HttpHelper httpHelper, DracoonErrorParser errorParser, CryptoWrapper cryptoWrapper,
+                int blockSize, long cacheSize) {
+            mLog = log;
+            mApi = dracoonApi;
+            mHttpClient = httpClient;
+            mHttpHelper = httpHelper;
+            mErrorParser = errorParser;
+            mCrypto = cryptoWrapper;
+            mBlockSize = blockSize;
+            mMaxCachedBlocks = (int) Math.max(cacheSize / blockSize, 1L);
+        }
+
+        public DownloadChannel create(String id, long nodeId, PlainFileKey fileKey) {
+            return new DownloadChannel(mLog, mApi, mHttpClient, mHttpHelper, mErrorParser, mCrypto,
+                    id, nodeId, fileKey, mBlockSize, mMaxCachedBlocks);
+        }
+
+    }
+
+}
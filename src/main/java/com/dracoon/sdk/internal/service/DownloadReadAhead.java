@@ -0,0 +1,105 @@
+package com.dracoon.sdk.internal.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.error.DracoonException;
+import okio.Buffer;
+
+class DownloadReadAhead {
+
+    private static final long TERMINATION_TIMEOUT = 10000L;
+
+    interface Fetcher {
+        // Returns null if no more data is available
+        byte[] fetch() throws DracoonException, InterruptedException;
+    }
+
+    private final Fetcher mFetcher;
+    private final long mCapacity;
+
+    private final ExecutorService mExecutor;
+
+    // Guarded by this
+    private final Buffer mBuffer = new Buffer();
+    private boolean mIsFinished = false;
+    private Exception mError;
+
+    DownloadReadAhead(String id, long capacity, Fetcher fetcher) {
+        mFetcher = fetcher;
+        mCapacity = capacity;
+
+        mExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "Dracoon-Download-Fetcher-" + id);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void start() {
+        mExecutor.execute(this::fetch);
+    }
+
+    void shutdown() {
+        mExecutor.shutdownNow();
+    }
+
+    // Returns false if the fetcher did not end within the timeout
+    boolean awaitTermination() throws InterruptedException {
+        return mExecutor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized boolean take(Buffer sink) throws DracoonException, InterruptedException {
+        // Wait till data was fetched or fetching has ended
+        while (mBuffer.size() == 0L && !mIsFinished) {
+            wait();
+        }
+
+        // Data fetched before an error is still handed out
+        if (mBuffer.size() > 0L) {
+            sink.write(mBuffer, mBuffer.size());
+            notifyAll();
+            return true;
+        }
+
+        if (mError instanceof DracoonException) {
+            throw (DracoonException) mError;
+        } else if (mError instanceof InterruptedException) {
+            throw new InterruptedException();
+        } else if (mError != null) {
+            throw (RuntimeException) mError;
+        }
+
+        return false;
+    }
+
+    private void fetch() {
+        try {
+            byte[] bytes;
+            while ((bytes = mFetcher.fetch()) != null) {
+                put(bytes);
+            }
+            finish(null);
+        } catch (DracoonException | InterruptedException | RuntimeException e) {
+            finish(e);
+        }
+    }
+
+    private synchronized void put(byte[] bytes) throws InterruptedException {
+        // Wait till the consumer has made room
+        while (mBuffer.size() >= mCapacity) {
+            wait();
+        }
+
+        mBuffer.write(bytes);
+        notifyAll();
+    }
+
+    private synchronized void finish(Exception error) {
+        mIsFinished = true;
+        mError = error;
+        notifyAll();
+    }
+
+}
@@ -4,9 +4,11 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.crypto.error.BadFileException;
 import com.dracoon.sdk.crypto.error.CryptoException;
@@ -30,9 +32,13 @@ import com.dracoon.sdk.internal.api.model.ApiNode;
 import com.dracoon.sdk.internal.crypto.CryptoErrorParser;
 import com.dracoon.sdk.internal.crypto.CryptoWrapper;
 import com.dracoon.sdk.internal.http.HttpHelper;
+import com.dracoon.sdk.internal.http.RequestEndpoint;
+import com.dracoon.sdk.internal.util.HashUtils;
 import com.dracoon.sdk.internal.util.StreamUtils;
 import com.dracoon.sdk.model.FileDownloadCallback;
 import com.dracoon.sdk.model.FileDownloadStream;
+import com.dracoon.sdk.model.FileTransferMetrics;
+import com.dracoon.sdk.model.HashAlgorithm;
 import okhttp3.OkHttpClient;
 import okio.Buffer;
 import retrofit2.Call;
@@ -56,15 +62,19 @@ public class DownloadStream extends FileDownloadStream {
     private final long mNodeId;
     private final PlainFileKey mFileKey;
 
+    // If read-ahead is enabled, the download and decryption state is confined to the fetcher
+    // thread
     private FileDecryptionCipher mDecryptionCipher;
     private boolean mIsDecryptionStarted = false;
     private boolean mIsDecryptionFinished = false;
 
-    private long mDownloadOffset = 0L;
+    // Is advanced by the fetcher thread if read-ahead is enabled
+    private volatile long mDownloadOffset = 0L;
     private long mDownloadLength;
     private String mDownloadUrl;
 
     private final Buffer mDownloadBuffer = new Buffer();
+    private volatile okhttp3.Call mDownloadCall = null;
     private InputStream mDownloadInputStream = null;
 
     private final long mChunkSize;
@@ -72,6 +82,19 @@ public class DownloadStream extends FileDownloadStream {
     private int mChunkOffset = 0;
     private boolean mRequestNextChunk = true;
 
+    private final long mReadAheadSize;
+    private DownloadReadAhead mReadAhead;
+    // Number of bytes which were taken from the read-ahead
+    private long mReadAheadTaken = 0L;
+
+    private final HashAlgorithm mHashAlgorithm;
+    // Is used by the fetcher thread if read-ahead is enabled
+    private MessageDigest mHashDigest;
+    private volatile String mDataHash;
+    private String mNodeHash;
+    // Is only set when the reader has reached the end of the data
+    private String mHash;
+
     private boolean mIsClosed = false;
 
     private Thread mThread;
@@ -80,10 +103,13 @@ public class DownloadStream extends FileDownloadStream {
 
     private final List<FileDownloadCallback> mCallbacks = new ArrayList<>();
 
+    private final TransferMetricsRecorder mMetricsRecorder;
+
     @SuppressWarnings("squid:S107")
     private DownloadStream(Log log, DracoonApi dracoonApi, OkHttpClient httpClient,
             HttpHelper httpHelper, DracoonErrorParser errorParser, CryptoWrapper cryptoWrapper,
-            String id, long nodeId, PlainFileKey fileKey, long chunkSize) {
+            DracoonMetrics metrics, String id, long nodeId, PlainFileKey fileKey, long chunkSize,
+            long readAheadSize, HashAlgorithm hashAlgorithm) {
         mLog = log;
         mApi = dracoonApi;
         mHttpClient = httpClient;
@@ -96,23 +122,45 @@ public class DownloadStream extends FileDownloadStream {
         mFileKey = fileKey;
 
         mChunkSize = chunkSize;
+        mReadAheadSize = readAheadSize;
+        mHashAlgorithm = hashAlgorithm;
+
+        mMetricsRecorder = new TransferMetricsRecorder(log, metrics,
+                FileTransferMetrics.Type.DOWNLOAD, id, fileKey != null);
     }
 
     void start() throws DracoonNetIOException, DracoonApiException, DracoonCryptoException {
         mThread = Thread.currentThread();
+        mMetricsRecorder.start();
 
         mDownloadUrl = null;
         mIsClosed = false;
 
+        mHashDigest = mHashAlgorithm != null ? HashUtils.createMessageDigest(mHashAlgorithm) : null;
+        mDataHash = null;
+        mHash = null;
+
         try {
             notifyStarted(mId);
 
             if (isEncryptedDownload()) {
+                long cryptoStartTime = TransferMetricsRecorder.now();
                 mDecryptionCipher = createDecryptionCipher();
+                mMetricsRecorder.addCryptoTime(cryptoStartTime);
             }
 
-            mDownloadLength = getFileSize();
+            ApiNode node = getNode();
+            mDownloadLength = node.size;
+            mNodeHash = node.hash;
+
+            long urlWaitStartTime = TransferMetricsRecorder.now();
             mDownloadUrl = createDownload();
+            mMetricsRecorder.addUrlWaitTime(urlWaitStartTime);
+
+            if (mReadAheadSize > 0L) {
+                mReadAhead = new DownloadReadAhead(mId, mReadAheadSize, this::fetchData);
+                mReadAhead.start();
+            }
         } catch (InterruptedException e) {
             notifyCanceled(mId);
             mThread.interrupt();
@@ -179,7 +227,8 @@ public class DownloadStream extends FileDownloadStream {
                     more = downloadData();
                 } catch (InterruptedException e) {
                     notifyCanceled(mId);
-                    mThread.interrupt();
+                    // The stream can be read by another thread than the one which started it
+                    Thread.currentThread().interrupt();
                     return -1;
                 } catch (DracoonException e) {
                     notifyFailed(mId, e);
@@ -199,6 +248,7 @@ public class DownloadStream extends FileDownloadStream {
         }
 
         if (read == -1) {
+            mHash = mDataHash;
             notifyFinished(mId);
         }
 
@@ -235,7 +285,7 @@ public class DownloadStream extends FileDownloadStream {
                 count = skipData(toSkip);
             } catch (InterruptedException e) {
                 notifyCanceled(mId);
-                mThread.interrupt();
+                Thread.currentThread().interrupt();
                 break;
             } catch (DracoonException e) {
                 notifyFailed(mId, e);
@@ -258,6 +308,14 @@ public class DownloadStream extends FileDownloadStream {
         assertNotClosed();
 
         long bufferSize = mDownloadBuffer.size();
+
+        // If read-ahead is enabled: Calculate remaining bytes from the bytes which were taken
+        // (The offsets of the fetcher thread are not consistent with the buffered bytes.)
+        if (mReadAhead != null) {
+            long remaining = mDownloadLength - mReadAheadTaken + bufferSize;
+            return remaining > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) remaining;
+        }
+
         if (isEncryptedDownload() && mIsDecryptionStarted && !mIsDecryptionFinished) {
             bufferSize = bufferSize + mFileKey.getTag().length;
         }
@@ -266,9 +324,16 @@ public class DownloadStream extends FileDownloadStream {
         return remaining > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) remaining;
     }
 
+    @Override
+    public String getHash() {
+        return mHash;
+    }
+
     @Override
     public void close() throws IOException {
         assertNotClosed();
+        // The fetcher thread must have ended before the download input stream can be closed
+        awaitReadAheadTermination();
         StreamUtils.closeStream(mDownloadInputStream);
         mIsClosed = true;
     }
@@ -286,7 +351,7 @@ public class DownloadStream extends FileDownloadStream {
         }
     }
 
-    private long getFileSize() throws DracoonNetIOException, DracoonApiException,
+    private ApiNode getNode() throws DracoonNetIOException, DracoonApiException,
             InterruptedException {
         Call<ApiNode> call = mApi.getNode(mNodeId);
         Response<ApiNode> response = mHttpHelper.executeRequest(call, mThread);
@@ -298,9 +363,7 @@ public class DownloadStream extends FileDownloadStream {
             throw new DracoonApiException(errorCode);
         }
 
-        ApiNode node = response.body();
-
-        return node.size;
+        return response.body();
     }
 
     private String createDownload() throws DracoonNetIOException, DracoonApiException,
@@ -320,13 +383,35 @@ public class DownloadStream extends FileDownloadStream {
         return downloadToken.downloadUrl;
     }
 
-    private boolean downloadData() throws DracoonNetIOException, DracoonApiException,
-            DracoonCryptoException, DracoonFileIOException, InterruptedException {
+    private boolean downloadData() throws DracoonException, InterruptedException {
+        // If read-ahead is enabled: Take data which was already fetched
+        if (mReadAhead != null) {
+            long size = mDownloadBuffer.size();
+            boolean more = mReadAhead.take(mDownloadBuffer);
+            mReadAheadTaken = mReadAheadTaken + mDownloadBuffer.size() - size;
+            return more;
+        }
+
+        byte[] bytes = fetchData();
         // If no more data is available: Abort
-        if (mDownloadOffset == mDownloadLength) {
+        if (bytes == null) {
             return false;
         }
 
+        // Write bytes to buffer
+        mDownloadBuffer.write(bytes);
+
+        return true;
+    }
+
+    private byte[] fetchData() throws DracoonNetIOException, DracoonApiException,
+            DracoonCryptoException, DracoonFileIOException, InterruptedException {
+        // If no more data is available: Verify data and abort
+        if (mDownloadOffset == mDownloadLength) {
+            verifyHash();
+            return null;
+        }
+
         // If next chunk is needed: Request next chunk
         if (mRequestNextChunk) {
             long offset = mDownloadOffset;
@@ -339,12 +424,14 @@ public class DownloadStream extends FileDownloadStream {
         }
 
         // Download bytes
+        long networkStartTime = TransferMetricsRecorder.now();
         byte[] bytes = downloadBytes(mDownloadInputStream, BLOCK_SIZE);
+        mMetricsRecorder.addNetworkTime(networkStartTime);
         int count = bytes.length;
         // If no bytes were downloaded: Abort
         if (count == 0) {
             mRequestNextChunk = true;
-            return true;
+            return bytes;
         }
 
         //mLog.d(LOG_TAG, String.format("Loading: id='%s': chunk=%d: %d-%d=%d (%d-%d/%d)", mId,
@@ -358,23 +445,26 @@ public class DownloadStream extends FileDownloadStream {
         // If encrypted download: Decrypt bytes
         if (isEncryptedDownload()) {
             boolean isLastBytes = mDownloadOffset == mDownloadLength;
+            long cryptoStartTime = TransferMetricsRecorder.now();
             bytes = decryptBytes(bytes, isLastBytes);
+            mMetricsRecorder.addCryptoTime(cryptoStartTime);
         }
 
-        // Write bytes to buffer
-        mDownloadBuffer.write(bytes);
+        // Hash plain data while it is downloaded, so that no second pass over the data is needed
+        if (mHashDigest != null) {
+            mHashDigest.update(bytes);
+        }
 
-        return true;
+        return bytes;
     }
 
-    private long skipData(long skip) throws DracoonNetIOException, DracoonApiException,
-            DracoonCryptoException, DracoonFileIOException, InterruptedException {
-        // If file is not encrypted: Skip bytes
-        if (!isEncryptedDownload()) {
+    private long skipData(long skip) throws DracoonException, InterruptedException {
+        // If file is not encrypted and not read ahead: Skip bytes
+        if (!isEncryptedDownload() && mReadAhead == null) {
             return skipDataPlain(skip);
         // Otherwise: Download bytes
         } else {
-            return skipDataEncrypted(skip);
+            return skipDataBuffered(skip);
         }
     }
 
@@ -392,6 +482,9 @@ public class DownloadStream extends FileDownloadStream {
             long toSkip = skip > remainingInChunk ? remainingInChunk : skip;
             mChunkNum++;
 
+            // Skipped data is not downloaded and can therefore not be hashed
+            mHashDigest = null;
+
             //mLog.d(LOG_TAG, String.format("Skipped chunk: id='%s': chunk=%d: %d-%d=%d (%d-%d/%d)",
             //        mId, mChunkNum, 0, toSkip - 1, toSkip,
             //        mDownloadOffset, mDownloadOffset + toSkip - 1, mDownloadLength));
@@ -410,6 +503,8 @@ public class DownloadStream extends FileDownloadStream {
                 return 0L;
             }
 
+            mHashDigest = null;
+
             //mLog.d(LOG_TAG, String.format("Skipped bytes: id='%s': chunk=%d: %d-%d=%d (%d-%d/%d)",
             //        mId, mChunkNum, mChunkOffset, mChunkOffset + skipped - 1, skipped,
             //        mDownloadOffset, mDownloadOffset + skipped - 1, mDownloadLength));
@@ -421,8 +516,7 @@ public class DownloadStream extends FileDownloadStream {
         }
     }
 
-    private long skipDataEncrypted(long skip) throws DracoonNetIOException, DracoonApiException,
-            DracoonCryptoException, DracoonFileIOException, InterruptedException {
+    private long skipDataBuffered(long skip) throws DracoonException, InterruptedException {
         byte[] bytes = new byte[BLOCK_SIZE];
         int toSkip = skip > bytes.length ? bytes.length : (int) skip;
 
@@ -443,10 +537,18 @@ public class DownloadStream extends FileDownloadStream {
         okhttp3.Request request = new okhttp3.Request.Builder()
                 .url(mDownloadUrl)
                 .addHeader("Range", range)
+                .tag(RequestEndpoint.class, RequestEndpoint.DOWNLOAD_URL)
                 .build();
 
         okhttp3.Call call = mHttpClient.newCall(request);
-        okhttp3.Response response = mHttpHelper.executeRequest(call, mThread);
+        mDownloadCall = call;
+        long networkStartTime = TransferMetricsRecorder.now();
+        // Chunks are fetched by the reading thread or, if read-ahead is enabled, by the fetcher
+        // thread
+        okhttp3.Response response = mHttpHelper.executeRequest(call, Thread.currentThread(),
+                mMetricsRecorder.getChunkRequestStats());
+        mMetricsRecorder.addNetworkTime(networkStartTime);
+        mMetricsRecorder.addChunk();
 
         if (!response.isSuccessful()) {
             DracoonApiCode errorCode = mErrorParser.parseDownloadError(response);
@@ -474,7 +576,7 @@ public class DownloadStream extends FileDownloadStream {
                 read = read + count;
 
                 if (mProgressUpdateTime + PROGRESS_UPDATE_INTERVAL < System.currentTimeMillis()
-                        && !mThread.isInterrupted()) {
+                        && !Thread.currentThread().isInterrupted()) {
                     notifyRunning(mId, mDownloadOffset + read, mDownloadLength);
                     mProgressUpdateTime = System.currentTimeMillis();
                 }
@@ -482,7 +584,7 @@ public class DownloadStream extends FileDownloadStream {
 
             return os.toByteArray();
         } catch (IOException e) {
-            if (mThread.isInterrupted()) {
+            if (Thread.currentThread().isInterrupted()) {
                 throw new InterruptedException();
             }
             String errorText = "Server communication failed!";
@@ -528,7 +630,7 @@ public class DownloadStream extends FileDownloadStream {
             DracoonCryptoCode errorCode = CryptoErrorParser.parseCause(e);
             throw new DracoonCryptoException(errorCode, e);
         } catch (IOException e) {
-            if (mThread.isInterrupted()) {
+            if (Thread.currentThread().isInterrupted()) {
                 throw new InterruptedException();
             }
             String errorText = "Buffer write failed!";
@@ -537,6 +639,53 @@ public class DownloadStream extends FileDownloadStream {
         }
     }
 
+    private void verifyHash() throws DracoonNetIOException {
+        if (mHashDigest != null && mDataHash == null) {
+            mDataHash = HashUtils.toHexString(mHashDigest.digest());
+        }
+
+        // Encrypted data is already verified by the decryption. The node hash is an MD5 hash of
+        // the stored data.
+        if (mDataHash == null || isEncryptedDownload() || mHashAlgorithm != HashAlgorithm.MD5 ||
+                mNodeHash == null) {
+            return;
+        }
+
+        if (!mNodeHash.equalsIgnoreCase(mDataHash)) {
+            String errorText = String.format("Hash of download '%s' does not match!", mId);
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOException(errorText);
+        }
+    }
+
+    private void shutdownReadAhead() {
+        if (mReadAhead != null) {
+            mReadAhead.shutdown();
+        }
+    }
+
+    private void awaitReadAheadTermination() {
+        if (mReadAhead == null) {
+            return;
+        }
+
+        mReadAhead.shutdown();
+        // A fetcher thread which is blocked in a socket read does not react to the interrupt
+        okhttp3.Call call = mDownloadCall;
+        if (call != null) {
+            call.cancel();
+        }
+
+        try {
+            if (!mReadAhead.awaitTermination()) {
+                mLog.w(LOG_TAG, String.format("Fetcher of download '%s' did not terminate!",
+                        mId));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void assertStarted() throws IOException {
         if (mDownloadUrl == null) {
             throw new IOException("Download stream was not started.");
@@ -564,18 +713,26 @@ public class DownloadStream extends FileDownloadStream {
     }
 
     private void notifyFinished(String id) {
+        mMetricsRecorder.reportFinished(mDownloadOffset);
         for (FileDownloadCallback callback : mCallbacks) {
+            if (mHash != null) {
+                callback.onHashComputed(id, mHash);
+            }
             callback.onFinished(id);
         }
     }
 
     private void notifyCanceled(String id) {
+        shutdownReadAhead();
+        mMetricsRecorder.reportCanceled(mDownloadOffset);
         for (FileDownloadCallback callback : mCallbacks) {
             callback.onCanceled(id);
         }
     }
 
     private void notifyFailed(String id, DracoonException e) {
+        shutdownReadAhead();
+        mMetricsRecorder.reportFailed(e, mDownloadOffset);
         for (FileDownloadCallback callback : mCallbacks) {
             callback.onFailed(id, e);
         }
@@ -606,23 +763,36 @@ public class DownloadStream extends FileDownloadStream {
         private final HttpHelper mHttpHelper;
         private final DracoonErrorParser mErrorParser;
         private final CryptoWrapper mCrypto;
+        private final DracoonMetrics mMetrics;
         private final long mChunkSize;
+        private final long mReadAheadSize;
+        private final HashAlgorithm mHashAlgorithm;
 
+        @SuppressWarnings("squid:S107")
         public Factory(Log log, DracoonApi dracoonApi, OkHttpClient httpClient,
                 HttpHelper httpHelper, DracoonErrorParser errorParser, CryptoWrapper cryptoWrapper,
-                long chunkSize) {
+                DracoonMetrics metrics, long chunkSize, long readAheadSize,
+                HashAlgorithm hashAlgorithm) {
             mLog = log;
             mApi = dracoonApi;
             mHttpClient = httpClient;
             mHttpHelper = httpHelper;
             mErrorParser = errorParser;
             mCrypto = cryptoWrapper;
+            mMetrics = metrics;
             mChunkSize = chunkSize;
+            mReadAheadSize = readAheadSize;
+            mHashAlgorithm = hashAlgorithm;
         }
 
         public DownloadStream create(String id, long nodeId, PlainFileKey fileKey) {
+            return create(id, nodeId, fileKey, mReadAheadSize);
+        }
+
+        public DownloadStream create(String id, long nodeId, PlainFileKey fileKey,
+                long readAheadSize) {
             return new DownloadStream(mLog, mApi, mHttpClient, mHttpHelper, mErrorParser, mCrypto,
-                    id, nodeId, fileKey, mChunkSize);
+                    mMetrics, id, nodeId, fileKey, mChunkSize, readAheadSize, mHashAlgorithm);
         }
 
     }
@@ -0,0 +1,203 @@
+package com.dracoon.sdk.internal.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.DracoonConstants;
+import com.dracoon.sdk.model.FileKeyGenerationCallback;
+import com.dracoon.sdk.model.FileKeyGenerationStatus;
+import com.dracoon.sdk.model.GenerateMissingFileKeysRequest;
+
+public class FileKeyGenerationThread extends Thread {
+
+    private static final String LOG_TAG = FileKeyGenerationThread.class.getSimpleName();
+
+    private final Log mLog;
+
+    private final FileKeyGenerator mFileKeyGenerator;
+
+    private final String mId;
+    private final GenerateMissingFileKeysRequest mRequest;
+    private final long mInterval;
+
+    private final Object mStopLock = new Object();
+    private boolean mIsStopRequested = false;
+
+    private long mOffset;
+    private long mGeneratedKeysCount = 0L;
+    private long mActiveTime = 0L;
+    private long mRunStartTime;
+
+    private final List<FileKeyGenerationCallback> mCallbacks = new ArrayList<>();
+
+    private FileKeyGenerationThread(Log log, FileKeyGenerator fileKeyGenerator, String id,
+            GenerateMissingFileKeysRequest request, long interval) {
+        mLog = log;
+
+        mFileKeyGenerator = fileKeyGenerator;
+
+        mId = id;
+        mRequest = request;
+        mInterval = interval;
+
+        mOffset = request.getOffset();
+    }
+
+    public void addCallback(FileKeyGenerationCallback callback) {
+        if (callback != null) {
+            mCallbacks.add(callback);
+        }
+    }
+
+    public void removeCallback(FileKeyGenerationCallback callback) {
+        if (callback != null) {
+            mCallbacks.remove(callback);
+        }
+    }
+
+    public void requestStop() {
+        synchronized (mStopLock) {
+            mIsStopRequested = true;
+            mStopLock.notifyAll();
+        }
+    }
+
+    private boolean isStopRequested() {
+        synchronized (mStopLock) {
+            return mIsStopRequested;
+        }
+    }
+
+    @Override
+    public void run() {
+        notifyStarted(mId);
+
+        try {
+            generate();
+        } catch (DracoonException e) {
+            notifyFailed(mId, e);
+            return;
+        }
+
+        notifyStopped(mId);
+    }
+
+    private void generate() throws DracoonException {
+        while (!isStopRequested()) {
+            try {
+                boolean isFinished = generateRun();
+                if (!isFinished) {
+                    // Continue immediately if the limit of the run was reached
+                    continue;
+                }
+                // Start next run from the beginning to catch keys which became missing meanwhile
+                mOffset = 0L;
+            } catch (DracoonNetIOInterruptedException e) {
+                return;
+            } catch (DracoonNetIOException e) {
+                String errorText = String.format("Generation of missing file keys failed at " +
+                        "offset '%d'! Retrying at next run.", mOffset);
+                mLog.w(LOG_TAG, errorText);
+            }
+
+            if (!waitForNextRun()) {
+                return;
+            }
+        }
+    }
+
+    private boolean generateRun() throws DracoonException {
+        mRunStartTime = System.nanoTime();
+        try {
+            return mFileKeyGenerator.generateMissingFileKeys(mRequest.getNodeId(), mOffset,
+                    mRequest.getLimit(), mRequest.getBatchSize(), mRequest.isParallelCrypto(),
+                    this::onBatchFinished);
+        } finally {
+            mActiveTime = mActiveTime + (System.nanoTime() - mRunStartTime);
+        }
+    }
+
+    private boolean onBatchFinished(long checkpointOffset, long backlog, int keysCount) {
+        mOffset = checkpointOffset;
+        mGeneratedKeysCount = mGeneratedKeysCount + keysCount;
+
+        long activeTime = mActiveTime + (System.nanoTime() - mRunStartTime);
+        double keysPerSecond = activeTime > 0L ?
+                mGeneratedKeysCount * 1_000_000_000D / activeTime : 0D;
+
+        FileKeyGenerationStatus status = new FileKeyGenerationStatus();
+        status.setOffset(checkpointOffset);
+        status.setGeneratedKeysCount(mGeneratedKeysCount);
+        status.setKeysPerSecond(keysPerSecond);
+        status.setBacklog(backlog);
+        notifyRunning(mId, status);
+
+        return !isStopRequested();
+    }
+
+    private boolean waitForNextRun() {
+        synchronized (mStopLock) {
+            if (mIsStopRequested) {
+                return false;
+            }
+            try {
+                mStopLock.wait(mInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return !mIsStopRequested;
+        }
+    }
+
+    // --- Callback helper methods ---
+
+    private void notifyStarted(String id) {
+        for (FileKeyGenerationCallback callback : mCallbacks) {
+            callback.onStarted(id);
+        }
+    }
+
+    private void notifyRunning(String id, FileKeyGenerationStatus status) {
+        for (FileKeyGenerationCallback callback : mCallbacks) {
+            callback.onRunning(id, status);
+        }
+    }
+
+    private void notifyStopped(String id) {
+        for (FileKeyGenerationCallback callback : mCallbacks) {
+            callback.onStopped(id);
+        }
+    }
+
+    private void notifyFailed(String id, DracoonException e) {
+        for (FileKeyGenerationCallback callback : mCallbacks) {
+            callback.onFailed(id, e);
+        }
+    }
+
+    // --- Factory methods ---
+
+    public static class Factory {
+
+        private final Log mLog;
+        private final FileKeyGenerator mFileKeyGenerator;
+
+        public Factory(Log log, FileKeyGenerator fileKeyGenerator) {
+            mLog = log;
+            mFileKeyGenerator = fileKeyGenerator;
+        }
+
+        public FileKeyGenerationThread create(String id, GenerateMissingFileKeysRequest request,
+                int interval) {
+            return new FileKeyGenerationThread(mLog, mFileKeyGenerator, id, request,
+                    interval * DracoonConstants.SECOND);
+        }
+
+    }
+
+}
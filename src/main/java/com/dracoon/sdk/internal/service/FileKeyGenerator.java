@@ -1,10 +1,21 @@
 package com.dracoon.sdk.internal.service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.crypto.error.UnknownVersionException;
@@ -17,6 +28,8 @@ import com.dracoon.sdk.error.DracoonApiCode;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonCryptoException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.DracoonConstants;
 import com.dracoon.sdk.internal.api.DracoonApi;
 import com.dracoon.sdk.internal.api.DracoonErrorParser;
 import com.dracoon.sdk.internal.api.mapper.FileMapper;
@@ -40,6 +53,9 @@ public class FileKeyGenerator {
 
     private static final String LOG_TAG = FileKeyGenerator.class.getSimpleName();
 
+    private static final int DEFAULT_BATCH_SIZE = 10;
+    private static final long CRYPTO_THREAD_KEEP_ALIVE = 60L * DracoonConstants.SECOND;
+
     private final ServiceLocator mServiceLocator;
 
     private final Log mLog;
@@ -50,6 +66,9 @@ public class FileKeyGenerator {
     private final EncryptionPasswordHolder mEncPasswordHolder;
     private final CryptoWrapper mCryptoWrapper;
 
+    private final AtomicInteger mCryptoThreadNum = new AtomicInteger();
+    private ExecutorService mCryptoExecutor;
+
     public FileKeyGenerator(ServiceLocator serviceLocator, ServiceDependencies serviceDependencies) {
         mServiceLocator = serviceLocator;
 
@@ -62,8 +81,27 @@ public class FileKeyGenerator {
         mCryptoWrapper = serviceDependencies.getCryptoWrapper();
     }
 
+    public interface BatchListener {
+        boolean onBatchFinished(long checkpointOffset, long backlog, int keysCount);
+    }
+
+    private static class BatchResult {
+        boolean isFinished;
+        long total;
+        int itemsCount;
+        int unresolvedItemsCount;
+        int keysCount;
+    }
+
     public boolean generateMissingFileKeys(Long nodeId, Integer limit) throws DracoonNetIOException,
             DracoonApiException, DracoonCryptoException {
+        return generateMissingFileKeys(nodeId, 0L, limit, DEFAULT_BATCH_SIZE, false, null);
+    }
+
+    @SuppressWarnings("squid:S107")
+    public boolean generateMissingFileKeys(Long nodeId, long offset, Integer limit, int batchSize,
+            boolean parallelCrypto, BatchListener listener) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException {
         BaseValidator.validateLimit(limit, false);
 
         List<UserKeyPair> userKeyPairs = mServiceLocator.getAccountService().getAndCheckUserKeyPairs();
@@ -71,15 +109,28 @@ public class FileKeyGenerator {
                 userKeyPairs);
         char[] userPrivateKeyPassword = mEncPasswordHolder.getOrAbort();
 
+        // Items for which file keys were set drop out of the list of missing file keys. Therefore,
+        // the next batch only has to skip the items which could not be resolved. (The offset of
+        // the next batch is also the checkpoint at which a generation can be resumed.)
         boolean isFinished = false;
-        long batchOffset = 0L;
-        long batchMaxLimit = 10L;
+        long batchOffset = offset;
+        long batchMaxLimit = batchSize;
+        long remainingLimit = limit;
         while (!isFinished) {
-            long batchLimit = Math.min(limit - batchOffset, batchMaxLimit);
-            isFinished = generateMissingFileKeysBatch(userPrivateKeys,
-                    userPrivateKeyPassword, nodeId, batchOffset, batchLimit);
-            batchOffset = batchOffset + batchLimit;
-            if (batchOffset >= limit) {
+            long batchLimit = Math.min(remainingLimit, batchMaxLimit);
+            // The next batch is only queried after the file keys of the current batch have been
+            // set. Otherwise, the result of the query would depend on the timing of both requests.
+            BatchResult result = generateMissingFileKeysBatch(userPrivateKeys,
+                    userPrivateKeyPassword, nodeId, batchOffset, batchLimit,
+                    parallelCrypto);
+            isFinished = result.isFinished;
+            long backlog = Math.max(result.total - batchOffset - result.itemsCount, 0L);
+            batchOffset = batchOffset + result.unresolvedItemsCount;
+            if (!notifyBatchFinished(listener, batchOffset, backlog, result.keysCount)) {
+                return false;
+            }
+            remainingLimit = remainingLimit - result.itemsCount;
+            if (remainingLimit <= 0L) {
                 break;
             }
         }
@@ -96,16 +147,83 @@ public class FileKeyGenerator {
         return userPrivateKeys;
     }
 
-    private boolean generateMissingFileKeysBatch(Map<UserKeyPair.Version,
+    @SuppressWarnings("squid:S107")
+    private BatchResult generateMissingFileKeysBatch(Map<UserKeyPair.Version,
             UserPrivateKey> userPrivateKeys, char[] userPrivateKeyPassword, Long nodeId,
-            long offset, long limit) throws DracoonNetIOException, DracoonApiException,
+            long offset, long limit, boolean parallel) throws DracoonNetIOException, DracoonApiException,
             DracoonCryptoException {
+        BatchResult result = new BatchResult();
+
         ApiMissingFileKeys apiMissingFileKeys = getMissingFileKeysBatch(nodeId, offset, limit);
+        result.total = apiMissingFileKeys.range.total;
         if (apiMissingFileKeys.items.isEmpty()) {
-            return true;
+            result.isFinished = true;
+            return result;
         }
 
         List<ApiUserIdFileId> apiUserIdFileIds = apiMissingFileKeys.items;
+        List<ApiUserIdFileIdFileKey> apiUserIdFileIdFileKeys = parallel ?
+                createFileKeysParallel(apiMissingFileKeys, userPrivateKeys,
+                        userPrivateKeyPassword) :
+                createFileKeys(apiMissingFileKeys, userPrivateKeys, userPrivateKeyPassword);
+
+        setFileKeysBatch(apiUserIdFileIdFileKeys);
+
+        result.itemsCount = apiUserIdFileIds.size();
+        result.isFinished = apiMissingFileKeys.range.total <= offset + result.itemsCount;
+        result.unresolvedItemsCount = countUnresolvedItems(apiUserIdFileIds,
+                apiUserIdFileIdFileKeys);
+        result.keysCount = apiUserIdFileIdFileKeys.size();
+        return result;
+    }
+
+    private static int countUnresolvedItems(List<ApiUserIdFileId> apiUserIdFileIds,
+            List<ApiUserIdFileIdFileKey> apiUserIdFileIdFileKeys) {
+        Set<List<Long>> resolvedItems = new HashSet<>();
+        for (ApiUserIdFileIdFileKey apiUserIdFileIdFileKey : apiUserIdFileIdFileKeys) {
+            resolvedItems.add(Arrays.asList(apiUserIdFileIdFileKey.userId,
+                    apiUserIdFileIdFileKey.fileId));
+        }
+
+        int count = 0;
+        for (ApiUserIdFileId apiUserIdFileId : apiUserIdFileIds) {
+            if (!resolvedItems.contains(Arrays.asList(apiUserIdFileId.userId,
+                    apiUserIdFileId.fileId))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean notifyBatchFinished(BatchListener listener, long checkpointOffset,
+            long backlog, int keysCount) {
+        return listener == null || listener.onBatchFinished(checkpointOffset, backlog,
+                keysCount);
+    }
+
+    // --- Parallel generation methods ---
+
+    private synchronized ExecutorService getCryptoExecutor() {
+        if (mCryptoExecutor == null) {
+            // Idle threads are terminated. Therefore, the executor does not need to be shut down.
+            int threadsCount = Runtime.getRuntime().availableProcessors();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threadsCount, threadsCount,
+                    CRYPTO_THREAD_KEEP_ALIVE, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    r -> {
+                        Thread thread = new Thread(r, "Dracoon-File-Key-Crypto-" +
+                                mCryptoThreadNum.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            mCryptoExecutor = executor;
+        }
+        return mCryptoExecutor;
+    }
+
+    private List<ApiUserIdFileIdFileKey> createFileKeys(ApiMissingFileKeys apiMissingFileKeys,
+            Map<UserKeyPair.Version, UserPrivateKey> userPrivateKeys,
+            char[] userPrivateKeyPassword) throws DracoonCryptoException {
         Map<Long, List<UserPublicKey>> usersPublicKeys = convertUserPublicKeys(
                 apiMissingFileKeys.users);
         Map<Long, List<EncryptedFileKey>> encFilesKeys = convertFileKeys(apiMissingFileKeys.files);
@@ -113,32 +231,98 @@ public class FileKeyGenerator {
                 userPrivateKeyPassword);
 
         List<ApiUserIdFileIdFileKey> apiUserIdFileIdFileKeys = new ArrayList<>();
+        for (ApiUserIdFileId apiUserIdFileId : apiMissingFileKeys.items) {
+            apiUserIdFileIdFileKeys.addAll(encryptFileKeys(apiUserIdFileId,
+                    usersPublicKeys.get(apiUserIdFileId.userId),
+                    plainFileKeys.get(apiUserIdFileId.fileId)));
+        }
+        return apiUserIdFileIdFileKeys;
+    }
 
-        for (ApiUserIdFileId apiUserIdFileId : apiUserIdFileIds) {
-            List<UserPublicKey> userPublicKeys = usersPublicKeys.get(apiUserIdFileId.userId);
-            PlainFileKey plainFileKey = plainFileKeys.get(apiUserIdFileId.fileId);
-            if (userPublicKeys == null || plainFileKey == null) {
-                continue;
-            }
-
-            for (UserPublicKey userPublicKey : userPublicKeys) {
-                EncryptedFileKey encFileKey = mCryptoWrapper.encryptFileKey(apiUserIdFileId.fileId,
-                        plainFileKey, userPublicKey);
+    private List<ApiUserIdFileIdFileKey> createFileKeysParallel(
+            ApiMissingFileKeys apiMissingFileKeys, Map<UserKeyPair.Version,
+            UserPrivateKey> userPrivateKeys, char[] userPrivateKeyPassword)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException {
+        ExecutorService cryptoExecutor = getCryptoExecutor();
 
-                ApiFileKey apiFileKey = FileMapper.toApiFileKey(encFileKey);
+        Map<Long, List<UserPublicKey>> usersPublicKeys = convertUserPublicKeys(
+                apiMissingFileKeys.users);
+        Map<Long, List<EncryptedFileKey>> encFilesKeys = convertFileKeys(apiMissingFileKeys.files);
 
-                ApiUserIdFileIdFileKey apiUserIdFileIdFileKey = new ApiUserIdFileIdFileKey();
-                apiUserIdFileIdFileKey.userId = apiUserIdFileId.userId;
-                apiUserIdFileIdFileKey.fileId = apiUserIdFileId.fileId;
-                apiUserIdFileIdFileKey.fileKey = apiFileKey;
+        // Decrypt file keys in parallel
+        List<Long> fileIds = new ArrayList<>(encFilesKeys.keySet());
+        List<Callable<PlainFileKey>> decryptTasks = new ArrayList<>();
+        for (Long fileId : fileIds) {
+            decryptTasks.add(() -> decryptFileKey(fileId, encFilesKeys.get(fileId),
+                    userPrivateKeys, userPrivateKeyPassword));
+        }
+        List<Future<PlainFileKey>> decryptResults = invokeAll(cryptoExecutor, decryptTasks);
 
-                apiUserIdFileIdFileKeys.add(apiUserIdFileIdFileKey);
+        Map<Long, PlainFileKey> plainFileKeys = new HashMap<>();
+        for (int i = 0; i < fileIds.size(); i++) {
+            PlainFileKey plainFileKey = awaitResult(decryptResults.get(i));
+            if (plainFileKey != null) {
+                plainFileKeys.put(fileIds.get(i), plainFileKey);
             }
         }
 
-        setFileKeysBatch(apiUserIdFileIdFileKeys);
+        // Encrypt file keys in parallel
+        List<Callable<List<ApiUserIdFileIdFileKey>>> encryptTasks = new ArrayList<>();
+        for (ApiUserIdFileId apiUserIdFileId : apiMissingFileKeys.items) {
+            encryptTasks.add(() -> encryptFileKeys(apiUserIdFileId,
+                    usersPublicKeys.get(apiUserIdFileId.userId),
+                    plainFileKeys.get(apiUserIdFileId.fileId)));
+        }
+        List<Future<List<ApiUserIdFileIdFileKey>>> encryptResults = invokeAll(cryptoExecutor,
+                encryptTasks);
+
+        List<ApiUserIdFileIdFileKey> apiUserIdFileIdFileKeys = new ArrayList<>();
+        for (Future<List<ApiUserIdFileIdFileKey>> encryptResult : encryptResults) {
+            apiUserIdFileIdFileKeys.addAll(awaitResult(encryptResult));
+        }
+        return apiUserIdFileIdFileKeys;
+    }
 
-        return apiMissingFileKeys.range.total <= offset + limit;
+    private <T> List<Future<T>> invokeAll(ExecutorService executor, List<Callable<T>> tasks)
+            throws DracoonNetIOInterruptedException {
+        try {
+            return executor.invokeAll(tasks);
+        // SONAR: Rethrowing exception might cause unknown problems
+        } catch (InterruptedException e) { // NOSONAR
+            String errorText = "Generation of missing file keys was interrupted.";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        }
+    }
+
+    private <T> T awaitResult(Future<T> future) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException {
+        if (future == null) {
+            return null;
+        }
+
+        try {
+            return future.get();
+        // SONAR: Rethrowing exception might cause unknown problems
+        } catch (InterruptedException e) { // NOSONAR
+            String errorText = "Generation of missing file keys was interrupted.";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOInterruptedException(errorText, e);
+        } catch (ExecutionException e) {
+            Throwable c = e.getCause();
+            if (c instanceof DracoonNetIOException) {
+                throw (DracoonNetIOException) c;
+            } else if (c instanceof DracoonApiException) {
+                throw (DracoonApiException) c;
+            } else if (c instanceof DracoonCryptoException) {
+                throw (DracoonCryptoException) c;
+            } else if (c instanceof RuntimeException) {
+                throw (RuntimeException) c;
+            } else if (c instanceof Error) {
+                throw (Error) c;
+            }
+            throw new IllegalStateException("Generation of missing file keys failed.", c);
+        }
     }
 
     private ApiMissingFileKeys getMissingFileKeysBatch(Long nodeId, long offset, long limit)
@@ -164,13 +348,8 @@ public class FileKeyGenerator {
             try {
                 UserPublicKey userPublicKey = UserMapper.fromApiUserPublicKey(
                         apiUserIdUserPublicKey.publicKeyContainer);
-                List<UserPublicKey> userPublicKeys = usersPublicKeys.get(apiUserIdUserPublicKey.id);
-                if (userPublicKeys != null) {
-                    userPublicKeys.add(userPublicKey);
-                } else {
-                    usersPublicKeys.put(apiUserIdUserPublicKey.id, Collections.singletonList(
-                            userPublicKey));
-                }
+                usersPublicKeys.computeIfAbsent(apiUserIdUserPublicKey.id, k -> new ArrayList<>())
+                        .add(userPublicKey);
             } catch (UnknownVersionException e) {
                 // Not supported public keys are ignored
             }
@@ -185,12 +364,8 @@ public class FileKeyGenerator {
             try {
                 EncryptedFileKey encFileKey = FileMapper.fromApiFileKey(
                         apiFileIdFileKey.fileKeyContainer);
-                List<EncryptedFileKey> encFileKeys = encFilesKeys.get(apiFileIdFileKey.id);
-                if (encFileKeys != null) {
-                    encFileKeys.add(encFileKey);
-                } else {
-                    encFilesKeys.put(apiFileIdFileKey.id, Collections.singletonList(encFileKey));
-                }
+                encFilesKeys.computeIfAbsent(apiFileIdFileKey.id, k -> new ArrayList<>())
+                        .add(encFileKey);
             } catch (UnknownVersionException e) {
                 // Not supported public keys are ignored
             }
@@ -203,22 +378,55 @@ public class FileKeyGenerator {
             throws DracoonCryptoException {
         Map<Long, PlainFileKey> plainFileKeys = new HashMap<>();
         for (Map.Entry<Long, List<EncryptedFileKey>> encFileKeys : encFilesKeys.entrySet()) {
-            for (EncryptedFileKey encFileKey : encFileKeys.getValue()) {
-                UserKeyPair.Version userKeyPairVersion = CryptoVersionConverter
-                        .determineUserKeyPairVersion(encFileKey.getVersion());
-
-                UserPrivateKey userPrivateKey = userPrivateKeys.get(userKeyPairVersion);
-                if (userPrivateKey != null) {
-                    PlainFileKey plainFileKey = mCryptoWrapper.decryptFileKey(encFileKeys.getKey(),
-                            encFileKey, userPrivateKey, userPrivateKeyPassword);
-                    plainFileKeys.put(encFileKeys.getKey(), plainFileKey);
-                    break;
-                }
+            PlainFileKey plainFileKey = decryptFileKey(encFileKeys.getKey(),
+                    encFileKeys.getValue(), userPrivateKeys, userPrivateKeyPassword);
+            if (plainFileKey != null) {
+                plainFileKeys.put(encFileKeys.getKey(), plainFileKey);
             }
         }
         return plainFileKeys;
     }
 
+    private PlainFileKey decryptFileKey(Long fileId, List<EncryptedFileKey> encFileKeys,
+            Map<UserKeyPair.Version, UserPrivateKey> userPrivateKeys, char[] userPrivateKeyPassword)
+            throws DracoonCryptoException {
+        for (EncryptedFileKey encFileKey : encFileKeys) {
+            UserKeyPair.Version userKeyPairVersion = CryptoVersionConverter
+                    .determineUserKeyPairVersion(encFileKey.getVersion());
+
+            UserPrivateKey userPrivateKey = userPrivateKeys.get(userKeyPairVersion);
+            if (userPrivateKey != null) {
+                return mCryptoWrapper.decryptFileKey(fileId, encFileKey, userPrivateKey,
+                        userPrivateKeyPassword);
+            }
+        }
+        return null;
+    }
+
+    private List<ApiUserIdFileIdFileKey> encryptFileKeys(ApiUserIdFileId apiUserIdFileId,
+            List<UserPublicKey> userPublicKeys, PlainFileKey plainFileKey)
+            throws DracoonCryptoException {
+        if (userPublicKeys == null || plainFileKey == null) {
+            return Collections.emptyList();
+        }
+
+        List<ApiUserIdFileIdFileKey> apiUserIdFileIdFileKeys = new ArrayList<>();
+        for (UserPublicKey userPublicKey : userPublicKeys) {
+            EncryptedFileKey encFileKey = mCryptoWrapper.encryptFileKey(apiUserIdFileId.fileId,
+                    plainFileKey, userPublicKey);
+
+            ApiFileKey apiFileKey = FileMapper.toApiFileKey(encFileKey);
+
+            ApiUserIdFileIdFileKey apiUserIdFileIdFileKey = new ApiUserIdFileIdFileKey();
+            apiUserIdFileIdFileKey.userId = apiUserIdFileId.userId;
+            apiUserIdFileIdFileKey.fileId = apiUserIdFileId.fileId;
+            apiUserIdFileIdFileKey.fileKey = apiFileKey;
+
+            apiUserIdFileIdFileKeys.add(apiUserIdFileIdFileKey);
+        }
+        return apiUserIdFileIdFileKeys;
+    }
+
     private void setFileKeysBatch(List<ApiUserIdFileIdFileKey> apiUserIdFileIdFileKeys)
             throws DracoonNetIOException, DracoonApiException {
         ApiSetFileKeysRequest request = new ApiSetFileKeysRequest();
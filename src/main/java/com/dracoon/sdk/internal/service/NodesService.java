@@ -1,14 +1,18 @@
 package com.dracoon.sdk.internal.service;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import com.dracoon.sdk.DracoonClient;
 import com.dracoon.sdk.crypto.model.PlainFileKey;
@@ -20,14 +24,19 @@ import com.dracoon.sdk.error.DracoonCryptoException;
 import com.dracoon.sdk.error.DracoonException;
 import com.dracoon.sdk.error.DracoonFileIOException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
 import com.dracoon.sdk.filter.FavoriteStatusFilter;
 import com.dracoon.sdk.filter.Filters;
 import com.dracoon.sdk.filter.GetNodesFilters;
+import com.dracoon.sdk.filter.NodeNameFilter;
 import com.dracoon.sdk.filter.NodeParentPathFilter;
+import com.dracoon.sdk.filter.NodeTypeFilter;
 import com.dracoon.sdk.filter.SearchNodesFilters;
 import com.dracoon.sdk.internal.ClientImpl;
 import com.dracoon.sdk.internal.ClientMethodImpl;
 import com.dracoon.sdk.internal.DracoonConstants;
+import com.dracoon.sdk.internal.api.adapter.ApiNodeListTypeAdapter;
+import com.dracoon.sdk.internal.api.adapter.ApiNodeTypeAdapter;
 import com.dracoon.sdk.internal.api.mapper.FileMapper;
 import com.dracoon.sdk.internal.api.mapper.FolderMapper;
 import com.dracoon.sdk.internal.api.mapper.NodeMapper;
@@ -42,8 +51,8 @@ import com.dracoon.sdk.internal.api.model.ApiMoveNodesRequest;
 import com.dracoon.sdk.internal.api.model.ApiNode;
 import com.dracoon.sdk.internal.api.model.ApiNodeComment;
 import com.dracoon.sdk.internal.api.model.ApiNodeCommentList;
-import com.dracoon.sdk.internal.api.model.ApiNodeList;
 import com.dracoon.sdk.internal.api.model.ApiNodeVirusProtectionInfo;
+import com.dracoon.sdk.internal.api.model.ApiRange;
 import com.dracoon.sdk.internal.api.model.ApiUpdateFileRequest;
 import com.dracoon.sdk.internal.api.model.ApiUpdateFolderRequest;
 import com.dracoon.sdk.internal.api.model.ApiUpdateNodeCommentRequest;
@@ -51,6 +60,8 @@ import com.dracoon.sdk.internal.api.model.ApiUpdateRoomConfigRequest;
 import com.dracoon.sdk.internal.api.model.ApiUpdateRoomRequest;
 import com.dracoon.sdk.internal.crypto.CryptoVersionConverter;
 import com.dracoon.sdk.internal.http.HttpStatus;
+import com.dracoon.sdk.internal.util.GsonDateTypeAdapter;
+import com.dracoon.sdk.internal.util.HashUtils;
 import com.dracoon.sdk.internal.util.StreamUtils;
 import com.dracoon.sdk.internal.validator.BaseValidator;
 import com.dracoon.sdk.internal.validator.FileValidator;
@@ -63,23 +74,34 @@ import com.dracoon.sdk.model.CreateNodeCommentRequest;
 import com.dracoon.sdk.model.CreateRoomRequest;
 import com.dracoon.sdk.model.DeleteNodesRequest;
 import com.dracoon.sdk.model.FileDownloadCallback;
+import com.dracoon.sdk.model.FileDownloadChannel;
 import com.dracoon.sdk.model.FileDownloadStream;
+import com.dracoon.sdk.model.FileKeyGenerationCallback;
+import com.dracoon.sdk.model.FileKeyGenerationStatus;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
 import com.dracoon.sdk.model.FileUploadStream;
 import com.dracoon.sdk.model.FileVirusScanInfo;
 import com.dracoon.sdk.model.FileVirusScanInfoList;
+import com.dracoon.sdk.model.FolderSyncRequest;
+import com.dracoon.sdk.model.FolderSyncResult;
+import com.dracoon.sdk.model.GenerateMissingFileKeysRequest;
 import com.dracoon.sdk.model.GetFilesVirusScanInfoRequest;
 import com.dracoon.sdk.model.MoveNodesRequest;
 import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeChangeCursor;
+import com.dracoon.sdk.model.NodeChangeFeed;
 import com.dracoon.sdk.model.NodeComment;
 import com.dracoon.sdk.model.NodeCommentList;
 import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.NodeType;
 import com.dracoon.sdk.model.UpdateFileRequest;
 import com.dracoon.sdk.model.UpdateFolderRequest;
 import com.dracoon.sdk.model.UpdateNodeCommentRequest;
 import com.dracoon.sdk.model.UpdateRoomConfigRequest;
 import com.dracoon.sdk.model.UpdateRoomRequest;
+import com.google.gson.stream.JsonReader;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Response;
 
@@ -90,11 +112,46 @@ public class NodesService extends BaseService {
 
     private static final String MEDIA_URL_TEMPLATE = "%s/mediaserver/image/%s/%dx%d";
 
+    // The encryption state of upload targets is reused for a short time. Uploads of many small
+    // files into the same room or folder then don't need to query the target node every time.
+    // (The cache is only used for small file uploads. A room can be encrypted while the state is
+    // cached. Other uploads always query the target, so they can't be sent unencrypted.)
+    private static final long UPLOAD_TARGET_CACHE_TIMEOUT = 60L * DracoonConstants.SECOND;
+    private static final int UPLOAD_TARGET_CACHE_SIZE = 100;
+
     private final Map<String, UploadThread> mUploads = new HashMap<>();
     private final Map<String, DownloadThread> mDownloads = new HashMap<>();
+    private final Map<String, FileKeyGenerationThread> mFileKeyGenerations = new HashMap<>();
+
+    private final long mSmallFileUploadThreshold;
+
+    private final ApiNodeListTypeAdapter mNodeListAdapter = new ApiNodeListTypeAdapter(
+            new ApiNodeTypeAdapter(new GsonDateTypeAdapter()));
+
+    private static class UploadTarget {
+
+        private final boolean mIsEncrypted;
+        private final long mExpireAt;
+
+        UploadTarget(boolean isEncrypted, long expireAt) {
+            mIsEncrypted = isEncrypted;
+            mExpireAt = expireAt;
+        }
+
+    }
+
+    private final Map<Long, UploadTarget> mUploadTargets = new LinkedHashMap<Long,
+            UploadTarget>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, UploadTarget> eldest) {
+            return size() > UPLOAD_TARGET_CACHE_SIZE;
+        }
+    };
 
     public NodesService(ServiceLocator locator, ServiceDependencies dependencies) {
         super(locator, dependencies);
+        mSmallFileUploadThreshold = ((long) dependencies.getHttpConfig()
+                .getSmallFileUploadThreshold()) * DracoonConstants.KIB;
     }
 
     UploadThread getUploadThread(String id) {
@@ -113,6 +170,14 @@ public class NodesService extends BaseService {
         mDownloads.put(id, downloadThread);
     }
 
+    FileKeyGenerationThread getFileKeyGenerationThread(String id) {
+        return mFileKeyGenerations.get(id);
+    }
+
+    void putFileKeyGenerationThread(String id, FileKeyGenerationThread fileKeyGenerationThread) {
+        mFileKeyGenerations.put(id, fileKeyGenerationThread);
+    }
+
     // --- Query methods ---
 
     @ClientMethodImpl
@@ -145,8 +210,8 @@ public class NodesService extends BaseService {
         BaseValidator.validateRange(offset, limit, true);
 
         String filter = filters != null ? filters.toString() : null;
-        Call<ApiNodeList> call = mApi.getNodes(parentNodeId, 0, filter, null, offset, limit);
-        Response<ApiNodeList> response = mHttpHelper.executeRequest(call);
+        Call<ResponseBody> call = mApi.getNodes(parentNodeId, 0, filter, null, offset, limit);
+        Response<ResponseBody> response = mHttpHelper.executeRequest(call);
 
         if (!response.isSuccessful()) {
             DracoonApiCode errorCode = mErrorParser.parseNodesQueryError(response);
@@ -156,9 +221,26 @@ public class NodesService extends BaseService {
             throw new DracoonApiException(errorCode);
         }
 
-        ApiNodeList data = response.body();
-
-        return NodeMapper.fromApiNodeList(data);
+        return readNodeList(response.body());
+    }
+
+    // Each node is mapped as soon as it was read. Therefore, the list of API nodes is not built.
+    private NodeList readNodeList(ResponseBody responseBody) throws DracoonNetIOException {
+        List<Node> items = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(responseBody.charStream())) {
+            ApiRange range = mNodeListAdapter.read(reader,
+                    apiNode -> items.add(NodeMapper.fromApiNode(apiNode)));
+            return NodeMapper.fromApiNodeListRange(range, items);
+        } catch (IOException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                String errorText = "Node list read was interrupted.";
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonNetIOInterruptedException(errorText, e);
+            }
+            String errorText = "Server communication failed!";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOException(errorText, e);
+        }
     }
 
     @ClientMethodImpl
@@ -441,9 +523,15 @@ public class NodesService extends BaseService {
             DracoonNetIOException, DracoonApiException {
         FileValidator.validateUploadRequest(id, request, file);
 
-        InputStream is = mFileStreamHelper.getFileInputStream(file);
         long length = file.length();
 
+        Node unchangedNode = getUnchangedFileNode(request, file, length);
+        if (unchangedNode != null) {
+            return skipUnchangedUpload(id, request, unchangedNode, callback);
+        }
+
+        InputStream is = mFileStreamHelper.getFileInputStream(file);
+
         return uploadFileInternally(id, request, is, length, true, callback);
     }
 
@@ -453,13 +541,18 @@ public class NodesService extends BaseService {
             DracoonNetIOException, DracoonApiException {
         FileValidator.validateUploadRequest(id, request, is);
 
+        Node unchangedNode = getUnchangedFileNode(request, length);
+        if (unchangedNode != null) {
+            return skipUnchangedUpload(id, request, unchangedNode, callback);
+        }
+
         return uploadFileInternally(id, request, is, length, false, callback);
     }
 
     private Node uploadFileInternally(String id, FileUploadRequest request, InputStream is,
             long length, boolean close, FileUploadCallback callback) throws DracoonFileIOException,
             DracoonCryptoException, DracoonNetIOException, DracoonApiException {
-        UserPublicKey userPublicKey = getUploadUserPublicKey(request.getParentId());
+        UserPublicKey userPublicKey = getUploadUserPublicKey(request.getParentId(), length);
         PlainFileKey plainFileKey = createUploadFileKey(userPublicKey);
 
         UploadThread.Factory factory = mServiceLocator.getUploadThreadFactory();
@@ -482,10 +575,17 @@ public class NodesService extends BaseService {
             DracoonNetIOException, DracoonApiException {
         FileValidator.validateUploadRequest(id, request, file);
 
-        InputStream is = mFileStreamHelper.getFileInputStream(file);
         long length = file.length();
 
-        startUploadFileAsyncInternally(id, request, is, length, true, callback);
+        UploadThread.UnchangedFileCheck unchangedFileCheck = () -> {
+            Node node = getUnchangedFileNode(request, file, length);
+            return node != null ? updateUnchangedFileNode(id, request, node) : null;
+        };
+
+        InputStream is = mFileStreamHelper.getFileInputStream(file);
+
+        startUploadFileAsyncInternally(id, request, is, length, true, unchangedFileCheck,
+                callback);
     }
 
     @ClientMethodImpl
@@ -494,13 +594,20 @@ public class NodesService extends BaseService {
             DracoonNetIOException, DracoonApiException {
         FileValidator.validateUploadRequest(id, request, is);
 
-        startUploadFileAsyncInternally(id, request, is, length, false, callback);
+        UploadThread.UnchangedFileCheck unchangedFileCheck = () -> {
+            Node node = getUnchangedFileNode(request, length);
+            return node != null ? updateUnchangedFileNode(id, request, node) : null;
+        };
+
+        startUploadFileAsyncInternally(id, request, is, length, false, unchangedFileCheck,
+                callback);
     }
 
     private void startUploadFileAsyncInternally(String id, FileUploadRequest request,
-            final InputStream is, long length, final boolean close, FileUploadCallback callback)
+            final InputStream is, long length, final boolean close,
+            UploadThread.UnchangedFileCheck unchangedFileCheck, FileUploadCallback callback)
             throws DracoonCryptoException, DracoonNetIOException, DracoonApiException {
-        UserPublicKey userPublicKey = getUploadUserPublicKey(request.getParentId());
+        UserPublicKey userPublicKey = getUploadUserPublicKey(request.getParentId(), length);
         PlainFileKey plainFileKey = createUploadFileKey(userPublicKey);
 
         FileUploadCallback internalCallback = new FileUploadCallback() {
@@ -535,6 +642,7 @@ public class NodesService extends BaseService {
 
         UploadThread.Factory factory = mServiceLocator.getUploadThreadFactory();
         UploadThread thread = factory.create(id, request, length, userPublicKey, plainFileKey, is);
+        thread.setUnchangedFileCheck(unchangedFileCheck);
         thread.addCallback(callback);
         thread.addCallback(internalCallback);
 
@@ -550,10 +658,14 @@ public class NodesService extends BaseService {
             return;
         }
 
+        // An upload which is completed asynchronously is removed when its completion was canceled
+        boolean isCompletionCanceled = uploadThread.cancelCompletion();
         if (mThreadHelper.isThreadAlive(uploadThread)) {
             mThreadHelper.interruptThread(uploadThread);
         }
-        mUploads.remove(id);
+        if (!isCompletionCanceled) {
+            mUploads.remove(id);
+        }
     }
 
     @ClientMethodImpl
@@ -562,7 +674,7 @@ public class NodesService extends BaseService {
             DracoonCryptoException {
         FileValidator.validateUploadRequest(request);
 
-        UserPublicKey userPublicKey = getUploadUserPublicKey(request.getParentId());
+        UserPublicKey userPublicKey = getUploadUserPublicKey(request.getParentId(), length);
         PlainFileKey plainFileKey = createUploadFileKey(userPublicKey);
 
         // SONAR: No try-with-resources or close is needed here
@@ -578,9 +690,131 @@ public class NodesService extends BaseService {
         return stream;
     }
 
-    private UserPublicKey getUploadUserPublicKey(long parentNodeId) throws DracoonNetIOException,
+    // --- Unchanged file detection methods ---
+
+    private Node getUnchangedFileNode(FileUploadRequest request, File file, long length)
+            throws DracoonFileIOException, DracoonNetIOException, DracoonApiException {
+        if (!Boolean.TRUE.equals(request.isSkipUnchanged())) {
+            return null;
+        }
+
+        Node node = getComparableFileNode(request, length);
+        if (node == null) {
+            return null;
+        }
+
+        // The file is only hashed, if an existing file has passed the cheap checks
+        String hash = request.getHash() != null ? request.getHash() : computeFileHash(file);
+
+        return node.getHash().equalsIgnoreCase(hash) ? node : null;
+    }
+
+    private Node getUnchangedFileNode(FileUploadRequest request, long length)
+            throws DracoonNetIOException, DracoonApiException {
+        // Streams are not read twice. Therefore, the hash must be known.
+        if (!Boolean.TRUE.equals(request.isSkipUnchanged()) || request.getHash() == null) {
+            return null;
+        }
+
+        Node node = getComparableFileNode(request, length);
+        if (node == null) {
+            return null;
+        }
+
+        return node.getHash().equalsIgnoreCase(request.getHash()) ? node : null;
+    }
+
+    private Node getComparableFileNode(FileUploadRequest request, long length)
+            throws DracoonNetIOException, DracoonApiException {
+        Node node = getFileNode(request.getParentId(), request.getName());
+        if (node == null || node.getHash() == null || node.getSize() == null) {
+            return null;
+        }
+        // The hash of an encrypted file is the hash of the encrypted data
+        if (!Boolean.FALSE.equals(node.isEncrypted())) {
+            return null;
+        }
+        return length < 0L || node.getSize() == length ? node : null;
+    }
+
+    private Node getFileNode(long parentNodeId, String name) throws DracoonNetIOException,
             DracoonApiException {
-        boolean isEncryptedUpload = isNodeEncrypted(parentNodeId);
+        GetNodesFilters filters = new GetNodesFilters();
+        filters.addNodeTypeFilter(new NodeTypeFilter.Builder().eq(NodeType.FILE).build());
+        filters.addNodeNameFilter(new NodeNameFilter.Builder().eq(name).build());
+
+        NodeList nodeList = getNodesInternally(parentNodeId, filters, null, null);
+
+        // The server might match names case-insensitive
+        for (Node node : nodeList.getItems()) {
+            if (name.equals(node.getName())) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private String computeFileHash(File file) throws DracoonFileIOException {
+        InputStream is = mFileStreamHelper.getFileInputStream(file);
+        try {
+            return HashUtils.computeMd5Hash(is);
+        } catch (IOException e) {
+            String errorText = "File read failed!";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonFileIOException(errorText, e);
+        } finally {
+            StreamUtils.closeStream(is);
+        }
+    }
+
+    private Node skipUnchangedUpload(String id, FileUploadRequest request, Node node,
+            FileUploadCallback callback) throws DracoonNetIOException, DracoonApiException {
+        Node updatedNode = updateUnchangedFileNode(id, request, node);
+
+        if (callback != null) {
+            callback.onStarted(id);
+            callback.onFinished(id, updatedNode);
+        }
+
+        return updatedNode;
+    }
+
+    private Node updateUnchangedFileNode(String id, FileUploadRequest request, Node node)
+            throws DracoonNetIOException, DracoonApiException {
+        mLog.d(LOG_TAG, String.format("Upload '%s' skipped. File '%d' is unchanged.", id,
+                node.getId()));
+
+        UpdateFileRequest updateRequest = createUnchangedFileUpdateRequest(request, node);
+        return updateRequest != null ? updateFile(updateRequest) : node;
+    }
+
+    private static UpdateFileRequest createUnchangedFileUpdateRequest(FileUploadRequest request,
+            Node node) {
+        UpdateFileRequest.Builder builder = new UpdateFileRequest.Builder(node.getId());
+        boolean isChanged = false;
+
+        if (request.getClassification() != null &&
+                request.getClassification() != node.getClassification()) {
+            builder.classification(request.getClassification());
+            isChanged = true;
+        }
+        if (request.getNotes() != null && !request.getNotes().equals(node.getNotes())) {
+            builder.notes(request.getNotes());
+            isChanged = true;
+        }
+        if (request.getExpirationDate() != null &&
+                !Objects.equals(request.getExpirationDate(), node.getExpireAt())) {
+            builder.expirationDate(request.getExpirationDate());
+            isChanged = true;
+        }
+
+        return isChanged ? builder.build() : null;
+    }
+
+    private UserPublicKey getUploadUserPublicKey(long parentNodeId, long length)
+            throws DracoonNetIOException, DracoonApiException {
+        boolean isEncryptedUpload = isSmallFileUpload(length) ?
+                isUploadTargetEncrypted(parentNodeId) : isNodeEncrypted(parentNodeId);
         if (!isEncryptedUpload) {
             return null;
         }
@@ -589,6 +823,31 @@ public class NodesService extends BaseService {
         return userKeyPair.getUserPublicKey();
     }
 
+    private boolean isSmallFileUpload(long length) {
+        return mSmallFileUploadThreshold > 0L && length > 0L && length <= mSmallFileUploadThreshold;
+    }
+
+    private boolean isUploadTargetEncrypted(long parentNodeId) throws DracoonNetIOException,
+            DracoonApiException {
+        long now = System.currentTimeMillis();
+
+        synchronized (mUploadTargets) {
+            UploadTarget target = mUploadTargets.get(parentNodeId);
+            if (target != null && target.mExpireAt > now) {
+                return target.mIsEncrypted;
+            }
+        }
+
+        boolean isEncrypted = isNodeEncrypted(parentNodeId);
+
+        synchronized (mUploadTargets) {
+            mUploadTargets.put(parentNodeId, new UploadTarget(isEncrypted,
+                    now + UPLOAD_TARGET_CACHE_TIMEOUT));
+        }
+
+        return isEncrypted;
+    }
+
     private PlainFileKey createUploadFileKey(UserPublicKey userPublicKey)
             throws DracoonCryptoException {
         if (userPublicKey == null) {
@@ -738,47 +997,101 @@ public class NodesService extends BaseService {
         return stream;
     }
 
+    @ClientMethodImpl
+    public FileDownloadChannel createFileDownloadChannel(String id, long nodeId)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException {
+        PlainFileKey plainFileKey = getDownloadFileKey(nodeId);
+
+        // SONAR: No try-with-resources or close is needed here
+        DownloadChannel.Factory factory = mServiceLocator.getDownloadChannelFactory();
+        DownloadChannel channel = factory.create(id, nodeId, plainFileKey); //NOSONAR
+
+        channel.start();
+
+        return channel;
+    }
+
+    @ClientMethodImpl
+    public void downloadNodeAsZip(String id, long nodeId, File file) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+        FileValidator.validateDownloadRequest(id, file);
+
+        OutputStream os = mFileStreamHelper.getFileOutputStream(file);
+
+        try {
+            mServiceLocator.getZipExporter().export(id, nodeId, os);
+        } finally {
+            closeStream(os, true);
+        }
+    }
+
+    @ClientMethodImpl
+    public void downloadNodeAsZip(String id, long nodeId, OutputStream os)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+            DracoonFileIOException {
+        FileValidator.validateDownloadRequest(id, os);
+
+        mServiceLocator.getZipExporter().export(id, nodeId, os);
+    }
+
     private PlainFileKey getDownloadFileKey(long nodeId) throws DracoonCryptoException,
             DracoonNetIOException, DracoonApiException {
         return mServiceLocator.getFileKeyFetcher().getPlainFileKey(nodeId);
     }
 
+    // --- Folder synchronization methods ---
+
+    @ClientMethodImpl
+    public FolderSyncResult syncFolder(String id, FolderSyncRequest request)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+            DracoonFileIOException {
+        NodeValidator.validateSyncRequest(id, request);
+
+        return mServiceLocator.getSyncEngine().sync(id, request);
+    }
+
     // --- Search methods ---
 
     @ClientMethodImpl
     public NodeList searchNodes(long parentNodeId, String searchString)
             throws DracoonNetIOException, DracoonApiException {
-        return searchNodesInternally(parentNodeId, searchString, null, null, null);
+        return searchNodesInternally(parentNodeId, searchString, null, null, null, null);
     }
 
     @ClientMethodImpl
     public NodeList searchNodes(long parentNodeId, String searchString, SearchNodesFilters filters)
             throws DracoonNetIOException, DracoonApiException {
-        return searchNodesInternally(parentNodeId, searchString, filters, null, null);
+        return searchNodesInternally(parentNodeId, searchString, filters, null, null, null);
     }
 
     @ClientMethodImpl
     public NodeList searchNodes(long parentNodeId, String searchString, long offset, long limit)
             throws DracoonNetIOException, DracoonApiException {
-        return searchNodesInternally(parentNodeId, searchString, null, offset, limit);
+        return searchNodesInternally(parentNodeId, searchString, null, null, offset, limit);
     }
 
     @ClientMethodImpl
     public NodeList searchNodes(long parentNodeId, String searchString, SearchNodesFilters filters,
             long offset, long limit) throws DracoonNetIOException, DracoonApiException {
-        return searchNodesInternally(parentNodeId, searchString, filters, offset, limit);
+        return searchNodesInternally(parentNodeId, searchString, filters, null, offset, limit);
     }
 
-    private NodeList searchNodesInternally(long parentNodeId, String searchString,
-            SearchNodesFilters filters, Long offset, Long limit) throws DracoonNetIOException,
+    NodeList searchNodes(long parentNodeId, String searchString, SearchNodesFilters filters,
+            String sort, long offset, long limit) throws DracoonNetIOException,
             DracoonApiException {
+        return searchNodesInternally(parentNodeId, searchString, filters, sort, offset, limit);
+    }
+
+    private NodeList searchNodesInternally(long parentNodeId, String searchString,
+            SearchNodesFilters filters, String sort, Long offset, Long limit)
+            throws DracoonNetIOException, DracoonApiException {
         NodeValidator.validateSearchRequest(parentNodeId, searchString);
         BaseValidator.validateRange(offset, limit, true);
 
         String filter = filters != null ? filters.toString() : null;
-        Call<ApiNodeList> call = mApi.searchNodes(searchString, parentNodeId, -1, filter, null,
+        Call<ResponseBody> call = mApi.searchNodes(searchString, parentNodeId, -1, filter, sort,
                 offset, limit);
-        Response<ApiNodeList> response = mHttpHelper.executeRequest(call);
+        Response<ResponseBody> response = mHttpHelper.executeRequest(call);
 
         if (!response.isSuccessful()) {
             DracoonApiCode errorCode = mErrorParser.parseNodesQueryError(response);
@@ -788,9 +1101,19 @@ public class NodesService extends BaseService {
             throw new DracoonApiException(errorCode);
         }
 
-        ApiNodeList data = response.body();
+        return readNodeList(response.body());
+    }
+
+    // --- Change feed methods ---
 
-        return NodeMapper.fromApiNodeList(data);
+    @ClientMethodImpl
+    public NodeChangeFeed getNodeChanges(long nodeId, NodeChangeCursor cursor)
+            throws DracoonNetIOException, DracoonApiException {
+        NodeValidator.validateNodeId(nodeId);
+
+        Node node = getNode(nodeId);
+
+        return new ChangeFeed(this, node, cursor);
     }
 
     // --- File key generation methods ---
@@ -808,6 +1131,74 @@ public class NodesService extends BaseService {
         return generateMissingFileKeysInternally(nodeId, limit);
     }
 
+    @ClientMethodImpl
+    public boolean generateMissingFileKeys(GenerateMissingFileKeysRequest request)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException {
+        NodeValidator.validateGenerateMissingFileKeysRequest(request);
+        return mServiceLocator.getFileKeyGenerator().generateMissingFileKeys(request.getNodeId(),
+                request.getOffset(), request.getLimit(), request.getBatchSize(),
+                request.isParallelCrypto(), null);
+    }
+
+    @ClientMethodImpl
+    public void startGenerateMissingFileKeysAsync(String id, GenerateMissingFileKeysRequest request,
+            int interval, FileKeyGenerationCallback callback) {
+        NodeValidator.validateGenerateMissingFileKeysRequest(id, request, interval);
+
+        FileKeyGenerationCallback internalCallback = new FileKeyGenerationCallback() {
+            @ClientMethodImpl
+            public void onStarted(String id) {
+                // SONAR: Empty method body is intentional
+            }
+
+            @ClientMethodImpl
+            public void onRunning(String id, FileKeyGenerationStatus status) {
+                // SONAR: Empty method body is intentional
+            }
+
+            @ClientMethodImpl
+            public void onStopped(String id) {
+                removeFileKeyGenerationThread(id);
+            }
+
+            @ClientMethodImpl
+            public void onFailed(String id, DracoonException e) {
+                removeFileKeyGenerationThread(id);
+            }
+        };
+
+        FileKeyGenerationThread.Factory factory = mServiceLocator
+                .getFileKeyGenerationThreadFactory();
+        FileKeyGenerationThread thread = factory.create(id, request, interval);
+        thread.addCallback(callback);
+        thread.addCallback(internalCallback);
+
+        synchronized (mFileKeyGenerations) {
+            mFileKeyGenerations.put(id, thread);
+        }
+
+        thread.start();
+    }
+
+    @ClientMethodImpl
+    public void stopGenerateMissingFileKeysAsync(String id) {
+        FileKeyGenerationThread fileKeyGenerationThread;
+        synchronized (mFileKeyGenerations) {
+            fileKeyGenerationThread = mFileKeyGenerations.get(id);
+        }
+        if (fileKeyGenerationThread == null) {
+            return;
+        }
+
+        fileKeyGenerationThread.requestStop();
+    }
+
+    private void removeFileKeyGenerationThread(String id) {
+        synchronized (mFileKeyGenerations) {
+            mFileKeyGenerations.remove(id);
+        }
+    }
+
     private boolean generateMissingFileKeysInternally(Long nodeId, Integer limit)
             throws DracoonNetIOException, DracoonApiException, DracoonCryptoException {
         return mServiceLocator.getFileKeyGenerator().generateMissingFileKeys(nodeId, limit);
@@ -0,0 +1,283 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dracoon.sdk.Log;
+
+public class ResourceCache {
+
+    private static final String LOG_TAG = ResourceCache.class.getSimpleName();
+
+    private static final String FILE_EXTENSION = ".cache";
+
+    private final Log mLog;
+
+    private final long mMaxMemorySize;
+    private final File mDirectory;
+    private final long mMaxDirectorySize;
+
+    private final Map<String, byte[]> mMemoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long mMemorySize = 0L;
+
+    // Only the bookkeeping of the file entries is done while holding their lock. Files are read,
+    // written and deleted outside of it, so that lookups don't wait for the disk I/O of others.
+    private final Map<String, Long> mFileEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long mDirectorySize = 0L;
+    private boolean mIsDirectoryLoaded = false;
+
+    public ResourceCache(Log log, long maxMemorySize, File directory, long maxDirectorySize) {
+        mLog = log;
+        mMaxMemorySize = maxMemorySize;
+        mDirectory = directory;
+        mMaxDirectorySize = maxDirectorySize;
+    }
+
+    public byte[] get(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        byte[] data = getMemoryEntry(key);
+        if (data != null) {
+            return data.clone();
+        }
+
+        data = readFile(key);
+        if (data != null) {
+            putMemoryEntry(key, data);
+            return data.clone();
+        }
+
+        return null;
+    }
+
+    public void put(String key, byte[] data) {
+        if (key == null || data == null) {
+            return;
+        }
+
+        putMemoryEntry(key, data.clone());
+        writeFile(key, data);
+    }
+
+    public void remove(String key) {
+        if (key == null) {
+            return;
+        }
+
+        removeMemoryEntry(key);
+        deleteFile(key);
+    }
+
+    // --- Memory methods ---
+
+    private synchronized byte[] getMemoryEntry(String key) {
+        return mMemoryEntries.get(key);
+    }
+
+    private synchronized void removeMemoryEntry(String key) {
+        byte[] data = mMemoryEntries.remove(key);
+        if (data != null) {
+            mMemorySize = mMemorySize - data.length;
+        }
+    }
+
+    private synchronized void putMemoryEntry(String key, byte[] data) {
+        if (data.length > mMaxMemorySize) {
+            return;
+        }
+
+        byte[] oldData = mMemoryEntries.put(key, data);
+        if (oldData != null) {
+            mMemorySize = mMemorySize - oldData.length;
+        }
+        mMemorySize = mMemorySize + data.length;
+
+        Iterator<Map.Entry<String, byte[]>> iterator = mMemoryEntries.entrySet().iterator();
+        while (mMemorySize > mMaxMemorySize && iterator.hasNext()) {
+            Map.Entry<String, byte[]> entry = iterator.next();
+            mMemorySize = mMemorySize - entry.getValue().length;
+            iterator.remove();
+        }
+    }
+
+    // --- Disk methods ---
+
+    private boolean isDirectoryEnabled() {
+        return mDirectory != null && mMaxDirectorySize > 0L;
+    }
+
+    // Must be called while holding the lock of the file entries
+    private void loadDirectory() {
+        if (mIsDirectoryLoaded) {
+            return;
+        }
+        mIsDirectoryLoaded = true;
+
+        if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+            mLog.w(LOG_TAG, String.format("Cache directory '%s' could not be created!",
+                    mDirectory.getAbsolutePath()));
+            return;
+        }
+
+        File[] files = mDirectory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+        if (files == null) {
+            return;
+        }
+
+        // Restore the usage order from the last modification times
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            mFileEntries.put(file.getName(), file.length());
+            mDirectorySize = mDirectorySize + file.length();
+        }
+        deleteFilesQuietly(trimDirectory());
+    }
+
+    private byte[] readFile(String key) {
+        if (!isDirectoryEnabled()) {
+            return null;
+        }
+
+        String fileName = buildFileName(key);
+        synchronized (mFileEntries) {
+            loadDirectory();
+            if (mFileEntries.get(fileName) == null) {
+                return null;
+            }
+        }
+
+        File file = new File(mDirectory, fileName);
+        try {
+            byte[] data = Files.readAllBytes(file.toPath());
+            if (!file.setLastModified(System.currentTimeMillis())) {
+                mLog.d(LOG_TAG, String.format("Usage of cache file '%s' could not be updated.",
+                        fileName));
+            }
+            return data;
+        } catch (IOException e) {
+            mLog.w(LOG_TAG, String.format("Cache file '%s' could not be read!", fileName), e);
+            List<String> removedFileNames;
+            synchronized (mFileEntries) {
+                removedFileNames = removeFileEntry(fileName);
+            }
+            deleteFilesQuietly(removedFileNames);
+            return null;
+        }
+    }
+
+    private void writeFile(String key, byte[] data) {
+        if (!isDirectoryEnabled() || data.length > mMaxDirectorySize) {
+            return;
+        }
+        synchronized (mFileEntries) {
+            loadDirectory();
+        }
+
+        String fileName = buildFileName(key);
+        File file = new File(mDirectory, fileName);
+        File tmpFile = null;
+        try {
+            // Write to a temporary file first, so that no partially written files can be read
+            tmpFile = File.createTempFile("tmp", null, mDirectory);
+            Files.write(tmpFile.toPath(), data);
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            mLog.w(LOG_TAG, String.format("Cache file '%s' could not be written!", fileName), e);
+            if (tmpFile != null) {
+                deleteFileQuietly(tmpFile.getName());
+            }
+            return;
+        }
+
+        List<String> evictedFileNames;
+        synchronized (mFileEntries) {
+            Long oldSize = mFileEntries.put(fileName, (long) data.length);
+            if (oldSize != null) {
+                mDirectorySize = mDirectorySize - oldSize;
+            }
+            mDirectorySize = mDirectorySize + data.length;
+
+            evictedFileNames = trimDirectory();
+        }
+        deleteFilesQuietly(evictedFileNames);
+    }
+
+    private void deleteFile(String key) {
+        if (!isDirectoryEnabled()) {
+            return;
+        }
+
+        List<String> removedFileNames;
+        synchronized (mFileEntries) {
+            loadDirectory();
+            removedFileNames = removeFileEntry(buildFileName(key));
+        }
+        deleteFilesQuietly(removedFileNames);
+    }
+
+    // Must be called while holding the lock of the file entries
+    private List<String> trimDirectory() {
+        List<String> evictedFileNames = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> iterator = mFileEntries.entrySet().iterator();
+        while (mDirectorySize > mMaxDirectorySize && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            mDirectorySize = mDirectorySize - entry.getValue();
+            iterator.remove();
+            evictedFileNames.add(entry.getKey());
+        }
+        return evictedFileNames;
+    }
+
+    // Must be called while holding the lock of the file entries
+    private List<String> removeFileEntry(String fileName) {
+        Long size = mFileEntries.remove(fileName);
+        if (size != null) {
+            mDirectorySize = mDirectorySize - size;
+        }
+        return Collections.singletonList(fileName);
+    }
+
+    private void deleteFilesQuietly(List<String> fileNames) {
+        for (String fileName : fileNames) {
+            deleteFileQuietly(fileName);
+        }
+    }
+
+    private void deleteFileQuietly(String fileName) {
+        try {
+            Files.deleteIfExists(new File(mDirectory, fileName).toPath());
+        } catch (IOException e) {
+            mLog.w(LOG_TAG, String.format("Cache file '%s' could not be deleted!", fileName), e);
+        }
+    }
+
+    private static String buildFileName(String key) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.append(FILE_EXTENSION).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+}
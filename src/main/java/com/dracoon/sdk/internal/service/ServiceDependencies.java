@@ -3,6 +3,7 @@ package com.dracoon.sdk.internal.service;
 import java.net.URL;
 
 import com.dracoon.sdk.DracoonHttpConfig;
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.internal.api.DracoonApi;
 import com.dracoon.sdk.internal.api.DracoonErrorParser;
@@ -16,6 +17,7 @@ public interface ServiceDependencies {
     Log getLog();
     DracoonHttpConfig getHttpConfig();
     OkHttpClient getHttpClient();
+    OkHttpClient getTransferHttpClient();
     HttpHelper getHttpHelper();
     URL getServerUrl();
     DracoonApi getDracoonApi();
@@ -24,5 +26,6 @@ public interface ServiceDependencies {
     CryptoWrapper getCryptoWrapper();
     ThreadHelper getThreadHelper();
     FileStreamHelper getFileStreamHelper();
+    DracoonMetrics getMetrics();
 
 }
@@ -1,8 +1,10 @@
 package com.dracoon.sdk.internal.service;
 
 import java.net.URL;
+import java.util.function.Supplier;
 
 import com.dracoon.sdk.DracoonHttpConfig;
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.internal.api.DracoonApi;
 import com.dracoon.sdk.internal.api.DracoonErrorParser;
@@ -16,11 +18,13 @@ public final class ServiceDependenciesImpl implements ServiceDependencies {
     private Log mLog;
     private DracoonHttpConfig mHttpConfig;
 
-    private OkHttpClient mHttpClient;
+    // HTTP clients and API are only built when they are needed for the first time
+    private Supplier<OkHttpClient> mHttpClient;
+    private Supplier<OkHttpClient> mTransferHttpClient;
     private HttpHelper mHttpHelper;
 
     private URL mServerUrl;
-    private DracoonApi mApi;
+    private Supplier<DracoonApi> mApi;
     private DracoonErrorParser mErrorParser;
 
     private EncryptionPasswordHolder mEncPasswordHolder;
@@ -29,6 +33,8 @@ public final class ServiceDependenciesImpl implements ServiceDependencies {
     private ThreadHelper mThreadHelper = new ThreadHelper();
     private FileStreamHelper mFileStreamHelper = new FileStreamHelper();
 
+    private DracoonMetrics mMetrics;
+
     private ServiceDependenciesImpl() {}
 
     @Override
@@ -43,7 +49,12 @@ public final class ServiceDependenciesImpl implements ServiceDependencies {
 
     @Override
     public OkHttpClient getHttpClient() {
-        return mHttpClient;
+        return mHttpClient != null ? mHttpClient.get() : null;
+    }
+
+    @Override
+    public OkHttpClient getTransferHttpClient() {
+        return mTransferHttpClient != null ? mTransferHttpClient.get() : null;
     }
 
     @Override
@@ -58,7 +69,7 @@ public final class ServiceDependenciesImpl implements ServiceDependencies {
 
     @Override
     public DracoonApi getDracoonApi() {
-        return mApi;
+        return mApi != null ? mApi.get() : null;
     }
 
     @Override
@@ -86,6 +97,11 @@ public final class ServiceDependenciesImpl implements ServiceDependencies {
         return mFileStreamHelper;
     }
 
+    @Override
+    public DracoonMetrics getMetrics() {
+        return mMetrics;
+    }
+
     public static class Builder {
 
         private final ServiceDependenciesImpl mDependencies;
@@ -105,10 +121,23 @@ public final class ServiceDependenciesImpl implements ServiceDependencies {
         }
 
         public Builder setHttpClient(OkHttpClient httpClient) {
+            return setHttpClient(() -> httpClient);
+        }
+
+        public Builder setHttpClient(Supplier<OkHttpClient> httpClient) {
             mDependencies.mHttpClient = httpClient;
             return this;
         }
 
+        public Builder setTransferHttpClient(OkHttpClient transferHttpClient) {
+            return setTransferHttpClient(() -> transferHttpClient);
+        }
+
+        public Builder setTransferHttpClient(Supplier<OkHttpClient> transferHttpClient) {
+            mDependencies.mTransferHttpClient = transferHttpClient;
+            return this;
+        }
+
         public Builder setHttpHelper(HttpHelper httpHelper) {
             mDependencies.mHttpHelper = httpHelper;
             return this;
@@ -120,6 +149,10 @@ public final class ServiceDependenciesImpl implements ServiceDependencies {
         }
 
         public Builder setDracoonApi(DracoonApi api) {
+            return setDracoonApi(() -> api);
+        }
+
+        public Builder setDracoonApi(Supplier<DracoonApi> api) {
             mDependencies.mApi = api;
             return this;
         }
@@ -149,10 +182,17 @@ public final class ServiceDependenciesImpl implements ServiceDependencies {
             return this;
         }
 
+        // Metrics collector is optional
+        public Builder setMetrics(DracoonMetrics metrics) {
+            mDependencies.mMetrics = metrics;
+            return this;
+        }
+
         public ServiceDependenciesImpl build() {
             if (mDependencies.mLog == null ||
                     mDependencies.mHttpConfig == null ||
                     mDependencies.mHttpClient == null ||
+                    mDependencies.mTransferHttpClient == null ||
                     mDependencies.mHttpHelper == null ||
                     mDependencies.mServerUrl == null ||
                     mDependencies.mApi == null ||
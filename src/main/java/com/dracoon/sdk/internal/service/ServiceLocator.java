@@ -13,11 +13,16 @@ public interface ServiceLocator {
     SharesService getSharesService();
     FileKeyFetcher getFileKeyFetcher();
     FileKeyGenerator getFileKeyGenerator();
+    FileKeyGenerationThread.Factory getFileKeyGenerationThreadFactory();
+    ResourceCache getResourceCache();
     AvatarDownloader getAvatarDownloader();
     DownloadStream.Factory getDownloadStreamFactory();
     DownloadThread.Factory getDownloadThreadFactory();
+    DownloadChannel.Factory getDownloadChannelFactory();
+    ZipExporter getZipExporter();
+    SyncEngine getSyncEngine();
     UploadStream.Factory getUploadStreamFactory();
     UploadThread.Factory getUploadThreadFactory();
-    List<Service> getServices();
+    List<Service> getServices(Class<?> clientClass);
 
 }
@@ -1,143 +1,216 @@
 package com.dracoon.sdk.internal.service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.dracoon.sdk.DracoonHttpConfig;
+import com.dracoon.sdk.internal.ClientImpl;
 import com.dracoon.sdk.internal.DracoonConstants;
+import com.dracoon.sdk.internal.util.Lazy;
+import com.dracoon.sdk.model.HashAlgorithm;
 
 public class ServiceLocatorImpl implements ServiceLocator {
 
-    private final ServerInfoService mServerInfoService;
-    private final ServerSettingsService mServerSettingsService;
-    private final ServerPoliciesService mServerPoliciesService;
-    private final AccountService mAccountService;
-    private final UsersService mUsersService;
-    private final NodesService mNodesService;
-    private final SharesService mSharesService;
-
-    private final FileKeyFetcher mFileKeyFetcher;
-    private final FileKeyGenerator mFileKeyGenerator;
-
-    private final AvatarDownloader mAvatarDownloader;
-
-    private final DownloadStream.Factory mDownloadStreamFactory;
-    private final DownloadThread.Factory mDownloadThreadFactory;
-    private final UploadStream.Factory mUploadStreamFactory;
-    private final UploadThread.Factory mUploadThreadFactory;
+    // Services and helpers are created on first use. This keeps the client initialization cheap
+    // and avoids creating objects which are never needed.
+    private final Lazy<ServerInfoService> mServerInfoService;
+    private final Lazy<ServerSettingsService> mServerSettingsService;
+    private final Lazy<ServerPoliciesService> mServerPoliciesService;
+    private final Lazy<AccountService> mAccountService;
+    private final Lazy<UsersService> mUsersService;
+    private final Lazy<NodesService> mNodesService;
+    private final Lazy<SharesService> mSharesService;
+
+    private final Lazy<FileKeyFetcher> mFileKeyFetcher;
+    private final Lazy<FileKeyGenerator> mFileKeyGenerator;
+    private final Lazy<FileKeyGenerationThread.Factory> mFileKeyGenerationThreadFactory;
+
+    private final Lazy<ResourceCache> mResourceCache;
+    private final Lazy<AvatarDownloader> mAvatarDownloader;
+
+    private final Lazy<DownloadStream.Factory> mDownloadStreamFactory;
+    private final Lazy<DownloadThread.Factory> mDownloadThreadFactory;
+    private final Lazy<DownloadChannel.Factory> mDownloadChannelFactory;
+    private final Lazy<ZipExporter> mZipExporter;
+    private final Lazy<SyncEngine> mSyncEngine;
+    private final Lazy<UploadStream.Factory> mUploadStreamFactory;
+    private final Lazy<UploadThread.Factory> mUploadThreadFactory;
 
     public ServiceLocatorImpl(ServiceDependencies dependencies) {
-        mServerInfoService = new ServerInfoService(this, dependencies);
-        mServerSettingsService = new ServerSettingsService(this, dependencies);
-        mServerPoliciesService = new ServerPoliciesService(this, dependencies);
-        mAccountService = new AccountService(this, dependencies);
-        mUsersService = new UsersService(this, dependencies);
-        mNodesService = new NodesService(this, dependencies);
-        mSharesService = new SharesService(this, dependencies);
+        mServerInfoService = new Lazy<>(() -> new ServerInfoService(this, dependencies));
+        mServerSettingsService = new Lazy<>(() -> new ServerSettingsService(this, dependencies));
+        mServerPoliciesService = new Lazy<>(() -> new ServerPoliciesService(this, dependencies));
+        mAccountService = new Lazy<>(() -> new AccountService(this, dependencies));
+        mUsersService = new Lazy<>(() -> new UsersService(this, dependencies));
+        mNodesService = new Lazy<>(() -> new NodesService(this, dependencies));
+        mSharesService = new Lazy<>(() -> new SharesService(this, dependencies));
+
+        mFileKeyFetcher = new Lazy<>(() -> new FileKeyFetcher(this, dependencies));
+        mFileKeyGenerator = new Lazy<>(() -> new FileKeyGenerator(this, dependencies));
+        mFileKeyGenerationThreadFactory = new Lazy<>(() -> new FileKeyGenerationThread.Factory(
+                dependencies.getLog(), getFileKeyGenerator()));
 
-        mFileKeyFetcher = new FileKeyFetcher(this, dependencies);
-        mFileKeyGenerator = new FileKeyGenerator(this, dependencies);
+        DracoonHttpConfig httpConfig = dependencies.getHttpConfig();
 
-        mAvatarDownloader = new AvatarDownloader(dependencies.getLog(), dependencies.getHttpClient(),
-                dependencies.getHttpHelper(), dependencies.getDracoonErrorParser());
+        mResourceCache = new Lazy<>(() -> new ResourceCache(dependencies.getLog(),
+                ((long) httpConfig.getResourceCacheSize()) * DracoonConstants.KIB,
+                httpConfig.getResourceCacheDirectory(),
+                ((long) httpConfig.getResourceCacheDirectorySize()) * DracoonConstants.KIB));
+        mAvatarDownloader = new Lazy<>(() -> new AvatarDownloader(dependencies.getLog(),
+                dependencies.getHttpClient(), dependencies.getHttpHelper(),
+                dependencies.getDracoonErrorParser(), getResourceCache()));
 
-        DracoonHttpConfig httpConfig = dependencies.getHttpConfig();
         long chunkSize = ((long) httpConfig.getChunkSize()) * DracoonConstants.KIB;
-
-        mDownloadStreamFactory = new DownloadStream.Factory(dependencies.getLog(),
-                dependencies.getDracoonApi(), dependencies.getHttpClient(),
+        long s3CompletionTimeout = ((long) httpConfig.getS3UploadCompletionTimeout()) *
+                DracoonConstants.SECOND;
+        long smallFileUploadThreshold = ((long) httpConfig.getSmallFileUploadThreshold()) *
+                DracoonConstants.KIB;
+        boolean uploadPipeliningEnabled = httpConfig.isUploadPipeliningEnabled();
+        long downloadReadAheadSize = ((long) httpConfig.getDownloadReadAheadSize()) *
+                DracoonConstants.KIB;
+        HashAlgorithm transferHashAlgorithm = httpConfig.getTransferHashAlgorithm();
+
+        mDownloadStreamFactory = new Lazy<>(() -> new DownloadStream.Factory(dependencies.getLog(),
+                dependencies.getDracoonApi(), dependencies.getTransferHttpClient(),
                 dependencies.getHttpHelper(), dependencies.getDracoonErrorParser(),
-                dependencies.getCryptoWrapper(), chunkSize);
-        mDownloadThreadFactory = new DownloadThread.Factory(dependencies.getLog(),
-                mDownloadStreamFactory);
-
-        mUploadStreamFactory = new UploadStream.Factory(dependencies.getLog(),
-                dependencies.getDracoonApi(), dependencies.getHttpClient(),
+                dependencies.getCryptoWrapper(), dependencies.getMetrics(), chunkSize,
+                downloadReadAheadSize, transferHashAlgorithm));
+        mDownloadThreadFactory = new Lazy<>(() -> new DownloadThread.Factory(dependencies.getLog(),
+                getDownloadStreamFactory()));
+        mDownloadChannelFactory = new Lazy<>(() -> new DownloadChannel.Factory(
+                dependencies.getLog(), dependencies.getDracoonApi(),
+                dependencies.getTransferHttpClient(), dependencies.getHttpHelper(),
+                dependencies.getDracoonErrorParser(), dependencies.getCryptoWrapper(),
+                httpConfig.getDownloadChannelBlockSize() * DracoonConstants.KIB,
+                ((long) httpConfig.getDownloadChannelCacheSize()) * DracoonConstants.KIB));
+        mZipExporter = new Lazy<>(() -> new ZipExporter(this, dependencies));
+        mSyncEngine = new Lazy<>(() -> new SyncEngine(this, dependencies));
+
+        mUploadStreamFactory = new Lazy<>(() -> new UploadStream.Factory(dependencies.getLog(),
+                dependencies.getDracoonApi(), dependencies.getTransferHttpClient(),
                 dependencies.getHttpHelper(), dependencies.getDracoonErrorParser(),
-                dependencies.getCryptoWrapper(), chunkSize);
-        mUploadThreadFactory = new UploadThread.Factory(dependencies.getLog(),
-                mUploadStreamFactory);
+                dependencies.getCryptoWrapper(), dependencies.getMetrics(), chunkSize,
+                s3CompletionTimeout, smallFileUploadThreshold, uploadPipeliningEnabled,
+                transferHashAlgorithm));
+        mUploadThreadFactory = new Lazy<>(() -> new UploadThread.Factory(dependencies.getLog(),
+                getUploadStreamFactory()));
     }
 
     @Override
     public ServerInfoService getServerInfoService() {
-        return mServerInfoService;
+        return mServerInfoService.get();
     }
 
     @Override
     public ServerSettingsService getServerSettingsService() {
-        return mServerSettingsService;
+        return mServerSettingsService.get();
     }
 
     @Override
     public ServerPoliciesService getServerPoliciesService() {
-        return mServerPoliciesService;
+        return mServerPoliciesService.get();
     }
 
     @Override
     public AccountService getAccountService() {
-        return mAccountService;
+        return mAccountService.get();
     }
 
     @Override
     public UsersService getUsersService() {
-        return mUsersService;
+        return mUsersService.get();
     }
 
     @Override
     public NodesService getNodesService() {
-        return mNodesService;
+        return mNodesService.get();
     }
 
     @Override
     public SharesService getSharesService() {
-        return mSharesService;
+        return mSharesService.get();
     }
 
     @Override
     public FileKeyFetcher getFileKeyFetcher() {
-        return mFileKeyFetcher;
+        return mFileKeyFetcher.get();
     }
 
     @Override
     public FileKeyGenerator getFileKeyGenerator() {
-        return mFileKeyGenerator;
+        return mFileKeyGenerator.get();
+    }
+
+    @Override
+    public FileKeyGenerationThread.Factory getFileKeyGenerationThreadFactory() {
+        return mFileKeyGenerationThreadFactory.get();
+    }
+
+    @Override
+    public ResourceCache getResourceCache() {
+        return mResourceCache.get();
     }
 
     @Override
     public AvatarDownloader getAvatarDownloader() {
-        return mAvatarDownloader;
+        return mAvatarDownloader.get();
     }
 
     @Override
     public DownloadStream.Factory getDownloadStreamFactory() {
-        return mDownloadStreamFactory;
+        return mDownloadStreamFactory.get();
     }
 
     @Override
     public DownloadThread.Factory getDownloadThreadFactory() {
-        return mDownloadThreadFactory;
+        return mDownloadThreadFactory.get();
+    }
+
+    @Override
+    public DownloadChannel.Factory getDownloadChannelFactory() {
+        return mDownloadChannelFactory.get();
+    }
+
+    @Override
+    public ZipExporter getZipExporter() {
+        return mZipExporter.get();
+    }
+
+    @Override
+    public SyncEngine getSyncEngine() {
+        return mSyncEngine.get();
     }
 
     @Override
     public UploadStream.Factory getUploadStreamFactory() {
-        return mUploadStreamFactory;
+        return mUploadStreamFactory.get();
     }
 
     @Override
     public UploadThread.Factory getUploadThreadFactory() {
-        return mUploadThreadFactory;
+        return mUploadThreadFactory.get();
     }
 
     @Override
-    public List<Service> getServices() {
-        return List.of(
-                mServerInfoService,
-                mServerSettingsService,
-                mServerPoliciesService,
-                mAccountService,
-                mUsersService,
-                mNodesService,
-                mSharesService);
+    public List<Service> getServices(Class<?> clientClass) {
+        // Only the services which implement the requested client handler are created
+        List<Service> services = new ArrayList<>();
+        addService(services, clientClass, ServerInfoService.class, mServerInfoService);
+        addService(services, clientClass, ServerSettingsService.class, mServerSettingsService);
+        addService(services, clientClass, ServerPoliciesService.class, mServerPoliciesService);
+        addService(services, clientClass, AccountService.class, mAccountService);
+        addService(services, clientClass, UsersService.class, mUsersService);
+        addService(services, clientClass, NodesService.class, mNodesService);
+        addService(services, clientClass, SharesService.class, mSharesService);
+        return services;
+    }
+
+    private static void addService(List<Service> services, Class<?> clientClass,
+            Class<? extends Service> serviceClass, Lazy<? extends Service> service) {
+        ClientImpl clientImplAnnotation = serviceClass.getAnnotation(ClientImpl.class);
+        if (clientImplAnnotation != null && clientImplAnnotation.value() == clientClass) {
+            services.add(service.get());
+        }
     }
 
 }
@@ -0,0 +1,969 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonFileIOException;
+import com.dracoon.sdk.error.DracoonFileNotFoundException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.util.HashUtils;
+import com.dracoon.sdk.model.CreateFolderRequest;
+import com.dracoon.sdk.model.DeleteNodesRequest;
+import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.FolderSyncRequest;
+import com.dracoon.sdk.model.FolderSyncResult;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeChangeCursor;
+import com.dracoon.sdk.model.NodeChangeFeed;
+import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.NodeType;
+import com.dracoon.sdk.model.ResolutionStrategy;
+
+public class SyncEngine {
+
+    private static final String LOG_TAG = SyncEngine.class.getSimpleName();
+
+    private static final long PAGE_SIZE = 500L;
+    private static final String TEMP_FILE_PREFIX = ".dracoon-sync-";
+
+    private enum ActionType {
+        CREATE_REMOTE_FOLDER,
+        CREATE_LOCAL_FOLDER,
+        UPDATE_INDEX,
+        REMOVE_INDEX,
+        UPLOAD,
+        DOWNLOAD,
+        RESOLVE_CONFLICT,
+        DELETE_REMOTE,
+        DELETE_LOCAL
+    }
+
+    private final ServiceLocator mServiceLocator;
+
+    private final Log mLog;
+
+    private final int mParallelTransfers;
+
+    public SyncEngine(ServiceLocator serviceLocator, ServiceDependencies serviceDependencies) {
+        mServiceLocator = serviceLocator;
+
+        mLog = serviceDependencies.getLog();
+
+        mParallelTransfers = serviceDependencies.getHttpConfig().getSyncParallelTransfers();
+    }
+
+    public FolderSyncResult sync(String id, FolderSyncRequest request)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+            DracoonFileIOException {
+        Path directory = request.getDirectory().toPath().toAbsolutePath().normalize();
+        Path indexFile = request.getIndexFile().toPath().toAbsolutePath().normalize();
+
+        if (!Files.isDirectory(directory)) {
+            throw new DracoonFileNotFoundException("Directory not found.");
+        }
+
+        SyncIndex index = SyncIndex.load(indexFile);
+
+        // The branch version is read before the changes are queried. Changes which are made
+        // during the synchronization are found at the next synchronization.
+        Node rootNode = mServiceLocator.getNodesService().getNode(request.getNodeId());
+
+        Map<String, LocalItem> localItems = scanLocalItems(directory, indexFile);
+        RemoteChanges remoteChanges = queryRemoteChanges(index, rootNode);
+
+        Sync sync = new Sync(id, request.getResolutionStrategy(), directory, index, rootNode);
+        try {
+            sync.plan(localItems, remoteChanges);
+            sync.execute();
+        } catch (DracoonException | RuntimeException e) {
+            // The state of finished actions is also stored if the synchronization failed
+            saveIndex(index, indexFile, e);
+            throw e;
+        }
+
+        // The cursor is only advanced if all changes have been applied
+        index.setBranchVersion(rootNode.getBranchVersion());
+        index.save(indexFile);
+
+        return sync.createResult();
+    }
+
+    private static void saveIndex(SyncIndex index, Path indexFile, Exception error) {
+        try {
+            index.save(indexFile);
+        } catch (DracoonFileIOException e) {
+            error.addSuppressed(e);
+        }
+    }
+
+    // --- Local scan methods ---
+
+    private Map<String, LocalItem> scanLocalItems(Path directory, Path indexFile)
+            throws DracoonFileIOException {
+        Path indexTempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        Map<String, LocalItem> items = new HashMap<>();
+
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    if (!dir.equals(directory)) {
+                        items.put(toRelativePath(directory, dir), new LocalItem(true, 0L, 0L));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    boolean isIgnored = !attrs.isRegularFile() || file.equals(indexFile) ||
+                            file.equals(indexTempFile) ||
+                            file.getFileName().toString().startsWith(TEMP_FILE_PREFIX);
+                    if (!isIgnored) {
+                        items.put(toRelativePath(directory, file), new LocalItem(false,
+                                attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            String errorText = "Directory read failed!";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonFileIOException(errorText, e);
+        }
+
+        return items;
+    }
+
+    private static String toRelativePath(Path directory, Path path) {
+        StringBuilder sb = new StringBuilder();
+        for (Path name : directory.relativize(path)) {
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            sb.append(name);
+        }
+        return sb.toString();
+    }
+
+    // --- Remote query methods ---
+
+    private RemoteChanges queryRemoteChanges(SyncIndex index, Node rootNode)
+            throws DracoonNetIOException, DracoonApiException {
+        RemoteChanges changes = new RemoteChanges(rootNode);
+        Long branchVersion = index.getBranchVersion();
+
+        // If nothing is known about the remote state, all nodes are returned
+        NodeChangeCursor cursor = null;
+        if (branchVersion != null) {
+            cursor = new NodeChangeCursor();
+            cursor.setBranchVersion(branchVersion);
+        }
+
+        NodeChangeFeed feed = new ChangeFeed(mServiceLocator.getNodesService(), rootNode, cursor);
+        while (feed.hasNext()) {
+            changes.addNode(feed.next());
+        }
+
+        if (branchVersion == null) {
+            for (String path : index.getPaths()) {
+                if (!changes.mNodes.containsKey(path)) {
+                    changes.mDeletedPaths.add(path);
+                }
+            }
+        } else if (rootNode.getBranchVersion() == null ||
+                rootNode.getBranchVersion() > branchVersion) {
+            queryDeletedNodes(changes, index);
+        }
+
+        queryConflictNodes(changes, index);
+
+        return changes;
+    }
+
+    // Deleted nodes are not returned by the search. But their former parent nodes were changed.
+    // Therefore, the children of changed parent nodes are compared with the index.
+    private void queryDeletedNodes(RemoteChanges changes, SyncIndex index)
+            throws DracoonNetIOException, DracoonApiException {
+        Map<String, List<String>> indexChildPaths = new HashMap<>();
+        for (String path : index.getPaths()) {
+            indexChildPaths.computeIfAbsent(getParentPath(path), p -> new ArrayList<>()).add(path);
+        }
+
+        Map<String, Long> parentNodeIds = new TreeMap<>();
+        parentNodeIds.put("", changes.mRootNode.getId());
+        for (Map.Entry<String, Node> entry : changes.mNodes.entrySet()) {
+            if (entry.getValue().getType() != NodeType.FILE) {
+                parentNodeIds.put(entry.getKey(), entry.getValue().getId());
+            }
+        }
+
+        for (Map.Entry<String, Long> entry : parentNodeIds.entrySet()) {
+            List<String> childPaths = indexChildPaths.get(entry.getKey());
+            if (childPaths == null) {
+                continue;
+            }
+
+            Set<String> existingPaths = new HashSet<>();
+            for (Node node : getChildNodes(entry.getValue())) {
+                existingPaths.add(changes.getRelativePath(node));
+            }
+            for (String childPath : childPaths) {
+                if (!existingPaths.contains(childPath)) {
+                    changes.mDeletedPaths.add(childPath);
+                }
+            }
+        }
+    }
+
+    private List<Node> getChildNodes(long nodeId) throws DracoonNetIOException,
+            DracoonApiException {
+        List<Node> nodes = new ArrayList<>();
+        long offset = 0L;
+        while (true) {
+            NodeList nodeList = mServiceLocator.getNodesService().getNodes(nodeId, offset,
+                    PAGE_SIZE);
+            List<Node> items = nodeList.getItems();
+            nodes.addAll(items);
+            offset = offset + items.size();
+            if (items.size() < PAGE_SIZE || (nodeList.getTotal() != null &&
+                    offset >= nodeList.getTotal())) {
+                return nodes;
+            }
+        }
+    }
+
+    // Conflicts are reported until they are resolved. Therefore, the remote state of conflicted
+    // files is queried again, even if they were not changed.
+    private void queryConflictNodes(RemoteChanges changes, SyncIndex index)
+            throws DracoonNetIOException, DracoonApiException {
+        for (String path : index.getPaths()) {
+            SyncIndex.Entry entry = index.getEntry(path);
+            if (!entry.isConflict() || changes.mNodes.containsKey(path) ||
+                    changes.isDeleted(path)) {
+                continue;
+            }
+
+            try {
+                Node node = mServiceLocator.getNodesService().getNode(entry.getNodeId());
+                if (path.equals(changes.getRelativePath(node))) {
+                    changes.mNodes.put(path, node);
+                } else {
+                    changes.mDeletedPaths.add(path);
+                }
+            } catch (DracoonApiException e) {
+                if (e.getCode() != DracoonApiCode.SERVER_NODE_NOT_FOUND) {
+                    throw e;
+                }
+                changes.mDeletedPaths.add(path);
+            }
+        }
+    }
+
+    // --- Helper methods ---
+
+    private static String getParentPath(String path) {
+        int index = path.lastIndexOf('/');
+        return index >= 0 ? path.substring(0, index) : "";
+    }
+
+    private static String getName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    // Returns the paths below a path. ('0' is the character after '/'.)
+    private static <T> SortedMap<String, T> getSubPaths(SortedMap<String, T> map, String path) {
+        return map.subMap(path + "/", path + "0");
+    }
+
+    private static String getKnownHash(Node node) {
+        // The hash of encrypted files is the hash of the encrypted data
+        if (node == null || !Boolean.FALSE.equals(node.isEncrypted())) {
+            return null;
+        }
+        return node.getHash();
+    }
+
+    // --- Helper classes ---
+
+    private static class LocalItem {
+
+        private final boolean mIsDirectory;
+        private final long mSize;
+        private final long mModifiedAt;
+
+        LocalItem(boolean isDirectory, long size, long modifiedAt) {
+            mIsDirectory = isDirectory;
+            mSize = size;
+            mModifiedAt = modifiedAt;
+        }
+
+    }
+
+    private static class RemoteChanges {
+
+        private final Node mRootNode;
+        private final String mRootPath;
+
+        private final Map<String, Node> mNodes = new HashMap<>();
+        private final Set<String> mDeletedPaths = new HashSet<>();
+
+        RemoteChanges(Node rootNode) {
+            mRootNode = rootNode;
+            mRootPath = rootNode.getParentPath() + rootNode.getName() + "/";
+        }
+
+        void addNode(Node node) {
+            String path = getRelativePath(node);
+            if (path != null) {
+                mNodes.put(path, node);
+            }
+        }
+
+        String getRelativePath(Node node) {
+            String path = node.getParentPath() + node.getName();
+            return path.startsWith(mRootPath) ? path.substring(mRootPath.length()) : null;
+        }
+
+        // A node is also deleted if one of its parent nodes was deleted
+        boolean isDeleted(String path) {
+            String p = path;
+            while (!p.isEmpty()) {
+                if (mDeletedPaths.contains(p)) {
+                    return true;
+                }
+                p = getParentPath(p);
+            }
+            return false;
+        }
+
+    }
+
+    private static class Action {
+
+        private final ActionType mType;
+        private final String mPath;
+        private final LocalItem mLocalItem;
+        private final Node mNode;
+        private final String mHash;
+
+        Action(ActionType type, String path, LocalItem localItem, Node node, String hash) {
+            mType = type;
+            mPath = path;
+            mLocalItem = localItem;
+            mNode = node;
+            mHash = hash;
+        }
+
+        Action withType(ActionType type) {
+            return new Action(type, mPath, mLocalItem, mNode, mHash);
+        }
+
+    }
+
+    // Holds the state of one synchronization run
+    private class Sync {
+
+        private final String mId;
+        private final ResolutionStrategy mResolutionStrategy;
+        private final Path mDirectory;
+        private final SyncIndex mIndex;
+        private final Node mRootNode;
+
+        private final SortedMap<String, Action> mActions = new TreeMap<>();
+        private final List<String> mConflictPaths = new ArrayList<>();
+
+        private final AtomicInteger mUploadCount = new AtomicInteger();
+        private final AtomicInteger mDownloadCount = new AtomicInteger();
+        private int mRemoteDeleteCount = 0;
+        private int mLocalDeleteCount = 0;
+
+        Sync(String id, ResolutionStrategy resolutionStrategy, Path directory, SyncIndex index,
+                Node rootNode) {
+            mId = id;
+            mResolutionStrategy = resolutionStrategy;
+            mDirectory = directory;
+            mIndex = index;
+            mRootNode = rootNode;
+        }
+
+        FolderSyncResult createResult() {
+            FolderSyncResult result = new FolderSyncResult();
+            result.setUploadCount(mUploadCount.get());
+            result.setDownloadCount(mDownloadCount.get());
+            result.setRemoteDeleteCount(mRemoteDeleteCount);
+            result.setLocalDeleteCount(mLocalDeleteCount);
+            result.setConflictPaths(mConflictPaths);
+            return result;
+        }
+
+        // --- Planning methods ---
+
+        void plan(Map<String, LocalItem> localItems, RemoteChanges remoteChanges)
+                throws DracoonFileIOException {
+            SortedSet<String> paths = new TreeSet<>();
+            paths.addAll(localItems.keySet());
+            paths.addAll(remoteChanges.mNodes.keySet());
+            paths.addAll(mIndex.getPaths());
+
+            for (String path : paths) {
+                LocalItem localItem = localItems.get(path);
+                Node node = remoteChanges.mNodes.get(path);
+                SyncIndex.Entry entry = mIndex.getEntry(path);
+                boolean isRemoteDeleted = entry != null && remoteChanges.isDeleted(path);
+
+                if (isTypeConflict(localItem, node, entry)) {
+                    mLog.d(LOG_TAG, String.format("Sync '%s': Skipped '%s'. Types differ.", mId,
+                            path));
+                    mConflictPaths.add(path);
+                } else if (isFolder(localItem, node, entry)) {
+                    planFolder(path, localItem, node, entry, isRemoteDeleted);
+                } else {
+                    planFile(path, localItem, node, entry, isRemoteDeleted);
+                }
+            }
+
+            adjustFolderActions();
+        }
+
+        private void planFile(String path, LocalItem localItem, Node node, SyncIndex.Entry entry,
+                boolean isRemoteDeleted) throws DracoonFileIOException {
+            boolean isRemoteChanged = node != null && (entry == null ||
+                    !Objects.equals(node.getBranchVersion(), entry.getBranchVersion()));
+
+            // The file is only hashed, if it has failed the cheap checks
+            String hash = null;
+            boolean isLocalChanged = false;
+            if (localItem != null) {
+                if (entry == null) {
+                    isLocalChanged = true;
+                } else if (localItem.mSize != entry.getSize() ||
+                        localItem.mModifiedAt != entry.getModifiedAt()) {
+                    hash = computeHash(path);
+                    isLocalChanged = !hash.equalsIgnoreCase(Objects.toString(entry.getHash(),
+                            ""));
+                }
+            }
+
+            if (entry == null) {
+                if (node == null) {
+                    addAction(ActionType.UPLOAD, path, localItem, null, null);
+                } else if (localItem == null) {
+                    addAction(ActionType.DOWNLOAD, path, null, node, null);
+                } else {
+                    planConflict(path, localItem, node, null);
+                }
+            } else if (isRemoteDeleted) {
+                if (localItem == null) {
+                    addAction(ActionType.REMOVE_INDEX, path, null, null, null);
+                } else if (isLocalChanged) {
+                    addAction(ActionType.UPLOAD, path, localItem, null, hash);
+                } else {
+                    addAction(ActionType.DELETE_LOCAL, path, null, null, null);
+                }
+            } else if (localItem == null) {
+                if (isRemoteChanged) {
+                    addAction(ActionType.DOWNLOAD, path, null, node, null);
+                } else {
+                    addAction(ActionType.DELETE_REMOTE, path, null, null, null);
+                }
+            } else if (isLocalChanged && isRemoteChanged) {
+                planConflict(path, localItem, node, hash);
+            } else if (isLocalChanged) {
+                addAction(ActionType.UPLOAD, path, localItem, null, hash);
+            } else if (isRemoteChanged) {
+                addAction(ActionType.DOWNLOAD, path, null, node, null);
+            } else if (hash != null) {
+                // Only the modification date has changed
+                addAction(ActionType.UPDATE_INDEX, path, localItem, null, hash);
+            }
+        }
+
+        private void planConflict(String path, LocalItem localItem, Node node, String hash)
+                throws DracoonFileIOException {
+            String localHash = hash != null ? hash : computeHash(path);
+            if (localHash.equalsIgnoreCase(Objects.toString(getKnownHash(node), ""))) {
+                addAction(ActionType.UPDATE_INDEX, path, localItem, node, localHash);
+                return;
+            }
+
+            mLog.d(LOG_TAG, String.format("Sync '%s': Conflict at '%s'.", mId, path));
+            mConflictPaths.add(path);
+            addAction(ActionType.RESOLVE_CONFLICT, path, localItem, node, localHash);
+        }
+
+        private void planFolder(String path, LocalItem localItem, Node node,
+                SyncIndex.Entry entry, boolean isRemoteDeleted) {
+            if (entry == null) {
+                if (localItem != null && node != null) {
+                    addAction(ActionType.UPDATE_INDEX, path, localItem, node, null);
+                } else if (localItem != null) {
+                    addAction(ActionType.CREATE_REMOTE_FOLDER, path, localItem, null, null);
+                } else {
+                    addAction(ActionType.CREATE_LOCAL_FOLDER, path, null, node, null);
+                }
+            } else if (isRemoteDeleted) {
+                if (localItem == null) {
+                    addAction(ActionType.REMOVE_INDEX, path, null, null, null);
+                } else {
+                    addAction(ActionType.DELETE_LOCAL, path, localItem, null, null);
+                }
+            } else if (localItem == null) {
+                // Rooms are never deleted
+                if (entry.getType() == NodeType.FOLDER) {
+                    addAction(ActionType.DELETE_REMOTE, path, null, null, null);
+                } else {
+                    addAction(ActionType.CREATE_LOCAL_FOLDER, path, null, node, null);
+                }
+            }
+        }
+
+        // Folders are kept if files below them are transferred
+        private void adjustFolderActions() {
+            for (Action action : new ArrayList<>(mActions.values())) {
+                if (action.mType != ActionType.DELETE_LOCAL &&
+                        action.mType != ActionType.DELETE_REMOTE) {
+                    continue;
+                }
+
+                SyncIndex.Entry entry = mIndex.getEntry(action.mPath);
+                if (entry == null || entry.isFile()) {
+                    continue;
+                }
+
+                boolean isRemoteDeleted = action.mType == ActionType.DELETE_LOCAL;
+                ActionType transferType = isRemoteDeleted ? ActionType.UPLOAD :
+                        ActionType.DOWNLOAD;
+                ActionType creationType = isRemoteDeleted ? ActionType.CREATE_REMOTE_FOLDER :
+                        ActionType.CREATE_LOCAL_FOLDER;
+                for (Action subAction : getSubPaths(mActions, action.mPath).values()) {
+                    if (subAction.mType == transferType || subAction.mType == creationType ||
+                            subAction.mType == ActionType.RESOLVE_CONFLICT) {
+                        mActions.put(action.mPath, action.withType(creationType));
+                        break;
+                    }
+                }
+            }
+        }
+
+        private boolean isTypeConflict(LocalItem localItem, Node node, SyncIndex.Entry entry) {
+            Boolean isFolder = null;
+            if (localItem != null) {
+                isFolder = localItem.mIsDirectory;
+            }
+            if (node != null) {
+                boolean isNodeFolder = node.getType() != NodeType.FILE;
+                if (isFolder != null && isFolder != isNodeFolder) {
+                    return true;
+                }
+                isFolder = isNodeFolder;
+            }
+            return entry != null && isFolder != null && isFolder == entry.isFile();
+        }
+
+        private boolean isFolder(LocalItem localItem, Node node, SyncIndex.Entry entry) {
+            if (localItem != null) {
+                return localItem.mIsDirectory;
+            }
+            if (node != null) {
+                return node.getType() != NodeType.FILE;
+            }
+            return !entry.isFile();
+        }
+
+        private void addAction(ActionType type, String path, LocalItem localItem, Node node,
+                String hash) {
+            mActions.put(path, new Action(type, path, localItem, node, hash));
+        }
+
+        // --- Execution methods ---
+
+        void execute() throws DracoonNetIOException, DracoonApiException,
+                DracoonCryptoException, DracoonFileIOException {
+            List<Action> transfers = new ArrayList<>();
+            List<Action> remoteDeletions = new ArrayList<>();
+            List<Action> localDeletions = new ArrayList<>();
+
+            // Parent folders are created before their children
+            for (Action action : mActions.values()) {
+                switch (action.mType) {
+                    case CREATE_REMOTE_FOLDER:
+                        createRemoteFolder(action);
+                        break;
+                    case CREATE_LOCAL_FOLDER:
+                        createLocalFolder(action);
+                        break;
+                    case UPDATE_INDEX:
+                        updateIndex(action);
+                        break;
+                    case REMOVE_INDEX:
+                        mIndex.removeEntry(action.mPath);
+                        break;
+                    case DELETE_REMOTE:
+                        remoteDeletions.add(action);
+                        break;
+                    case DELETE_LOCAL:
+                        localDeletions.add(action);
+                        break;
+                    default:
+                        transfers.add(action);
+                        break;
+                }
+            }
+
+            executeTransfers(transfers);
+            deleteRemoteNodes(remoteDeletions);
+            deleteLocalItems(localDeletions);
+        }
+
+        private void createRemoteFolder(Action action) throws DracoonNetIOException,
+                DracoonApiException {
+            CreateFolderRequest request = new CreateFolderRequest.Builder(
+                    getParentNodeId(action.mPath), getName(action.mPath)).build();
+            Node node = mServiceLocator.getNodesService().createFolder(request);
+            mIndex.putEntry(action.mPath, createEntry(node, null, null));
+        }
+
+        private void createLocalFolder(Action action) throws DracoonFileIOException {
+            try {
+                Files.createDirectories(resolvePath(action.mPath));
+            } catch (IOException e) {
+                String errorText = "Directory creation failed!";
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonFileIOException(errorText, e);
+            }
+
+            if (action.mNode != null) {
+                mIndex.putEntry(action.mPath, createEntry(action.mNode, null, null));
+            }
+        }
+
+        private void updateIndex(Action action) {
+            SyncIndex.Entry entry = action.mNode != null ?
+                    createEntry(action.mNode, action.mLocalItem, action.mHash) :
+                    mIndex.getEntry(action.mPath);
+            if (action.mNode == null) {
+                entry.setSize(action.mLocalItem.mSize);
+                entry.setModifiedAt(action.mLocalItem.mModifiedAt);
+                entry.setHash(action.mHash);
+            }
+            mIndex.putEntry(action.mPath, entry);
+        }
+
+        private void executeTransfers(List<Action> actions) throws DracoonNetIOException,
+                DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+            if (actions.isEmpty()) {
+                return;
+            }
+
+            ExecutorService executor = createExecutor();
+            try {
+                List<Future<Void>> futures = new ArrayList<>();
+                for (Action action : actions) {
+                    futures.add(executor.submit(() -> {
+                        executeTransfer(action);
+                        return null;
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    awaitTransfer(future);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private ExecutorService createExecutor() {
+            AtomicInteger threadNum = new AtomicInteger();
+            return Executors.newFixedThreadPool(mParallelTransfers, r -> {
+                Thread thread = new Thread(r, "Dracoon-Sync-" + mId + "-" +
+                        threadNum.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void executeTransfer(Action action) throws DracoonNetIOException,
+                DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+            switch (action.mType) {
+                case UPLOAD:
+                    // If the file is new, an unknown remote file with the same name is kept
+                    ResolutionStrategy strategy = mIndex.getEntry(action.mPath) != null ?
+                            ResolutionStrategy.OVERWRITE : ResolutionStrategy.AUTO_RENAME;
+                    uploadFile(action, strategy, true);
+                    break;
+                case DOWNLOAD:
+                    downloadFile(action);
+                    break;
+                case RESOLVE_CONFLICT:
+                    resolveConflict(action);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void resolveConflict(Action action) throws DracoonNetIOException,
+                DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+            switch (mResolutionStrategy) {
+                case AUTO_RENAME:
+                    // The renamed remote copy of the local file is downloaded at the next
+                    // synchronization
+                    uploadFile(action, ResolutionStrategy.AUTO_RENAME, false);
+                    downloadFile(action);
+                    break;
+                case OVERWRITE:
+                    uploadFile(action, ResolutionStrategy.OVERWRITE, true);
+                    break;
+                default:
+                    markConflict(action);
+                    break;
+            }
+        }
+
+        private void markConflict(Action action) {
+            SyncIndex.Entry entry = mIndex.getEntry(action.mPath);
+            if (entry == null) {
+                // The remote file is known, but not its state before the conflict
+                entry = createEntry(action.mNode, null, null);
+                entry.setSize(-1L);
+                entry.setBranchVersion(null);
+            }
+            entry.setIsConflict(true);
+            mIndex.putEntry(action.mPath, entry);
+        }
+
+        private void uploadFile(Action action, ResolutionStrategy resolutionStrategy,
+                boolean updateIndex) throws DracoonNetIOException, DracoonApiException,
+                DracoonCryptoException, DracoonFileIOException {
+            FileUploadRequest request = new FileUploadRequest.Builder(
+                    getParentNodeId(action.mPath), getName(action.mPath))
+                    .resolutionStrategy(resolutionStrategy)
+                    .build();
+            Node node = mServiceLocator.getNodesService().uploadFile(mId + "-" + action.mPath,
+                    request, resolvePath(action.mPath).toFile(), null);
+            mUploadCount.incrementAndGet();
+
+            if (!updateIndex) {
+                return;
+            }
+
+            String hash = action.mHash != null ? action.mHash : getKnownHash(node);
+            if (hash == null) {
+                hash = computeHash(action.mPath);
+            }
+            mIndex.putEntry(action.mPath, createEntry(node, action.mLocalItem, hash));
+        }
+
+        private void downloadFile(Action action) throws DracoonNetIOException,
+                DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+            Path file = resolvePath(action.mPath);
+            Path tempFile = createTempFile(file.getParent());
+
+            // The file is only replaced if the download was successful
+            try {
+                mServiceLocator.getNodesService().downloadFile(mId + "-" + action.mPath,
+                        action.mNode.getId(), tempFile.toFile(), null);
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                String errorText = "File write failed!";
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonFileIOException(errorText, e);
+            } finally {
+                deleteTempFile(tempFile);
+            }
+            mDownloadCount.incrementAndGet();
+
+            LocalItem localItem = readLocalItem(file);
+            String hash = getKnownHash(action.mNode);
+            if (hash == null) {
+                hash = computeHash(action.mPath);
+            }
+            mIndex.putEntry(action.mPath, createEntry(action.mNode, localItem, hash));
+        }
+
+        private void awaitTransfer(Future<Void> future) throws DracoonNetIOException,
+                DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+            try {
+                future.get();
+            // SONAR: Rethrowing exception might cause unknown problems
+            } catch (InterruptedException e) { // NOSONAR
+                throw createInterruptedError(e);
+            } catch (ExecutionException e) {
+                Throwable c = e.getCause();
+                if (c instanceof DracoonNetIOException) {
+                    throw (DracoonNetIOException) c;
+                } else if (c instanceof DracoonApiException) {
+                    throw (DracoonApiException) c;
+                } else if (c instanceof DracoonCryptoException) {
+                    throw (DracoonCryptoException) c;
+                } else if (c instanceof DracoonFileIOException) {
+                    throw (DracoonFileIOException) c;
+                } else if (c instanceof RuntimeException) {
+                    throw (RuntimeException) c;
+                } else if (c instanceof Error) {
+                    throw (Error) c;
+                }
+                throw new IllegalStateException("Sync failed.", c);
+            }
+        }
+
+        private void deleteRemoteNodes(List<Action> actions) throws DracoonNetIOException,
+                DracoonApiException {
+            // Nodes below a deleted folder are deleted with the folder
+            Set<String> paths = new HashSet<>();
+            for (Action action : actions) {
+                paths.add(action.mPath);
+            }
+
+            List<Long> nodeIds = new ArrayList<>();
+            for (Action action : actions) {
+                if (!hasDeletedParent(paths, action.mPath)) {
+                    nodeIds.add(mIndex.getEntry(action.mPath).getNodeId());
+                }
+            }
+
+            for (int i = 0; i < nodeIds.size(); i += (int) PAGE_SIZE) {
+                List<Long> batch = nodeIds.subList(i, (int) Math.min(i + PAGE_SIZE,
+                        nodeIds.size()));
+                mServiceLocator.getNodesService().deleteNodes(
+                        new DeleteNodesRequest.Builder(new ArrayList<>(batch)).build());
+            }
+
+            for (Action action : actions) {
+                mIndex.removeEntry(action.mPath);
+                mRemoteDeleteCount++;
+            }
+        }
+
+        private boolean hasDeletedParent(Set<String> paths, String path) {
+            String p = getParentPath(path);
+            while (!p.isEmpty()) {
+                if (paths.contains(p)) {
+                    return true;
+                }
+                p = getParentPath(p);
+            }
+            return false;
+        }
+
+        private void deleteLocalItems(List<Action> actions) throws DracoonFileIOException {
+            // Children are deleted before their parent directories
+            for (int i = actions.size() - 1; i >= 0; i--) {
+                Action action = actions.get(i);
+                try {
+                    Files.deleteIfExists(resolvePath(action.mPath));
+                    mLocalDeleteCount++;
+                } catch (DirectoryNotEmptyException e) {
+                    // Ignored files are kept
+                } catch (IOException e) {
+                    String errorText = "File deletion failed!";
+                    mLog.d(LOG_TAG, errorText);
+                    throw new DracoonFileIOException(errorText, e);
+                }
+                mIndex.removeEntry(action.mPath);
+            }
+        }
+
+        // --- Helper methods ---
+
+        private long getParentNodeId(String path) {
+            String parentPath = getParentPath(path);
+            return parentPath.isEmpty() ? mRootNode.getId() :
+                    mIndex.getEntry(parentPath).getNodeId();
+        }
+
+        private Path resolvePath(String path) {
+            return mDirectory.resolve(path);
+        }
+
+        private SyncIndex.Entry createEntry(Node node, LocalItem localItem, String hash) {
+            SyncIndex.Entry entry = new SyncIndex.Entry();
+            entry.setNodeId(node.getId());
+            entry.setType(node.getType());
+            entry.setBranchVersion(node.getBranchVersion());
+            if (localItem != null) {
+                entry.setSize(localItem.mSize);
+                entry.setModifiedAt(localItem.mModifiedAt);
+            }
+            entry.setHash(hash);
+            return entry;
+        }
+
+        private String computeHash(String path) throws DracoonFileIOException {
+            try (InputStream is = Files.newInputStream(resolvePath(path))) {
+                return HashUtils.computeMd5Hash(is);
+            } catch (IOException e) {
+                String errorText = "File read failed!";
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonFileIOException(errorText, e);
+            }
+        }
+
+        private LocalItem readLocalItem(Path file) throws DracoonFileIOException {
+            try {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                return new LocalItem(false, attrs.size(), attrs.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                String errorText = "File read failed!";
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonFileIOException(errorText, e);
+            }
+        }
+
+        private Path createTempFile(Path directory) throws DracoonFileIOException {
+            try {
+                return Files.createTempFile(directory, TEMP_FILE_PREFIX, null);
+            } catch (IOException e) {
+                String errorText = "File creation failed!";
+                mLog.d(LOG_TAG, errorText);
+                throw new DracoonFileIOException(errorText, e);
+            }
+        }
+
+        private void deleteTempFile(Path tempFile) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                mLog.d(LOG_TAG, String.format("Sync '%s': Deletion of temporary file failed.",
+                        mId));
+            }
+        }
+
+        private DracoonNetIOException createInterruptedError(Throwable cause) {
+            String errorText = "Sync was interrupted.";
+            mLog.d(LOG_TAG, errorText);
+            return new DracoonNetIOInterruptedException(errorText, cause);
+        }
+
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.dracoon.sdk.error.DracoonFileIOException;
+import com.dracoon.sdk.model.NodeType;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+// Stores the state of a local directory and its remote counterpart after the last
+// synchronization. Paths are relative to the synchronized directory and separated by '/'.
+public class SyncIndex {
+
+    private static final Gson sGson = new Gson();
+
+    public static class Entry {
+
+        @SerializedName("nodeId")
+        private long mNodeId;
+        @SerializedName("type")
+        private NodeType mType;
+        @SerializedName("size")
+        private long mSize;
+        @SerializedName("modifiedAt")
+        private long mModifiedAt;
+        @SerializedName("hash")
+        private String mHash;
+        @SerializedName("branchVersion")
+        private Long mBranchVersion;
+        @SerializedName("isConflict")
+        private boolean mIsConflict;
+
+        public long getNodeId() {
+            return mNodeId;
+        }
+
+        public void setNodeId(long nodeId) {
+            mNodeId = nodeId;
+        }
+
+        public NodeType getType() {
+            return mType;
+        }
+
+        public void setType(NodeType type) {
+            mType = type;
+        }
+
+        public long getSize() {
+            return mSize;
+        }
+
+        public void setSize(long size) {
+            mSize = size;
+        }
+
+        public long getModifiedAt() {
+            return mModifiedAt;
+        }
+
+        public void setModifiedAt(long modifiedAt) {
+            mModifiedAt = modifiedAt;
+        }
+
+        public String getHash() {
+            return mHash;
+        }
+
+        public void setHash(String hash) {
+            mHash = hash;
+        }
+
+        public Long getBranchVersion() {
+            return mBranchVersion;
+        }
+
+        public void setBranchVersion(Long branchVersion) {
+            mBranchVersion = branchVersion;
+        }
+
+        public boolean isConflict() {
+            return mIsConflict;
+        }
+
+        public void setIsConflict(boolean isConflict) {
+            mIsConflict = isConflict;
+        }
+
+        public boolean isFile() {
+            return mType == NodeType.FILE;
+        }
+
+    }
+
+    // The field names are kept stable in the stored index
+    @SerializedName("branchVersion")
+    private Long mBranchVersion;
+    @SerializedName("entries")
+    private SortedMap<String, Entry> mEntries = new TreeMap<>();
+
+    // The branch version of the synchronized node at the last completed synchronization
+    public synchronized Long getBranchVersion() {
+        return mBranchVersion;
+    }
+
+    public synchronized void setBranchVersion(Long branchVersion) {
+        mBranchVersion = branchVersion;
+    }
+
+    public synchronized Entry getEntry(String path) {
+        return mEntries.get(path);
+    }
+
+    public synchronized void putEntry(String path, Entry entry) {
+        mEntries.put(path, entry);
+    }
+
+    public synchronized void removeEntry(String path) {
+        mEntries.remove(path);
+    }
+
+    public synchronized List<String> getPaths() {
+        return new ArrayList<>(mEntries.keySet());
+    }
+
+    // --- Persistence methods ---
+
+    public static SyncIndex load(Path file) throws DracoonFileIOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            SyncIndex index = sGson.fromJson(reader, SyncIndex.class);
+            if (index == null) {
+                return new SyncIndex();
+            }
+            if (index.mEntries == null) {
+                index.mEntries = new TreeMap<>();
+            }
+            return index;
+        } catch (NoSuchFileException e) {
+            return new SyncIndex();
+        } catch (IOException | JsonParseException e) {
+            throw new DracoonFileIOException("Sync index read failed!", e);
+        }
+    }
+
+    // The index is written to a temporary file first. A crash during the write must not
+    // destroy the previous state.
+    public synchronized void save(Path file) throws DracoonFileIOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                sGson.toJson(this, writer);
+            }
+            moveFile(tempFile, file);
+        } catch (IOException e) {
+            throw new DracoonFileIOException("Sync index write failed!", e);
+        }
+    }
+
+    // If the file system doesn't support atomic moves, the index is replaced non-atomically
+    private static void moveFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
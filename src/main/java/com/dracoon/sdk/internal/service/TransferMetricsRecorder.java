@@ -0,0 +1,130 @@
+package com.dracoon.sdk.internal.service;
+
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.DracoonMetrics;
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.internal.http.HttpHelper;
+import com.dracoon.sdk.model.FileTransferMetrics;
+
+class TransferMetricsRecorder {
+
+    private static final String LOG_TAG = TransferMetricsRecorder.class.getSimpleName();
+
+    private final Log mLog;
+    private final DracoonMetrics mMetrics;
+
+    private final FileTransferMetrics.Type mType;
+    private final String mId;
+    private final boolean mIsEncrypted;
+
+    // Collects the retries of all chunk requests
+    private final HttpHelper.RequestStats mChunkRequestStats = new HttpHelper.RequestStats();
+
+    private long mStartTime;
+    private long mTimeToFirstByte = -1L;
+    private long mCryptoTime;
+    private long mNetworkTime;
+    private long mUrlWaitTime;
+    private long mCompletionTime;
+    private int mChunkCount;
+
+    private boolean mIsReported;
+
+    TransferMetricsRecorder(Log log, DracoonMetrics metrics, FileTransferMetrics.Type type,
+            String id, boolean isEncrypted) {
+        mLog = log;
+        mMetrics = metrics;
+        mType = type;
+        mId = id;
+        mIsEncrypted = isEncrypted;
+    }
+
+    HttpHelper.RequestStats getChunkRequestStats() {
+        return mChunkRequestStats;
+    }
+
+    // --- Recording methods ---
+
+    void start() {
+        mStartTime = System.nanoTime();
+        mTimeToFirstByte = -1L;
+        mIsReported = false;
+    }
+
+    static long now() {
+        return System.nanoTime();
+    }
+
+    void addCryptoTime(long startTime) {
+        mCryptoTime = mCryptoTime + (System.nanoTime() - startTime);
+    }
+
+    void addNetworkTime(long startTime) {
+        mNetworkTime = mNetworkTime + (System.nanoTime() - startTime);
+    }
+
+    void addUrlWaitTime(long startTime) {
+        mUrlWaitTime = mUrlWaitTime + (System.nanoTime() - startTime);
+    }
+
+    void addCompletionTime(long startTime) {
+        mCompletionTime = mCompletionTime + (System.nanoTime() - startTime);
+    }
+
+    void addChunk() {
+        if (mTimeToFirstByte < 0L) {
+            mTimeToFirstByte = System.nanoTime() - mStartTime;
+        }
+        mChunkCount++;
+    }
+
+    // --- Report methods ---
+
+    void reportFinished(long bytes) {
+        report(FileTransferMetrics.Status.FINISHED, null, bytes);
+    }
+
+    void reportFailed(Throwable error, long bytes) {
+        report(FileTransferMetrics.Status.FAILED, error, bytes);
+    }
+
+    void reportCanceled(long bytes) {
+        report(FileTransferMetrics.Status.CANCELED, null, bytes);
+    }
+
+    private void report(FileTransferMetrics.Status status, Throwable error, long bytes) {
+        if (mMetrics == null || mIsReported) {
+            return;
+        }
+        mIsReported = true;
+
+        FileTransferMetrics metrics = new FileTransferMetrics();
+        metrics.setType(mType);
+        metrics.setId(mId);
+        metrics.setStatus(status);
+        metrics.setError(error);
+        metrics.setEncrypted(mIsEncrypted);
+        metrics.setBytes(bytes);
+        metrics.setDuration(toMillis(System.nanoTime() - mStartTime));
+        metrics.setTimeToFirstByte(mTimeToFirstByte >= 0L ? toMillis(mTimeToFirstByte) : -1L);
+        metrics.setCryptoTime(toMillis(mCryptoTime));
+        metrics.setNetworkTime(toMillis(mNetworkTime));
+        metrics.setUrlWaitTime(toMillis(mUrlWaitTime));
+        metrics.setCompletionTime(toMillis(mCompletionTime));
+        metrics.setChunkCount(mChunkCount);
+        metrics.setChunkRetryCount(mChunkRequestStats.getRetryCount());
+
+        // Errors of the metrics collector must not affect the transfer
+        try {
+            mMetrics.onFileTransferFinished(metrics);
+        } catch (RuntimeException e) {
+            mLog.w(LOG_TAG, "Metrics collector failed!", e);
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+}
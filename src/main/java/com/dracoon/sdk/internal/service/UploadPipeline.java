@@ -0,0 +1,121 @@
+package com.dracoon.sdk.internal.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.dracoon.sdk.error.DracoonException;
+
+class UploadPipeline {
+
+    interface Encryptor {
+        byte[] encrypt(byte[] bytes, boolean isLast) throws DracoonException,
+                InterruptedException;
+    }
+
+    interface Sender {
+        void send(byte[] bytes) throws DracoonException, InterruptedException;
+    }
+
+    private interface Task<T> {
+        T run() throws DracoonException, InterruptedException;
+    }
+
+    // One chunk can be encrypted while the previous chunk is sent
+    private static final int MAX_PENDING_CHUNKS = 2;
+
+    private final Encryptor mEncryptor;
+    private final Sender mSender;
+
+    private final ExecutorService mEncryptExecutor;
+    private final ExecutorService mSendExecutor;
+
+    private final Semaphore mPendingChunks = new Semaphore(MAX_PENDING_CHUNKS);
+    private final AtomicReference<Exception> mError = new AtomicReference<>();
+
+    private CompletableFuture<Void> mLastChunk = CompletableFuture.completedFuture(null);
+
+    UploadPipeline(String id, Encryptor encryptor, Sender sender) {
+        mEncryptor = encryptor;
+        mSender = sender;
+
+        mEncryptExecutor = Executors.newSingleThreadExecutor(r -> createThread(r,
+                "Dracoon-Upload-Encryptor-" + id));
+        mSendExecutor = Executors.newSingleThreadExecutor(r -> createThread(r,
+                "Dracoon-Upload-Sender-" + id));
+    }
+
+    private static Thread createThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    void submit(byte[] bytes, boolean isLast) throws DracoonException, InterruptedException {
+        throwIfFailed();
+
+        // Blocks till a chunk left the pipeline, so that the caller cannot run ahead of the network
+        mPendingChunks.acquire();
+
+        // The single-threaded executors keep the order of the chunks
+        mLastChunk = CompletableFuture
+                .supplyAsync(() -> run(() -> mEncryptor.encrypt(bytes, isLast)), mEncryptExecutor)
+                .thenAcceptAsync(encBytes -> run(() -> {
+                    mSender.send(encBytes);
+                    return null;
+                }), mSendExecutor)
+                .whenComplete((result, error) -> mPendingChunks.release());
+    }
+
+    void drain() throws DracoonException, InterruptedException {
+        try {
+            mLastChunk.get();
+        } catch (ExecutionException e) {
+            // The error was already recorded
+        }
+        throwIfFailed();
+    }
+
+    void shutdown() {
+        mEncryptExecutor.shutdownNow();
+        mSendExecutor.shutdownNow();
+    }
+
+    private <T> T run(Task<T> task) {
+        // If a previous chunk failed: Skip all following chunks
+        if (mError.get() != null) {
+            throw new CompletionException(mError.get());
+        }
+
+        try {
+            return task.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            mError.compareAndSet(null, e);
+            throw new CompletionException(e);
+        } catch (DracoonException | RuntimeException e) {
+            mError.compareAndSet(null, e);
+            throw new CompletionException(e);
+        }
+    }
+
+    private void throwIfFailed() throws DracoonException, InterruptedException {
+        Exception error = mError.get();
+        if (error == null) {
+            return;
+        }
+
+        if (error instanceof DracoonException) {
+            throw (DracoonException) error;
+        } else if (error instanceof InterruptedException) {
+            throw new InterruptedException();
+        } else {
+            throw (RuntimeException) error;
+        }
+    }
+
+}
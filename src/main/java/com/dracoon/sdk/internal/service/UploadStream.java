@@ -2,9 +2,16 @@ package com.dracoon.sdk.internal.service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.Log;
 import com.dracoon.sdk.crypto.error.CryptoException;
 import com.dracoon.sdk.crypto.error.CryptoSystemException;
@@ -40,9 +47,13 @@ import com.dracoon.sdk.internal.api.model.ApiServerGeneralSettings;
 import com.dracoon.sdk.internal.crypto.CryptoErrorParser;
 import com.dracoon.sdk.internal.crypto.CryptoWrapper;
 import com.dracoon.sdk.internal.http.HttpHelper;
+import com.dracoon.sdk.internal.http.RequestEndpoint;
+import com.dracoon.sdk.internal.util.HashUtils;
+import com.dracoon.sdk.model.FileTransferMetrics;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
 import com.dracoon.sdk.model.FileUploadStream;
+import com.dracoon.sdk.model.HashAlgorithm;
 import com.dracoon.sdk.model.Node;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -61,14 +72,38 @@ public class UploadStream extends FileUploadStream {
     private static final long PROGRESS_UPDATE_INTERVAL = 100;
 
     private static final String S3_ETAG_HEADER = "ETag";
-    private static final long S3_MIN_COMPLETE_WAIT_TIME = 500;
-    private static final long S3_MAX_COMPLETE_WAIT_TIME = 5 * DracoonConstants.SECOND;
+    private static final String S3_CONTENT_MD5_HEADER = "Content-MD5";
+    private static final long S3_MIN_POLL_INTERVAL = 100;
+    private static final long S3_MAX_POLL_INTERVAL = 5 * DracoonConstants.SECOND;
+    // Assumed number of bytes per millisecond which the storage assembles after an upload
+    private static final long S3_ASSEMBLY_RATE = 100L * DracoonConstants.MIB /
+            DracoonConstants.SECOND;
 
     private static final String S3_UPLOAD_STATUS_TRANSFER = "transfer";
     private static final String S3_UPLOAD_STATUS_FINISHING = "finishing";
     private static final String S3_UPLOAD_STATUS_DONE = "done";
     private static final String S3_UPLOAD_STATUS_ERROR = "error";
 
+    // The storage type of the server is reused for a short time. (Like the encryption state of
+    // upload targets.) A changed storage type is therefore noticed by later uploads.
+    private static final long S3_STORAGE_CACHE_TIMEOUT = 60L * DracoonConstants.SECOND;
+
+    private static class S3StorageState {
+
+        private Boolean mIsS3Storage;
+        private long mExpireAt;
+
+        synchronized Boolean get(long now) {
+            return mExpireAt > now ? mIsS3Storage : null;
+        }
+
+        synchronized void set(boolean isS3Storage, long expireAt) {
+            mIsS3Storage = isS3Storage;
+            mExpireAt = expireAt;
+        }
+
+    }
+
     private static class FileRequestBody extends RequestBody {
 
         interface Callback {
@@ -142,6 +177,20 @@ public class UploadStream extends FileUploadStream {
 
     private boolean mIsS3Upload = false;
     private final List<ApiS3FileUploadPart> mS3UploadParts = new ArrayList<>();
+    private final long mS3CompletionTimeout;
+    private final long mSmallFileUploadThreshold;
+    private final S3StorageState mS3StorageState;
+
+    private final boolean mIsPipeliningEnabled;
+    private UploadPipeline mPipeline;
+
+    private final HashAlgorithm mHashAlgorithm;
+    private MessageDigest mHashDigest;
+    private String mHash;
+
+    private final ExecutorService mS3CompletionExecutor;
+    private volatile CompletableFuture<Node> mCompletionFuture;
+    private volatile Future<?> mCompletionTask;
 
     private boolean mIsCompleted = false;
     private boolean mIsClosed = false;
@@ -152,11 +201,16 @@ public class UploadStream extends FileUploadStream {
 
     private final List<FileUploadCallback> mCallbacks = new ArrayList<>();
 
+    private final TransferMetricsRecorder mMetricsRecorder;
+
     @SuppressWarnings("squid:S107")
     private UploadStream(Log log, DracoonApi dracoonApi, OkHttpClient httpClient,
             HttpHelper httpHelper, DracoonErrorParser errorParser, CryptoWrapper cryptoWrapper,
-            String id, FileUploadRequest request, long length, UserPublicKey userPublicKey,
-            PlainFileKey fileKey, long chunkSize) {
+            DracoonMetrics metrics, String id, FileUploadRequest request, long length,
+            UserPublicKey userPublicKey, PlainFileKey fileKey, long chunkSize,
+            long s3CompletionTimeout, long smallFileUploadThreshold,
+            S3StorageState s3StorageState, ExecutorService s3CompletionExecutor,
+            boolean isPipeliningEnabled, HashAlgorithm hashAlgorithm) {
         mLog = log;
         mApi = dracoonApi;
         mHttpClient = httpClient;
@@ -171,21 +225,41 @@ public class UploadStream extends FileUploadStream {
         mFileKey = fileKey;
 
         mChunkSize = chunkSize;
+        mS3CompletionTimeout = s3CompletionTimeout;
+        mSmallFileUploadThreshold = smallFileUploadThreshold;
+        mS3StorageState = s3StorageState;
+        mS3CompletionExecutor = s3CompletionExecutor;
+        mIsPipeliningEnabled = isPipeliningEnabled;
+        mHashAlgorithm = hashAlgorithm;
+
+        mMetricsRecorder = new TransferMetricsRecorder(log, metrics,
+                FileTransferMetrics.Type.UPLOAD, id, fileKey != null);
     }
 
     void start() throws DracoonNetIOException, DracoonApiException, DracoonCryptoException {
         mThread = Thread.currentThread();
+        mMetricsRecorder.start();
+
+        if (mHashAlgorithm != null) {
+            mHashDigest = HashUtils.createMessageDigest(mHashAlgorithm);
+        }
 
         try {
             notifyStarted(mId);
 
             if (isEncryptedUpload()) {
+                long cryptoStartTime = TransferMetricsRecorder.now();
                 mEncryptionCipher = createEncryptionCipher();
+                mMetricsRecorder.addCryptoTime(cryptoStartTime);
             }
 
             mIsS3Upload = checkIsS3Upload();
 
             mUploadId = createUpload();
+
+            if (mIsPipeliningEnabled) {
+                mPipeline = new UploadPipeline(mId, this::encryptChunk, this::sendChunk);
+            }
         } catch (InterruptedException e) {
             notifyCanceled(mId);
             mThread.interrupt();
@@ -236,6 +310,11 @@ public class UploadStream extends FileUploadStream {
             return;
         }
 
+        // Hash plain data while it is written, so that no second pass over the data is needed
+        if (mHashDigest != null) {
+            mHashDigest.update(b, off, len);
+        }
+
         // Write to buffer
         mUploadBuffer.write(b, off, len);
         // Try to upload data
@@ -258,6 +337,9 @@ public class UploadStream extends FileUploadStream {
 
         try {
             uploadData(false);
+            if (mPipeline != null) {
+                mPipeline.drain();
+            }
         } catch (InterruptedException e) {
             notifyCanceled(mId);
             mThread.interrupt();
@@ -267,10 +349,16 @@ public class UploadStream extends FileUploadStream {
             throw new IOException("Could not write to upload stream.", e);
         }
 
+        if (mHashDigest != null) {
+            mHash = HashUtils.toHexString(mHashDigest.digest());
+        }
+
         EncryptedFileKey encryptedFileKey = null;
         try {
             if (isEncryptedUpload()) {
+                long cryptoStartTime = TransferMetricsRecorder.now();
                 encryptedFileKey = mCrypto.encryptFileKey(null, mFileKey, mUserPublicKey);
+                mMetricsRecorder.addCryptoTime(cryptoStartTime);
             }
         } catch (DracoonException e) {
             notifyFailed(mId, e);
@@ -278,6 +366,7 @@ public class UploadStream extends FileUploadStream {
         }
 
         Node node;
+        long completionStartTime = TransferMetricsRecorder.now();
         try {
             node = completeUpload(encryptedFileKey);
         } catch (InterruptedException e) {
@@ -287,19 +376,54 @@ public class UploadStream extends FileUploadStream {
         } catch (DracoonException e) {
             notifyFailed(mId, e);
             throw new IOException("Could not close upload stream.", e);
+        } finally {
+            mMetricsRecorder.addCompletionTime(completionStartTime);
         }
 
-        notifyFinished(mId, node);
+        // For asynchronously completed S3 uploads, the node is not available yet
+        if (node != null) {
+            notifyFinished(mId, node);
+        }
 
         mIsCompleted = true;
+        shutdownPipeline();
 
         return node;
     }
 
+    @Override
+    public CompletableFuture<Node> completeAsync() throws IOException {
+        assertStarted();
+        assertNotCompleted();
+        assertNotClosed();
+
+        mCompletionFuture = new CompletableFuture<>();
+        // The completion future is the cancel handle of the asynchronous completion. (It is
+        // canceled by the caller or if the upload was canceled.)
+        mCompletionFuture.whenComplete((node, e) -> {
+            if (mCompletionFuture.isCancelled()) {
+                onCompletionCanceled();
+            }
+        });
+        complete();
+        return mCompletionFuture;
+    }
+
+    boolean cancelCompletion() {
+        CompletableFuture<Node> future = mCompletionFuture;
+        return future != null && !future.isDone() && future.cancel(false);
+    }
+
+    @Override
+    public String getHash() {
+        return mHash;
+    }
+
     @Override
     public void close() throws IOException {
         assertNotClosed();
         mIsClosed = true;
+        shutdownPipeline();
     }
 
     // --- Helper methods ---
@@ -316,6 +440,27 @@ public class UploadStream extends FileUploadStream {
     }
 
     private boolean checkIsS3Upload() throws DracoonNetIOException, DracoonApiException {
+        // Small files are sent with a single standard upload request. A direct S3 upload would
+        // need additional requests for the upload URL and the status of the completion.
+        if (isSmallFileUpload()) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        Boolean isS3Storage = mS3StorageState.get(now);
+        if (isS3Storage == null) {
+            isS3Storage = queryIsS3Storage();
+            mS3StorageState.set(isS3Storage, now + S3_STORAGE_CACHE_TIMEOUT);
+        }
+        return isS3Storage;
+    }
+
+    private boolean isSmallFileUpload() {
+        // A length of 0 means that the length is not known
+        return mUploadLength > 0L && mUploadLength <= mSmallFileUploadThreshold;
+    }
+
+    private boolean queryIsS3Storage() throws DracoonNetIOException, DracoonApiException {
         Call<ApiServerGeneralSettings> call = mApi.getServerGeneralSettings();
         Response<ApiServerGeneralSettings> response = mHttpHelper.executeRequest(call);
 
@@ -366,8 +511,7 @@ public class UploadStream extends FileUploadStream {
         return response.body().uploadId;
     }
 
-    private void uploadData(boolean more) throws DracoonNetIOException, DracoonApiException,
-            DracoonCryptoException, DracoonFileIOException, InterruptedException {
+    private void uploadData(boolean more) throws DracoonException, InterruptedException {
         // Upload till buffer is exhausted
         while ((more && mUploadBuffer.size() > mChunkSize) || (!more && mUploadBuffer.size() > 0)) {
             long remaining = mUploadBuffer.size();
@@ -382,20 +526,45 @@ public class UploadStream extends FileUploadStream {
                 throw new DracoonFileIOException(errorText, e);
             }
 
-            if (isEncryptedUpload()) {
-                boolean isLast = !more && mUploadBuffer.size() == 0;
-                bytes = encryptBytes(bytes, isLast);
+            boolean isLast = !more && mUploadBuffer.size() == 0;
+
+            // If pipelining is enabled: Encrypt and send chunk while the next chunk is written
+            if (mPipeline != null) {
+                mPipeline.submit(bytes, isLast);
+            } else {
+                sendChunk(encryptChunk(bytes, isLast));
             }
+        }
+    }
+
+    private byte[] encryptChunk(byte[] bytes, boolean isLast) throws DracoonFileIOException,
+            DracoonCryptoException {
+        if (!isEncryptedUpload()) {
+            return bytes;
+        }
+
+        long cryptoStartTime = TransferMetricsRecorder.now();
+        byte[] encBytes = encryptBytes(bytes, isLast);
+        mMetricsRecorder.addCryptoTime(cryptoStartTime);
+        return encBytes;
+    }
 
-            int count = bytes.length;
+    private void sendChunk(byte[] bytes) throws DracoonNetIOException, DracoonApiException,
+            InterruptedException {
+        int count = bytes.length;
 
-            mLog.d(LOG_TAG, String.format("Loading: id='%s': chunk=%d: %d-%d", mId, mChunkNum,
-                    mUploadOffset, mUploadOffset + count));
+        mLog.d(LOG_TAG, String.format("Loading: id='%s': chunk=%d: %d-%d", mId, mChunkNum,
+                mUploadOffset, mUploadOffset + count));
 
-            uploadChunk(mUploadOffset, mChunkNum, bytes);
+        uploadChunk(mUploadOffset, mChunkNum, bytes);
 
-            mUploadOffset = mUploadOffset + bytes.length;
-            mChunkNum++;
+        mUploadOffset = mUploadOffset + count;
+        mChunkNum++;
+    }
+
+    private void shutdownPipeline() {
+        if (mPipeline != null) {
+            mPipeline.shutdown();
         }
     }
 
@@ -457,7 +626,12 @@ public class UploadStream extends FileUploadStream {
         String contentRange = "bytes " + offset + "-" + (offset + chunk.length) + "/*";
 
         Call<Void> call = mApi.uploadFile(mUploadId, contentRange, body);
-        Response<Void> response = mHttpHelper.executeRequest(call, mThread);
+        long networkStartTime = TransferMetricsRecorder.now();
+        // Chunks are sent by the calling thread or, if pipelining is enabled, by the sender thread
+        Response<Void> response = mHttpHelper.executeRequest(call, Thread.currentThread(),
+                mMetricsRecorder.getChunkRequestStats());
+        mMetricsRecorder.addNetworkTime(networkStartTime);
+        mMetricsRecorder.addChunk();
 
         if (!response.isSuccessful()) {
             DracoonApiCode errorCode = mErrorParser.parseUploadError(response);
@@ -489,17 +663,28 @@ public class UploadStream extends FileUploadStream {
 
     private ApiS3FileUploadPart uploadS3Chunk(int chunkNum, byte[] chunk) throws DracoonNetIOException,
             DracoonApiException, InterruptedException {
+        long urlWaitStartTime = TransferMetricsRecorder.now();
         String uploadUrl = getS3UploadUrl(chunkNum, chunk.length);
+        mMetricsRecorder.addUrlWaitTime(urlWaitStartTime);
 
         FileRequestBody fileChunk = createChunk(chunk);
 
-        okhttp3.Request request = new okhttp3.Request.Builder()
+        okhttp3.Request.Builder requestBuilder = new okhttp3.Request.Builder()
                 .url(uploadUrl)
                 .put(fileChunk)
-                .build();
+                .tag(RequestEndpoint.class, RequestEndpoint.S3_UPLOAD_URL);
+        // If hashing is enabled: Let the storage verify the integrity of the part
+        if (mHashAlgorithm != null) {
+            requestBuilder.header(S3_CONTENT_MD5_HEADER, HashUtils.computeContentMd5(chunk));
+        }
+        okhttp3.Request request = requestBuilder.build();
 
         okhttp3.Call call = mHttpClient.newCall(request);
-        okhttp3.Response response = mHttpHelper.executeRequest(call, mThread);
+        long networkStartTime = TransferMetricsRecorder.now();
+        okhttp3.Response response = mHttpHelper.executeRequest(call, Thread.currentThread(),
+                mMetricsRecorder.getChunkRequestStats());
+        mMetricsRecorder.addNetworkTime(networkStartTime);
+        mMetricsRecorder.addChunk();
 
         if (!response.isSuccessful()) {
             DracoonApiCode errorCode = mErrorParser.parseS3UploadError(response);
@@ -529,7 +714,8 @@ public class UploadStream extends FileUploadStream {
         request.lastPartNumber = chunkNum + 1;
 
         Call<ApiS3FileUploadUrlList> call = mApi.getS3FileUploadUrls(mUploadId, request);
-        Response<ApiS3FileUploadUrlList> response = mHttpHelper.executeRequest(call, mThread);
+        Response<ApiS3FileUploadUrlList> response = mHttpHelper.executeRequest(call,
+                Thread.currentThread());
 
         if (!response.isSuccessful()) {
             DracoonApiCode errorCode = mErrorParser.parseS3UploadGetUrlsError(response);
@@ -560,24 +746,88 @@ public class UploadStream extends FileUploadStream {
             throw new DracoonApiException(errorCode);
         }
 
-        Node node = null;
-        long completeWaitTime = S3_MIN_COMPLETE_WAIT_TIME;
-        while (completeWaitTime < S3_MAX_COMPLETE_WAIT_TIME) {
-            node = waitForCompleteS3Upload();
-            if (node != null) {
-                break;
+        long deadline = System.currentTimeMillis() + mS3CompletionTimeout;
+        long pollInterval = getInitialS3PollInterval();
+
+        if (mCompletionFuture != null) {
+            startS3UploadStatusPoll(pollInterval, deadline, TransferMetricsRecorder.now());
+            return null;
+        }
+
+        return waitForS3UploadNode(mThread, pollInterval, deadline);
+    }
+
+    private Node waitForS3UploadNode(Thread thread, long pollInterval, long deadline)
+            throws DracoonNetIOException, DracoonApiException, InterruptedException {
+        Node node = getS3UploadNode(thread);
+        while (node == null) {
+            long remainingTime = deadline - System.currentTimeMillis();
+            if (remainingTime <= 0L) {
+                throw createS3CompletionTimeoutException();
             }
-            Thread.sleep(completeWaitTime);
-            completeWaitTime = completeWaitTime * 2;
+            Thread.sleep(Math.min(pollInterval, remainingTime));
+            pollInterval = getNextS3PollInterval(pollInterval);
+            node = getS3UploadNode(thread);
         }
 
         return node;
     }
 
-    private Node waitForCompleteS3Upload() throws DracoonNetIOException, DracoonApiException,
+    private void startS3UploadStatusPoll(long pollInterval, long deadline,
+            long completionStartTime) {
+        mCompletionTask = mS3CompletionExecutor.submit(() -> pollS3UploadStatus(pollInterval,
+                deadline, completionStartTime));
+        // The completion could have been canceled before the task was assigned
+        if (mCompletionFuture.isCancelled()) {
+            mCompletionTask.cancel(true);
+        }
+    }
+
+    private void pollS3UploadStatus(long pollInterval, long deadline, long completionStartTime) {
+        Node node;
+        try {
+            node = waitForS3UploadNode(Thread.currentThread(), pollInterval, deadline);
+        } catch (InterruptedException e) {
+            notifyCanceled(mId);
+            return;
+        } catch (DracoonException e) {
+            notifyFailed(mId, e);
+            return;
+        } finally {
+            mMetricsRecorder.addCompletionTime(completionStartTime);
+        }
+
+        notifyFinished(mId, node);
+    }
+
+    private void onCompletionCanceled() {
+        Future<?> completionTask = mCompletionTask;
+        if (completionTask != null) {
+            completionTask.cancel(true);
+        }
+        notifyCallbacksCanceled(mId);
+    }
+
+    private long getInitialS3PollInterval() {
+        // The storage needs more time to assemble larger files
+        long pollInterval = mUploadOffset / S3_ASSEMBLY_RATE;
+        return Math.min(Math.max(pollInterval, S3_MIN_POLL_INTERVAL), S3_MAX_POLL_INTERVAL);
+    }
+
+    private static long getNextS3PollInterval(long pollInterval) {
+        return Math.min(pollInterval * 2, S3_MAX_POLL_INTERVAL);
+    }
+
+    private DracoonNetIOException createS3CompletionTimeoutException() {
+        String errorText = String.format("Completion of upload '%s' timed out!", mId);
+        mLog.d(LOG_TAG, errorText);
+        return new DracoonNetIOException(errorText);
+    }
+
+    private Node getS3UploadNode(Thread thread) throws DracoonNetIOException, DracoonApiException,
             InterruptedException {
         Call<ApiS3FileUploadStatus> call = mApi.getS3FileUploadStatus(mUploadId);
-        Response<ApiS3FileUploadStatus> response = mHttpHelper.executeRequest(call, mThread);
+        Response<ApiS3FileUploadStatus> response = mHttpHelper.executeRequest(call, thread);
 
         if (!response.isSuccessful()) {
             DracoonApiCode errorCode = mErrorParser.parseS3UploadStatusError(response);
@@ -647,19 +897,45 @@ public class UploadStream extends FileUploadStream {
         }
     }
 
+    // For asynchronously completed uploads, the callbacks are only notified by the call which
+    // resolved the completion future. (The completion can be canceled while it is polled.)
+
     private void notifyFinished(String id, Node node) {
+        if (mCompletionFuture != null && !mCompletionFuture.complete(node)) {
+            return;
+        }
+        mMetricsRecorder.reportFinished(mUploadOffset);
         for (FileUploadCallback callback : mCallbacks) {
+            if (mHash != null) {
+                callback.onHashComputed(id, mHash);
+            }
             callback.onFinished(id, node);
         }
     }
 
     private void notifyCanceled(String id) {
+        if (mCompletionFuture != null) {
+            // The callbacks are notified when the completion future was canceled
+            mCompletionFuture.cancel(false);
+            return;
+        }
+        notifyCallbacksCanceled(id);
+    }
+
+    private void notifyCallbacksCanceled(String id) {
+        shutdownPipeline();
+        mMetricsRecorder.reportCanceled(mUploadOffset);
         for (FileUploadCallback callback : mCallbacks) {
             callback.onCanceled(id);
         }
     }
 
     private void notifyFailed(String id, DracoonException e) {
+        if (mCompletionFuture != null && !mCompletionFuture.completeExceptionally(e)) {
+            return;
+        }
+        shutdownPipeline();
+        mMetricsRecorder.reportFailed(e, mUploadOffset);
         for (FileUploadCallback callback : mCallbacks) {
             callback.onFailed(id, e);
         }
@@ -700,24 +976,52 @@ public class UploadStream extends FileUploadStream {
         private final HttpHelper mHttpHelper;
         private final DracoonErrorParser mErrorParser;
         private final CryptoWrapper mCrypto;
+        private final DracoonMetrics mMetrics;
         private final long mChunkSize;
+        private final long mS3CompletionTimeout;
+        private final long mSmallFileUploadThreshold;
+        private final boolean mIsPipeliningEnabled;
+        private final HashAlgorithm mHashAlgorithm;
+
+        // The storage type of the server is shared by all uploads
+        private final S3StorageState mS3StorageState = new S3StorageState();
+
+        // Status polls of asynchronously completed S3 uploads block while they wait for the
+        // storage. Therefore, every poll gets its own thread. Idle threads are terminated.
+        private final AtomicInteger mS3CompletionThreadNum = new AtomicInteger();
+        private final ExecutorService mS3CompletionExecutor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "Dracoon-S3-Upload-Completion-" +
+                    mS3CompletionThreadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
 
+        @SuppressWarnings("squid:S107")
         public Factory(Log log, DracoonApi dracoonApi, OkHttpClient httpClient,
                 HttpHelper httpHelper, DracoonErrorParser errorParser, CryptoWrapper cryptoWrapper,
-                long chunkSize) {
+                DracoonMetrics metrics, long chunkSize, long s3CompletionTimeout,
+                long smallFileUploadThreshold, boolean isPipeliningEnabled,
+                HashAlgorithm hashAlgorithm) {
             mLog = log;
             mApi = dracoonApi;
             mHttpClient = httpClient;
             mHttpHelper = httpHelper;
             mErrorParser = errorParser;
             mCrypto = cryptoWrapper;
+            mMetrics = metrics;
             mChunkSize = chunkSize;
+            mS3CompletionTimeout = s3CompletionTimeout;
+            mSmallFileUploadThreshold = smallFileUploadThreshold;
+            mIsPipeliningEnabled = isPipeliningEnabled;
+            mHashAlgorithm = hashAlgorithm;
         }
 
         public UploadStream create(String id, FileUploadRequest request, long length,
                 UserPublicKey userPublicKey, PlainFileKey fileKey) {
             return new UploadStream(mLog, mApi, mHttpClient, mHttpHelper, mErrorParser, mCrypto,
-                    id, request, length, userPublicKey, fileKey, mChunkSize);
+                    mMetrics, id, request, length, userPublicKey, fileKey, mChunkSize,
+                    mS3CompletionTimeout, mSmallFileUploadThreshold, mS3StorageState,
+                    mS3CompletionExecutor, mIsPipeliningEnabled, mHashAlgorithm);
         }
 
     }
@@ -13,6 +13,7 @@ import com.dracoon.sdk.error.DracoonCryptoException;
 import com.dracoon.sdk.error.DracoonException;
 import com.dracoon.sdk.error.DracoonFileIOException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
 import com.dracoon.sdk.internal.DracoonConstants;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
@@ -24,6 +25,11 @@ public class UploadThread extends Thread {
 
     private static final int BLOCK_SIZE = 2 * DracoonConstants.KIB;
 
+    public interface UnchangedFileCheck {
+        // Returns the existing node, if the upload can be skipped. Otherwise, null is returned.
+        Node getUnchangedFileNode() throws DracoonException;
+    }
+
     private final Log mLog;
 
     private final String mId;
@@ -31,6 +37,8 @@ public class UploadThread extends Thread {
     private final UploadStream mUploadStream;
     private final InputStream mInputStream;
 
+    private UnchangedFileCheck mUnchangedFileCheck;
+
     private Thread mThread;
 
     private final List<FileUploadCallback> mCallbacks = new ArrayList<>();
@@ -60,12 +68,29 @@ public class UploadThread extends Thread {
         }
     }
 
+    public void setUnchangedFileCheck(UnchangedFileCheck unchangedFileCheck) {
+        mUnchangedFileCheck = unchangedFileCheck;
+    }
+
+    public boolean cancelCompletion() {
+        return mUploadStream.cancelCompletion();
+    }
+
     @Override
     public void run() {
         mThread = this;
 
         try {
-            upload();
+            // The check can take long (E.g. if the file must be hashed.) Therefore, it is done
+            // here instead of on the caller's thread.
+            Node unchangedNode = getUnchangedFileNode();
+            if (unchangedNode != null) {
+                notifyStarted(mId);
+                notifyFinished(mId, unchangedNode);
+                return;
+            }
+
+            upload(true);
         } catch (DracoonException e) {
             // Nothing to do here
         }
@@ -75,10 +100,10 @@ public class UploadThread extends Thread {
             DracoonCryptoException, DracoonFileIOException {
         mThread = Thread.currentThread();
 
-        return upload();
+        return upload(false);
     }
 
-    private Node upload() throws DracoonNetIOException, DracoonApiException,
+    private Node upload(boolean isAsync) throws DracoonNetIOException, DracoonApiException,
             DracoonCryptoException, DracoonFileIOException {
         Node node = null;
 
@@ -91,7 +116,12 @@ public class UploadThread extends Thread {
                 mUploadStream.write(buffer, 0, bytesRead);
             }
 
-            node = mUploadStream.complete();
+            if (isAsync) {
+                // The callbacks are notified when the server has finished the upload
+                mUploadStream.completeAsync();
+            } else {
+                node = mUploadStream.complete();
+            }
         } catch (IOException e) {
             if (mThread.isInterrupted()) {
                 notifyCanceled(mId);
@@ -112,6 +142,23 @@ public class UploadThread extends Thread {
         return node;
     }
 
+    private Node getUnchangedFileNode() throws DracoonException {
+        if (mUnchangedFileCheck == null) {
+            return null;
+        }
+
+        try {
+            return mUnchangedFileCheck.getUnchangedFileNode();
+        } catch (DracoonException e) {
+            if (mThread.isInterrupted() || e instanceof DracoonNetIOInterruptedException) {
+                notifyCanceled(mId);
+            } else {
+                notifyFailed(mId, e);
+            }
+            throw e;
+        }
+    }
+
     // --- Helper methods ---
 
     private void rethrow(DracoonException e) throws DracoonNetIOException, DracoonApiException,
@@ -129,6 +176,18 @@ public class UploadThread extends Thread {
 
     // --- Callback helper methods ---
 
+    private void notifyStarted(String id) {
+        for (FileUploadCallback callback : mCallbacks) {
+            callback.onStarted(id);
+        }
+    }
+
+    private void notifyFinished(String id, Node node) {
+        for (FileUploadCallback callback : mCallbacks) {
+            callback.onFinished(id, node);
+        }
+    }
+
     private void notifyCanceled(String id) {
         for (FileUploadCallback callback : mCallbacks) {
             callback.onCanceled(id);
@@ -0,0 +1,392 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.dracoon.sdk.DracoonHttpConfig;
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonFileIOException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.DracoonConstants;
+import com.dracoon.sdk.internal.util.StreamUtils;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.NodeType;
+
+public class ZipExporter {
+
+    private static final String LOG_TAG = ZipExporter.class.getSimpleName();
+
+    private static final int BLOCK_SIZE = 2 * DracoonConstants.KIB;
+    // Child nodes are queried page by page. Only the current page of each folder level is kept
+    // in memory.
+    private static final long PAGE_SIZE = 500L;
+
+    private final ServiceLocator mServiceLocator;
+
+    private final Log mLog;
+
+    private final int mParallelDownloads;
+    private final long mBufferSize;
+
+    public ZipExporter(ServiceLocator serviceLocator, ServiceDependencies serviceDependencies) {
+        mServiceLocator = serviceLocator;
+
+        mLog = serviceDependencies.getLog();
+
+        DracoonHttpConfig httpConfig = serviceDependencies.getHttpConfig();
+        mParallelDownloads = httpConfig.getZipExportParallelDownloads();
+        mBufferSize = ((long) httpConfig.getZipExportBufferSize()) * DracoonConstants.KIB;
+    }
+
+    public void export(String id, long nodeId, OutputStream os) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+        Node rootNode = mServiceLocator.getNodesService().getNode(nodeId);
+
+        NodeWalker walker = new NodeWalker(rootNode);
+        // Entries are written in order. The entries in this window are already downloaded and
+        // decrypted in the background.
+        Deque<Entry> entries = new ArrayDeque<>();
+
+        ExecutorService executor = createExecutor(id);
+        ZipOutputStream zos = new ZipOutputStream(new NonClosingOutputStream(os));
+
+        try {
+            while (true) {
+                while (entries.size() < mParallelDownloads) {
+                    Entry entry = walker.next();
+                    if (entry == null) {
+                        break;
+                    }
+                    if (entry.isFile()) {
+                        entry.mStream = executor.submit(() -> openStream(id, entry.mNode));
+                    }
+                    entries.add(entry);
+                }
+
+                Entry entry = entries.poll();
+                if (entry == null) {
+                    break;
+                }
+                writeEntry(zos, entry);
+            }
+
+            finishArchive(zos);
+        } finally {
+            executor.shutdownNow();
+            for (Entry entry : entries) {
+                discardEntry(entry);
+            }
+        }
+    }
+
+    private ExecutorService createExecutor(String id) {
+        AtomicInteger threadNum = new AtomicInteger();
+        return Executors.newFixedThreadPool(mParallelDownloads, r -> {
+            Thread thread = new Thread(r, "Dracoon-Zip-Exporter-" + id + "-" +
+                    threadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // --- Download methods ---
+
+    private DownloadStream openStream(String id, Node node) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException, InterruptedException {
+        // The file key is only fetched if the node might be encrypted
+        PlainFileKey fileKey = null;
+        if (!Boolean.FALSE.equals(node.isEncrypted())) {
+            fileKey = mServiceLocator.getFileKeyFetcher().getPlainFileKey(node.getId());
+        }
+
+        DownloadStream.Factory factory = mServiceLocator.getDownloadStreamFactory();
+        DownloadStream stream = factory.create(id + "-" + node.getId(), node.getId(), fileKey,
+                mBufferSize);
+        stream.start();
+
+        // If export was aborted while stream was started: Release stream
+        if (Thread.currentThread().isInterrupted()) {
+            StreamUtils.closeStream(stream);
+            throw new InterruptedException();
+        }
+
+        return stream;
+    }
+
+    private DownloadStream awaitStream(Future<DownloadStream> future)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException {
+        try {
+            return future.get();
+        // SONAR: Rethrowing exception might cause unknown problems
+        } catch (InterruptedException e) { // NOSONAR
+            throw createInterruptedError(e);
+        } catch (ExecutionException e) {
+            Throwable c = e.getCause();
+            if (c instanceof DracoonNetIOException) {
+                throw (DracoonNetIOException) c;
+            } else if (c instanceof DracoonApiException) {
+                throw (DracoonApiException) c;
+            } else if (c instanceof DracoonCryptoException) {
+                throw (DracoonCryptoException) c;
+            } else if (c instanceof InterruptedException) {
+                throw createInterruptedError(c);
+            } else if (c instanceof RuntimeException) {
+                throw (RuntimeException) c;
+            } else if (c instanceof Error) {
+                throw (Error) c;
+            }
+            throw new IllegalStateException("ZIP export failed.", c);
+        }
+    }
+
+    private static void discardEntry(Entry entry) {
+        Future<DownloadStream> future = entry.mStream;
+        if (future == null || !future.isDone() || future.isCancelled()) {
+            return;
+        }
+
+        try {
+            StreamUtils.closeStream(future.get());
+        } catch (ExecutionException e) {
+            // Nothing to do here
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Archive methods ---
+
+    private void writeEntry(ZipOutputStream zos, Entry entry) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+        DownloadStream stream = entry.mStream != null ? awaitStream(entry.mStream) : null;
+
+        try {
+            ZipEntry zipEntry = new ZipEntry(entry.mPath);
+            Date modifiedAt = getModificationDate(entry.mNode);
+            if (modifiedAt != null) {
+                zipEntry.setTime(modifiedAt.getTime());
+            }
+
+            try {
+                zos.putNextEntry(zipEntry);
+            } catch (IOException e) {
+                throw createWriteError(e);
+            }
+
+            if (stream != null) {
+                copyData(stream, zos);
+            }
+
+            try {
+                zos.closeEntry();
+            } catch (IOException e) {
+                throw createWriteError(e);
+            }
+        } finally {
+            StreamUtils.closeStream(stream);
+        }
+    }
+
+    private void copyData(DownloadStream stream, ZipOutputStream zos)
+            throws DracoonNetIOException, DracoonApiException, DracoonCryptoException,
+            DracoonFileIOException {
+        byte[] buffer = new byte[BLOCK_SIZE];
+        while (true) {
+            int bytesRead = readData(stream, buffer);
+
+            // If stream is exhausted or download was interrupted: Abort
+            if (bytesRead < 0) {
+                break;
+            }
+
+            try {
+                zos.write(buffer, 0, bytesRead);
+            } catch (IOException e) {
+                throw createWriteError(e);
+            }
+        }
+
+        if (Thread.currentThread().isInterrupted()) {
+            throw createInterruptedError(null);
+        }
+    }
+
+    private int readData(DownloadStream stream, byte[] buffer) throws DracoonNetIOException,
+            DracoonApiException, DracoonCryptoException, DracoonFileIOException {
+        try {
+            return stream.read(buffer, 0, buffer.length);
+        } catch (IOException e) {
+            Throwable c = e.getCause();
+            if (c instanceof DracoonNetIOException) {
+                throw (DracoonNetIOException) c;
+            } else if (c instanceof DracoonApiException) {
+                throw (DracoonApiException) c;
+            } else if (c instanceof DracoonCryptoException) {
+                throw (DracoonCryptoException) c;
+            } else if (c instanceof DracoonFileIOException) {
+                throw (DracoonFileIOException) c;
+            }
+            String errorText = "File download failed!";
+            mLog.d(LOG_TAG, errorText);
+            throw new DracoonNetIOException(errorText, e);
+        }
+    }
+
+    private void finishArchive(ZipOutputStream zos) throws DracoonFileIOException {
+        try {
+            zos.close();
+        } catch (IOException e) {
+            throw createWriteError(e);
+        }
+    }
+
+    private static Date getModificationDate(Node node) {
+        if (node.getOriginalModifiedAt() != null) {
+            return node.getOriginalModifiedAt();
+        }
+        return node.getUpdatedAt() != null ? node.getUpdatedAt() : node.getCreatedAt();
+    }
+
+    // --- Error helper methods ---
+
+    private DracoonNetIOException createInterruptedError(Throwable cause) {
+        String errorText = "ZIP export was interrupted.";
+        mLog.d(LOG_TAG, errorText);
+        return new DracoonNetIOInterruptedException(errorText, cause);
+    }
+
+    private DracoonFileIOException createWriteError(IOException e) {
+        String errorText = "Archive write failed!";
+        mLog.d(LOG_TAG, errorText);
+        return new DracoonFileIOException(errorText, e);
+    }
+
+    // --- Helper classes ---
+
+    private static class Entry {
+
+        private final Node mNode;
+        private final String mPath;
+
+        private Future<DownloadStream> mStream;
+
+        Entry(Node node, String path) {
+            mNode = node;
+            mPath = path;
+        }
+
+        boolean isFile() {
+            return mNode.getType() == NodeType.FILE;
+        }
+
+    }
+
+    // Walks the node tree depth-first. Folders and rooms are returned before their children.
+    private class NodeWalker {
+
+        private Node mRootNode;
+        private final Deque<Level> mLevels = new ArrayDeque<>();
+
+        NodeWalker(Node rootNode) {
+            mRootNode = rootNode;
+        }
+
+        Entry next() throws DracoonNetIOException, DracoonApiException {
+            if (mRootNode != null) {
+                Node node = mRootNode;
+                mRootNode = null;
+                return visit(node, "");
+            }
+
+            while (!mLevels.isEmpty()) {
+                Level level = mLevels.peek();
+                Node node = level.next();
+                if (node == null) {
+                    mLevels.pop();
+                    continue;
+                }
+                return visit(node, level.mPath);
+            }
+
+            return null;
+        }
+
+        private Entry visit(Node node, String parentPath) {
+            if (node.getType() == NodeType.FILE) {
+                return new Entry(node, parentPath + node.getName());
+            }
+
+            String path = parentPath + node.getName() + "/";
+            mLevels.push(new Level(node.getId(), path));
+            return new Entry(node, path);
+        }
+
+    }
+
+    private class Level {
+
+        private final long mParentNodeId;
+        private final String mPath;
+
+        private final Deque<Node> mNodes = new ArrayDeque<>();
+        private long mOffset = 0L;
+        private boolean mIsExhausted = false;
+
+        Level(long parentNodeId, String path) {
+            mParentNodeId = parentNodeId;
+            mPath = path;
+        }
+
+        Node next() throws DracoonNetIOException, DracoonApiException {
+            if (mNodes.isEmpty() && !mIsExhausted) {
+                NodeList nodeList = mServiceLocator.getNodesService().getNodes(mParentNodeId,
+                        mOffset, PAGE_SIZE);
+                List<Node> items = nodeList.getItems();
+                mNodes.addAll(items);
+                mOffset = mOffset + items.size();
+                mIsExhausted = items.size() < PAGE_SIZE || (nodeList.getTotal() != null &&
+                        mOffset >= nodeList.getTotal());
+            }
+            return mNodes.poll();
+        }
+
+    }
+
+    // The archive is closed to release its resources, but the target stream belongs to the
+    // caller.
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream os) {
+            super(os);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+
+    }
+
+}
@@ -1,15 +1,26 @@
 package com.dracoon.sdk.internal.util;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
 import java.util.Date;
-import java.util.TimeZone;
 
 import com.dracoon.sdk.internal.DracoonConstants;
 
 public class DateUtils {
 
+    private static final ZoneId API_ZONE = ZoneId.of(DracoonConstants.API_TIME_ZONE);
+
+    // Formatters are immutable and thread-safe. Therefore, they can be shared.
+    private static final DateTimeFormatter DATE_FORMATTER = createFormatter(
+            DracoonConstants.API_DATE_FORMAT);
+    private static final DateTimeFormatter TIME_FORMATTER = createFormatter(
+            DracoonConstants.API_TIME_FORMAT);
+
     private DateUtils() {
 
     }
@@ -19,13 +30,8 @@ public class DateUtils {
             return null;
         }
 
-        DateFormat df = createDateFormat(DracoonConstants.API_DATE_FORMAT);
-
-        try {
-            return df.parse(value);
-        } catch (ParseException e) {
-            throw new Error(e);
-        }
+        LocalDate date = parse(value, DATE_FORMATTER, LocalDate::from);
+        return Date.from(date.atStartOfDay(API_ZONE).toInstant());
     }
 
     public static String formatDate(Date value) {
@@ -33,9 +39,7 @@ public class DateUtils {
             return null;
         }
 
-        DateFormat df = createDateFormat(DracoonConstants.API_DATE_FORMAT);
-
-        return df.format(value);
+        return DATE_FORMATTER.format(value.toInstant());
     }
 
     public static Date parseTime(String value) {
@@ -43,13 +47,8 @@ public class DateUtils {
             return null;
         }
 
-        DateFormat tf = createDateFormat(DracoonConstants.API_TIME_FORMAT);
-
-        try {
-            return tf.parse(value);
-        } catch (ParseException e) {
-            throw new Error(e);
-        }
+        LocalDateTime time = parse(value, TIME_FORMATTER, LocalDateTime::from);
+        return Date.from(time.atZone(API_ZONE).toInstant());
     }
 
     public static String formatTime(Date value) {
@@ -57,15 +56,21 @@ public class DateUtils {
             return null;
         }
 
-        DateFormat tf = createDateFormat(DracoonConstants.API_TIME_FORMAT);
+        return TIME_FORMATTER.format(value.toInstant());
+    }
 
-        return tf.format(value);
+    private static DateTimeFormatter createFormatter(String format) {
+        return DateTimeFormatter.ofPattern(format).withZone(API_ZONE);
     }
 
-    private static DateFormat createDateFormat(String format) {
-        SimpleDateFormat df = new SimpleDateFormat(format);
-        df.setTimeZone(TimeZone.getTimeZone(DracoonConstants.API_TIME_ZONE));
-        return df;
+    private static <T> T parse(String value, DateTimeFormatter formatter, TemporalQuery<T> query) {
+        try {
+            // Only the formatted prefix is parsed. Trailing text (e.g. fractions of seconds or a
+            // time zone designator) is ignored.
+            return query.queryFrom(formatter.parse(value, new ParsePosition(0)));
+        } catch (DateTimeException e) {
+            throw new Error(e);
+        }
     }
 
 }
@@ -0,0 +1,50 @@
+package com.dracoon.sdk.internal.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import com.dracoon.sdk.model.HashAlgorithm;
+import okio.ByteString;
+
+public class HashUtils {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private HashUtils() {
+
+    }
+
+    public static String computeMd5Hash(InputStream is) throws IOException {
+        MessageDigest md = createMessageDigest(HashAlgorithm.MD5);
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count;
+        while ((count = is.read(buffer)) != -1) {
+            md.update(buffer, 0, count);
+        }
+
+        return toHexString(md.digest());
+    }
+
+    public static String computeContentMd5(byte[] data) {
+        MessageDigest md = createMessageDigest(HashAlgorithm.MD5);
+        return Base64.getEncoder().encodeToString(md.digest(data));
+    }
+
+    public static MessageDigest createMessageDigest(HashAlgorithm algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm.getValue());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform must support these algorithms
+            throw new IllegalStateException(algorithm.getValue() + " is not supported.", e);
+        }
+    }
+
+    public static String toHexString(byte[] hash) {
+        return ByteString.of(hash).hex();
+    }
+
+}
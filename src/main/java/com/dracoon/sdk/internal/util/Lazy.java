@@ -0,0 +1,30 @@
+package com.dracoon.sdk.internal.util;
+
+import java.util.function.Supplier;
+
+public class Lazy<T> implements Supplier<T> {
+
+    private Supplier<T> mSupplier;
+    private volatile T mValue;
+
+    public Lazy(Supplier<T> supplier) {
+        mSupplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        T value = mValue;
+        if (value != null) {
+            return value;
+        }
+
+        synchronized (this) {
+            if (mValue == null) {
+                mValue = mSupplier.get();
+                mSupplier = null;
+            }
+            return mValue;
+        }
+    }
+
+}
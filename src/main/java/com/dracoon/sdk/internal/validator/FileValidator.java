@@ -29,6 +29,7 @@ public class FileValidator extends BaseValidator {
         ValidatorUtils.validateNotNull("Upload request", request);
         validateParentNodeId(request.getParentId());
         validateFileName(request.getName());
+        ValidatorUtils.validateString("File hash", request.getHash(), true);
     }
 
     public static void validateDownloadRequest(String id, File file) {
@@ -3,6 +3,8 @@ package com.dracoon.sdk.internal.validator;
 import com.dracoon.sdk.model.CopyNodesRequest;
 import com.dracoon.sdk.model.CreateNodeCommentRequest;
 import com.dracoon.sdk.model.DeleteNodesRequest;
+import com.dracoon.sdk.model.FolderSyncRequest;
+import com.dracoon.sdk.model.GenerateMissingFileKeysRequest;
 import com.dracoon.sdk.model.GetFilesVirusScanInfoRequest;
 import com.dracoon.sdk.model.MoveNodesRequest;
 import com.dracoon.sdk.model.UpdateNodeCommentRequest;
@@ -61,6 +63,34 @@ public class NodeValidator extends BaseValidator {
         ValidatorUtils.validateString("Search string", searchString, false);
     }
 
+    public static void validateGenerateMissingFileKeysRequest(
+            GenerateMissingFileKeysRequest request) {
+        ValidatorUtils.validateNotNull("Missing file keys generation request", request);
+        if (request.getNodeId() != null) {
+            validateNodeId(request.getNodeId());
+        }
+        ValidatorUtils.validateNotNegative("offset", request.getOffset(), false);
+        validateLimit(request.getLimit(), false);
+        ValidatorUtils.validatePositiveNumber("Batch size", request.getBatchSize(), false);
+        ValidatorUtils.validateNotNull("Parallel crypto", request.isParallelCrypto());
+    }
+
+    public static void validateGenerateMissingFileKeysRequest(String id,
+            GenerateMissingFileKeysRequest request, int interval) {
+        ValidatorUtils.validateString("Generation ID", id, false);
+        validateGenerateMissingFileKeysRequest(request);
+        ValidatorUtils.validatePositiveNumber("Interval", interval, false);
+    }
+
+    public static void validateSyncRequest(String id, FolderSyncRequest request) {
+        ValidatorUtils.validateString("Sync ID", id, false);
+        ValidatorUtils.validateNotNull("Folder sync request", request);
+        validateNodeId(request.getNodeId());
+        ValidatorUtils.validateNotNull("Sync directory", request.getDirectory());
+        ValidatorUtils.validateNotNull("Sync index file", request.getIndexFile());
+        ValidatorUtils.validateNotNull("Resolution strategy", request.getResolutionStrategy());
+    }
+
     public static void validateCreateCommentRequest(CreateNodeCommentRequest request) {
         ValidatorUtils.validateNotNull("Comment create request", request);
         validateNodeId(request.getNodeId());
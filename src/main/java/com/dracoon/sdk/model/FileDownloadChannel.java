@@ -0,0 +1,42 @@
+package com.dracoon.sdk.model;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Class for reading a file at arbitrary positions.<br>
+ * <br>
+ * The channel is read-only. Data is requested in blocks and the most recently used blocks are
+ * cached, so that small reads at nearby positions don't cause a request each.<br>
+ * <br>
+ * For encrypted files, the data must be decrypted in order. Forward seeks decrypt the skipped
+ * data. A backward seek to data which is not cached anymore downloads and decrypts only the
+ * requested block, if the block was already decrypted in order. The encrypted block must match
+ * the one which was decrypted before. (For files whose key has a non-standard IV length, such a
+ * seek restarts the decryption at the start of the file. Its cost then grows with the position.)
+ * The integrity of the file is verified when the end of the file is read.
+ */
+public abstract class FileDownloadChannel implements SeekableByteChannel {
+
+    /**
+     * Writing is not supported.
+     *
+     * @throws NonWritableChannelException always.
+     */
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    /**
+     * Truncating is not supported.
+     *
+     * @throws NonWritableChannelException always.
+     */
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+}
@@ -7,4 +7,21 @@ import java.io.InputStream;
  */
 public abstract class FileDownloadStream extends InputStream {
 
+    /**
+     * Returns the hash of the read data. The hash is computed with the configured transfer hash
+     * algorithm. (See
+     * {@link com.dracoon.sdk.DracoonHttpConfig#setTransferHashAlgorithm(HashAlgorithm)
+     * DracoonHttpConfig.setTransferHashAlgorithm(HashAlgorithm)}.)<br>
+     * <br>
+     * If data was skipped without being downloaded, no hash can be computed.<br>
+     * <br>
+     * The default implementation doesn't compute a hash.
+     *
+     * @return the hex encoded hash, or <code>null</code> if the end of the file was not reached
+     *         yet, if data was skipped or if no transfer hash algorithm is configured
+     */
+    public String getHash() {
+        return null;
+    }
+
 }
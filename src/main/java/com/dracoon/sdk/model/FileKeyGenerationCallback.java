@@ -0,0 +1,40 @@
+package com.dracoon.sdk.model;
+
+import com.dracoon.sdk.error.DracoonException;
+
+/**
+ * A listener for receiving missing file keys generation progress events.
+ */
+public interface FileKeyGenerationCallback {
+
+    /**
+     * This method gets called when a generation was started.
+     *
+     * @param id The ID of the generation.
+     */
+    void onStarted(String id);
+
+    /**
+     * This method gets called after every processed batch.
+     *
+     * @param id     The ID of the generation.
+     * @param status The current status of the generation.
+     */
+    void onRunning(String id, FileKeyGenerationStatus status);
+
+    /**
+     * This method gets called when a generation was stopped.
+     *
+     * @param id The ID of the generation.
+     */
+    void onStopped(String id);
+
+    /**
+     * This method gets called when a generation failed.
+     *
+     * @param id The ID of the generation.
+     * @param e  The cause of the error.
+     */
+    void onFailed(String id, DracoonException e);
+
+}
@@ -0,0 +1,90 @@
+package com.dracoon.sdk.model;
+
+/**
+ * Missing file keys generation status model.<br>
+ * <br>
+ * This model stores information about the progress of a running missing file keys generation.
+ */
+@SuppressWarnings("unused")
+public class FileKeyGenerationStatus {
+
+    private Long mOffset;
+    private Long mGeneratedKeysCount;
+    private Double mKeysPerSecond;
+    private Long mBacklog;
+
+    /**
+     * Returns the number of missing file keys which could not be generated (e.g. because no
+     * public key is available for a user). These items stay at the start of the list of missing
+     * file keys. (This offset can be used as checkpoint to resume the generation.)
+     *
+     * @return the offset
+     */
+    public Long getOffset() {
+        return mOffset;
+    }
+
+    /**
+     * Sets the number of missing file keys which could not be generated.
+     *
+     * @param offset The offset.
+     */
+    public void setOffset(Long offset) {
+        mOffset = offset;
+    }
+
+    /**
+     * Returns the number of file keys which have been generated since the generation was started.
+     *
+     * @return the number of generated file keys
+     */
+    public Long getGeneratedKeysCount() {
+        return mGeneratedKeysCount;
+    }
+
+    /**
+     * Sets the number of file keys which have been generated since the generation was started.
+     *
+     * @param generatedKeysCount The number of generated file keys.
+     */
+    public void setGeneratedKeysCount(Long generatedKeysCount) {
+        mGeneratedKeysCount = generatedKeysCount;
+    }
+
+    /**
+     * Returns the throughput of the generation. (Waiting times between runs are not considered.)
+     *
+     * @return the number of generated file keys per second
+     */
+    public Double getKeysPerSecond() {
+        return mKeysPerSecond;
+    }
+
+    /**
+     * Sets the throughput of the generation.
+     *
+     * @param keysPerSecond The number of generated file keys per second.
+     */
+    public void setKeysPerSecond(Double keysPerSecond) {
+        mKeysPerSecond = keysPerSecond;
+    }
+
+    /**
+     * Returns the estimated number of missing file keys which have not been processed yet.
+     *
+     * @return the backlog estimate
+     */
+    public Long getBacklog() {
+        return mBacklog;
+    }
+
+    /**
+     * Sets the estimated number of missing file keys which have not been processed yet.
+     *
+     * @param backlog The backlog estimate.
+     */
+    public void setBacklog(Long backlog) {
+        mBacklog = backlog;
+    }
+
+}
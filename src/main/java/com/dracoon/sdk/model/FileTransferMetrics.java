@@ -0,0 +1,312 @@
+package com.dracoon.sdk.model;
+
+/**
+ * File transfer metrics model.<br>
+ * <br>
+ * This model stores measurements of a file upload or download which was made by the SDK. (See
+ * {@link com.dracoon.sdk.DracoonMetrics DracoonMetrics}.)<br>
+ * <br>
+ * The stage times show where the time of a transfer was spent. If the crypto time dominates, the
+ * transfer is CPU-bound. If the network time dominates, the transfer is network-bound.
+ */
+@SuppressWarnings("unused")
+public class FileTransferMetrics {
+
+    /**
+     * Enumeration of transfer types.
+     */
+    public enum Type {
+        UPLOAD,
+        DOWNLOAD
+    }
+
+    /**
+     * Enumeration of transfer outcomes.
+     */
+    public enum Status {
+        FINISHED,
+        FAILED,
+        CANCELED
+    }
+
+    private Type mType;
+    private String mId;
+    private Status mStatus;
+    private Throwable mError;
+    private boolean mIsEncrypted;
+    private long mBytes;
+    private long mDuration;
+    private long mTimeToFirstByte = -1L;
+    private long mCryptoTime;
+    private long mNetworkTime;
+    private long mUrlWaitTime;
+    private long mCompletionTime;
+    private int mChunkCount;
+    private int mChunkRetryCount;
+
+    /**
+     * Returns the type of the transfer.
+     *
+     * @return the type
+     */
+    public Type getType() {
+        return mType;
+    }
+
+    /**
+     * Sets the type of the transfer.
+     *
+     * @param type The type.
+     */
+    public void setType(Type type) {
+        mType = type;
+    }
+
+    /**
+     * Returns the ID of the transfer.
+     *
+     * @return the ID
+     */
+    public String getId() {
+        return mId;
+    }
+
+    /**
+     * Sets the ID of the transfer.
+     *
+     * @param id The ID.
+     */
+    public void setId(String id) {
+        mId = id;
+    }
+
+    /**
+     * Returns the outcome of the transfer.
+     *
+     * @return the outcome
+     */
+    public Status getStatus() {
+        return mStatus;
+    }
+
+    /**
+     * Sets the outcome of the transfer.
+     *
+     * @param status The outcome.
+     */
+    public void setStatus(Status status) {
+        mStatus = status;
+    }
+
+    /**
+     * Returns the error which caused the transfer to fail.
+     *
+     * @return the error, or <code>null</code> if the transfer did not fail
+     */
+    public Throwable getError() {
+        return mError;
+    }
+
+    /**
+     * Sets the error which caused the transfer to fail.
+     *
+     * @param error The error.
+     */
+    public void setError(Throwable error) {
+        mError = error;
+    }
+
+    /**
+     * Returns <code>true</code> if the file was encrypted.
+     *
+     * @return <code>true</code> if file was encrypted; <code>false</code> otherwise
+     */
+    public boolean isEncrypted() {
+        return mIsEncrypted;
+    }
+
+    /**
+     * Sets if the file was encrypted.
+     *
+     * @param encrypted <code>true</code> if file was encrypted; <code>false</code> otherwise
+     */
+    public void setEncrypted(boolean encrypted) {
+        mIsEncrypted = encrypted;
+    }
+
+    /**
+     * Returns the number of bytes which were transferred.
+     *
+     * @return the number of bytes
+     */
+    public long getBytes() {
+        return mBytes;
+    }
+
+    /**
+     * Sets the number of bytes which were transferred.
+     *
+     * @param bytes The number of bytes.
+     */
+    public void setBytes(long bytes) {
+        mBytes = bytes;
+    }
+
+    /**
+     * Returns the duration of the transfer in milliseconds.
+     *
+     * @return the duration
+     */
+    public long getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * Sets the duration of the transfer in milliseconds.
+     *
+     * @param duration The duration.
+     */
+    public void setDuration(long duration) {
+        mDuration = duration;
+    }
+
+    /**
+     * Returns the throughput of the transfer in bytes per second.
+     *
+     * @return the throughput
+     */
+    public long getThroughput() {
+        return mDuration > 0L ? mBytes * 1000L / mDuration : 0L;
+    }
+
+    /**
+     * Returns the time in milliseconds from the start of the transfer till the response to the
+     * first chunk was received.
+     *
+     * @return the time to first byte, or <code>-1</code> if no chunk was transferred
+     */
+    public long getTimeToFirstByte() {
+        return mTimeToFirstByte;
+    }
+
+    /**
+     * Sets the time in milliseconds from the start of the transfer till the response to the first
+     * chunk was received.
+     *
+     * @param timeToFirstByte The time to first byte.
+     */
+    public void setTimeToFirstByte(long timeToFirstByte) {
+        mTimeToFirstByte = timeToFirstByte;
+    }
+
+    /**
+     * Returns the time in milliseconds which was spent for en/decryption.
+     *
+     * @return the crypto time
+     */
+    public long getCryptoTime() {
+        return mCryptoTime;
+    }
+
+    /**
+     * Sets the time in milliseconds which was spent for en/decryption.
+     *
+     * @param cryptoTime The crypto time.
+     */
+    public void setCryptoTime(long cryptoTime) {
+        mCryptoTime = cryptoTime;
+    }
+
+    /**
+     * Returns the time in milliseconds which was spent for the transfer of chunks.
+     *
+     * @return the network time
+     */
+    public long getNetworkTime() {
+        return mNetworkTime;
+    }
+
+    /**
+     * Sets the time in milliseconds which was spent for the transfer of chunks.
+     *
+     * @param networkTime The network time.
+     */
+    public void setNetworkTime(long networkTime) {
+        mNetworkTime = networkTime;
+    }
+
+    /**
+     * Returns the time in milliseconds which was spent waiting for transfer URLs. (S3 upload URLs
+     * or download URL.)
+     *
+     * @return the URL wait time
+     */
+    public long getUrlWaitTime() {
+        return mUrlWaitTime;
+    }
+
+    /**
+     * Sets the time in milliseconds which was spent waiting for transfer URLs.
+     *
+     * @param urlWaitTime The URL wait time.
+     */
+    public void setUrlWaitTime(long urlWaitTime) {
+        mUrlWaitTime = urlWaitTime;
+    }
+
+    /**
+     * Returns the time in milliseconds which was spent for the completion of an upload. (For S3
+     * uploads, the time includes the polling of the upload status.)
+     *
+     * @return the completion time
+     */
+    public long getCompletionTime() {
+        return mCompletionTime;
+    }
+
+    /**
+     * Sets the time in milliseconds which was spent for the completion of an upload.
+     *
+     * @param completionTime The completion time.
+     */
+    public void setCompletionTime(long completionTime) {
+        mCompletionTime = completionTime;
+    }
+
+    /**
+     * Returns the number of chunks which were transferred.
+     *
+     * @return the number of chunks
+     */
+    public int getChunkCount() {
+        return mChunkCount;
+    }
+
+    /**
+     * Sets the number of chunks which were transferred.
+     *
+     * @param chunkCount The number of chunks.
+     */
+    public void setChunkCount(int chunkCount) {
+        mChunkCount = chunkCount;
+    }
+
+    /**
+     * Returns the number of chunk request retries.
+     *
+     * @return the number of chunk request retries
+     */
+    public int getChunkRetryCount() {
+        return mChunkRetryCount;
+    }
+
+    /**
+     * Sets the number of chunk request retries.
+     *
+     * @param chunkRetryCount The number of chunk request retries.
+     */
+    public void setChunkRetryCount(int chunkRetryCount) {
+        mChunkRetryCount = chunkRetryCount;
+    }
+
+}
@@ -30,6 +30,21 @@ public interface FileUploadCallback {
      */
     void onFinished(String id, Node node);
 
+    /**
+     * This method gets called right before {@link #onFinished(String, Node)}, if a hash of the
+     * uploaded data was computed. (See
+     * {@link com.dracoon.sdk.DracoonHttpConfig#setTransferHashAlgorithm(HashAlgorithm)
+     * DracoonHttpConfig.setTransferHashAlgorithm(HashAlgorithm)}.)<br>
+     * <br>
+     * The default implementation does nothing.
+     *
+     * @param id   The ID of the upload.
+     * @param hash The hex encoded hash of the plain data.
+     */
+    default void onHashComputed(String id, String hash) {
+        // SONAR: Empty method body is intentional
+    }
+
     /**
      * This method gets called when a upload was canceled.
      *
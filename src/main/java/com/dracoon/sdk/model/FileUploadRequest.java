@@ -20,6 +20,9 @@ public class FileUploadRequest {
     private Date mOriginalCreationDate;
     private Date mOriginalModificationDate;
 
+    private Boolean mSkipUnchanged;
+    private String mHash;
+
     private FileUploadRequest() {
 
     }
@@ -96,6 +99,25 @@ public class FileUploadRequest {
         return mOriginalModificationDate;
     }
 
+    /**
+     * Returns <code>true</code> if the upload should be skipped if the file is unchanged.
+     *
+     * @return <code>true</code> if the upload should be skipped if the file is unchanged;
+     *         <code>false</code> otherwise
+     */
+    public Boolean isSkipUnchanged() {
+        return mSkipUnchanged;
+    }
+
+    /**
+     * Returns the known MD5 hash of the new file.
+     *
+     * @return the MD5 hash, or <code>null</code> if the hash is not known
+     */
+    public String getHash() {
+        return mHash;
+    }
+
     /**
      * This builder creates new instances of {@link FileUploadRequest}.<br>
      * <br>
@@ -108,7 +130,9 @@ public class FileUploadRequest {
      * - Notes:                        {@link #notes(String)}<br>
      * - Expiration date:              {@link #expirationDate(Date)}<br>
      * - Original creation date:       {@link #originalCreationDate(Date)}<br>
-     * - Original modification date:   {@link #originalModificationDate(Date)}
+     * - Original modification date:   {@link #originalModificationDate(Date)}<br>
+     * - Skip unchanged file:          {@link #skipUnchanged(Boolean)} (Default: false)<br>
+     * - MD5 hash:                     {@link #hash(String)}
      */
     public static class Builder {
 
@@ -126,6 +150,7 @@ public class FileUploadRequest {
             mRequest.mParentId = parentId;
             mRequest.mName = name;
             mRequest.mResolutionStrategy = ResolutionStrategy.AUTO_RENAME;
+            mRequest.mSkipUnchanged = false;
         }
 
         /**
@@ -201,6 +226,46 @@ public class FileUploadRequest {
             return this;
         }
 
+        /**
+         * Enables/disables skipping of unchanged files.<br>
+         * <br>
+         * If enabled, the file is compared with an existing file of the same name in the parent
+         * node before the upload. If both have the same size and MD5 hash, no data is
+         * transferred and the existing file is returned. Classification, notes and expiration
+         * date of the existing file are updated, if they were set and differ.<br>
+         * <br>
+         * The hash of the new file is taken from {@link #hash(String)}. If no hash was set and
+         * the file is uploaded from a {@link java.io.File File}, the hash is computed in an
+         * additional pass over the file. Uploads from streams without a known hash and upload
+         * streams are never skipped. Files in encrypted rooms are never skipped either, because
+         * the hash of an encrypted file is the hash of its encrypted data.<br>
+         * <br>
+         * At asynchronous uploads, the comparison is done by the upload thread. The result is
+         * reported to the callback.
+         *
+         * @param skipUnchanged <code>true</code> to skip unchanged files; <code>false</code>
+         *                      otherwise. (Default: <code>false</code>)
+         *
+         * @return a reference to this object
+         */
+        public Builder skipUnchanged(Boolean skipUnchanged) {
+            mRequest.mSkipUnchanged = skipUnchanged;
+            return this;
+        }
+
+        /**
+         * Sets the known MD5 hash of the new file. (E.g. a hash which was cached at a previous
+         * upload.) The hash is only used to skip unchanged files.
+         *
+         * @param hash The MD5 hash. (Hex encoded.)
+         *
+         * @return a reference to this object
+         */
+        public Builder hash(String hash) {
+            mRequest.mHash = hash;
+            return this;
+        }
+
         /**
          * Creates a new {@link FileUploadRequest} instance with the supplied configuration.
          *
@@ -2,6 +2,7 @@ package com.dracoon.sdk.model;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Class for uploading a file as a stream of bytes.
@@ -18,4 +19,38 @@ public abstract class FileUploadStream extends OutputStream {
      */
     public abstract Node complete() throws IOException;
 
+    /**
+     * Completes an upload without waiting for the server to finish it. A completed upload stream
+     * cannot perform write operations and cannot be reopened.<br>
+     * <br>
+     * The remaining data is written before this method returns. For S3 uploads, the server
+     * assembles the file afterwards. The returned future is completed with the new node when the
+     * file is available. (Registered callbacks are notified at the same time.)<br>
+     * <br>
+     * The default implementation completes the upload synchronously.
+     *
+     * @return a future which is completed with the new node, or which is completed exceptionally
+     *         if the completion failed
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public CompletableFuture<Node> completeAsync() throws IOException {
+        return CompletableFuture.completedFuture(complete());
+    }
+
+    /**
+     * Returns the hash of the written data. The hash is computed with the configured transfer hash
+     * algorithm. (See
+     * {@link com.dracoon.sdk.DracoonHttpConfig#setTransferHashAlgorithm(HashAlgorithm)
+     * DracoonHttpConfig.setTransferHashAlgorithm(HashAlgorithm)}.)<br>
+     * <br>
+     * The default implementation doesn't compute a hash.
+     *
+     * @return the hex encoded hash, or <code>null</code> if the upload was not completed or if no
+     *         transfer hash algorithm is configured
+     */
+    public String getHash() {
+        return null;
+    }
+
 }
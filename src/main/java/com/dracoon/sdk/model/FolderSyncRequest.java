@@ -0,0 +1,118 @@
+package com.dracoon.sdk.model;
+
+import java.io.File;
+
+/**
+ * Request to synchronize a local directory with a room or folder.<br>
+ * <br>
+ * A new instance can be created with {@link Builder}.
+ */
+@SuppressWarnings("unused")
+public class FolderSyncRequest {
+
+    private Long mNodeId;
+    private File mDirectory;
+    private File mIndexFile;
+    private ResolutionStrategy mResolutionStrategy;
+
+    private FolderSyncRequest() {
+
+    }
+
+    /**
+     * Returns the ID of the room or folder which should be synchronized.
+     *
+     * @return the node ID
+     */
+    public Long getNodeId() {
+        return mNodeId;
+    }
+
+    /**
+     * Returns the local directory which should be synchronized.
+     *
+     * @return the local directory
+     */
+    public File getDirectory() {
+        return mDirectory;
+    }
+
+    /**
+     * Returns the file which stores the synchronization state.
+     *
+     * @return the index file
+     */
+    public File getIndexFile() {
+        return mIndexFile;
+    }
+
+    /**
+     * Returns the resolution strategy for files which were changed locally and remotely.
+     *
+     * @return the conflict resolution strategy
+     */
+    public ResolutionStrategy getResolutionStrategy() {
+        return mResolutionStrategy;
+    }
+
+    /**
+     * This builder creates new instances of {@link FolderSyncRequest}.<br>
+     * <br>
+     * Following properties can be set:<br>
+     * - Node ID (mandatory):          {@link #Builder(Long, File, File)}<br>
+     * - Directory (mandatory):        {@link #Builder(Long, File, File)}<br>
+     * - Index file (mandatory):       {@link #Builder(Long, File, File)}<br>
+     * - Conflict resolution strategy: {@link #resolutionStrategy(ResolutionStrategy)}<br>
+     * (Default: AUTO_RENAME)
+     */
+    public static class Builder {
+
+        private final FolderSyncRequest mRequest;
+
+        /**
+         * Constructs a new builder.
+         *
+         * @param nodeId    The ID of the room or folder. (ID must be positive.)
+         * @param directory The local directory. (Directory must exist.)
+         * @param indexFile The file which stores the synchronization state. (The file is created
+         *                  at the first synchronization. It must be kept for later
+         *                  synchronizations of the same directory.)
+         */
+        public Builder(Long nodeId, File directory, File indexFile) {
+            mRequest = new FolderSyncRequest();
+            mRequest.mNodeId = nodeId;
+            mRequest.mDirectory = directory;
+            mRequest.mIndexFile = indexFile;
+            mRequest.mResolutionStrategy = ResolutionStrategy.AUTO_RENAME;
+        }
+
+        /**
+         * Sets the resolution strategy for files which were changed locally and remotely.<br>
+         * <br>
+         * - AUTO_RENAME: The local file is uploaded with a new name and the remote file is
+         *   downloaded. (Both versions are kept on both sides.)<br>
+         * - OVERWRITE: The local file is uploaded and overwrites the remote file.<br>
+         * - FAIL: The file is skipped. The conflict is reported again at every synchronization
+         *   until one of the versions is removed.
+         *
+         * @param resolutionStrategy The conflict resolution strategy. (Default: AUTO_RENAME)
+         *
+         * @return a reference to this object
+         */
+        public Builder resolutionStrategy(ResolutionStrategy resolutionStrategy) {
+            mRequest.mResolutionStrategy = resolutionStrategy;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link FolderSyncRequest} instance with the supplied configuration.
+         *
+         * @return a new {@link FolderSyncRequest} instance
+         */
+        public FolderSyncRequest build() {
+            return mRequest;
+        }
+
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.dracoon.sdk.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folder synchronization result model.<br>
+ * <br>
+ * This model stores information about the changes which were made by a synchronization.
+ */
+@SuppressWarnings("unused")
+public class FolderSyncResult {
+
+    private int mUploadCount;
+    private int mDownloadCount;
+    private int mRemoteDeleteCount;
+    private int mLocalDeleteCount;
+    private List<String> mConflictPaths = new ArrayList<>();
+
+    /**
+     * Returns the number of files which were uploaded.
+     *
+     * @return the number of uploaded files
+     */
+    public int getUploadCount() {
+        return mUploadCount;
+    }
+
+    /**
+     * Sets the number of files which were uploaded.
+     *
+     * @param uploadCount The number of uploaded files.
+     */
+    public void setUploadCount(int uploadCount) {
+        mUploadCount = uploadCount;
+    }
+
+    /**
+     * Returns the number of files which were downloaded.
+     *
+     * @return the number of downloaded files
+     */
+    public int getDownloadCount() {
+        return mDownloadCount;
+    }
+
+    /**
+     * Sets the number of files which were downloaded.
+     *
+     * @param downloadCount The number of downloaded files.
+     */
+    public void setDownloadCount(int downloadCount) {
+        mDownloadCount = downloadCount;
+    }
+
+    /**
+     * Returns the number of nodes which were deleted remotely.
+     *
+     * @return the number of remotely deleted nodes
+     */
+    public int getRemoteDeleteCount() {
+        return mRemoteDeleteCount;
+    }
+
+    /**
+     * Sets the number of nodes which were deleted remotely.
+     *
+     * @param remoteDeleteCount The number of remotely deleted nodes.
+     */
+    public void setRemoteDeleteCount(int remoteDeleteCount) {
+        mRemoteDeleteCount = remoteDeleteCount;
+    }
+
+    /**
+     * Returns the number of files and directories which were deleted locally.
+     *
+     * @return the number of locally deleted files and directories
+     */
+    public int getLocalDeleteCount() {
+        return mLocalDeleteCount;
+    }
+
+    /**
+     * Sets the number of files and directories which were deleted locally.
+     *
+     * @param localDeleteCount The number of locally deleted files and directories.
+     */
+    public void setLocalDeleteCount(int localDeleteCount) {
+        mLocalDeleteCount = localDeleteCount;
+    }
+
+    /**
+     * Returns the relative paths of files which were changed locally and remotely.
+     *
+     * @return the conflict paths
+     */
+    public List<String> getConflictPaths() {
+        return mConflictPaths;
+    }
+
+    /**
+     * Sets the relative paths of files which were changed locally and remotely.
+     *
+     * @param conflictPaths The conflict paths.
+     */
+    public void setConflictPaths(List<String> conflictPaths) {
+        mConflictPaths = conflictPaths;
+    }
+
+}
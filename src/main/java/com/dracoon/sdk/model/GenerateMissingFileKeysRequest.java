@@ -0,0 +1,162 @@
+package com.dracoon.sdk.model;
+
+/**
+ * Request to generate missing file keys.<br>
+ * <br>
+ * A new instance can be created with {@link Builder}.
+ */
+@SuppressWarnings("unused")
+public class GenerateMissingFileKeysRequest {
+
+    private Long mNodeId;
+    private Long mOffset;
+    private Integer mLimit;
+    private Integer mBatchSize;
+    private Boolean mParallelCrypto;
+
+    private GenerateMissingFileKeysRequest() {
+
+    }
+
+    /**
+     * Returns the node ID of the file for which file keys should be generated.
+     *
+     * @return the node ID, or <code>null</code> if file keys should be generated for all files
+     */
+    public Long getNodeId() {
+        return mNodeId;
+    }
+
+    /**
+     * Returns the offset at which the generation of file keys should start.
+     *
+     * @return the offset
+     */
+    public Long getOffset() {
+        return mOffset;
+    }
+
+    /**
+     * Returns the maximum number of file keys which should be generated.
+     *
+     * @return the number limit
+     */
+    public Integer getLimit() {
+        return mLimit;
+    }
+
+    /**
+     * Returns the number of missing file keys which are processed in one batch.
+     *
+     * @return the batch size
+     */
+    public Integer getBatchSize() {
+        return mBatchSize;
+    }
+
+    /**
+     * Returns <code>true</code> if file keys should be en/decrypted in parallel.
+     *
+     * @return <code>true</code> if file keys should be en/decrypted in parallel;
+     *         <code>false</code> otherwise
+     */
+    public Boolean isParallelCrypto() {
+        return mParallelCrypto;
+    }
+
+    /**
+     * This builder creates new instances of {@link GenerateMissingFileKeysRequest}.<br>
+     * <br>
+     * Following properties can be set:<br>
+     * - Number limit (mandatory): {@link #Builder(Integer)}<br>
+     * - Node ID:                  {@link #nodeId(Long)}<br>
+     * - Offset:                   {@link #offset(Long)} (Default: 0)<br>
+     * - Batch size:               {@link #batchSize(Integer)} (Default: 10)<br>
+     * - Parallel en/decryption:  {@link #parallelCrypto(Boolean)} (Default: false)
+     */
+    public static class Builder {
+
+        private final GenerateMissingFileKeysRequest mRequest;
+
+        /**
+         * Constructs a new builder.
+         *
+         * @param limit The number limit. (Number of records; must be positive.)
+         */
+        public Builder(Integer limit) {
+            mRequest = new GenerateMissingFileKeysRequest();
+            mRequest.mOffset = 0L;
+            mRequest.mLimit = limit;
+            mRequest.mBatchSize = 10;
+            mRequest.mParallelCrypto = false;
+        }
+
+        /**
+         * Sets the node ID of the file for which file keys should be generated. (If not set, file
+         * keys are generated for all files.)
+         *
+         * @param nodeId The node ID of the file. (ID must be positive.)
+         *
+         * @return a reference to this object
+         */
+        public Builder nodeId(Long nodeId) {
+            mRequest.mNodeId = nodeId;
+            return this;
+        }
+
+        /**
+         * Sets the offset at which the generation of file keys should start. (This can be used to
+         * resume a generation at a previously reported checkpoint.)
+         *
+         * @param offset The offset. (Must be 0 or positive; default: 0)
+         *
+         * @return a reference to this object
+         */
+        public Builder offset(Long offset) {
+            mRequest.mOffset = offset;
+            return this;
+        }
+
+        /**
+         * Sets the number of missing file keys which are processed in one batch.
+         *
+         * @param batchSize The batch size. (Must be positive; default: 10)
+         *
+         * @return a reference to this object
+         */
+        public Builder batchSize(Integer batchSize) {
+            mRequest.mBatchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Enables/disables parallel en/decryption of file keys.<br>
+         * <br>
+         * If enabled, the file keys of a batch are en/decrypted in parallel. (Batches themselves
+         * are still processed one after another. The list of missing file keys changes when file
+         * keys are set. Therefore, the next batch can only be queried after the previous batch
+         * was completed.)
+         *
+         * @param parallelCrypto <code>true</code> to enable parallel en/decryption;
+         *                       <code>false</code> otherwise. (Default: <code>false</code>)
+         *
+         * @return a reference to this object
+         */
+        public Builder parallelCrypto(Boolean parallelCrypto) {
+            mRequest.mParallelCrypto = parallelCrypto;
+            return this;
+        }
+
+        /**
+         * Creates a new {@link GenerateMissingFileKeysRequest} instance with the supplied
+         * configuration.
+         *
+         * @return a new {@link GenerateMissingFileKeysRequest} instance
+         */
+        public GenerateMissingFileKeysRequest build() {
+            return mRequest;
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.dracoon.sdk.model;
+
+/**
+ * Enumeration of hash algorithms.
+ */
+@SuppressWarnings("unused")
+public enum HashAlgorithm {
+
+    MD5("MD5"),
+    SHA_256("SHA-256");
+
+    private final String mValue;
+
+    /**
+     * Constructs a new enumeration constant with the provided hash algorithm value.
+     *
+     * @param value The hash algorithm value.
+     */
+    HashAlgorithm(String value) {
+        mValue = value;
+    }
+
+    /**
+     * Returns the value of the hash algorithm. (The value is the standard Java name of the
+     * algorithm.)
+     *
+     * @return the hash algorithm value
+     */
+    public String getValue() {
+        return mValue;
+    }
+
+    /**
+     * Finds a enumeration constant by a provided hash algorithm value.
+     *
+     * @param value The hash algorithm value of the constant to return.
+     *
+     * @return the appropriate enumeration constant, or <code>null</code> if no matching enumeration
+     *         constant could be found
+     */
+    public static HashAlgorithm getByValue(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        for (HashAlgorithm a : HashAlgorithm.values()) {
+            if (value.equals(a.mValue)) {
+                return a;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.dracoon.sdk.model;
+
+/**
+ * HTTP request metrics model.<br>
+ * <br>
+ * This model stores measurements of a HTTP request which was made by the SDK. (See
+ * {@link com.dracoon.sdk.DracoonMetrics DracoonMetrics}.)
+ */
+@SuppressWarnings("unused")
+public class HttpRequestMetrics {
+
+    private String mMethod;
+    private String mEndpoint;
+    private Integer mStatusCode;
+    private Throwable mError;
+    private long mDuration;
+    private int mRetryCount;
+    private long mRateLimitWaitTime;
+    private long mRequestSize = -1L;
+    private long mResponseSize = -1L;
+
+    /**
+     * Returns the HTTP method of the request.
+     *
+     * @return the HTTP method (e.g. "GET")
+     */
+    public String getMethod() {
+        return mMethod;
+    }
+
+    /**
+     * Sets the HTTP method of the request.
+     *
+     * @param method The HTTP method.
+     */
+    public void setMethod(String method) {
+        mMethod = method;
+    }
+
+    /**
+     * Returns the endpoint template of the request.<br>
+     * <br>
+     * For API requests, the template contains the path with placeholders instead of IDs (e.g.
+     * "/api/v4/nodes/{node_id}"). For requests to URLs which were handed out by the server (e.g.
+     * file downloads), the template is a placeholder for the URL (e.g. "{download_url}").
+     *
+     * @return the endpoint template
+     */
+    public String getEndpoint() {
+        return mEndpoint;
+    }
+
+    /**
+     * Sets the endpoint template of the request.
+     *
+     * @param endpoint The endpoint template.
+     */
+    public void setEndpoint(String endpoint) {
+        mEndpoint = endpoint;
+    }
+
+    /**
+     * Returns the HTTP status code of the final response.
+     *
+     * @return the HTTP status code, or <code>null</code> if no response was received
+     */
+    public Integer getStatusCode() {
+        return mStatusCode;
+    }
+
+    /**
+     * Sets the HTTP status code of the final response.
+     *
+     * @param statusCode The HTTP status code.
+     */
+    public void setStatusCode(Integer statusCode) {
+        mStatusCode = statusCode;
+    }
+
+    /**
+     * Returns the error which caused the request to fail.
+     *
+     * @return the error, or <code>null</code> if a response was received
+     */
+    public Throwable getError() {
+        return mError;
+    }
+
+    /**
+     * Sets the error which caused the request to fail.
+     *
+     * @param error The error.
+     */
+    public void setError(Throwable error) {
+        mError = error;
+    }
+
+    /**
+     * Returns the duration of the request in milliseconds. (Retries and waits are included.)
+     *
+     * @return the duration
+     */
+    public long getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * Sets the duration of the request in milliseconds.
+     *
+     * @param duration The duration.
+     */
+    public void setDuration(long duration) {
+        mDuration = duration;
+    }
+
+    /**
+     * Returns the number of retries. (Retries after network errors and after rate limit responses
+     * are counted.)
+     *
+     * @return the number of retries
+     */
+    public int getRetryCount() {
+        return mRetryCount;
+    }
+
+    /**
+     * Sets the number of retries.
+     *
+     * @param retryCount The number of retries.
+     */
+    public void setRetryCount(int retryCount) {
+        mRetryCount = retryCount;
+    }
+
+    /**
+     * Returns the time in milliseconds which was waited because of rate limit responses.
+     *
+     * @return the rate limit wait time
+     */
+    public long getRateLimitWaitTime() {
+        return mRateLimitWaitTime;
+    }
+
+    /**
+     * Sets the time in milliseconds which was waited because of rate limit responses.
+     *
+     * @param rateLimitWaitTime The rate limit wait time.
+     */
+    public void setRateLimitWaitTime(long rateLimitWaitTime) {
+        mRateLimitWaitTime = rateLimitWaitTime;
+    }
+
+    /**
+     * Returns the size of the request body in bytes.
+     *
+     * @return the request body size, or <code>-1</code> if the size is unknown
+     */
+    public long getRequestSize() {
+        return mRequestSize;
+    }
+
+    /**
+     * Sets the size of the request body in bytes.
+     *
+     * @param requestSize The request body size.
+     */
+    public void setRequestSize(long requestSize) {
+        mRequestSize = requestSize;
+    }
+
+    /**
+     * Returns the size of the response body in bytes. (The size is taken from the response
+     * headers.)
+     *
+     * @return the response body size, or <code>-1</code> if the size is unknown
+     */
+    public long getResponseSize() {
+        return mResponseSize;
+    }
+
+    /**
+     * Sets the size of the response body in bytes.
+     *
+     * @param responseSize The response body size.
+     */
+    public void setResponseSize(long responseSize) {
+        mResponseSize = responseSize;
+    }
+
+}
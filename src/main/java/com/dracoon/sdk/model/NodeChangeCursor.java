@@ -0,0 +1,53 @@
+package com.dracoon.sdk.model;
+
+import java.util.Date;
+
+/**
+ * Node change cursor model.<br>
+ * <br>
+ * This model marks the point up to which changes of a node tree are known. It is returned by
+ * {@link NodeChangeFeed#getCursor()} and can be stored to query only newer changes later.
+ */
+@SuppressWarnings("unused")
+public class NodeChangeCursor {
+
+    private Long mBranchVersion;
+    private Date mUpdatedAt;
+
+    /**
+     * Returns the branch version of the queried node at the time of the query.
+     *
+     * @return the branch version, or <code>null</code> if it is not known
+     */
+    public Long getBranchVersion() {
+        return mBranchVersion;
+    }
+
+    /**
+     * Sets the branch version of the queried node at the time of the query.
+     *
+     * @param branchVersion The branch version.
+     */
+    public void setBranchVersion(Long branchVersion) {
+        mBranchVersion = branchVersion;
+    }
+
+    /**
+     * Returns the latest update date of the returned changes.
+     *
+     * @return the update date, or <code>null</code> if it is not known
+     */
+    public Date getUpdatedAt() {
+        return mUpdatedAt;
+    }
+
+    /**
+     * Sets the latest update date of the returned changes.
+     *
+     * @param updatedAt The update date.
+     */
+    public void setUpdatedAt(Date updatedAt) {
+        mUpdatedAt = updatedAt;
+    }
+
+}
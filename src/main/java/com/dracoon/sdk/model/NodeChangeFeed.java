@@ -0,0 +1,48 @@
+package com.dracoon.sdk.model;
+
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+
+/**
+ * Class for iterating the changed nodes of a node tree.<br>
+ * <br>
+ * Changed nodes are queried page by page while the feed is iterated. A change increases the
+ * branch versions of the changed node and of all its parent nodes. Therefore, parent rooms and
+ * folders of changed nodes are returned too. Deleted nodes are not returned. (Deletions can be
+ * detected by comparing the child nodes of returned rooms and folders with a local state.)
+ */
+public abstract class NodeChangeFeed {
+
+    /**
+     * Returns <code>true</code> if the feed has more changed nodes.
+     *
+     * @return <code>true</code> if the feed has more changed nodes; <code>false</code> otherwise
+     *
+     * @throws DracoonNetIOException If a network error occurred.
+     * @throws DracoonApiException   If the API responded with an error.
+     */
+    public abstract boolean hasNext() throws DracoonNetIOException, DracoonApiException;
+
+    /**
+     * Returns the next changed node.
+     *
+     * @return the next changed node
+     *
+     * @throws DracoonNetIOException If a network error occurred.
+     * @throws DracoonApiException   If the API responded with an error.
+     * @throws java.util.NoSuchElementException If the feed has no more changed nodes.
+     */
+    public abstract Node next() throws DracoonNetIOException, DracoonApiException;
+
+    /**
+     * Returns the cursor for the next query.<br>
+     * <br>
+     * The cursor should only be stored after all changed nodes have been processed. Otherwise,
+     * the remaining changes are lost. Changes which were made during the iteration are returned
+     * by the next query. (Nodes can be returned again by the next query.)
+     *
+     * @return the new cursor
+     */
+    public abstract NodeChangeCursor getCursor();
+
+}
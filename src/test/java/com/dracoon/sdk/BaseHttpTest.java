@@ -141,6 +141,10 @@ public abstract class BaseHttpTest extends BaseTest {
         mMockWebServer.takeRequest();
     }
 
+    protected int getRequestCount() {
+        return mMockWebServer.getRequestCount();
+    }
+
     protected void checkRequest(String name) throws InterruptedException {
         checkRecordedRequest(name, mMockWebServer.takeRequest());
     }
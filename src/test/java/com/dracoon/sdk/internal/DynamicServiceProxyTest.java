@@ -0,0 +1,39 @@
+package com.dracoon.sdk.internal;
+
+import java.net.URL;
+
+import com.dracoon.sdk.DracoonClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DynamicServiceProxyTest {
+
+    private DracoonClient mClient;
+
+    @BeforeEach
+    void setup() throws Exception {
+        DracoonClientImpl client = new DracoonClientImpl(new URL("https://dracoon.team"));
+        client.init();
+        mClient = client;
+    }
+
+    @Test
+    void testMethodWithoutArgumentsDispatched() {
+        DracoonClient.ServerSettings settings = mClient.server().settings();
+
+        assertNotNull(settings);
+        assertSame(settings, mClient.server().settings());
+    }
+
+    @Test
+    void testExceptionNotWrapped() {
+        DracoonClient.Nodes nodes = mClient.nodes();
+
+        assertThrows(IllegalArgumentException.class, () -> nodes.getNode(-1L));
+    }
+
+}
@@ -27,8 +27,8 @@ public class TestHttpHelper extends HttpHelper {
     // --- Executor methods ---
 
     @Override
-    protected Object executeRequestInternally(Object call) throws DracoonNetIOException,
-            InterruptedException {
+    protected Object executeRequestInternally(Object call, RequestStats stats)
+            throws DracoonNetIOException, InterruptedException {
         try {
             return executeCall(call);
         } catch (IOException e) {
@@ -7,20 +7,25 @@ import java.util.stream.Collectors;
 
 import com.dracoon.sdk.internal.service.AccountService;
 import com.dracoon.sdk.internal.service.AvatarDownloader;
+import com.dracoon.sdk.internal.service.DownloadChannel;
 import com.dracoon.sdk.internal.service.DownloadStream;
 import com.dracoon.sdk.internal.service.DownloadThread;
 import com.dracoon.sdk.internal.service.FileKeyFetcher;
+import com.dracoon.sdk.internal.service.FileKeyGenerationThread;
 import com.dracoon.sdk.internal.service.FileKeyGenerator;
 import com.dracoon.sdk.internal.service.NodesService;
+import com.dracoon.sdk.internal.service.ResourceCache;
 import com.dracoon.sdk.internal.service.ServerInfoService;
 import com.dracoon.sdk.internal.service.ServerPoliciesService;
 import com.dracoon.sdk.internal.service.ServerSettingsService;
 import com.dracoon.sdk.internal.service.Service;
 import com.dracoon.sdk.internal.service.ServiceLocator;
 import com.dracoon.sdk.internal.service.SharesService;
+import com.dracoon.sdk.internal.service.SyncEngine;
 import com.dracoon.sdk.internal.service.UploadStream;
 import com.dracoon.sdk.internal.service.UploadThread;
 import com.dracoon.sdk.internal.service.UsersService;
+import com.dracoon.sdk.internal.service.ZipExporter;
 
 public class TestServiceLocator implements ServiceLocator {
 
@@ -83,6 +88,16 @@ public class TestServiceLocator implements ServiceLocator {
         return get(FileKeyGenerator.class);
     }
 
+    @Override
+    public FileKeyGenerationThread.Factory getFileKeyGenerationThreadFactory() {
+        return get(FileKeyGenerationThread.Factory.class);
+    }
+
+    @Override
+    public ResourceCache getResourceCache() {
+        return get(ResourceCache.class);
+    }
+
     @Override
     public AvatarDownloader getAvatarDownloader() {
         return get(AvatarDownloader.class);
@@ -98,6 +113,21 @@ public class TestServiceLocator implements ServiceLocator {
         return get(DownloadThread.Factory.class);
     }
 
+    @Override
+    public DownloadChannel.Factory getDownloadChannelFactory() {
+        return get(DownloadChannel.Factory.class);
+    }
+
+    @Override
+    public ZipExporter getZipExporter() {
+        return get(ZipExporter.class);
+    }
+
+    @Override
+    public SyncEngine getSyncEngine() {
+        return get(SyncEngine.class);
+    }
+
     @Override
     public UploadStream.Factory getUploadStreamFactory() {
         return get(UploadStream.Factory.class);
@@ -109,11 +139,15 @@ public class TestServiceLocator implements ServiceLocator {
     }
 
     @Override
-    public List<Service> getServices() {
-        return mServices.entrySet()
+    public List<Service> getServices(Class<?> clientClass) {
+        return mServices.values()
                 .stream()
                 .filter(s -> (s instanceof Service))
                 .map(s -> (Service) s)
+                .filter(s -> {
+                    ClientImpl clientImpl = s.getClass().getAnnotation(ClientImpl.class);
+                    return clientImpl != null && clientImpl.value() == clientClass;
+                })
                 .collect(Collectors.toList());
     }
 
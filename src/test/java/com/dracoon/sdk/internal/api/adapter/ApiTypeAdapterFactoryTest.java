@@ -0,0 +1,190 @@
+package com.dracoon.sdk.internal.api.adapter;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.dracoon.sdk.internal.api.model.ApiFileKey;
+import com.dracoon.sdk.internal.api.model.ApiMissingFileKeys;
+import com.dracoon.sdk.internal.api.model.ApiNode;
+import com.dracoon.sdk.internal.api.model.ApiNodeList;
+import com.dracoon.sdk.internal.api.model.ApiRange;
+import com.dracoon.sdk.internal.api.model.ApiS3FileUploadUrlList;
+import com.dracoon.sdk.internal.util.GsonCharArrayTypeAdapter;
+import com.dracoon.sdk.internal.util.GsonDateTypeAdapter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApiTypeAdapterFactoryTest {
+
+    private static final String NODE_JSON = "{\"id\":2,\"type\":\"room\",\"parentId\":1," +
+            "\"parentPath\":\"/test/\",\"name\":\"test-room\",\"fileType\":\"txt\"," +
+            "\"mediaType\":\"text/plain\",\"size\":23632436,\"quota\":1073741824," +
+            "\"classification\":1,\"notes\":\"Notes\",\"hash\":\"abc\"," +
+            "\"expireAt\":\"2022-02-01T00:00:00Z\",\"createdAt\":\"2022-01-01T01:00:00Z\"," +
+            "\"createdBy\":{\"id\":1,\"userType\":\"internal\",\"firstName\":\"John\"," +
+            "\"lastName\":\"Doe\",\"userName\":\"j.doe\",\"email\":\"j.doe@dracoon.com\"," +
+            "\"avatarUuid\":\"c33e748c-d05b-4af2-90e3-1a24d79b1d41\"}," +
+            "\"updatedAt\":\"2022-01-01T02:00:00Z\",\"updatedBy\":{\"id\":2}," +
+            "\"timestampCreation\":\"2022-01-01T00:30:00Z\"," +
+            "\"timestampModification\":\"2022-01-01T01:30:00Z\"," +
+            "\"permissions\":{\"manage\":false,\"read\":true,\"create\":true,\"change\":true," +
+            "\"delete\":true,\"manageDownloadShare\":false,\"manageUploadShare\":false," +
+            "\"readRecycleBin\":true,\"restoreRecycleBin\":true,\"deleteRecycleBin\":false}," +
+            "\"inheritPermissions\":false,\"isFavorite\":false,\"isEncrypted\":true," +
+            "\"encryptionInfo\":{\"userKeyState\":\"available\",\"roomKeyState\":\"available\"," +
+            "\"dataSpaceKeyState\":\"none\"},\"cntRooms\":0,\"cntFolders\":1,\"cntFiles\":2," +
+            "\"cntDeletedVersions\":3,\"recycleBinRetentionPeriod\":30,\"cntComments\":0," +
+            "\"cntDownloadShares\":4,\"cntUploadShares\":5,\"branchVersion\":1636579091947," +
+            "\"mediaToken\":\"token\",\"virusProtectionInfo\":{\"verdict\":\"CLEAN\"," +
+            "\"lastCheckedAt\":\"2022-01-01T03:00:00Z\"}}";
+
+    private static final String NODE_LIST_JSON = "{\"range\":{\"offset\":0,\"limit\":2," +
+            "\"total\":2},\"items\":[" + NODE_JSON + "," + NODE_JSON + "]}";
+
+    private static final String FILE_KEY_JSON = "{\"version\":\"A256GCM\",\"key\":\"a2V5\"," +
+            "\"iv\":\"aXY=\",\"tag\":\"dGFn\"}";
+
+    private static final String MISSING_FILE_KEYS_JSON = "{\"range\":{\"offset\":0," +
+            "\"limit\":2,\"total\":2},\"items\":[{\"userId\":1,\"fileId\":3}," +
+            "{\"userId\":2,\"fileId\":3}],\"users\":[{\"id\":1,\"publicKeyContainer\":" +
+            "{\"version\":\"RSA-4096\",\"publicKey\":\"-----BEGIN PUBLIC KEY-----\"}}]," +
+            "\"files\":[{\"id\":3,\"fileKeyContainer\":" + FILE_KEY_JSON + "}]}";
+
+    private static final String S3_FILE_UPLOAD_URL_LIST_JSON = "{\"urls\":[{\"url\":" +
+            "\"https://s3.dracoon.com/1\",\"partNumber\":1},{\"url\":" +
+            "\"https://s3.dracoon.com/2\",\"partNumber\":2}]}";
+
+    private final Gson mGson = createGsonBuilder()
+            .registerTypeAdapterFactory(new ApiTypeAdapterFactory())
+            .create();
+
+    private final Gson mReflectiveGson = createGsonBuilder()
+            .create();
+
+    private static GsonBuilder createGsonBuilder() {
+        return new GsonBuilder()
+                .disableHtmlEscaping()
+                .registerTypeAdapter(GsonDateTypeAdapter.TYPE, new GsonDateTypeAdapter())
+                .registerTypeAdapter(GsonCharArrayTypeAdapter.TYPE, new GsonCharArrayTypeAdapter());
+    }
+
+    private static Stream<Arguments> createTestArguments() {
+        return Stream.of(
+                Arguments.of(ApiNode.class, NODE_JSON),
+                Arguments.of(ApiNodeList.class, NODE_LIST_JSON),
+                Arguments.of(ApiFileKey.class, FILE_KEY_JSON),
+                Arguments.of(ApiMissingFileKeys.class, MISSING_FILE_KEYS_JSON),
+                Arguments.of(ApiS3FileUploadUrlList.class, S3_FILE_UPLOAD_URL_LIST_JSON)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("createTestArguments")
+    void testReadMatchesReflectiveAdapter(Class<?> type, String json) {
+        Object object = mGson.fromJson(json, type);
+        Object expectedObject = mReflectiveGson.fromJson(json, type);
+
+        assertEquals(mReflectiveGson.toJson(expectedObject), mReflectiveGson.toJson(object));
+    }
+
+    @ParameterizedTest
+    @MethodSource("createTestArguments")
+    void testWriteMatchesReflectiveAdapter(Class<?> type, String json) {
+        Object object = mReflectiveGson.fromJson(json, type);
+
+        assertEquals(mReflectiveGson.toJson(object), mGson.toJson(object));
+    }
+
+    @Test
+    void testUnknownFieldsSkipped() {
+        ApiFileKey fileKey = mGson.fromJson("{\"unknown\":{\"a\":[1,2]},\"key\":\"a2V5\"}",
+                ApiFileKey.class);
+
+        assertEquals("a2V5", fileKey.key);
+    }
+
+    @Test
+    void testNullValuesRead() {
+        ApiNode node = mGson.fromJson("{\"id\":null,\"createdBy\":null,\"createdAt\":null}",
+                ApiNode.class);
+
+        assertNull(node.id);
+        assertNull(node.createdBy);
+        assertNull(node.createdAt);
+    }
+
+    @Test
+    void testNodeListNullRangeRead() {
+        ApiNodeList nodeList = mGson.fromJson("{\"range\":null,\"items\":[{\"id\":1}]}",
+                ApiNodeList.class);
+
+        assertNull(nodeList.range);
+        assertEquals(1L, nodeList.items.get(0).id);
+    }
+
+    @Test
+    void testNodeListNullItemsRead() {
+        ApiNodeList nodeList = mGson.fromJson("{\"range\":{\"total\":0},\"items\":null}",
+                ApiNodeList.class);
+
+        assertEquals(0L, nodeList.range.total);
+        assertNull(nodeList.items);
+    }
+
+    @Test
+    void testNodeListUnknownFieldsSkipped() {
+        ApiNodeList nodeList = mGson.fromJson("{\"unknown\":[{\"a\":1}],\"range\":" +
+                "{\"unknown\":true,\"total\":1},\"items\":[{\"unknown\":null,\"id\":1}]}",
+                ApiNodeList.class);
+
+        assertEquals(1L, nodeList.range.total);
+        assertEquals(1L, nodeList.items.get(0).id);
+    }
+
+    @Test
+    void testNodeListTrailingDocumentRejected() {
+        assertThrows(JsonSyntaxException.class, () -> mGson.fromJson("{\"items\":[]}{}",
+                ApiNodeList.class));
+    }
+
+    @Test
+    void testNodeListItemsStreamed() throws Exception {
+        ApiNodeList expectedNodeList = mReflectiveGson.fromJson(NODE_LIST_JSON,
+                ApiNodeList.class);
+
+        List<ApiNode> items = new ArrayList<>();
+        ApiRange range = createNodeListAdapter().read(new JsonReader(new StringReader(
+                NODE_LIST_JSON)), items::add);
+
+        assertEquals(mReflectiveGson.toJson(expectedNodeList.range), mReflectiveGson.toJson(range));
+        assertEquals(mReflectiveGson.toJson(expectedNodeList.items), mReflectiveGson.toJson(items));
+    }
+
+    @Test
+    void testNodeListNullItemsStreamed() throws Exception {
+        List<ApiNode> items = new ArrayList<>();
+        ApiRange range = createNodeListAdapter().read(new JsonReader(new StringReader(
+                "{\"range\":{\"total\":0},\"items\":null}")), items::add);
+
+        assertEquals(0L, range.total);
+        assertTrue(items.isEmpty());
+    }
+
+    private static ApiNodeListTypeAdapter createNodeListAdapter() {
+        return new ApiNodeListTypeAdapter(new ApiNodeTypeAdapter(new GsonDateTypeAdapter()));
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.dracoon.sdk.internal.http;
+
+import java.io.File;
+import java.util.Collections;
+
+import com.dracoon.sdk.BaseHttpTest;
+import com.dracoon.sdk.DracoonHttpConfig;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientBuilderTest extends BaseHttpTest {
+
+    private static final String DATA_PATH = "/http_cache/";
+
+    private static final String VERSION_PATH = "/api/v4/public/software/version";
+    private static final String VERSION_BODY = "{\"restApiVersion\":\"4.33.0\"}";
+
+    @Nested
+    class ConnectionTests {
+
+        @Test
+        void testDefaultsApplied() {
+            OkHttpClient client = new HttpClientBuilder().build(new DracoonHttpConfig());
+
+            assertEquals(64, client.dispatcher().getMaxRequests());
+            assertEquals(5, client.dispatcher().getMaxRequestsPerHost());
+            assertTrue(client.protocols().contains(Protocol.HTTP_2));
+            assertEquals(0, client.pingIntervalMillis());
+        }
+
+        @Test
+        void testDispatcherConfigured() {
+            DracoonHttpConfig httpConfig = new DracoonHttpConfig();
+            httpConfig.setMaxRequests(32);
+            httpConfig.setMaxRequestsPerHost(16);
+
+            OkHttpClient client = new HttpClientBuilder().build(httpConfig);
+
+            assertEquals(32, client.dispatcher().getMaxRequests());
+            assertEquals(16, client.dispatcher().getMaxRequestsPerHost());
+        }
+
+        @Test
+        void testHttp2Disabled() {
+            DracoonHttpConfig httpConfig = new DracoonHttpConfig();
+            httpConfig.setHttp2Enabled(false);
+
+            OkHttpClient client = new HttpClientBuilder().build(httpConfig);
+
+            assertEquals(Collections.singletonList(Protocol.HTTP_1_1), client.protocols());
+        }
+
+        @Test
+        void testPingIntervalConfigured() {
+            DracoonHttpConfig httpConfig = new DracoonHttpConfig();
+            httpConfig.setPingInterval(30);
+
+            OkHttpClient client = new HttpClientBuilder().build(httpConfig);
+
+            assertEquals(30000, client.pingIntervalMillis());
+        }
+
+        @Test
+        void testDerivedClientSharesPool() {
+            OkHttpClient client = new HttpClientBuilder().build(new DracoonHttpConfig());
+            OkHttpClient derivedClient = client.newBuilder().followRedirects(false).build();
+
+            assertSame(client.connectionPool(), derivedClient.connectionPool());
+            assertSame(client.dispatcher(), derivedClient.dispatcher());
+        }
+
+    }
+
+    @Nested
+    class TransferClientTests {
+
+        @Test
+        void testOwnPoolAndDispatcher() {
+            DracoonHttpConfig httpConfig = new DracoonHttpConfig();
+            HttpClientBuilder builder = new HttpClientBuilder();
+            OkHttpClient client = builder.build(httpConfig);
+
+            OkHttpClient transferClient = builder.buildTransferClient(httpConfig, client);
+
+            assertNotSame(client.connectionPool(), transferClient.connectionPool());
+            assertNotSame(client.dispatcher(), transferClient.dispatcher());
+        }
+
+        @Test
+        void testSettingsApplied() {
+            DracoonHttpConfig httpConfig = new DracoonHttpConfig();
+            httpConfig.setTransferReadTimeout(120);
+            httpConfig.setTransferWriteTimeout(90);
+            httpConfig.setTransferMaxRequests(8);
+            httpConfig.setTransferMaxRequestsPerHost(4);
+            HttpClientBuilder builder = new HttpClientBuilder();
+            OkHttpClient client = builder.build(httpConfig);
+
+            OkHttpClient transferClient = builder.buildTransferClient(httpConfig, client);
+
+            assertEquals(120000, transferClient.readTimeoutMillis());
+            assertEquals(90000, transferClient.writeTimeoutMillis());
+            assertEquals(8, transferClient.dispatcher().getMaxRequests());
+            assertEquals(4, transferClient.dispatcher().getMaxRequestsPerHost());
+            assertEquals(15000, client.readTimeoutMillis());
+        }
+
+        @Test
+        void testNoCache(@TempDir File cacheDirectory) {
+            DracoonHttpConfig httpConfig = new DracoonHttpConfig();
+            httpConfig.setHttpCacheDirectory(cacheDirectory);
+            HttpClientBuilder builder = new HttpClientBuilder();
+            OkHttpClient client = builder.build(httpConfig);
+
+            OkHttpClient transferClient = builder.buildTransferClient(httpConfig, client);
+
+            assertNull(transferClient.cache());
+        }
+
+    }
+
+    @Nested
+    class HttpCacheTests {
+
+        @TempDir
+        File mCacheDirectory;
+
+        @Test
+        void testNoCacheByDefault() {
+            OkHttpClient client = new HttpClientBuilder().build(new DracoonHttpConfig());
+
+            assertNull(client.cache());
+        }
+
+        @Test
+        void testCacheConfigured() {
+            OkHttpClient client = buildCachingClient();
+
+            assertNotNull(client.cache());
+        }
+
+        @Test
+        void testRequestRevalidated() throws Exception {
+            enqueueResponse(DATA_PATH + "etag_response.json");
+            enqueueResponse(DATA_PATH + "not_modified_response.json");
+
+            OkHttpClient client = buildCachingClient();
+            executeGet(client);
+            executeGet(client);
+
+            dropRequest();
+            checkRequest(DATA_PATH + "revalidation_request.json");
+        }
+
+        @Test
+        void testCachedBodyReturned() throws Exception {
+            enqueueResponse(DATA_PATH + "etag_response.json");
+            enqueueResponse(DATA_PATH + "not_modified_response.json");
+
+            OkHttpClient client = buildCachingClient();
+            executeGet(client);
+            String body = executeGet(client);
+
+            assertEquals(VERSION_BODY, body);
+        }
+
+        private OkHttpClient buildCachingClient() {
+            DracoonHttpConfig httpConfig = new DracoonHttpConfig();
+            httpConfig.setHttpCacheDirectory(mCacheDirectory);
+            return new HttpClientBuilder().build(httpConfig);
+        }
+
+        private String executeGet(OkHttpClient client) throws Exception {
+            Request request = new Request.Builder()
+                    .url(mServerUrl + VERSION_PATH)
+                    .build();
+            try (Response response = client.newCall(request).execute()) {
+                return response.body().string();
+            }
+        }
+
+    }
+
+}
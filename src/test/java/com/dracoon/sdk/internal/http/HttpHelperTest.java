@@ -0,0 +1,184 @@
+package com.dracoon.sdk.internal.http;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.model.HttpRequestMetrics;
+import okhttp3.Call;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HttpHelperTest {
+
+    private HttpHelper mHttpHelper;
+
+    @Mock
+    private Call mCall;
+
+    @BeforeEach
+    void setup() {
+        mHttpHelper = new HttpHelper();
+    }
+
+    @Nested
+    class PreconditionTests {
+
+        private final AtomicInteger mCheckCount = new AtomicInteger();
+
+        @Test
+        void testPreconditionCheckedOnce() throws Exception {
+            Response response = mockResponse();
+            mHttpHelper.setPrecondition(mCheckCount::incrementAndGet);
+            mHttpHelper.init();
+
+            assertSame(response, mHttpHelper.executeRequest(mCall));
+            assertSame(response, mHttpHelper.executeRequest(mCall));
+            assertEquals(1, mCheckCount.get());
+        }
+
+        @Test
+        void testPreconditionErrorThrownAndCheckRepeated() throws Exception {
+            mHttpHelper.setPrecondition(() -> {
+                mCheckCount.incrementAndGet();
+                throw new DracoonApiException(DracoonApiCode.API_VERSION_NOT_SUPPORTED);
+            });
+            mHttpHelper.init();
+
+            DracoonApiException thrown = assertThrows(DracoonApiException.class,
+                    () -> mHttpHelper.executeRequest(mCall));
+            assertEquals(DracoonApiCode.API_VERSION_NOT_SUPPORTED, thrown.getCode());
+            assertThrows(DracoonApiException.class, () -> mHttpHelper.executeRequest(mCall));
+            assertEquals(2, mCheckCount.get());
+            verify(mCall, never()).execute();
+        }
+
+        @Test
+        void testPreconditionRequestNotChecked() throws Exception {
+            mockResponse();
+            mHttpHelper.setPrecondition(() -> {
+                mCheckCount.incrementAndGet();
+                mHttpHelper.executeRequest(mCall);
+            });
+            mHttpHelper.init();
+
+            mHttpHelper.executeRequest(mCall);
+
+            assertEquals(1, mCheckCount.get());
+            verify(mCall, times(2)).execute();
+        }
+
+        private Response mockResponse() throws Exception {
+            Response response = buildResponse(200, "");
+            when(mCall.execute()).thenReturn(response);
+            return response;
+        }
+
+    }
+
+    @Nested
+    class MetricsTests {
+
+        private final List<HttpRequestMetrics> mMetrics = new ArrayList<>();
+
+        @BeforeEach
+        void setup() {
+            mHttpHelper.setMetrics(mMetrics::add);
+            when(mCall.request()).thenReturn(new Request.Builder()
+                    .url("https://dracoon.team/download/token")
+                    .tag(RequestEndpoint.class, RequestEndpoint.DOWNLOAD_URL)
+                    .build());
+        }
+
+        @Test
+        void testResponseReported() throws Exception {
+            mHttpHelper.init();
+            when(mCall.execute()).thenReturn(buildResponse(206, "data"));
+
+            mHttpHelper.executeRequest(mCall);
+
+            assertEquals(1, mMetrics.size());
+            HttpRequestMetrics metrics = mMetrics.get(0);
+            assertEquals("GET", metrics.getMethod());
+            assertEquals("{download_url}", metrics.getEndpoint());
+            assertEquals(206, metrics.getStatusCode());
+            assertNull(metrics.getError());
+            assertEquals(0, metrics.getRetryCount());
+            assertEquals(0L, metrics.getRequestSize());
+            assertEquals(4L, metrics.getResponseSize());
+        }
+
+        @Test
+        void testRetriesReported() throws Exception {
+            mHttpHelper.setRetryEnabled(true);
+            mHttpHelper.init();
+            when(mCall.clone()).thenReturn(mCall);
+            when(mCall.execute()).thenThrow(new IOException()).thenReturn(buildResponse(200, ""));
+
+            mHttpHelper.executeRequest(mCall);
+
+            assertEquals(1, mMetrics.size());
+            assertEquals(1, mMetrics.get(0).getRetryCount());
+            assertEquals(200, mMetrics.get(0).getStatusCode());
+        }
+
+        @Test
+        void testErrorReported() throws Exception {
+            mHttpHelper.init();
+            when(mCall.execute()).thenThrow(new IOException());
+
+            DracoonNetIOException thrown = assertThrows(DracoonNetIOException.class,
+                    () -> mHttpHelper.executeRequest(mCall));
+
+            assertEquals(1, mMetrics.size());
+            assertNull(mMetrics.get(0).getStatusCode());
+            assertSame(thrown, mMetrics.get(0).getError());
+        }
+
+        @Test
+        void testCollectorErrorIgnored() throws Exception {
+            mHttpHelper.setMetrics(metrics -> {
+                throw new IllegalStateException();
+            });
+            mHttpHelper.init();
+            Response response = buildResponse(200, "");
+            when(mCall.execute()).thenReturn(response);
+
+            assertSame(response, mHttpHelper.executeRequest(mCall));
+        }
+
+    }
+
+    private static Response buildResponse(int code, String body) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://dracoon.team").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("OK")
+                .body(ResponseBody.create(body, null))
+                .build();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.dracoon.sdk.internal.http;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import okhttp3.Request;
+import org.junit.jupiter.api.Test;
+import retrofit2.Invocation;
+import retrofit2.http.GET;
+import retrofit2.http.HTTP;
+import retrofit2.http.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestEndpointTest {
+
+    private interface TestApi {
+        @GET("/api/v4/nodes/{node_id}")
+        void getNode(@Path("node_id") Long nodeId);
+
+        @HTTP(method = "DELETE", hasBody = true, path = "/api/v4/nodes")
+        void deleteNodes();
+    }
+
+    @Test
+    void testTaggedEndpoint() {
+        Request request = new Request.Builder()
+                .url("https://dracoon.team/s3/bucket/object?signature=abc")
+                .tag(RequestEndpoint.class, RequestEndpoint.S3_UPLOAD_URL)
+                .build();
+
+        assertEquals("{s3_upload_url}", RequestEndpoint.getTemplate(request));
+    }
+
+    @Test
+    void testApiEndpoint() throws Exception {
+        Request request = buildApiRequest("/api/v4/nodes/42",
+                TestApi.class.getDeclaredMethod("getNode", Long.class));
+
+        assertEquals("/api/v4/nodes/{node_id}", RequestEndpoint.getTemplate(request));
+    }
+
+    @Test
+    void testApiEndpointCustomMethod() throws Exception {
+        Request request = buildApiRequest("/api/v4/nodes",
+                TestApi.class.getDeclaredMethod("deleteNodes"));
+
+        assertEquals("/api/v4/nodes", RequestEndpoint.getTemplate(request));
+    }
+
+    @Test
+    void testUntaggedEndpoint() {
+        Request request = new Request.Builder()
+                .url("https://dracoon.team/some/path?query=1")
+                .build();
+
+        assertEquals("/some/path", RequestEndpoint.getTemplate(request));
+    }
+
+    private static Request buildApiRequest(String path, Method method) {
+        return new Request.Builder()
+                .url("https://dracoon.team" + path)
+                .tag(Invocation.class, Invocation.of(method, List.of()))
+                .build();
+    }
+
+}
@@ -25,7 +25,8 @@ class AvatarDownloaderTest extends BaseApiTest {
     protected void setup() throws Exception {
         super.setup();
 
-        mAvatarDownloader = new AvatarDownloader(mLog, mHttpClient, mHttpHelper, mDracoonErrorParser);
+        mAvatarDownloader = new AvatarDownloader(mLog, mHttpClient, mHttpHelper, mDracoonErrorParser,
+                new ResourceCache(mLog, 1024 * 1024, null, 0));
 
         mAvatarDownloadUrl = mServerUrl +
                 "/api/v4/downloads/avatar/1/c33e748c-d05b-4af2-90e3-1a24d79b1d41";
@@ -55,6 +56,20 @@ class AvatarDownloaderTest extends BaseApiTest {
         assertArrayEquals(AVATAR_BYTES, avatarBytes);
     }
 
+    @Test
+    void testDataCached() throws Exception {
+        // Enqueue response
+        enqueueResponse(DATA_PATH + "download_response.json");
+
+        // Execute method to test twice
+        mAvatarDownloader.downloadAvatar(mAvatarDownloadUrl);
+        byte[] avatarBytes = mAvatarDownloader.downloadAvatar(mAvatarDownloadUrl);
+
+        // Assert data is correct and was only downloaded once
+        assertArrayEquals(AVATAR_BYTES, avatarBytes);
+        assertEquals(1, getRequestCount());
+    }
+
     @Test
     void testError() {
         // Mock error parsing
@@ -36,6 +36,7 @@ abstract class BaseServiceTest extends BaseApiTest {
                 .setLog(mLog)
                 .setHttpConfig(mHttpConfig)
                 .setHttpClient(mHttpClient)
+                .setTransferHttpClient(mHttpClient)
                 .setHttpHelper(mHttpHelper)
                 .setServerUrl(mServerUrl)
                 .setDracoonApi(mDracoonApi)
@@ -0,0 +1,181 @@
+package com.dracoon.sdk.internal.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.dracoon.sdk.filter.SearchNodesFilters;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeChangeCursor;
+import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.NodeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ChangeFeedTest {
+
+    private static final long NODE_ID = 1L;
+    private static final String SORT = "createdAt:asc|parentPath:asc|name:asc";
+
+    @Mock
+    protected NodesService mNodesService;
+
+    @Test
+    void testAllNodesReturnedWithoutCursor() throws Exception {
+        when(mNodesService.searchNodes(eq(NODE_ID), eq("*"), isNull(), eq(SORT), eq(0L),
+                eq(500L)))
+                .thenReturn(createNodeList(500L, createNode(2L, 3L, null),
+                        createNode(3L, 4L, null)));
+
+        ChangeFeed feed = new ChangeFeed(mNodesService, createNode(NODE_ID, 10L, null), null);
+
+        assertEquals(Arrays.asList(2L, 3L), readNodeIds(feed));
+    }
+
+    @Test
+    void testChangedNodesReturnedWithBranchVersion() throws Exception {
+        ArgumentCaptor<SearchNodesFilters> captor = ArgumentCaptor.forClass(
+                SearchNodesFilters.class);
+        when(mNodesService.searchNodes(eq(NODE_ID), eq("*"), captor.capture(), eq(SORT),
+                eq(0L), eq(500L))).thenReturn(createNodeList(500L, createNode(2L, 12L, null)));
+
+        ChangeFeed feed = new ChangeFeed(mNodesService, createNode(NODE_ID, 12L, null),
+                createCursor(10L, null));
+
+        assertEquals(Arrays.asList(2L), readNodeIds(feed));
+        assertEquals("branchVersion:ge:11", captor.getValue().toString());
+    }
+
+    @Test
+    void testNoQueryIfBranchVersionUnchanged() throws Exception {
+        ChangeFeed feed = new ChangeFeed(mNodesService, createNode(NODE_ID, 10L, null),
+                createCursor(10L, null));
+
+        assertFalse(feed.hasNext());
+        verify(mNodesService, never()).searchNodes(anyLong(), anyString(),
+                any(SearchNodesFilters.class), anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void testChangedNodesReturnedWithUpdatedAt() throws Exception {
+        ArgumentCaptor<SearchNodesFilters> captor = ArgumentCaptor.forClass(
+                SearchNodesFilters.class);
+        when(mNodesService.searchNodes(eq(NODE_ID), eq("*"), captor.capture(), eq(SORT),
+                eq(0L), eq(500L))).thenReturn(createNodeList(500L, createNode(2L, 12L, null)));
+
+        ChangeFeed feed = new ChangeFeed(mNodesService, createNode(NODE_ID, 12L, null),
+                createCursor(null, new Date(1000L)));
+
+        assertEquals(Arrays.asList(2L), readNodeIds(feed));
+        assertEquals(1, captor.getValue().toString().split("\\|").length);
+        assertEquals(0, captor.getValue().toString().indexOf("updatedAt:ge:"));
+    }
+
+    @Test
+    void testNodesQueriedPageByPage() throws Exception {
+        Node[] page1 = new Node[500];
+        for (int i = 0; i < page1.length; i++) {
+            page1[i] = createNode(i + 2L, 3L, null);
+        }
+        when(mNodesService.searchNodes(eq(NODE_ID), eq("*"), isNull(), eq(SORT), eq(0L),
+                eq(500L)))
+                .thenReturn(createNodeList(501L, page1));
+        when(mNodesService.searchNodes(eq(NODE_ID), eq("*"), isNull(), eq(SORT), eq(500L),
+                eq(500L)))
+                .thenReturn(createNodeList(501L, createNode(1000L, 3L, null)));
+
+        ChangeFeed feed = new ChangeFeed(mNodesService, createNode(NODE_ID, 10L, null), null);
+
+        List<Long> nodeIds = readNodeIds(feed);
+        assertEquals(501, nodeIds.size());
+        assertEquals(1000L, nodeIds.get(500));
+    }
+
+    @Test
+    void testCursorAdvanced() throws Exception {
+        when(mNodesService.searchNodes(eq(NODE_ID), eq("*"), isNull(), eq(SORT), eq(0L),
+                eq(500L)))
+                .thenReturn(createNodeList(500L, createNode(2L, 3L, new Date(3000L)),
+                        createNode(3L, 4L, new Date(2000L))));
+
+        ChangeFeed feed = new ChangeFeed(mNodesService, createNode(NODE_ID, 10L, null), null);
+        readNodeIds(feed);
+
+        NodeChangeCursor cursor = feed.getCursor();
+        assertEquals(10L, cursor.getBranchVersion());
+        assertEquals(new Date(3000L), cursor.getUpdatedAt());
+    }
+
+    @Test
+    void testCursorKeptIfNothingChanged() {
+        ChangeFeed feed = new ChangeFeed(mNodesService, createNode(NODE_ID, 10L, null),
+                createCursor(10L, null));
+
+        NodeChangeCursor cursor = feed.getCursor();
+        assertEquals(10L, cursor.getBranchVersion());
+        assertNull(cursor.getUpdatedAt());
+    }
+
+    @Test
+    void testNextThrowsIfExhausted() {
+        ChangeFeed feed = new ChangeFeed(mNodesService, createNode(NODE_ID, 10L, null),
+                createCursor(10L, null));
+
+        assertThrows(NoSuchElementException.class, feed::next);
+    }
+
+    // --- Helper methods ---
+
+    private static List<Long> readNodeIds(ChangeFeed feed) throws Exception {
+        List<Long> nodeIds = new ArrayList<>();
+        while (feed.hasNext()) {
+            nodeIds.add(feed.next().getId());
+        }
+        return nodeIds;
+    }
+
+    private static NodeChangeCursor createCursor(Long branchVersion, Date updatedAt) {
+        NodeChangeCursor cursor = new NodeChangeCursor();
+        cursor.setBranchVersion(branchVersion);
+        cursor.setUpdatedAt(updatedAt);
+        return cursor;
+    }
+
+    private static Node createNode(long id, long branchVersion, Date updatedAt) {
+        Node node = new Node();
+        node.setId(id);
+        node.setType(NodeType.FOLDER);
+        node.setBranchVersion(branchVersion);
+        node.setUpdatedAt(updatedAt);
+        return node;
+    }
+
+    private static NodeList createNodeList(long total, Node... nodes) {
+        NodeList nodeList = new NodeList();
+        nodeList.setOffset(0);
+        nodeList.setLimit(500);
+        nodeList.setTotal(total);
+        nodeList.setItems(Arrays.asList(nodes));
+        return nodeList;
+    }
+
+}
@@ -0,0 +1,367 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.util.Arrays;
+
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+import com.dracoon.sdk.error.DracoonCryptoCode;
+import com.dracoon.sdk.error.DracoonCryptoException;
+import com.dracoon.sdk.error.DracoonNetIOInterruptedException;
+import com.dracoon.sdk.internal.BaseApiTest;
+import com.dracoon.sdk.internal.crypto.CryptoWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+class DownloadChannelTest extends BaseApiTest {
+
+    @Mock
+    protected CryptoWrapper mCryptoWrapper;
+
+    private abstract class BaseDownloadChannelTests {
+
+        protected final String mDataPath;
+
+        protected int mBlockSize = 2048;
+        protected long mCacheSize = 4096L;
+
+        protected DownloadChannel.Factory mDlcFactory;
+        protected DownloadChannel mDlc;
+
+        protected BaseDownloadChannelTests(String dataPath) {
+            mDataPath = dataPath;
+        }
+
+        @BeforeEach
+        void baseSetup() throws Exception {
+            mDlcFactory = new DownloadChannel.Factory(mLog, mDracoonApi, mHttpClient, mHttpHelper,
+                    mDracoonErrorParser, mCryptoWrapper, mBlockSize, mCacheSize);
+            setup();
+        }
+
+        protected void setup() throws Exception {
+            // Mock dependencies
+            mockDependencies();
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_node_response.json");
+            enqueueResponse(mDataPath + "create_download_url_response.json");
+
+            // Create and start download
+            mDlc = mDlcFactory.create("Test", 5, getPlainFileKey());
+            mDlc.start();
+
+            // Drop irrelevant requests
+            dropRequest();
+            dropRequest();
+        }
+
+        protected void mockDependencies() throws Exception {
+
+        }
+
+        protected PlainFileKey getPlainFileKey() {
+            return null;
+        }
+
+    }
+
+    // --- Read tests ---
+
+    @Nested
+    class ReadStandardTests extends BaseDownloadChannelTests {
+
+        ReadStandardTests() {
+            super("/download_channel/read_standard/");
+        }
+
+        @Test
+        void testRequestsValidReadAll() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response_block_1.json");
+            enqueueResponse(mDataPath + "download_response_block_2.json");
+            enqueueResponse(mDataPath + "download_response_block_3.json");
+
+            // Read bytes
+            readBytes(mDlc);
+
+            // Assert requests are valid
+            checkRequest(mDataPath + "download_request_block_1.json");
+            checkRequest(mDataPath + "download_request_block_2.json");
+            checkRequest(mDataPath + "download_request_block_3.json");
+        }
+
+        @Test
+        void testDataCorrectAfterReadAll() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response_block_1.json");
+            enqueueResponse(mDataPath + "download_response_block_2.json");
+            enqueueResponse(mDataPath + "download_response_block_3.json");
+
+            // Read bytes
+            byte[] data = readBytes(mDlc);
+
+            // Assert data is correct
+            byte[] expectedData = readFile(mDataPath + "correct_data.bin");
+            assertArrayEquals(expectedData, data, "Downloaded data does not match!");
+        }
+
+        @Test
+        void testRequestsValidSeekBackward() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response_block_3.json");
+            enqueueResponse(mDataPath + "download_response_block_1.json");
+
+            // Seek and read bytes
+            readBytes(mDlc, 4100L, 8);
+            readBytes(mDlc, 100L, 50);
+
+            // Assert requests are valid
+            checkRequest(mDataPath + "download_request_block_3.json");
+            checkRequest(mDataPath + "download_request_block_1.json");
+        }
+
+        @Test
+        void testDataCorrectSeekBackward() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response_block_3.json");
+            enqueueResponse(mDataPath + "download_response_block_1.json");
+
+            // Seek and read bytes
+            byte[] data1 = readBytes(mDlc, 4100L, 8);
+            byte[] data2 = readBytes(mDlc, 100L, 50);
+
+            // Assert data is correct
+            byte[] expectedData = readFile(mDataPath + "correct_data.bin");
+            assertArrayEquals(Arrays.copyOfRange(expectedData, 4100, 4108), data1,
+                    "Downloaded data does not match!");
+            assertArrayEquals(Arrays.copyOfRange(expectedData, 100, 150), data2,
+                    "Downloaded data does not match!");
+        }
+
+        @Test
+        void testCachedBlockNotRequestedAgain() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response_block_1.json");
+
+            // Read bytes of same block twice
+            readBytes(mDlc, 200L, 10);
+            readBytes(mDlc, 10L, 10);
+
+            // Assert only one block was requested
+            assertEquals(3, getRequestCount());
+        }
+
+        @Test
+        void testReadAtEndReturnsEndOfFile() throws Exception {
+            // Seek to end of file
+            mDlc.position(mDlc.size());
+
+            // Assert end of file is returned
+            assertEquals(-1, mDlc.read(ByteBuffer.allocate(16)));
+        }
+
+    }
+
+    @Nested
+    class ReadEncryptedTests extends BaseDownloadChannelTests {
+
+        ReadEncryptedTests() {
+            super("/download_channel/read_encrypted/");
+            // Cache only one block to force a decryption of already decrypted blocks
+            mCacheSize = 2048L;
+        }
+
+        @Override
+        protected void mockDependencies() throws Exception {
+            when(mCryptoWrapper.createFileDecryptionCipher(any()))
+                    .thenCallRealMethod();
+            lenient().when(mCryptoWrapper.canDecryptFileBytes(any(), anyLong()))
+                    .thenCallRealMethod();
+            lenient().when(mCryptoWrapper.decryptFileBytes(any(), anyLong(), any()))
+                    .thenCallRealMethod();
+        }
+
+        @Override
+        protected PlainFileKey getPlainFileKey() {
+            return readData(PlainFileKey.class, mDataPath + "plain_file_key.json");
+        }
+
+        @Test
+        void testRequestsValidReadAll() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Read bytes
+            readBytes(mDlc);
+
+            // Assert requests are valid
+            checkRequest(mDataPath + "download_request.json");
+        }
+
+        @Test
+        void testDataCorrectAfterReadAll() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Read bytes
+            byte[] data = readBytes(mDlc);
+
+            // Assert data is correct
+            byte[] expectedData = readFile(mDataPath + "correct_data.bin");
+            assertArrayEquals(expectedData, data, "Downloaded data does not match!");
+        }
+
+        @Test
+        void testDataCorrectSeekForward() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Seek and read bytes
+            byte[] data = readBytes(mDlc, 4100L, 12);
+
+            // Assert data is correct
+            byte[] expectedData = readFile(mDataPath + "correct_data.bin");
+            assertArrayEquals(Arrays.copyOfRange(expectedData, 4100, 4112), data,
+                    "Downloaded data does not match!");
+        }
+
+        @Test
+        void testDataCorrectSeekBackward() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+            enqueueResponse(mDataPath + "download_response_block_1.json");
+
+            // Seek and read bytes
+            byte[] data1 = readBytes(mDlc, 4100L, 12);
+            byte[] data2 = readBytes(mDlc, 100L, 50);
+
+            // Assert data is correct
+            byte[] expectedData = readFile(mDataPath + "correct_data.bin");
+            assertArrayEquals(Arrays.copyOfRange(expectedData, 4100, 4112), data1,
+                    "Downloaded data does not match!");
+            assertArrayEquals(Arrays.copyOfRange(expectedData, 100, 150), data2,
+                    "Downloaded data does not match!");
+
+            // Assert only the requested block was downloaded again
+            checkRequest(mDataPath + "download_request.json");
+            checkRequest(mDataPath + "download_request_block_1.json");
+        }
+
+        @Test
+        void testSeekBackwardModifiedBlockFails() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+            enqueueResponse(mDataPath + "download_response_block_1_bad.json");
+
+            // Seek and read bytes
+            readBytes(mDlc, 4100L, 12);
+            IOException thrown = assertThrows(IOException.class,
+                    () -> readBytes(mDlc, 100L, 50));
+
+            // Assert correct error code
+            DracoonCryptoException cause = assertInstanceOf(DracoonCryptoException.class,
+                    thrown.getCause());
+            assertEquals(DracoonCryptoCode.BAD_FILE_ERROR, cause.getCode());
+        }
+
+    }
+
+    // --- Start tests ---
+
+    @Nested
+    class StartTests extends BaseDownloadChannelTests {
+
+        StartTests() {
+            super("/download_channel/read_standard/");
+        }
+
+        @Override
+        protected void setup() {
+            mDlc = mDlcFactory.create("Test", 5, null);
+        }
+
+        @Test
+        void testStartInterruptedFails() {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_node_response.json");
+
+            // Start download while thread is interrupted
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(DracoonNetIOInterruptedException.class, mDlc::start);
+            } finally {
+                Thread.interrupted();
+            }
+        }
+
+    }
+
+    // --- Close tests ---
+
+    @Nested
+    class CloseTests extends BaseDownloadChannelTests {
+
+        CloseTests() {
+            super("/download_channel/read_standard/");
+        }
+
+        @Test
+        void testReadAfterCloseNotAllowed() {
+            mDlc.close();
+            assertFalse(mDlc.isOpen());
+            assertThrows(ClosedChannelException.class, () -> readBytes(mDlc));
+        }
+
+        @Test
+        void testReadBeforeStartNotAllowed() {
+            DownloadChannel dlc = mDlcFactory.create("Test", 5, null);
+            assertThrows(IOException.class, () -> readBytes(dlc));
+        }
+
+        @Test
+        void testWriteNotAllowed() {
+            assertThrows(NonWritableChannelException.class,
+                    () -> mDlc.write(ByteBuffer.allocate(1)));
+        }
+
+    }
+
+    // --- Helper methods ---
+
+    private static byte[] readBytes(DownloadChannel dlc) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        while (dlc.read(buffer) >= 0) {
+            os.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+        return os.toByteArray();
+    }
+
+    private static byte[] readBytes(DownloadChannel dlc, long position, int length)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        dlc.position(position);
+        while (buffer.hasRemaining() && dlc.read(buffer) >= 0) {
+            // Read till buffer is full
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+}
@@ -4,15 +4,22 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.crypto.model.PlainFileKey;
 import com.dracoon.sdk.error.DracoonApiCode;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOException;
 import com.dracoon.sdk.internal.BaseApiTest;
 import com.dracoon.sdk.internal.crypto.CryptoWrapper;
 import com.dracoon.sdk.model.FileDownloadCallback;
+import com.dracoon.sdk.model.FileTransferMetrics;
+import com.dracoon.sdk.model.HashAlgorithm;
+import com.dracoon.sdk.model.HttpRequestMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -23,9 +30,13 @@ import org.mockito.Mock;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DownloadStreamTest extends BaseApiTest {
@@ -33,11 +44,27 @@ class DownloadStreamTest extends BaseApiTest {
     @Mock
     protected CryptoWrapper mCryptoWrapper;
 
+    private final List<FileTransferMetrics> mTransferMetrics = new ArrayList<>();
+
+    private final DracoonMetrics mMetrics = new DracoonMetrics() {
+        @Override
+        public void onHttpRequestFinished(HttpRequestMetrics metrics) {
+
+        }
+
+        @Override
+        public void onFileTransferFinished(FileTransferMetrics metrics) {
+            mTransferMetrics.add(metrics);
+        }
+    };
+
     private abstract class BaseDownloadTests {
 
         protected final String mDataPath;
 
         protected long mChunkSize = 2048L;
+        protected long mReadAheadSize = 0L;
+        protected HashAlgorithm mHashAlgorithm = null;
 
         protected DownloadStream.Factory mDlsFactory;
         protected DownloadStream mDls;
@@ -49,7 +76,8 @@ class DownloadStreamTest extends BaseApiTest {
         @BeforeEach
         void baseSetup() throws Exception {
             mDlsFactory = new DownloadStream.Factory(mLog, mDracoonApi, mHttpClient, mHttpHelper,
-                    mDracoonErrorParser, mCryptoWrapper, mChunkSize);
+                    mDracoonErrorParser, mCryptoWrapper, mMetrics, mChunkSize, mReadAheadSize,
+                    mHashAlgorithm);
             setup();
         }
 
@@ -355,6 +383,15 @@ class DownloadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class AvailableEncryptedReadAheadTests extends AvailableEncryptedTests {
+
+        AvailableEncryptedReadAheadTests() {
+            mReadAheadSize = 1024L;
+        }
+
+    }
+
     // --- Read tests ---
 
     @Nested
@@ -400,6 +437,15 @@ class DownloadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class ReadReadAheadTests extends ReadTests {
+
+        ReadReadAheadTests() {
+            mReadAheadSize = 1024L;
+        }
+
+    }
+
     @Nested
     class ReadStandardOneChunkTests extends BaseStandardDownloadTests {
 
@@ -437,6 +483,23 @@ class DownloadStreamTest extends BaseApiTest {
             checkRequest(mDataPath + "download_request_read.json");
         }
 
+        @Test
+        void testMetricsReported() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response_read.json");
+
+            // Read bytes
+            long length = countReadBytes(mDls);
+
+            // Assert metrics are correct
+            assertEquals(1, mTransferMetrics.size());
+            FileTransferMetrics metrics = mTransferMetrics.get(0);
+            assertEquals(FileTransferMetrics.Type.DOWNLOAD, metrics.getType());
+            assertEquals(FileTransferMetrics.Status.FINISHED, metrics.getStatus());
+            assertEquals(length, metrics.getBytes());
+            assertEquals(1, metrics.getChunkCount());
+        }
+
         @Test
         void testRequestsValidSkipRead() throws Exception {
             // Enqueue responses
@@ -823,6 +886,80 @@ class DownloadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class ReadStandardMultiChunkReadAheadTests extends BaseStandardDownloadTests {
+
+        ReadStandardMultiChunkReadAheadTests() {
+            super("/download/read_standard_multi_chunk/");
+            mReadAheadSize = 1024L;
+        }
+
+        @Override
+        protected void setup() throws Exception {
+            // Mock dependencies
+            mockDependencies();
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_node_response.json");
+            enqueueResponse(mDataPath + "create_download_url_response.json");
+            enqueueResponse(mDataPath + "download_response_read_1.json");
+            enqueueResponse(mDataPath + "download_response_read_2.json");
+            enqueueResponse(mDataPath + "download_response_read_3.json");
+
+            // Create and start download
+            mDls = mDlsFactory.create("Test", 5, getPlainFileKey());
+            mDls.start();
+
+            // Drop irrelevant requests
+            dropRequest();
+            dropRequest();
+        }
+
+        @Test
+        void testRequestsValidReadAll() throws Exception {
+            // Read bytes
+            readBytes(mDls);
+
+            // Assert requests are valid
+            checkRequest(mDataPath + "download_request_read_1.json");
+            checkRequest(mDataPath + "download_request_read_2.json");
+            checkRequest(mDataPath + "download_request_read_3.json");
+        }
+
+        @Test
+        void testDataCorrectAfterReadAll() throws Exception {
+            // Read bytes
+            byte[] data = readBytes(mDls);
+
+            // Assert data is correct
+            byte[] expectedData = readFile(mDataPath + "correct_data_read_all.bin");
+            assertArrayEquals(expectedData, data, "Downloaded data does not match!");
+        }
+
+        @Test
+        void testDataCorrectAfterReadSkipChunkReadAll() throws Exception {
+            // Read, skip chunk and read bytes (Skipped bytes were already fetched)
+            readBytes(mDls, 128L);
+            skipBytes(mDls, mChunkSize);
+            byte[] data = readBytes(mDls);
+
+            // Assert data is correct
+            byte[] expectedData = readFile(mDataPath + "correct_data_skip_chunk_read_all.bin");
+            assertArrayEquals(expectedData, data, "Downloaded data does not match!");
+        }
+
+        @Test
+        void testCloseWhileFetching() throws Exception {
+            // Read bytes and close stream (Fetcher waits till buffer has room)
+            readBytes(mDls, 128L);
+            mDls.close();
+
+            // Assert stream is closed
+            assertThrows(IOException.class, () -> mDls.available());
+        }
+
+    }
+
     @Nested
     class ReadEncryptedOneChunkTests extends BaseEncryptedDownloadTests {
 
@@ -1156,6 +1293,194 @@ class DownloadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class ReadEncryptedMultiChunkReadAheadTests extends ReadEncryptedMultiChunkTests {
+
+        ReadEncryptedMultiChunkReadAheadTests() {
+            mReadAheadSize = 1024L;
+        }
+
+    }
+
+    @Nested
+    class ReadHashTests extends BaseStandardDownloadTests {
+
+        protected static final String EXPECTED_MD5_HASH = "d08454ee1e2354f4ada258a5e958c868";
+
+        ReadHashTests() {
+            super("/download/read_hash/");
+            mHashAlgorithm = HashAlgorithm.MD5;
+        }
+
+        @Override
+        protected void setup() {
+            // Mock dependencies
+            mockDependencies();
+
+            // Create download
+            mDls = mDlsFactory.create("Test", 3, getPlainFileKey());
+        }
+
+        @Test
+        void testHashCorrect() throws Exception {
+            // Start download
+            startDownload("get_node_response.json");
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Read bytes
+            readBytes(mDls);
+
+            // Assert hash is correct
+            assertEquals(EXPECTED_MD5_HASH, mDls.getHash());
+        }
+
+        @Test
+        void testHashPassedToCallback() throws Exception {
+            // Add callback and start download
+            FileDownloadCallback callback = mock(FileDownloadCallback.class);
+            mDls.addCallback(callback);
+            startDownload("get_node_response.json");
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Read bytes
+            readBytes(mDls);
+
+            // Assert hash was passed to callback
+            verify(callback).onHashComputed("Test", EXPECTED_MD5_HASH);
+        }
+
+        @Test
+        void testHashNotAvailableBeforeEnd() throws Exception {
+            // Start download
+            startDownload("get_node_response.json");
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Read some bytes
+            readBytes(mDls, 16L);
+
+            // Assert hash is not available
+            assertNull(mDls.getHash());
+        }
+
+        @Test
+        void testHashNotAvailableAfterSkip() throws Exception {
+            // Start download
+            startDownload("get_node_response.json");
+
+            // Enqueue responses
+            enqueueResponse("/download/read_standard_one_chunk/download_response_skip_read.json");
+
+            // Skip and read bytes
+            skipBytes(mDls, 128L);
+            readBytes(mDls);
+
+            // Assert hash is not available
+            assertNull(mDls.getHash());
+        }
+
+        @Test
+        void testHashMismatchError() throws Exception {
+            // Start download
+            startDownload("get_node_mismatch_response.json");
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Read bytes
+            IOException thrown = assertThrows(IOException.class, () -> readBytes(mDls));
+
+            // Assert correct error
+            assertInstanceOf(DracoonNetIOException.class, thrown.getCause());
+        }
+
+        protected void startDownload(String nodeResponse) throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + nodeResponse);
+            enqueueResponse(mDataPath + "create_download_url_response.json");
+
+            // Start download
+            mDls.start();
+
+            // Drop irrelevant requests
+            dropRequest();
+            dropRequest();
+        }
+
+    }
+
+    @Nested
+    class ReadHashReadAheadTests extends ReadHashTests {
+
+        ReadHashReadAheadTests() {
+            mReadAheadSize = 1024L;
+        }
+
+        @Override
+        @Test
+        void testHashNotAvailableAfterSkip() throws Exception {
+            // Start download
+            startDownload("get_node_response.json");
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Skip and read bytes
+            skipBytes(mDls, 128L);
+            readBytes(mDls);
+
+            // Assert hash is available, because skipped bytes were downloaded
+            assertEquals(EXPECTED_MD5_HASH, mDls.getHash());
+        }
+
+    }
+
+    @Nested
+    class ReadHashSha256Tests extends BaseStandardDownloadTests {
+
+        ReadHashSha256Tests() {
+            super("/download/read_hash/");
+            mHashAlgorithm = HashAlgorithm.SHA_256;
+        }
+
+        @Override
+        protected void setup() throws Exception {
+            // Mock dependencies
+            mockDependencies();
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_node_mismatch_response.json");
+            enqueueResponse(mDataPath + "create_download_url_response.json");
+
+            // Create and start download
+            mDls = mDlsFactory.create("Test", 3, getPlainFileKey());
+            mDls.start();
+
+            // Drop irrelevant requests
+            dropRequest();
+            dropRequest();
+        }
+
+        @Test
+        void testHashCorrect() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "download_response.json");
+
+            // Read bytes
+            readBytes(mDls);
+
+            // Assert hash is correct and not verified against MD5 node hash
+            assertEquals("d051920496d9818acff83e27f7d0811ecfbe6a1499482d439fb8789902cbd4f1",
+                    mDls.getHash());
+        }
+
+    }
+
     // --- Skip tests ---
 
     @Nested
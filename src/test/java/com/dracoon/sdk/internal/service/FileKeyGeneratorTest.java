@@ -1,6 +1,8 @@
 package com.dracoon.sdk.internal.service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import com.dracoon.sdk.crypto.model.EncryptedFileKey;
 import com.dracoon.sdk.crypto.model.PlainFileKey;
@@ -14,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -27,7 +30,7 @@ public class FileKeyGeneratorTest extends BaseServiceTest {
 
         private int mCount = 0;
 
-        public T answer(InvocationOnMock invocation) {
+        public synchronized T answer(InvocationOnMock invocation) {
             return getItem(mCount++);
         }
 
@@ -595,4 +598,241 @@ public class FileKeyGeneratorTest extends BaseServiceTest {
 
     }
 
+    @Nested
+    class GenerateMissingFileKeysParallelCryptoTests {
+
+        private final char[] CRYPTO_PW = {'t','e','s','t'};
+
+        private final BaseGenerateMissingFileKeysTests mHelper =
+                new GenerateMissingFileKeysAllFilesTests();
+
+        @BeforeEach
+        protected void setup() {
+            setEncryptionPassword(CRYPTO_PW);
+        }
+
+        @Test
+        void testGetRequestValidNoMissingKeys() throws Exception {
+            mHelper.enqueueResponses("get_missing_keys_no_missing_response.json");
+
+            executeParallelCrypto(4, new int[]{}, new int[]{});
+
+            mHelper.checkRequests("get_missing_keys_no_missing_request.json");
+        }
+
+        @Test
+        void testResultCorrectNoMissingKeys() throws Exception {
+            mHelper.enqueueResponses("get_missing_keys_no_missing_response.json");
+
+            boolean result = executeParallelCrypto(4, new int[]{}, new int[]{});
+
+            assertTrue(result);
+        }
+
+        @Test
+        void testGetRequestValid1BatchLimGreaterTotMissingKeys() throws Exception {
+            mHelper.enqueueResponses(
+                    "get_missing_keys_1b_lgt_response.json",
+                    "set_keys_response.json");
+
+            executeParallelCrypto(4, new int[]{1}, new int[]{1, 2});
+
+            mHelper.checkRequests("get_missing_keys_1b_request.json");
+        }
+
+        @Test
+        void testResultCorrect1BatchLimGreaterTotMissingKeys() throws Exception {
+            mHelper.enqueueResponses(
+                    "get_missing_keys_1b_lgt_response.json",
+                    "set_keys_response.json");
+
+            boolean result = executeParallelCrypto(4, new int[]{1}, new int[]{1, 2});
+
+            assertTrue(result);
+        }
+
+        @Test
+        void testResultCorrect1BatchLimLowerTotMissingKeys() throws Exception {
+            mHelper.enqueueResponses(
+                    "get_missing_keys_1b_llt_response.json",
+                    "set_keys_response.json");
+
+            boolean result = executeParallelCrypto(4, new int[]{1}, new int[]{1, 2, 3, 4});
+
+            assertFalse(result);
+        }
+
+        @Test
+        void testNextBatchQueriedAfterKeysSet2BatchLimGreaterTot() throws Exception {
+            mHelper.enqueueResponses(
+                    "get_missing_keys_2b1_lgt_response.json",
+                    "set_keys_response.json",
+                    "get_missing_keys_2b2_lgt_response.json",
+                    "set_keys_response.json");
+
+            executeParallelCrypto(12, new int[]{1, 2, 3, 4},
+                    new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11});
+
+            // Keys are encrypted in parallel. Therefore, only the order of the requests is checked.
+            mHelper.checkRequests("get_missing_keys_2b1_request.json");
+            dropRequest();
+            mHelper.checkRequests("get_missing_keys_2b2_request.json");
+        }
+
+        @Test
+        void testApiGetError() {
+            DracoonApiCode expectedCode = DracoonApiCode.SERVER_FILE_NOT_FOUND;
+            mockParseError(mDracoonErrorParser::parseMissingFileKeysQueryError, expectedCode);
+
+            mHelper.enqueueResponses("file_not_found_response.json");
+
+            DracoonApiException thrown = assertThrows(DracoonApiException.class,
+                    () -> executeParallelCrypto(1, new int[]{}, new int[]{}));
+
+            assertEquals(expectedCode, thrown.getCode());
+        }
+
+        @Test
+        void testApiSetError() {
+            DracoonApiCode expectedCode = DracoonApiCode.SERVER_USER_NOT_FOUND;
+            mockParseError(mDracoonErrorParser::parseFileKeysSetError, expectedCode);
+
+            mHelper.enqueueResponses("get_missing_keys_1b_lgt_response.json");
+            mHelper.enqueueResponses("user_not_found_response.json");
+
+            DracoonApiException thrown = assertThrows(DracoonApiException.class,
+                    () -> executeParallelCrypto(4, new int[]{1}, new int[]{1, 2}));
+
+            assertEquals(expectedCode, thrown.getCode());
+        }
+
+        private boolean executeParallelCrypto(int limit, int[] pfkDataNums, int[] efkDataNums)
+                throws Exception {
+            mHelper.mockGetUserKeyPairsCall();
+            mHelper.mockCryptoCalls(pfkDataNums, efkDataNums);
+            return mFkg.generateMissingFileKeys(null, 0L, limit, 10, true, null);
+        }
+
+    }
+
+    @Nested
+    class GenerateMissingFileKeysBatchListenerTests {
+
+        private final char[] CRYPTO_PW = {'t','e','s','t'};
+
+        private final BaseGenerateMissingFileKeysTests mHelper =
+                new GenerateMissingFileKeysAllFilesTests();
+
+        private final List<long[]> mBatches = new ArrayList<>();
+
+        @BeforeEach
+        protected void setup() {
+            setEncryptionPassword(CRYPTO_PW);
+        }
+
+        @Test
+        void testListenerCalledNoMissingKeys() throws Exception {
+            mHelper.enqueueResponses("get_missing_keys_no_missing_response.json");
+
+            execute(4, false, true, new int[]{}, new int[]{});
+
+            assertBatches(new long[]{0L, 0L, 0L});
+        }
+
+        @Test
+        void testListenerCalledNoMissingKeysParallelCrypto() throws Exception {
+            mHelper.enqueueResponses("get_missing_keys_no_missing_response.json");
+
+            execute(4, true, true, new int[]{}, new int[]{});
+
+            assertBatches(new long[]{0L, 0L, 0L});
+        }
+
+        @Test
+        void testListenerCalled1BatchLimLowerTotMissingKeys() throws Exception {
+            mHelper.enqueueResponses(
+                    "get_missing_keys_1b_llt_response.json",
+                    "set_keys_response.json");
+
+            execute(4, false, true, new int[]{1}, new int[]{1, 2, 3, 4});
+
+            assertBatches(new long[]{0L, 4L, 4L});
+        }
+
+        @Test
+        void testListenerCalled1BatchLimLowerTotMissingKeysParallelCrypto() throws Exception {
+            mHelper.enqueueResponses(
+                    "get_missing_keys_1b_llt_response.json",
+                    "set_keys_response.json");
+
+            execute(4, true, true, new int[]{1}, new int[]{1, 2, 3, 4});
+
+            assertBatches(new long[]{0L, 4L, 4L});
+        }
+
+        @Test
+        void testListenerCalled1BatchLimLowerTotUnresolvedKeys() throws Exception {
+            mHelper.enqueueResponses(
+                    "get_missing_keys_1b_llt_response.json",
+                    "set_keys_response.json");
+
+            execute(4, false, true, new int[]{}, new int[]{});
+
+            assertBatches(new long[]{4L, 4L, 0L});
+        }
+
+        @Test
+        void testListenerCalled2BatchLimLowerTotResolvedItemsRemoved() throws Exception {
+            // Server removes the items of the first batch after their file keys were set
+            mHelper.enqueueResponses(
+                    "get_missing_keys_2b1_llt_response.json",
+                    "set_keys_response.json",
+                    "get_missing_keys_2b2_llt_response.json",
+                    "set_keys_response.json");
+
+            boolean result = execute(12, false, true, new int[]{1, 2, 3, 4},
+                    new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+            assertFalse(result);
+            assertBatches(new long[]{0L, 6L, 10L}, new long[]{0L, 4L, 2L});
+            mHelper.checkRequests("get_missing_keys_2b1_request.json");
+            dropRequest();
+            mHelper.checkRequests("get_missing_keys_2b2_request.json");
+        }
+
+        @Test
+        void testListenerStopsGeneration() throws Exception {
+            mHelper.enqueueResponses(
+                    "get_missing_keys_2b1_lgt_response.json",
+                    "set_keys_response.json");
+
+            boolean result = execute(12, false, false, new int[]{1, 2, 3, 4},
+                    new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11});
+
+            assertFalse(result);
+            assertEquals(1, mBatches.size());
+            assertEquals(0L, mBatches.get(0)[0]);
+            assertEquals(1L, mBatches.get(0)[1]);
+        }
+
+        private boolean execute(int limit, boolean parallelCrypto, boolean resume,
+                int[] pfkDataNums, int[] efkDataNums) throws Exception {
+            mHelper.mockGetUserKeyPairsCall();
+            mHelper.mockCryptoCalls(pfkDataNums, efkDataNums);
+            return mFkg.generateMissingFileKeys(null, 0L, limit, 10, parallelCrypto,
+                    (checkpointOffset, backlog, keysCount) -> {
+                        mBatches.add(new long[]{checkpointOffset, backlog, keysCount});
+                        return resume;
+                    });
+        }
+
+        private void assertBatches(long[]... expectedBatches) {
+            assertEquals(expectedBatches.length, mBatches.size());
+            for (int i = 0; i < expectedBatches.length; i++) {
+                assertArrayEquals(expectedBatches[i], mBatches.get(i));
+            }
+        }
+
+    }
+
 }
@@ -780,4 +780,85 @@ public class NodesServiceDownloadTest extends BaseServiceTest {
 
     }
 
+    // --- Channel download tests ---
+
+    @Nested
+    @SuppressWarnings("resource")
+    class CreateDownloadChannelTests extends BaseTests {
+
+        private final String mDownloadId = "test";
+        private final long mNodeId = 2L;
+
+        @Mock
+        protected DownloadChannel.Factory mDownloadChannelFactory;
+        @Mock
+        protected DownloadChannel mDownloadChannel;
+
+        CreateDownloadChannelTests() {
+            super("/nodes/download_encrypted/");
+        }
+
+        @BeforeEach
+        protected void setup() {
+            mServiceLocator.set(DownloadChannel.Factory.class, mDownloadChannelFactory);
+        }
+
+        @Test
+        void testDependencyCallsValid() throws Exception {
+            PlainFileKey plainFileKey = readPlainFileKeyData();
+            when(mFileKeyFetcher.getPlainFileKey(anyLong())).thenReturn(plainFileKey);
+            when(mDownloadChannelFactory.create(anyString(), anyLong(), any()))
+                    .thenReturn(mDownloadChannel);
+
+            mSrv.createFileDownloadChannel(mDownloadId, mNodeId);
+
+            verify(mFileKeyFetcher).getPlainFileKey(mNodeId);
+            verify(mDownloadChannelFactory).create(mDownloadId, mNodeId, plainFileKey);
+            verify(mDownloadChannel).start();
+        }
+
+        @Test
+        void testDependencyError() throws Exception {
+            doThrow(new DracoonNetIOException()).when(mDownloadChannel).start();
+            when(mDownloadChannelFactory.create(anyString(), anyLong(), any()))
+                    .thenReturn(mDownloadChannel);
+
+            assertThrows(DracoonNetIOException.class,
+                    () -> mSrv.createFileDownloadChannel(mDownloadId, mNodeId));
+        }
+
+    }
+    @Nested
+    class DownloadNodeAsZipTests {
+
+        private final String mDownloadId = "test";
+        private final long mNodeId = 2L;
+        private final OutputStream mStream = new StubOutputStream();
+
+        @Mock
+        protected ZipExporter mZipExporter;
+
+        @BeforeEach
+        protected void setup() {
+            mServiceLocator.set(ZipExporter.class, mZipExporter);
+        }
+
+        @Test
+        void testDependencyCallsValid() throws Exception {
+            mSrv.downloadNodeAsZip(mDownloadId, mNodeId, mStream);
+
+            verify(mZipExporter).export(mDownloadId, mNodeId, mStream);
+        }
+
+        @Test
+        void testDependencyError() throws Exception {
+            doThrow(new DracoonNetIOException()).when(mZipExporter).export(anyString(), anyLong(),
+                    any());
+
+            assertThrows(DracoonNetIOException.class,
+                    () -> mSrv.downloadNodeAsZip(mDownloadId, mNodeId, mStream));
+        }
+
+    }
+
 }
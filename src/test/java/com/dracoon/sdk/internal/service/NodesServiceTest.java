@@ -1,9 +1,12 @@
 package com.dracoon.sdk.internal.service;
 
+import java.io.File;
 import java.net.URL;
+import java.util.function.Consumer;
 
 import com.dracoon.sdk.error.DracoonApiCode;
 import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonNetIOException;
 import com.dracoon.sdk.filter.GetNodesFilters;
 import com.dracoon.sdk.filter.NodeTypeFilter;
 import com.dracoon.sdk.filter.SearchNodesFilters;
@@ -11,6 +14,10 @@ import com.dracoon.sdk.model.CopyNodesRequest;
 import com.dracoon.sdk.model.CreateFolderRequest;
 import com.dracoon.sdk.model.CreateRoomRequest;
 import com.dracoon.sdk.model.DeleteNodesRequest;
+import com.dracoon.sdk.model.FileKeyGenerationCallback;
+import com.dracoon.sdk.model.FolderSyncRequest;
+import com.dracoon.sdk.model.FolderSyncResult;
+import com.dracoon.sdk.model.GenerateMissingFileKeysRequest;
 import com.dracoon.sdk.model.MoveNodesRequest;
 import com.dracoon.sdk.model.Node;
 import com.dracoon.sdk.model.NodeList;
@@ -24,11 +31,20 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -963,6 +979,162 @@ public class NodesServiceTest extends BaseServiceTest {
 
     }
 
+    @Nested
+    class GenerateMissingFileKeysRequestTests {
+
+        @Mock
+        protected FileKeyGenerator mFileKeyGenerator;
+
+        @BeforeEach
+        protected void setup() {
+            mServiceLocator.set(FileKeyGenerator.class, mFileKeyGenerator);
+        }
+
+        @Test
+        void testDependencyCallsValid() throws Exception {
+            mockGenerateMissingFileKeysCall();
+
+            GenerateMissingFileKeysRequest request = new GenerateMissingFileKeysRequest.Builder(50)
+                    .nodeId(1L)
+                    .offset(100L)
+                    .batchSize(25)
+                    .parallelCrypto(true)
+                    .build();
+            mServ.generateMissingFileKeys(request);
+
+            verify(mFileKeyGenerator).generateMissingFileKeys(1L, 100L, 50, 25, true, null);
+        }
+
+        @Test
+        void testDefaultsValid() throws Exception {
+            mockGenerateMissingFileKeysCall();
+
+            GenerateMissingFileKeysRequest request = new GenerateMissingFileKeysRequest.Builder(5)
+                    .build();
+            mServ.generateMissingFileKeys(request);
+
+            verify(mFileKeyGenerator).generateMissingFileKeys(null, 0L, 5, 10, false, null);
+        }
+
+        private void mockGenerateMissingFileKeysCall() throws Exception {
+            when(mFileKeyGenerator.generateMissingFileKeys(any(), anyLong(), any(), anyInt(),
+                    anyBoolean(), any())).thenReturn(true);
+        }
+
+        @Test
+        void testRequestInvalid() {
+            GenerateMissingFileKeysRequest request = new GenerateMissingFileKeysRequest.Builder(5)
+                    .batchSize(0)
+                    .build();
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> mServ.generateMissingFileKeys(request));
+        }
+
+        @Test
+        void testOffsetInvalid() {
+            GenerateMissingFileKeysRequest request = new GenerateMissingFileKeysRequest.Builder(5)
+                    .offset(-1L)
+                    .build();
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> mServ.generateMissingFileKeys(request));
+        }
+
+    }
+
+    @Nested
+    class GenerateMissingFileKeysAsyncTests {
+
+        private static final String GENERATION_ID = "1";
+
+        @Mock
+        protected FileKeyGenerationThread.Factory mFileKeyGenerationThreadFactory;
+        @Mock
+        protected FileKeyGenerationThread mFileKeyGenerationThread;
+        @Mock
+        protected FileKeyGenerationCallback mFileKeyGenerationCallback;
+
+        private final GenerateMissingFileKeysRequest mRequest =
+                new GenerateMissingFileKeysRequest.Builder(100).build();
+
+        @BeforeEach
+        protected void setup() {
+            mServiceLocator.set(FileKeyGenerationThread.Factory.class,
+                    mFileKeyGenerationThreadFactory);
+        }
+
+        @Test
+        void testDependencyCallsValid() {
+            mockCreateThreadCall();
+
+            mServ.startGenerateMissingFileKeysAsync(GENERATION_ID, mRequest, 60,
+                    mFileKeyGenerationCallback);
+
+            verify(mFileKeyGenerationThreadFactory).create(GENERATION_ID, mRequest, 60);
+            verify(mFileKeyGenerationThread).addCallback(mFileKeyGenerationCallback);
+            verify(mFileKeyGenerationThread).start();
+        }
+
+        @Test
+        void testThreadExists() {
+            mockCreateThreadCall();
+
+            mServ.startGenerateMissingFileKeysAsync(GENERATION_ID, mRequest, 60,
+                    mFileKeyGenerationCallback);
+
+            assertEquals(mFileKeyGenerationThread,
+                    mServ.getFileKeyGenerationThread(GENERATION_ID));
+        }
+
+        @Test
+        void testThreadIsRemovedAfterStop() {
+            executeTestThreadIsRemoved(c -> c.onStopped(GENERATION_ID));
+        }
+
+        @Test
+        void testThreadIsRemovedAfterFail() {
+            executeTestThreadIsRemoved(c -> c.onFailed(GENERATION_ID, null));
+        }
+
+        private void executeTestThreadIsRemoved(
+                Consumer<FileKeyGenerationCallback> callbackConsumer) {
+            mockCreateThreadCall();
+
+            mServ.startGenerateMissingFileKeysAsync(GENERATION_ID, mRequest, 60,
+                    mFileKeyGenerationCallback);
+
+            ArgumentCaptor<FileKeyGenerationCallback> captor = ArgumentCaptor.forClass(
+                    FileKeyGenerationCallback.class);
+            verify(mFileKeyGenerationThread, times(2)).addCallback(captor.capture());
+            callbackConsumer.accept(captor.getAllValues().get(1));
+
+            assertNull(mServ.getFileKeyGenerationThread(GENERATION_ID));
+        }
+
+        @Test
+        void testStop() {
+            mServ.putFileKeyGenerationThread(GENERATION_ID, mFileKeyGenerationThread);
+
+            mServ.stopGenerateMissingFileKeysAsync(GENERATION_ID);
+
+            verify(mFileKeyGenerationThread).requestStop();
+        }
+
+        @Test
+        void testIntervalInvalid() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> mServ.startGenerateMissingFileKeysAsync(GENERATION_ID, mRequest, 0,
+                            mFileKeyGenerationCallback));
+        }
+
+        private void mockCreateThreadCall() {
+            when(mFileKeyGenerationThreadFactory.create(any(), any(), anyInt()))
+                    .thenReturn(mFileKeyGenerationThread);
+        }
+
+    }
+
     // --- Favorites tests ---
 
     private abstract class BaseFavoriteTests extends BaseNodesTests<Void> {
@@ -1101,6 +1273,62 @@ public class NodesServiceTest extends BaseServiceTest {
 
     }
 
+    // --- Change feed tests ---
+
+    @Nested
+    class GetNodeChangesTests {
+
+        @Test
+        void testInvalidNodeIdNotAllowed() {
+            assertThrows(IllegalArgumentException.class, () -> mServ.getNodeChanges(0L, null));
+        }
+
+    }
+
+    // --- Folder synchronization tests ---
+
+    @Nested
+    class SyncFolderTests {
+
+        private final String mSyncId = "test";
+        private final FolderSyncRequest mRequest = new FolderSyncRequest.Builder(2L,
+                new File("sync"), new File("sync.json")).build();
+
+        @Mock
+        protected SyncEngine mSyncEngine;
+
+        @BeforeEach
+        protected void setup() {
+            mServiceLocator.set(SyncEngine.class, mSyncEngine);
+        }
+
+        @Test
+        void testDependencyCallsValid() throws Exception {
+            FolderSyncResult expectedResult = new FolderSyncResult();
+            when(mSyncEngine.sync(mSyncId, mRequest)).thenReturn(expectedResult);
+
+            FolderSyncResult result = mServ.syncFolder(mSyncId, mRequest);
+
+            assertSame(expectedResult, result);
+        }
+
+        @Test
+        void testDependencyError() throws Exception {
+            doThrow(new DracoonNetIOException()).when(mSyncEngine).sync(anyString(), any());
+
+            assertThrows(DracoonNetIOException.class, () -> mServ.syncFolder(mSyncId, mRequest));
+        }
+
+        @Test
+        void testInvalidRequestNotAllowed() {
+            FolderSyncRequest request = new FolderSyncRequest.Builder(2L, null,
+                    new File("sync.json")).build();
+
+            assertThrows(IllegalArgumentException.class, () -> mServ.syncFolder(mSyncId, request));
+        }
+
+    }
+
     // --- Media URL tests ---
 
     @Nested
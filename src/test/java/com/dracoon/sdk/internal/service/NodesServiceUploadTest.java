@@ -1,7 +1,9 @@
 package com.dracoon.sdk.internal.service;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -11,12 +13,14 @@ import com.dracoon.sdk.crypto.model.UserPublicKey;
 import com.dracoon.sdk.error.DracoonApiCode;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonNetIOException;
+import com.dracoon.sdk.model.Classification;
 import com.dracoon.sdk.model.FileUploadCallback;
 import com.dracoon.sdk.model.FileUploadRequest;
 import com.dracoon.sdk.model.Node;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
@@ -29,6 +33,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -129,6 +134,20 @@ public class NodesServiceUploadTest extends BaseServiceTest {
             checkRequests();
         }
 
+        @Test
+        void testTargetNodeQueriedForEveryUpload() throws Exception {
+            // Enqueue responses
+            enqueueOkResponses();
+            enqueueOkResponses();
+
+            // Execute method to test twice
+            executeMocked();
+            executeMocked();
+
+            // Assert target node was queried for both uploads
+            assertEquals(2, getRequestCount());
+        }
+
         @Test
         void testDependencyCallsValid() throws Exception {
             // Enqueue responses
@@ -499,6 +518,23 @@ public class NodesServiceUploadTest extends BaseServiceTest {
     @Nested
     class UploadFileWithStreamSyncStandardTests extends BaseUploadFileSyncStandardTests {
 
+        @Test
+        void testTargetNodeQueriedOnceForSmallFiles() throws Exception {
+            // Enable small file uploads
+            mHttpConfig.setSmallFileUploadThreshold(1);
+            mSrv = new NodesService(mServiceLocator, mServiceDependencies);
+
+            // Enqueue responses
+            enqueueOkResponses();
+
+            // Execute method to test twice
+            executeMocked();
+            executeMocked();
+
+            // Assert target node was queried only once
+            assertEquals(1, getRequestCount());
+        }
+
         @Override
         protected void executeMocked() throws Exception {
             mockDependencyCalls();
@@ -906,6 +942,23 @@ public class NodesServiceUploadTest extends BaseServiceTest {
             assertNull(uploadThread);
         }
 
+        @Test
+        void testUploadCompletionIsCanceled() {
+            // Add upload thread
+            mSrv.putUploadThread(mUploadId, mUploadThread);
+            when(mUploadThread.cancelCompletion()).thenReturn(true);
+
+            // Execute method to test
+            mSrv.cancelUploadFileAsync(mUploadId);
+
+            // Assert completion is canceled and upload thread still exists until the completion
+            // future was resolved
+            verify(mUploadThread).cancelCompletion();
+            verify(mThreadHelper, never()).interruptThread(mUploadThread);
+            UploadThread uploadThread = mSrv.getUploadThread(mUploadId);
+            assertNotNull(uploadThread);
+        }
+
         private void mockThreadHelperCalls() {
             when(mThreadHelper.isThreadAlive(any())).thenReturn(true);
         }
@@ -917,6 +970,241 @@ public class NodesServiceUploadTest extends BaseServiceTest {
 
     }
 
+    // --- Skip unchanged upload tests ---
+
+    @Nested
+    class UploadFileSkipUnchangedTests extends BaseTests {
+
+        private final String mUploadId = "test";
+        private final byte[] mData = "test".getBytes();
+        private final String mHash = "098f6bcd4621d373cade4e832627b4f6";
+
+        @Mock
+        protected UploadThread.Factory mUploadThreadFactory;
+        @Mock
+        protected UploadThread mUploadThread;
+
+        @Mock
+        protected FileUploadCallback mFileUploadCallback;
+
+        @TempDir
+        File mDirectory;
+
+        private File mFile;
+
+        UploadFileSkipUnchangedTests() {
+            super("/nodes/upload_skip_unchanged/");
+        }
+
+        @BeforeEach
+        protected void setup() {
+            super.setup();
+            mServiceLocator.set(UploadThread.Factory.class, mUploadThreadFactory);
+        }
+
+        @BeforeEach
+        void createFile() throws Exception {
+            mFile = new File(mDirectory, "test.txt");
+            Files.write(mFile.toPath(), mData);
+        }
+
+        @Test
+        void testApiRequestsValid() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_response.json");
+
+            // Execute method to test
+            mockGetFileStreamCall();
+            uploadFile(createRequest().build());
+
+            // Assert requests are valid
+            checkRequest(mDataPath + "get_nodes_request.json");
+        }
+
+        @Test
+        void testUnchangedFileSkipped() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_response.json");
+
+            // Execute method to test
+            mockGetFileStreamCall();
+            Node node = uploadFile(createRequest().build());
+
+            // Assert existing node is returned and file is not uploaded
+            assertEquals(5L, node.getId());
+            verify(mUploadThreadFactory, never()).create(anyString(), any(), anyLong(), any(),
+                    any(), any());
+            assertEquals(1, getRequestCount());
+        }
+
+        @Test
+        void testUnchangedFileCallbacksCalled() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_response.json");
+
+            // Execute method to test
+            mockGetFileStreamCall();
+            Node node = uploadFile(createRequest().build());
+
+            // Assert callbacks were called
+            verify(mFileUploadCallback).onStarted(mUploadId);
+            verify(mFileUploadCallback).onFinished(mUploadId, node);
+        }
+
+        @Test
+        void testUnchangedFileAsyncCheckedByUploadThread() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_node_response.json");
+            enqueueResponse(mDataPath + "get_nodes_response.json");
+
+            // Execute method to test
+            mockGetFileStreamCall();
+            when(mUploadThreadFactory.create(anyString(), any(), anyLong(), any(), any(), any()))
+                    .thenReturn(mUploadThread);
+            mSrv.startUploadFileAsync(mUploadId, createRequest().build(), mFile,
+                    mFileUploadCallback);
+
+            // Assert check is not done on the caller's thread
+            ArgumentCaptor<UploadThread.UnchangedFileCheck> captor = ArgumentCaptor.forClass(
+                    UploadThread.UnchangedFileCheck.class);
+            verify(mUploadThread).setUnchangedFileCheck(captor.capture());
+            verify(mUploadThread).start();
+            verify(mFileUploadCallback, never()).onFinished(anyString(), any());
+
+            // Assert check returns existing node
+            Node node = captor.getValue().getUnchangedFileNode();
+            assertEquals(5L, node.getId());
+        }
+
+        @Test
+        void testEncryptedFileUploaded() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_encrypted_response.json");
+            enqueueResponse(mDataPath + "get_node_response.json");
+
+            // Execute method to test
+            mockGetFileStreamCall();
+            mockUploadThreadCalls();
+            uploadFile(createRequest().build());
+
+            // Assert file is not hashed but uploaded
+            verify(mFileStreamHelper).getFileInputStream(mFile);
+            verify(mUploadThread).runSync();
+        }
+
+        @Test
+        void testChangedFileUploaded() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_response.json");
+            enqueueResponse(mDataPath + "get_node_response.json");
+
+            // Execute method to test
+            when(mFileStreamHelper.getFileInputStream(any()))
+                    .thenReturn(new ByteArrayInputStream("tset".getBytes()));
+            mockUploadThreadCalls();
+            uploadFile(createRequest().build());
+
+            // Assert file is uploaded
+            verify(mUploadThread).runSync();
+        }
+
+        @Test
+        void testMissingFileUploaded() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_empty_response.json");
+            enqueueResponse(mDataPath + "get_node_response.json");
+
+            // Execute method to test
+            when(mFileStreamHelper.getFileInputStream(any()))
+                    .thenReturn(new ByteArrayInputStream(mData));
+            mockUploadThreadCalls();
+            uploadFile(createRequest().build());
+
+            // Assert file is not hashed but uploaded
+            verify(mFileStreamHelper).getFileInputStream(mFile);
+            verify(mUploadThread).runSync();
+        }
+
+        @Test
+        void testKnownHashUsed() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_response.json");
+
+            // Execute method to test
+            Node node = uploadFile(createRequest().hash(mHash.toUpperCase()).build());
+
+            // Assert file is not read
+            assertEquals(5L, node.getId());
+            verify(mFileStreamHelper, never()).getFileInputStream(any());
+        }
+
+        @Test
+        void testStreamWithHashSkipped() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_response.json");
+
+            // Execute method to test
+            Node node = mSrv.uploadFile(mUploadId, createRequest().hash(mHash).build(),
+                    new StubInputStream(), mData.length, mFileUploadCallback);
+
+            // Assert existing node is returned
+            assertEquals(5L, node.getId());
+            verify(mUploadThreadFactory, never()).create(anyString(), any(), anyLong(), any(),
+                    any(), any());
+        }
+
+        @Test
+        void testStreamWithoutHashNotChecked() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_node_response.json");
+
+            // Execute method to test
+            mockUploadThreadCalls();
+            mSrv.uploadFile(mUploadId, createRequest().build(), new StubInputStream(),
+                    mData.length, mFileUploadCallback);
+
+            // Assert no existing file was queried
+            checkRequest(mDataPath + "get_node_request.json");
+            verify(mUploadThread).runSync();
+        }
+
+        @Test
+        void testChangedMetadataUpdated() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_nodes_response.json");
+            enqueueResponse(mDataPath + "update_file_response.json");
+
+            // Execute method to test
+            mockGetFileStreamCall();
+            uploadFile(createRequest().classification(Classification.INTERNAL)
+                    .notes("new note").build());
+
+            // Assert only changed metadata is updated
+            dropRequest();
+            checkRequest(mDataPath + "update_file_request.json");
+        }
+
+        private FileUploadRequest.Builder createRequest() {
+            return new FileUploadRequest.Builder(1L, "test.txt").skipUnchanged(true);
+        }
+
+        private Node uploadFile(FileUploadRequest request) throws Exception {
+            return mSrv.uploadFile(mUploadId, request, mFile, mFileUploadCallback);
+        }
+
+        private void mockGetFileStreamCall() throws Exception {
+            when(mFileStreamHelper.getFileInputStream(any()))
+                    .thenReturn(new ByteArrayInputStream(mData));
+        }
+
+        private void mockUploadThreadCalls() throws Exception {
+            when(mUploadThreadFactory.create(anyString(), any(), anyLong(), any(), any(), any()))
+                    .thenReturn(mUploadThread);
+            when(mUploadThread.runSync()).thenReturn(new Node());
+        }
+
+    }
+
     // --- Stream upload tests ---
 
     @SuppressWarnings({
@@ -0,0 +1,133 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.File;
+
+import com.dracoon.sdk.Log;
+import com.dracoon.sdk.TestLogger;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResourceCacheTest {
+
+    private static final String KEY_1 = "https://dracoon.team/api/v4/downloads/avatar/1/a";
+    private static final String KEY_2 = "https://dracoon.team/api/v4/downloads/avatar/2/b";
+    private static final String KEY_3 = "https://dracoon.team/api/v4/downloads/avatar/3/c";
+
+    private static final byte[] DATA_1 = new byte[]{1, 1, 1, 1};
+    private static final byte[] DATA_2 = new byte[]{2, 2, 2, 2};
+    private static final byte[] DATA_3 = new byte[]{3, 3, 3, 3};
+
+    private final Log mLog = new TestLogger();
+
+    @Nested
+    class MemoryTests {
+
+        @Test
+        void testGetReturnsPutData() {
+            ResourceCache cache = new ResourceCache(mLog, 8, null, 0);
+
+            cache.put(KEY_1, DATA_1);
+
+            assertArrayEquals(DATA_1, cache.get(KEY_1));
+        }
+
+        @Test
+        void testGetReturnsNullForUnknownKey() {
+            ResourceCache cache = new ResourceCache(mLog, 8, null, 0);
+
+            assertNull(cache.get(KEY_1));
+        }
+
+        @Test
+        void testLeastRecentlyUsedEntryIsEvicted() {
+            ResourceCache cache = new ResourceCache(mLog, 8, null, 0);
+
+            cache.put(KEY_1, DATA_1);
+            cache.put(KEY_2, DATA_2);
+            cache.get(KEY_1);
+            cache.put(KEY_3, DATA_3);
+
+            assertNotNull(cache.get(KEY_1));
+            assertNull(cache.get(KEY_2));
+            assertNotNull(cache.get(KEY_3));
+        }
+
+        @Test
+        void testTooLargeEntryIsNotCached() {
+            ResourceCache cache = new ResourceCache(mLog, 2, null, 0);
+
+            cache.put(KEY_1, DATA_1);
+
+            assertNull(cache.get(KEY_1));
+        }
+
+        @Test
+        void testRemovedEntryIsNotReturned() {
+            ResourceCache cache = new ResourceCache(mLog, 8, null, 0);
+
+            cache.put(KEY_1, DATA_1);
+            cache.remove(KEY_1);
+
+            assertNull(cache.get(KEY_1));
+        }
+
+    }
+
+    @Nested
+    class DiskTests {
+
+        @TempDir
+        File mDirectory;
+
+        @Test
+        void testEntryIsRestoredFromDisk() {
+            new ResourceCache(mLog, 8, mDirectory, 8).put(KEY_1, DATA_1);
+
+            ResourceCache cache = new ResourceCache(mLog, 8, mDirectory, 8);
+
+            assertArrayEquals(DATA_1, cache.get(KEY_1));
+        }
+
+        @Test
+        void testEntryIsReadFromDiskIfEvictedFromMemory() {
+            ResourceCache cache = new ResourceCache(mLog, 4, mDirectory, 8);
+
+            cache.put(KEY_1, DATA_1);
+            cache.put(KEY_2, DATA_2);
+
+            assertArrayEquals(DATA_1, cache.get(KEY_1));
+        }
+
+        @Test
+        void testLeastRecentlyUsedFileIsEvicted() {
+            ResourceCache cache = new ResourceCache(mLog, 0, mDirectory, 8);
+
+            cache.put(KEY_1, DATA_1);
+            cache.put(KEY_2, DATA_2);
+            cache.get(KEY_1);
+            cache.put(KEY_3, DATA_3);
+
+            assertNotNull(cache.get(KEY_1));
+            assertNull(cache.get(KEY_2));
+            assertNotNull(cache.get(KEY_3));
+        }
+
+        @Test
+        void testRemovedFileIsNotRestored() {
+            ResourceCache cache = new ResourceCache(mLog, 8, mDirectory, 8);
+            cache.put(KEY_1, DATA_1);
+            cache.remove(KEY_1);
+
+            ResourceCache newCache = new ResourceCache(mLog, 8, mDirectory, 8);
+
+            assertNull(newCache.get(KEY_1));
+        }
+
+    }
+
+}
@@ -0,0 +1,512 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.error.DracoonFileIOException;
+import com.dracoon.sdk.error.DracoonFileNotFoundException;
+import com.dracoon.sdk.filter.SearchNodesFilters;
+import com.dracoon.sdk.internal.util.HashUtils;
+import com.dracoon.sdk.model.DeleteNodesRequest;
+import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.FolderSyncRequest;
+import com.dracoon.sdk.model.FolderSyncResult;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.NodeType;
+import com.dracoon.sdk.model.ResolutionStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SyncEngineTest extends BaseServiceTest {
+
+    private static final long ROOT_NODE_ID = 1L;
+    private static final String ROOT_PATH = "/Room/";
+    private static final String SORT = "createdAt:asc|parentPath:asc|name:asc";
+
+    @Mock
+    protected NodesService mNodesService;
+
+    @TempDir
+    Path mTempDirectory;
+
+    private Path mDirectory;
+    private Path mIndexFile;
+
+    private SyncEngine mEngine;
+
+    @BeforeEach
+    protected void setup() throws Exception {
+        super.setup();
+
+        mServiceLocator.set(NodesService.class, mNodesService);
+
+        mDirectory = Files.createDirectory(mTempDirectory.resolve("sync"));
+        mIndexFile = mTempDirectory.resolve("sync.json");
+
+        mEngine = new SyncEngine(mServiceLocator, mServiceDependencies);
+    }
+
+    // --- First synchronization tests ---
+
+    @Nested
+    class FirstSyncTests {
+
+        @BeforeEach
+        void setup() throws Exception {
+            Files.write(mDirectory.resolve("b.txt"), "local b".getBytes());
+
+            mockRootNode(10L);
+            mockFullSearch(
+                    createFolderNode(2L, ROOT_PATH, "Sub", 5L),
+                    createFileNode(3L, ROOT_PATH, "a.txt", 7L, "remote a"),
+                    createFileNode(4L, ROOT_PATH + "Sub/", "c.txt", 6L, "remote c"));
+            mockDownload(3L, "remote a");
+            mockDownload(4L, "remote c");
+        }
+
+        @Test
+        void testFilesDownloaded() throws Exception {
+            mockUpload(createFileNode(5L, ROOT_PATH, "b.txt", 11L, "local b"));
+
+            sync(ResolutionStrategy.AUTO_RENAME);
+
+            assertArrayEquals("remote a".getBytes(), Files.readAllBytes(
+                    mDirectory.resolve("a.txt")));
+            assertArrayEquals("remote c".getBytes(), Files.readAllBytes(
+                    mDirectory.resolve("Sub").resolve("c.txt")));
+        }
+
+        @Test
+        void testFileUploaded() throws Exception {
+            mockUpload(createFileNode(5L, ROOT_PATH, "b.txt", 11L, "local b"));
+
+            sync(ResolutionStrategy.AUTO_RENAME);
+
+            FileUploadRequest request = captureUploadRequest();
+            assertEquals(ROOT_NODE_ID, request.getParentId());
+            assertEquals("b.txt", request.getName());
+            assertEquals(ResolutionStrategy.AUTO_RENAME, request.getResolutionStrategy());
+        }
+
+        @Test
+        void testResultCorrect() throws Exception {
+            mockUpload(createFileNode(5L, ROOT_PATH, "b.txt", 11L, "local b"));
+
+            FolderSyncResult result = sync(ResolutionStrategy.AUTO_RENAME);
+
+            assertEquals(1, result.getUploadCount());
+            assertEquals(2, result.getDownloadCount());
+            assertEquals(0, result.getRemoteDeleteCount());
+            assertEquals(0, result.getLocalDeleteCount());
+            assertTrue(result.getConflictPaths().isEmpty());
+        }
+
+        @Test
+        void testNoTemporaryFilesLeft() throws Exception {
+            mockUpload(createFileNode(5L, ROOT_PATH, "b.txt", 11L, "local b"));
+
+            sync(ResolutionStrategy.AUTO_RENAME);
+
+            List<String> names = new ArrayList<>();
+            Files.list(mDirectory).forEach(p -> names.add(p.getFileName().toString()));
+            names.sort(String::compareTo);
+            assertEquals(Arrays.asList("Sub", "a.txt", "b.txt"), names);
+        }
+
+        @Test
+        void testUnchangedStateNotSyncedAgain() throws Exception {
+            mockUpload(createFileNode(5L, ROOT_PATH, "b.txt", 11L, "local b"));
+
+            sync(ResolutionStrategy.AUTO_RENAME);
+            FolderSyncResult result = sync(ResolutionStrategy.AUTO_RENAME);
+
+            assertEquals(0, result.getUploadCount());
+            assertEquals(0, result.getDownloadCount());
+            verify(mNodesService, times(1)).searchNodes(anyLong(), anyString(), any(),
+                    anyString(), anyLong(), anyLong());
+        }
+
+        @Test
+        void testCursorNotAdvancedOnError() throws Exception {
+            // Transfers are executed in path order. The upload is the last transfer.
+            mHttpConfig.setSyncParallelTransfers(1);
+            mEngine = new SyncEngine(mServiceLocator, mServiceDependencies);
+            when(mNodesService.uploadFile(anyString(), any(), any(File.class), isNull()))
+                    .thenThrow(new DracoonApiException(DracoonApiCode.SERVER_NODE_NOT_FOUND))
+                    .thenReturn(createFileNode(5L, ROOT_PATH, "b.txt", 11L, "local b"));
+
+            assertThrows(DracoonApiException.class, () -> sync(ResolutionStrategy.AUTO_RENAME));
+            FolderSyncResult result = sync(ResolutionStrategy.AUTO_RENAME);
+
+            // All changes are queried again, but finished transfers are not repeated
+            verify(mNodesService, times(2)).searchNodes(eq(ROOT_NODE_ID), eq("*"), isNull(),
+                    eq(SORT), eq(0L), eq(500L));
+            assertEquals(1, result.getUploadCount());
+            assertEquals(0, result.getDownloadCount());
+        }
+
+        @Test
+        void testIndexSaveErrorSuppressedOnError() throws Exception {
+            // The temporary index file can't be written if a directory exists at its path
+            Files.createDirectory(mTempDirectory.resolve("sync.json.tmp"));
+            when(mNodesService.uploadFile(anyString(), any(), any(File.class), isNull()))
+                    .thenThrow(new DracoonApiException(DracoonApiCode.SERVER_NODE_NOT_FOUND));
+
+            DracoonApiException thrown = assertThrows(DracoonApiException.class,
+                    () -> sync(ResolutionStrategy.AUTO_RENAME));
+
+            assertEquals(DracoonApiCode.SERVER_NODE_NOT_FOUND, thrown.getCode());
+            assertEquals(1, thrown.getSuppressed().length);
+            assertTrue(thrown.getSuppressed()[0] instanceof DracoonFileIOException);
+        }
+
+    }
+
+    // --- Incremental synchronization tests ---
+
+    private abstract class BaseIncrementalSyncTests {
+
+        protected ResolutionStrategy mResolutionStrategy = ResolutionStrategy.AUTO_RENAME;
+
+        @BeforeEach
+        void setup() throws Exception {
+            mockRootNode(10L);
+            mockFullSearch(createFileNode(3L, ROOT_PATH, "a.txt", 7L, "remote a"));
+            mockDownload(3L, "remote a");
+            sync(mResolutionStrategy);
+        }
+
+        protected void mockRemoteChange(Node... nodes) throws Exception {
+            mockRootNode(20L);
+            when(mNodesService.searchNodes(eq(ROOT_NODE_ID), eq("*"),
+                    any(SearchNodesFilters.class), eq(SORT), eq(0L), eq(500L)))
+                    .thenReturn(createNodeList(nodes));
+        }
+
+        protected void mockRootChildNodes(Node... nodes) throws Exception {
+            when(mNodesService.getNodes(ROOT_NODE_ID, 0L, 500L))
+                    .thenReturn(createNodeList(nodes));
+        }
+
+        protected void changeLocalFile(String content) throws Exception {
+            Path file = mDirectory.resolve("a.txt");
+            FileTime modifiedAt = Files.getLastModifiedTime(file);
+            Files.write(file, content.getBytes());
+            Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedAt.toMillis() + 10000L));
+        }
+
+    }
+
+    @Nested
+    class IncrementalSyncTests extends BaseIncrementalSyncTests {
+
+        @Test
+        void testNoQueryIfRemoteUnchanged() throws Exception {
+            sync(mResolutionStrategy);
+
+            verify(mNodesService, times(1)).searchNodes(anyLong(), anyString(), any(),
+                    anyString(), anyLong(), anyLong());
+            verify(mNodesService, never()).getNodes(anyLong(), anyLong(), anyLong());
+        }
+
+        @Test
+        void testChangesQueriedWithBranchVersion() throws Exception {
+            Node node = createFileNode(3L, ROOT_PATH, "a.txt", 15L, "remote a2");
+            mockRemoteChange(node);
+            mockRootChildNodes(node);
+            mockDownload(3L, "remote a2");
+
+            sync(mResolutionStrategy);
+
+            ArgumentCaptor<SearchNodesFilters> captor = ArgumentCaptor.forClass(
+                    SearchNodesFilters.class);
+            verify(mNodesService, times(2)).searchNodes(eq(ROOT_NODE_ID), eq("*"),
+                    captor.capture(), eq(SORT), eq(0L), eq(500L));
+            // The first query was made by the initial synchronization
+            assertEquals("branchVersion:ge:11", captor.getAllValues().get(1).toString());
+        }
+
+        @Test
+        void testRemoteChangeDownloaded() throws Exception {
+            Node node = createFileNode(3L, ROOT_PATH, "a.txt", 15L, "remote a2");
+            mockRemoteChange(node);
+            mockRootChildNodes(node);
+            mockDownload(3L, "remote a2");
+
+            FolderSyncResult result = sync(mResolutionStrategy);
+
+            assertEquals(1, result.getDownloadCount());
+            assertArrayEquals("remote a2".getBytes(), Files.readAllBytes(
+                    mDirectory.resolve("a.txt")));
+        }
+
+        @Test
+        void testRemoteDeletionApplied() throws Exception {
+            mockRemoteChange();
+            mockRootChildNodes();
+
+            FolderSyncResult result = sync(mResolutionStrategy);
+
+            assertEquals(1, result.getLocalDeleteCount());
+            assertFalse(Files.exists(mDirectory.resolve("a.txt")));
+        }
+
+        @Test
+        void testLocalChangeUploaded() throws Exception {
+            changeLocalFile("local a2");
+            mockUpload(createFileNode(3L, ROOT_PATH, "a.txt", 12L, "local a2"));
+
+            FolderSyncResult result = sync(mResolutionStrategy);
+
+            assertEquals(1, result.getUploadCount());
+            FileUploadRequest request = captureUploadRequest();
+            assertEquals(ROOT_NODE_ID, request.getParentId());
+            assertEquals("a.txt", request.getName());
+            assertEquals(ResolutionStrategy.OVERWRITE, request.getResolutionStrategy());
+        }
+
+        @Test
+        void testModificationDateChangeNotUploaded() throws Exception {
+            changeLocalFile("remote a");
+
+            FolderSyncResult result = sync(mResolutionStrategy);
+
+            assertEquals(0, result.getUploadCount());
+            verify(mNodesService, never()).uploadFile(anyString(), any(), any(File.class),
+                    any());
+        }
+
+        @Test
+        void testLocalDeletionApplied() throws Exception {
+            Files.delete(mDirectory.resolve("a.txt"));
+
+            FolderSyncResult result = sync(mResolutionStrategy);
+
+            assertEquals(1, result.getRemoteDeleteCount());
+            ArgumentCaptor<DeleteNodesRequest> captor = ArgumentCaptor.forClass(
+                    DeleteNodesRequest.class);
+            verify(mNodesService).deleteNodes(captor.capture());
+            assertEquals(List.of(3L), captor.getValue().getIds());
+        }
+
+        @Test
+        void testNewLocalFolderCreated() throws Exception {
+            Files.createDirectory(mDirectory.resolve("New"));
+            Files.write(mDirectory.resolve("New").resolve("d.txt"), "local d".getBytes());
+            Node folderNode = createFolderNode(6L, ROOT_PATH, "New", 13L);
+            when(mNodesService.createFolder(any())).thenReturn(folderNode);
+            mockUpload(createFileNode(7L, ROOT_PATH + "New/", "d.txt", 14L, "local d"));
+
+            sync(mResolutionStrategy);
+
+            FileUploadRequest request = captureUploadRequest();
+            assertEquals(6L, request.getParentId());
+            assertEquals("d.txt", request.getName());
+        }
+
+    }
+
+    // --- Conflict tests ---
+
+    @Nested
+    class AutoRenameConflictTests extends BaseIncrementalSyncTests {
+
+        @Test
+        void testBothVersionsKept() throws Exception {
+            Node node = createFileNode(3L, ROOT_PATH, "a.txt", 15L, "remote a2");
+            mockRemoteChange(node);
+            mockRootChildNodes(node);
+            mockDownload(3L, "remote a2");
+            changeLocalFile("local a2");
+            mockUpload(createFileNode(8L, ROOT_PATH, "a (1).txt", 16L, "local a2"));
+
+            FolderSyncResult result = sync(mResolutionStrategy);
+
+            assertEquals(List.of("a.txt"), result.getConflictPaths());
+            assertEquals(ResolutionStrategy.AUTO_RENAME,
+                    captureUploadRequest().getResolutionStrategy());
+            assertArrayEquals("remote a2".getBytes(), Files.readAllBytes(
+                    mDirectory.resolve("a.txt")));
+        }
+
+    }
+
+    @Nested
+    class OverwriteConflictTests extends BaseIncrementalSyncTests {
+
+        OverwriteConflictTests() {
+            mResolutionStrategy = ResolutionStrategy.OVERWRITE;
+        }
+
+        @Test
+        void testLocalVersionKept() throws Exception {
+            Node node = createFileNode(3L, ROOT_PATH, "a.txt", 15L, "remote a2");
+            mockRemoteChange(node);
+            mockRootChildNodes(node);
+            changeLocalFile("local a2");
+            mockUpload(createFileNode(3L, ROOT_PATH, "a.txt", 16L, "local a2"));
+
+            FolderSyncResult result = sync(mResolutionStrategy);
+
+            assertEquals(List.of("a.txt"), result.getConflictPaths());
+            assertEquals(ResolutionStrategy.OVERWRITE,
+                    captureUploadRequest().getResolutionStrategy());
+            assertEquals(0, result.getDownloadCount());
+            assertArrayEquals("local a2".getBytes(), Files.readAllBytes(
+                    mDirectory.resolve("a.txt")));
+        }
+
+    }
+
+    @Nested
+    class FailConflictTests extends BaseIncrementalSyncTests {
+
+        FailConflictTests() {
+            mResolutionStrategy = ResolutionStrategy.FAIL;
+        }
+
+        @Test
+        void testConflictReportedUntilResolved() throws Exception {
+            Node node = createFileNode(3L, ROOT_PATH, "a.txt", 15L, "remote a2");
+            mockRemoteChange(node);
+            mockRootChildNodes(node);
+            changeLocalFile("local a2");
+
+            FolderSyncResult result1 = sync(mResolutionStrategy);
+
+            // The remote state of conflicted files is queried again
+            when(mNodesService.getNode(3L)).thenReturn(node);
+            FolderSyncResult result2 = sync(mResolutionStrategy);
+
+            assertEquals(List.of("a.txt"), result1.getConflictPaths());
+            assertEquals(List.of("a.txt"), result2.getConflictPaths());
+            verify(mNodesService, never()).uploadFile(anyString(), any(), any(File.class),
+                    any());
+            assertArrayEquals("local a2".getBytes(), Files.readAllBytes(
+                    mDirectory.resolve("a.txt")));
+        }
+
+    }
+
+    // --- Validation tests ---
+
+    @Nested
+    class ValidationTests {
+
+        @Test
+        void testMissingDirectoryNotAllowed() {
+            FolderSyncRequest request = new FolderSyncRequest.Builder(ROOT_NODE_ID,
+                    mTempDirectory.resolve("missing").toFile(), mIndexFile.toFile()).build();
+
+            assertThrows(DracoonFileNotFoundException.class,
+                    () -> mEngine.sync("test", request));
+        }
+
+    }
+
+    // --- Helper methods ---
+
+    private FolderSyncResult sync(ResolutionStrategy resolutionStrategy) throws Exception {
+        FolderSyncRequest request = new FolderSyncRequest.Builder(ROOT_NODE_ID,
+                mDirectory.toFile(), mIndexFile.toFile())
+                .resolutionStrategy(resolutionStrategy)
+                .build();
+        return mEngine.sync("test", request);
+    }
+
+    private void mockRootNode(long branchVersion) throws Exception {
+        Node node = createFolderNode(ROOT_NODE_ID, "/", "Room", branchVersion);
+        node.setType(NodeType.ROOM);
+        when(mNodesService.getNode(ROOT_NODE_ID)).thenReturn(node);
+    }
+
+    private void mockFullSearch(Node... nodes) throws Exception {
+        when(mNodesService.searchNodes(eq(ROOT_NODE_ID), eq("*"), isNull(), eq(SORT), eq(0L),
+                eq(500L)))
+                .thenReturn(createNodeList(nodes));
+    }
+
+    private void mockDownload(long nodeId, String content) throws Exception {
+        // Pending downloads are dropped if another transfer fails
+        lenient().doAnswer(invocation -> {
+            File file = invocation.getArgument(2);
+            Files.write(file.toPath(), content.getBytes());
+            return null;
+        }).when(mNodesService).downloadFile(anyString(), eq(nodeId), any(File.class), isNull());
+    }
+
+    private void mockUpload(Node node) throws Exception {
+        when(mNodesService.uploadFile(anyString(), any(), any(File.class), isNull()))
+                .thenReturn(node);
+    }
+
+    private FileUploadRequest captureUploadRequest() throws Exception {
+        ArgumentCaptor<FileUploadRequest> captor = ArgumentCaptor.forClass(
+                FileUploadRequest.class);
+        verify(mNodesService).uploadFile(anyString(), captor.capture(), any(File.class),
+                isNull());
+        return captor.getValue();
+    }
+
+    private static Node createFolderNode(long id, String parentPath, String name,
+            long branchVersion) {
+        Node node = new Node();
+        node.setId(id);
+        node.setType(NodeType.FOLDER);
+        node.setParentPath(parentPath);
+        node.setName(name);
+        node.setBranchVersion(branchVersion);
+        node.setIsEncrypted(false);
+        return node;
+    }
+
+    private static Node createFileNode(long id, String parentPath, String name,
+            long branchVersion, String content) throws Exception {
+        Node node = createFolderNode(id, parentPath, name, branchVersion);
+        node.setType(NodeType.FILE);
+        node.setSize((long) content.length());
+        node.setHash(HashUtils.computeMd5Hash(new ByteArrayInputStream(content.getBytes())));
+        return node;
+    }
+
+    private static NodeList createNodeList(Node... nodes) {
+        NodeList nodeList = new NodeList();
+        nodeList.setOffset(0);
+        nodeList.setLimit(500);
+        nodeList.setTotal((long) nodes.length);
+        nodeList.setItems(Arrays.asList(nodes));
+        return nodeList;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.dracoon.sdk.internal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.dracoon.sdk.model.NodeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncIndexTest {
+
+    @TempDir
+    Path mTempDirectory;
+
+    @Test
+    void testIndexSavedAndLoaded() throws Exception {
+        Path file = mTempDirectory.resolve("sync.json");
+
+        // Save index
+        SyncIndex index = new SyncIndex();
+        index.setBranchVersion(10L);
+        index.putEntry("a/b.txt", createEntry());
+        index.save(file);
+
+        // Load index
+        SyncIndex loadedIndex = SyncIndex.load(file);
+
+        // Assert index is correct
+        assertEquals(10L, loadedIndex.getBranchVersion());
+        assertEntryCorrect(loadedIndex.getEntry("a/b.txt"));
+        assertFalse(Files.exists(mTempDirectory.resolve("sync.json.tmp")));
+    }
+
+    @Test
+    void testFieldNamesStable() throws Exception {
+        Path file = mTempDirectory.resolve("sync.json");
+
+        // Save index
+        SyncIndex index = new SyncIndex();
+        index.setBranchVersion(10L);
+        index.putEntry("a/b.txt", createEntry());
+        index.save(file);
+
+        // Assert field names don't contain the field prefix
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"entries\""));
+        assertTrue(json.contains("\"nodeId\""));
+        assertFalse(json.contains("\"mEntries\""));
+        assertFalse(json.contains("\"mNodeId\""));
+    }
+
+    // --- Helper methods ---
+
+    private static SyncIndex.Entry createEntry() {
+        SyncIndex.Entry entry = new SyncIndex.Entry();
+        entry.setNodeId(5L);
+        entry.setType(NodeType.FILE);
+        entry.setSize(4L);
+        entry.setModifiedAt(1000L);
+        entry.setHash("abc");
+        entry.setBranchVersion(7L);
+        entry.setIsConflict(true);
+        return entry;
+    }
+
+    private static void assertEntryCorrect(SyncIndex.Entry entry) {
+        assertEquals(5L, entry.getNodeId());
+        assertEquals(NodeType.FILE, entry.getType());
+        assertEquals(4L, entry.getSize());
+        assertEquals(1000L, entry.getModifiedAt());
+        assertEquals("abc", entry.getHash());
+        assertEquals(7L, entry.getBranchVersion());
+        assertTrue(entry.isConflict());
+    }
+
+}
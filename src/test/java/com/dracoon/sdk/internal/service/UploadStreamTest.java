@@ -1,18 +1,29 @@
 package com.dracoon.sdk.internal.service;
 
 import java.io.IOException;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.dracoon.sdk.DracoonMetrics;
 import com.dracoon.sdk.crypto.model.EncryptedFileKey;
 import com.dracoon.sdk.crypto.model.PlainFileKey;
 import com.dracoon.sdk.crypto.model.UserPublicKey;
 import com.dracoon.sdk.error.DracoonApiCode;
 import com.dracoon.sdk.error.DracoonApiException;
 import com.dracoon.sdk.error.DracoonException;
+import com.dracoon.sdk.error.DracoonNetIOException;
 import com.dracoon.sdk.internal.BaseApiTest;
 import com.dracoon.sdk.internal.api.model.ApiErrorResponse;
 import com.dracoon.sdk.internal.crypto.CryptoWrapper;
 import com.dracoon.sdk.model.FileUploadCallback;
+import com.dracoon.sdk.model.FileTransferMetrics;
 import com.dracoon.sdk.model.FileUploadRequest;
+import com.dracoon.sdk.model.HashAlgorithm;
+import com.dracoon.sdk.model.HttpRequestMetrics;
 import com.dracoon.sdk.model.Node;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -21,9 +32,15 @@ import org.mockito.Mock;
 import retrofit2.Response;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class UploadStreamTest extends BaseApiTest {
@@ -31,11 +48,29 @@ public class UploadStreamTest extends BaseApiTest {
     @Mock
     protected CryptoWrapper mCryptoWrapper;
 
+    private final List<FileTransferMetrics> mTransferMetrics = new ArrayList<>();
+
+    private final DracoonMetrics mMetrics = new DracoonMetrics() {
+        @Override
+        public void onHttpRequestFinished(HttpRequestMetrics metrics) {
+
+        }
+
+        @Override
+        public void onFileTransferFinished(FileTransferMetrics metrics) {
+            mTransferMetrics.add(metrics);
+        }
+    };
+
     private abstract class BaseUploadTests {
 
         protected final String mDataPath;
 
         protected long mChunkSize = 2048L;
+        protected long mS3CompletionTimeout = 1000L;
+        protected long mSmallFileUploadThreshold = 0L;
+        protected boolean mIsPipeliningEnabled = false;
+        protected HashAlgorithm mHashAlgorithm = null;
 
         protected UploadStream.Factory mUlsFactory;
         protected UploadStream mUls;
@@ -47,7 +82,9 @@ public class UploadStreamTest extends BaseApiTest {
         @BeforeEach
         void baseSetup() throws Exception {
             mUlsFactory = new UploadStream.Factory(mLog, mDracoonApi, mHttpClient, mHttpHelper,
-                    mDracoonErrorParser, mCryptoWrapper, mChunkSize);
+                    mDracoonErrorParser, mCryptoWrapper, mMetrics, mChunkSize,
+                    mS3CompletionTimeout, mSmallFileUploadThreshold, mIsPipeliningEnabled,
+                    mHashAlgorithm);
             setup();
         }
 
@@ -197,6 +234,67 @@ public class UploadStreamTest extends BaseApiTest {
             checkRequest(mDataPath + "create_upload_request.json");
         }
 
+        @Test
+        void testServerSettingsQueriedOnce() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "get_server_settings_response.json");
+            enqueueResponse(mDataPath + "create_upload_response.json");
+            enqueueResponse(mDataPath + "create_upload_response.json");
+
+            // Start uploads
+            mUls.start();
+            FileUploadRequest request = new FileUploadRequest.Builder(1L, "file.txt").build();
+            mUlsFactory.create("Test2", request, 1024L, null, null).start();
+
+            // Assert requests are valid
+            dropRequest();
+            checkRequest(mDataPath + "create_upload_request.json");
+            checkRequest(mDataPath + "create_upload_request.json");
+        }
+
+    }
+
+    @Nested
+    class StartSmallFileTests extends S3UploadTest {
+
+        StartSmallFileTests() {
+            super("/upload/start_small/");
+            mSmallFileUploadThreshold = 1024L;
+        }
+
+        @Override
+        protected void setup() {
+            FileUploadRequest request = new FileUploadRequest.Builder(1L, "file.txt").build();
+            mUls = mUlsFactory.create("Test", request, 1024L, null, null);
+        }
+
+        @Test
+        void testRequestsValid() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "create_upload_response.json");
+
+            // Start upload
+            mUls.start();
+
+            // Assert requests are valid
+            checkRequest(mDataPath + "create_upload_request.json");
+        }
+
+        @Test
+        void testUnknownLengthNotSmallFile() throws Exception {
+            // Enqueue responses
+            enqueueResponse("/upload/start_s3/get_server_settings_response.json");
+            enqueueResponse(mDataPath + "create_upload_response.json");
+
+            // Start upload
+            FileUploadRequest request = new FileUploadRequest.Builder(1L, "file.txt").build();
+            mUlsFactory.create("Test", request, 0L, null, null).start();
+
+            // Assert requests are valid
+            dropRequest();
+            checkRequest("/upload/start_s3/create_upload_request.json");
+        }
+
     }
 
     // --- Write tests ---
@@ -342,6 +440,40 @@ public class UploadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class WriteDcPipelinedTests extends BaseWriteDcStandardTests {
+
+        WriteDcPipelinedTests() {
+            super("/upload/write_dc/");
+            mIsPipeliningEnabled = true;
+        }
+
+        @Override
+        protected byte[] readBytes() {
+            return new byte[2049];
+        }
+
+        @Test
+        void testUploadErrorReportedAtComplete() throws Exception {
+            // Mock error parsing
+            DracoonApiCode code = DracoonApiCode.SERVER_UPLOAD_NOT_FOUND;
+            when(mDracoonErrorParser.parseUploadError(any())).thenReturn(code);
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "upload_failed_response.json");
+
+            // Write bytes (First chunk is sent in background)
+            mUls.write(mBytes);
+
+            // Complete
+            IOException thrown = assertThrows(IOException.class, () -> mUls.complete());
+
+            // Assert correct error code
+            assertDracoonApiException(thrown, code);
+        }
+
+    }
+
     @Nested
     class WriteDcEmptyFileTests extends BaseWriteDcStandardTests {
 
@@ -387,6 +519,20 @@ public class UploadStreamTest extends BaseApiTest {
             testMultiChunk();
         }
 
+        @Test
+        void testMetricsReported() throws Exception {
+            testMultiChunk();
+
+            assertEquals(1, mTransferMetrics.size());
+            FileTransferMetrics metrics = mTransferMetrics.get(0);
+            assertEquals(FileTransferMetrics.Type.UPLOAD, metrics.getType());
+            assertEquals(FileTransferMetrics.Status.FINISHED, metrics.getStatus());
+            assertEquals(mBytes.length, metrics.getBytes());
+            assertEquals(3, metrics.getChunkCount());
+            assertEquals(0, metrics.getChunkRetryCount());
+            assertTrue(metrics.getTimeToFirstByte() >= 0L);
+        }
+
     }
 
     private abstract class BaseWriteDcEncryptedTests extends BaseWriteDcTests {
@@ -420,6 +566,57 @@ public class UploadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class WriteDcHashTests extends BaseWriteDcStandardTests {
+
+        WriteDcHashTests() {
+            super("/upload/write_dc_standard_one_chunk/");
+            mHashAlgorithm = HashAlgorithm.SHA_256;
+        }
+
+        @Test
+        void testHashCorrect() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "upload_response.json");
+            enqueueResponse(mDataPath + "complete_upload_response.json");
+
+            // Write bytes and complete
+            writeBytes(mUls, mBytes);
+
+            // Assert hash is correct
+            assertEquals("b1d4d07f8b3a6d7dfc8aef927abd9632b814dec2598af2b3914d997f62b6183a",
+                    mUls.getHash());
+        }
+
+        @Test
+        void testHashPassedToCallback() throws Exception {
+            // Add callback
+            FileUploadCallback callback = mock(FileUploadCallback.class);
+            mUls.addCallback(callback);
+
+            // Enqueue responses
+            enqueueResponse(mDataPath + "upload_response.json");
+            enqueueResponse(mDataPath + "complete_upload_response.json");
+
+            // Write bytes and complete
+            writeBytes(mUls, mBytes);
+
+            // Assert hash was passed to callback
+            verify(callback).onHashComputed(any(),
+                    eq("b1d4d07f8b3a6d7dfc8aef927abd9632b814dec2598af2b3914d997f62b6183a"));
+        }
+
+        @Test
+        void testHashNotAvailableBeforeComplete() throws Exception {
+            // Write bytes
+            mUls.write(mBytes);
+
+            // Assert hash is not available
+            assertNull(mUls.getHash());
+        }
+
+    }
+
     @Nested
     class WriteDcEncryptedOneChunkTests extends BaseWriteDcEncryptedTests {
 
@@ -448,6 +645,36 @@ public class UploadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class WriteDcStandardMultiChunkPipelinedTests extends BaseWriteDcStandardTests {
+
+        WriteDcStandardMultiChunkPipelinedTests() {
+            super("/upload/write_dc_standard_multi_chunk/");
+            mIsPipeliningEnabled = true;
+        }
+
+        @Test
+        void testRequestsValid() throws Exception {
+            testMultiChunk();
+        }
+
+    }
+
+    @Nested
+    class WriteDcEncryptedMultiChunkPipelinedTests extends BaseWriteDcEncryptedTests {
+
+        WriteDcEncryptedMultiChunkPipelinedTests() {
+            super("/upload/write_dc_encrypted_multi_chunk/");
+            mIsPipeliningEnabled = true;
+        }
+
+        @Test
+        void testRequestsValid() throws Exception {
+            testMultiChunk();
+        }
+
+    }
+
     private abstract class BaseWriteS3Tests extends S3UploadTest {
 
         protected byte[] mBytes;
@@ -653,6 +880,36 @@ public class UploadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class WriteS3HashTests extends BaseWriteS3StandardTests {
+
+        WriteS3HashTests() {
+            super("/upload/write_s3_hash/");
+            mHashAlgorithm = HashAlgorithm.MD5;
+        }
+
+        @Test
+        void testRequestsValid() throws Exception {
+            testOneChunk();
+        }
+
+        @Test
+        void testHashCorrect() throws Exception {
+            // Enqueue responses
+            enqueueResponse(mDataPath + "create_upload_url_response.json");
+            enqueueResponse(mDataPath + "upload_response.json");
+            enqueueResponse(mDataPath + "complete_upload_response.json");
+            enqueueResponse(mDataPath + "get_upload_status_response.json");
+
+            // Write bytes and complete
+            writeBytes(mUls, mBytes);
+
+            // Assert hash is correct
+            assertEquals("7ec03dedbc99c486d658f3a8a1cf6bc6", mUls.getHash());
+        }
+
+    }
+
     @Nested
     class WriteS3StandardMultiChunkTests extends BaseWriteS3StandardTests {
 
@@ -726,6 +983,21 @@ public class UploadStreamTest extends BaseApiTest {
 
     }
 
+    @Nested
+    class WriteS3EncryptedMultiChunkPipelinedTests extends BaseWriteS3EncryptedTests {
+
+        WriteS3EncryptedMultiChunkPipelinedTests() {
+            super("/upload/write_s3_encrypted_multi_chunk/");
+            mIsPipeliningEnabled = true;
+        }
+
+        @Test
+        void testRequestsValid() throws Exception {
+            testMultiChunk();
+        }
+
+    }
+
     // --- Complete tests ---
 
     @Nested
@@ -895,6 +1167,93 @@ public class UploadStreamTest extends BaseApiTest {
             assertThrows(IOException.class, () -> mUls.complete());
         }
 
+        @Test
+        void testCompleteWaitsTillFinished() throws Exception {
+            // Enqueue responses
+            enqueueUploadResponses();
+            enqueueCompleteUploadResponses();
+            enqueueResponse(mDataPath + "get_upload_status_finishing_response.json");
+            enqueueGetUploadStatusResponses();
+
+            // Complete upload
+            Node node = mUls.complete();
+
+            // Assert data is correct
+            Node expectedNode = readData(Node.class, mDataPath + "node.json");
+            assertDeepEquals(expectedNode, node);
+        }
+
+        @Test
+        void testCompleteTimeout() {
+            // Enqueue responses
+            enqueueUploadResponses();
+            enqueueCompleteUploadResponses();
+            for (int i = 0; i < 10; i++) {
+                enqueueResponse(mDataPath + "get_upload_status_finishing_response.json");
+            }
+
+            // Complete upload
+            IOException thrown = assertThrows(IOException.class, mUls::complete);
+
+            // Assert correct error
+            assertInstanceOf(DracoonNetIOException.class, thrown.getCause());
+        }
+
+        @Test
+        void testCompleteAsync() throws Exception {
+            // Enqueue responses
+            enqueueUploadResponses();
+            enqueueCompleteUploadResponses();
+            enqueueResponse(mDataPath + "get_upload_status_finishing_response.json");
+            enqueueGetUploadStatusResponses();
+
+            // Complete upload
+            CompletableFuture<Node> future = mUls.completeAsync();
+
+            // Assert data is correct
+            Node expectedNode = readData(Node.class, mDataPath + "node.json");
+            assertDeepEquals(expectedNode, future.get(5L, TimeUnit.SECONDS));
+        }
+
+        @Test
+        void testCompleteAsyncCanceled() throws Exception {
+            // Enqueue responses
+            enqueueUploadResponses();
+            enqueueCompleteUploadResponses();
+            for (int i = 0; i < 10; i++) {
+                enqueueResponse(mDataPath + "get_upload_status_finishing_response.json");
+            }
+
+            // Complete upload and cancel completion
+            CompletableFuture<Node> future = mUls.completeAsync();
+            boolean canceled = mUls.cancelCompletion();
+
+            // Assert completion was canceled
+            assertTrue(canceled);
+            assertThrows(CancellationException.class, () -> future.get(5L, TimeUnit.SECONDS));
+            assertFalse(mUls.cancelCompletion());
+        }
+
+        @Test
+        void testCompleteAsyncError() {
+            // Mock error parsing
+            DracoonApiCode code = DracoonApiCode.SERVER_UPLOAD_NOT_FOUND;
+            when(mDracoonErrorParser.parseS3UploadStatusError(any(Response.class)))
+                    .thenReturn(code);
+
+            // Enqueue responses
+            enqueueUploadResponses();
+            enqueueCompleteUploadResponses();
+            enqueueResponse(mDataPath + "get_upload_status_not_found_response_1.json");
+
+            // Complete upload
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> mUls.completeAsync().get(5L, TimeUnit.SECONDS));
+
+            // Assert correct error code
+            assertDracoonApiException(thrown, code);
+        }
+
         @Test
         void testCompleteUploadErrorNotFound() {
             // Mock error parsing
@@ -0,0 +1,256 @@
+package com.dracoon.sdk.internal.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import com.dracoon.sdk.crypto.model.PlainFileKey;
+import com.dracoon.sdk.error.DracoonApiCode;
+import com.dracoon.sdk.error.DracoonApiException;
+import com.dracoon.sdk.model.Node;
+import com.dracoon.sdk.model.NodeList;
+import com.dracoon.sdk.model.NodeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ZipExporterTest extends BaseServiceTest {
+
+    private static final String DATA_PATH = "/zip_export/";
+
+    private static class TestOutputStream extends ByteArrayOutputStream {
+        private boolean mIsClosed = false;
+
+        @Override
+        public void close() {
+            mIsClosed = true;
+        }
+    }
+
+    @Mock
+    protected NodesService mNodesService;
+    @Mock
+    protected FileKeyFetcher mFileKeyFetcher;
+    @Mock
+    protected DownloadStream.Factory mDownloadStreamFactory;
+
+    private ZipExporter mExporter;
+
+    @BeforeEach
+    protected void setup() throws Exception {
+        super.setup();
+
+        mServiceLocator.set(NodesService.class, mNodesService);
+        mServiceLocator.set(FileKeyFetcher.class, mFileKeyFetcher);
+        mServiceLocator.set(DownloadStream.Factory.class, mDownloadStreamFactory);
+
+        mExporter = new ZipExporter(mServiceLocator, mServiceDependencies);
+    }
+
+    // --- Folder export tests ---
+
+    @Nested
+    class ExportFolderTests {
+
+        private PlainFileKey mFileKey;
+
+        @BeforeEach
+        void setup() throws Exception {
+            mFileKey = readData(PlainFileKey.class, DATA_PATH + "plain_file_key.json");
+
+            when(mNodesService.getNode(1L)).thenReturn(
+                    readData(Node.class, DATA_PATH + "root_node.json"));
+            when(mNodesService.getNodes(1L, 0L, 500L)).thenReturn(
+                    readData(NodeList.class, DATA_PATH + "root_child_nodes.json"));
+            when(mNodesService.getNodes(2L, 0L, 500L)).thenReturn(
+                    readData(NodeList.class, DATA_PATH + "sub_child_nodes.json"));
+            when(mFileKeyFetcher.getPlainFileKey(4L)).thenReturn(mFileKey);
+        }
+
+        @Test
+        void testEntriesCorrect() throws Exception {
+            mockDownloadStreams();
+
+            Map<String, byte[]> entries = export(1L);
+
+            List<String> expectedNames = List.of("Root/", "Root/Sub/", "Root/Sub/b.bin",
+                    "Root/a.bin");
+            assertEquals(expectedNames, new ArrayList<>(entries.keySet()));
+        }
+
+        @Test
+        void testDataCorrect() throws Exception {
+            mockDownloadStreams();
+
+            Map<String, byte[]> entries = export(1L);
+
+            assertArrayEquals(readFile(DATA_PATH + "file_a.bin"), entries.get("Root/a.bin"));
+            assertArrayEquals(readFile(DATA_PATH + "file_b.bin"), entries.get("Root/Sub/b.bin"));
+        }
+
+        @Test
+        void testFileKeysCorrect() throws Exception {
+            mockDownloadStreams();
+
+            export(1L);
+
+            verify(mFileKeyFetcher, never()).getPlainFileKey(3L);
+            verify(mDownloadStreamFactory).create(anyString(), eq(3L), isNull(), anyLong());
+            verify(mDownloadStreamFactory).create(anyString(), eq(4L), eq(mFileKey), anyLong());
+        }
+
+        @Test
+        void testTargetStreamNotClosed() throws Exception {
+            mockDownloadStreams();
+
+            TestOutputStream os = new TestOutputStream();
+            mExporter.export("test", 1L, os);
+
+            assertFalse(os.mIsClosed);
+        }
+
+        @Test
+        void testDownloadError() throws Exception {
+            // The failing file is written first. The other file might not be opened anymore.
+            DownloadStream stream = mock(DownloadStream.class);
+            DownloadStream errorStream = mock(DownloadStream.class);
+            doThrow(new DracoonApiException(DracoonApiCode.SERVER_FILE_NOT_FOUND))
+                    .when(errorStream).start();
+            lenient().when(mDownloadStreamFactory.create(anyString(), eq(3L), any(), anyLong()))
+                    .thenReturn(stream);
+            when(mDownloadStreamFactory.create(anyString(), eq(4L), any(), anyLong()))
+                    .thenReturn(errorStream);
+
+            DracoonApiException thrown = assertThrows(DracoonApiException.class,
+                    () -> mExporter.export("test", 1L, new ByteArrayOutputStream()));
+            assertEquals(DracoonApiCode.SERVER_FILE_NOT_FOUND, thrown.getCode());
+        }
+
+        private void mockDownloadStreams() throws Exception {
+            DownloadStream streamA = mockDownloadStream(readFile(DATA_PATH + "file_a.bin"));
+            DownloadStream streamB = mockDownloadStream(readFile(DATA_PATH + "file_b.bin"));
+            when(mDownloadStreamFactory.create(anyString(), eq(3L), any(), anyLong()))
+                    .thenReturn(streamA);
+            when(mDownloadStreamFactory.create(anyString(), eq(4L), any(), anyLong()))
+                    .thenReturn(streamB);
+        }
+
+    }
+
+    // --- File export tests ---
+
+    @Nested
+    class ExportFileTests {
+
+        @Test
+        void testEntryCorrect() throws Exception {
+            Node node = readData(Node.class, DATA_PATH + "file_node.json");
+            when(mNodesService.getNode(3L)).thenReturn(node);
+            DownloadStream stream = mockDownloadStream(readFile(DATA_PATH + "file_a.bin"));
+            when(mDownloadStreamFactory.create(anyString(), eq(3L), isNull(), anyLong()))
+                    .thenReturn(stream);
+
+            Map<String, byte[]> entries = export(3L);
+
+            assertEquals(List.of("a.bin"), new ArrayList<>(entries.keySet()));
+            assertArrayEquals(readFile(DATA_PATH + "file_a.bin"), entries.get("a.bin"));
+        }
+
+    }
+
+    // --- Paging tests ---
+
+    @Nested
+    class PagingTests {
+
+        @Test
+        void testAllPagesExported() throws Exception {
+            when(mNodesService.getNode(1L)).thenReturn(
+                    readData(Node.class, DATA_PATH + "root_node.json"));
+            when(mNodesService.getNodes(1L, 0L, 500L)).thenReturn(createNodeList(0, 500, 501L));
+            when(mNodesService.getNodes(1L, 500L, 500L)).thenReturn(createNodeList(500, 1, 501L));
+            // All files are empty
+            DownloadStream stream = mock(DownloadStream.class);
+            when(stream.read(any(byte[].class), anyInt(), anyInt())).thenReturn(-1);
+            when(mDownloadStreamFactory.create(anyString(), anyLong(), isNull(), anyLong()))
+                    .thenReturn(stream);
+
+            Map<String, byte[]> entries = export(1L);
+
+            assertEquals(502, entries.size());
+        }
+
+        private NodeList createNodeList(int offset, int count, long total) {
+            List<Node> items = new ArrayList<>();
+            for (int i = offset; i < offset + count; i++) {
+                Node node = new Node();
+                node.setId(100L + i);
+                node.setType(NodeType.FILE);
+                node.setName("file-" + i + ".bin");
+                node.setIsEncrypted(false);
+                items.add(node);
+            }
+
+            NodeList nodeList = new NodeList();
+            nodeList.setOffset(offset);
+            nodeList.setLimit(500);
+            nodeList.setTotal(total);
+            nodeList.setItems(items);
+            return nodeList;
+        }
+
+    }
+
+    // --- Helper methods ---
+
+    private Map<String, byte[]> export(long nodeId) throws Exception {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        mExporter.export("test", nodeId, os);
+        return readArchive(os.toByteArray());
+    }
+
+    private static DownloadStream mockDownloadStream(byte[] data) throws IOException {
+        ByteArrayInputStream is = new ByteArrayInputStream(data);
+        DownloadStream stream = mock(DownloadStream.class);
+        when(stream.read(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation ->
+                is.read(invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2)));
+        return stream;
+    }
+
+    private static Map<String, byte[]> readArchive(byte[] data) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(data))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                entries.put(entry.getName(), zis.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+}
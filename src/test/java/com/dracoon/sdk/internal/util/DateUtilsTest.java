@@ -0,0 +1,74 @@
+package com.dracoon.sdk.internal.util;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DateUtilsTest {
+
+    // 2022-01-02T03:04:05Z
+    private static final long TIME = 1641092645000L;
+    // 2022-01-02T00:00:00Z
+    private static final long DATE = 1641081600000L;
+
+    @Nested
+    class TimeTests {
+
+        @Test
+        void testParseCorrect() {
+            assertEquals(new Date(TIME), DateUtils.parseTime("2022-01-02T03:04:05"));
+        }
+
+        @Test
+        void testParseTrailingTextIgnored() {
+            assertEquals(new Date(TIME), DateUtils.parseTime("2022-01-02T03:04:05.678Z"));
+        }
+
+        @Test
+        void testParseNull() {
+            assertNull(DateUtils.parseTime(null));
+        }
+
+        @Test
+        void testParseInvalid() {
+            assertThrows(Error.class, () -> DateUtils.parseTime("2022-01-02"));
+        }
+
+        @Test
+        void testFormatCorrect() {
+            assertEquals("2022-01-02T03:04:05", DateUtils.formatTime(new Date(TIME + 678L)));
+        }
+
+        @Test
+        void testFormatNull() {
+            assertNull(DateUtils.formatTime(null));
+        }
+
+    }
+
+    @Nested
+    class DateTests {
+
+        @Test
+        void testParseCorrect() {
+            assertEquals(new Date(DATE), DateUtils.parseDate("2022-01-02"));
+        }
+
+        @Test
+        void testParseInvalid() {
+            assertThrows(Error.class, () -> DateUtils.parseDate("02.01.2022"));
+        }
+
+        @Test
+        void testFormatCorrect() {
+            assertEquals("2022-01-02", DateUtils.formatDate(new Date(TIME)));
+        }
+
+    }
+
+}